@@ -0,0 +1,80 @@
+package org.td.benchmarks;
+
+import org.td.model.GameState;
+import org.td.model.entities.*;
+import org.td.model.enums.BuildingType;
+import org.td.model.enums.ResidenceLevel;
+import org.td.utils.GameConfig;
+
+import java.util.Random;
+
+/**
+ * Génère des villes de taille arbitraire pour les benchmarks
+ * Les bâtiments sont posés sur une grille régulière (pas de 3 cellules)
+ * et ajoutés directement aux listes : pas de test de chevauchement en O(n²)
+ * Les messages de la ville (très bavarde) sont coupés pendant les mesures.
+ */
+public final class CityGenerator {
+    /** Pas de la grille en cellules (le plus grand bâtiment fait 3x3) */
+    public static final int PITCH_CELLS = 3;
+    public static final int PITCH = PITCH_CELLS * GameConfig.CELL_SIZE;
+
+    private static final BuildingType[] INFRA_TYPES = BuildingType.values();
+
+    private CityGenerator() {
+    }
+
+    /**
+     * Crée une partie dont la ville contient exactement {@code buildings} bâtiments
+     * Répartition : 70% résidences, 10% centrales, 20% infrastructures
+     * La graine fixe aussi le monde : deux exécutions simulent la même ville.
+     */
+    public static GameState createGame(int buildings, long seed) {
+        GameState gameState = new GameState("Bench City", "Bench", 2, seed);
+        gameState.getCity().setQuiet(true);
+        populate(gameState.getCity(), buildings, seed);
+        return gameState;
+    }
+
+    /**
+     * Remplace les bâtiments de la ville par une grille générée
+     */
+    public static void populate(City city, int buildings, long seed) {
+        Random random = new Random(seed);
+        city.getResidences().clear();
+        city.getPowerPlants().clear();
+        city.getInfrastructures().clear();
+
+        int side = gridSide(buildings);
+        for (int i = 0; i < buildings; i++) {
+            int x = (i % side) * PITCH;
+            int y = (i / side) * PITCH;
+            int roll = random.nextInt(100);
+
+            if (roll < 70) {
+                ResidenceLevel level = ResidenceLevel.values()[random.nextInt(ResidenceLevel.values().length)];
+                city.getResidences().add(new Residence(level, x, y));
+            } else if (roll < 80) {
+                city.getPowerPlants().add(createPlant(random.nextInt(4), 1 + random.nextInt(3), x, y));
+            } else {
+                city.getInfrastructures().add(new Infrastructure(INFRA_TYPES[random.nextInt(INFRA_TYPES.length)], x, y));
+            }
+        }
+    }
+
+    /**
+     * Côté (en emplacements) de la grille carrée contenant n bâtiments
+     */
+    public static int gridSide(int buildings) {
+        return Math.max(1, (int) Math.ceil(Math.sqrt(buildings)));
+    }
+
+    private static PowerPlant createPlant(int kind, int level, int x, int y) {
+        return switch (kind) {
+            case 0 -> new CoalPlant(level, x, y);
+            case 1 -> new SolarPlant(level, x, y);
+            case 2 -> new WindTurbine(level, x, y);
+            default -> new NuclearPlant(level, x, y);
+        };
+    }
+}
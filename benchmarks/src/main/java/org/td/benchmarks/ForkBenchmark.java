@@ -0,0 +1,93 @@
+package org.td.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.td.model.GameState;
+import org.td.model.persistence.GameSaver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copie d'une partie pour simulation spéculative
+ * "fork" : GameState.fork seul (bâtiments partagés en copie à l'écriture),
+ * "forkAndAdvance" : fork puis une heure de jeu de la copie,
+ * "advanceParent" : une heure de jeu de la partie sans copie (référence),
+ * "forkThenAdvanceParent" : fork puis une heure de jeu de la partie, qui
+ * recopie alors tous ses bâtiments (coût payé par la boucle temps réel),
+ * "forkThenAdvanceParentAndLookup" : idem suivi d'une recherche par position,
+ * qui reconstruit l'index spatial abandonné par la recopie,
+ * "forkThenAdvanceBoth" : fork puis une heure de jeu des deux côtés,
+ * "forkDetachedThenAdvanceParentAndLookup" : GameState.forkDetached (la
+ * copie recopie tout de suite) puis une heure de jeu de la partie et une
+ * recherche par position, qui n'ont plus rien à recopier ni à reconstruire,
+ * "deepCopy" : encodage puis décodage complet de la partie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForkBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int buildings;
+
+    private GameState gameState;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameState = CityGenerator.createGame(buildings, 42L);
+    }
+
+    @Benchmark
+    public GameState fork() {
+        return gameState.fork();
+    }
+
+    @Benchmark
+    public GameState forkAndAdvance() {
+        GameState copy = gameState.fork();
+        copy.advanceHour();
+        return copy;
+    }
+
+    @Benchmark
+    public GameState advanceParent() {
+        gameState.advanceHour();
+        return gameState;
+    }
+
+    @Benchmark
+    public GameState forkThenAdvanceParent() {
+        GameState copy = gameState.fork();
+        gameState.advanceHour();
+        return copy;
+    }
+
+    @Benchmark
+    public Object forkThenAdvanceParentAndLookup() {
+        GameState copy = gameState.fork();
+        gameState.advanceHour();
+        return gameState.getCity().getBuildingAt(5, 5);
+    }
+
+    @Benchmark
+    public GameState forkThenAdvanceBoth() {
+        GameState copy = gameState.fork();
+        gameState.advanceHour();
+        copy.advanceHour();
+        return copy;
+    }
+
+    @Benchmark
+    public Object forkDetachedThenAdvanceParentAndLookup() {
+        GameState copy = gameState.forkDetached();
+        gameState.advanceHour();
+        return gameState.getCity().getBuildingAt(5, 5);
+    }
+
+    @Benchmark
+    public GameState deepCopy() {
+        return GameSaver.decode(GameSaver.encode(gameState, false));
+    }
+}
@@ -0,0 +1,75 @@
+package org.td.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.td.controller.BuildingController;
+import org.td.controller.GameController;
+import org.td.model.entities.City;
+import org.td.model.entities.Infrastructure;
+import org.td.model.enums.BuildingType;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes spatiales : test de chevauchement et bâtiment sous le curseur
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+
+    private static final int PROBES = 1024; // Puissance de 2
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int buildings;
+
+    private City city;
+    private BuildingController buildingController;
+    private Infrastructure collidingCandidate;
+    private int[] probeX;
+    private int[] probeY;
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameController controller = new GameController(CityGenerator.createGame(buildings, 42L));
+        city = controller.getCity();
+        city.publishSnapshot(); // BuildingController.getBuildingAt lit la photographie publiée
+        buildingController = controller.getBuildingController();
+
+        // Candidat en collision avec le dernier emplacement : pire cas du parcours linéaire
+        int side = CityGenerator.gridSide(buildings);
+        int last = buildings - 1;
+        collidingCandidate = new Infrastructure(BuildingType.PARK,
+                (last % side) * CityGenerator.PITCH, (last / side) * CityGenerator.PITCH);
+
+        // Points de survol : moitié sur des bâtiments, moitié dans le vide
+        Random random = new Random(7L);
+        probeX = new int[PROBES];
+        probeY = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            int slot = random.nextInt(buildings);
+            int offset = (i & 1) == 0 ? 5 : CityGenerator.PITCH - 5;
+            probeX[i] = (slot % side) * CityGenerator.PITCH + offset;
+            probeY[i] = (slot / side) * CityGenerator.PITCH + offset;
+        }
+    }
+
+    /**
+     * City.overlapsExisting via addBuilding (refusé : la ville n'est pas modifiée)
+     */
+    @Benchmark
+    public boolean overlapsExisting() {
+        return city.addBuilding(collidingCandidate);
+    }
+
+    @Benchmark
+    public void getBuildingAt(Blackhole blackhole) {
+        int i = probe++ & (PROBES - 1);
+        blackhole.consume(buildingController.getBuildingAt(probeX[i], probeY[i]));
+    }
+}
@@ -0,0 +1,71 @@
+package org.td.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.td.model.GameState;
+import org.td.model.persistence.GameSaver;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sauvegarde et chargement
+ * "java" : ancienne sérialisation Java de la City (GameState entier non
+ * sérialisable), "binary" : format GameSaver brut, "deflate" : format
+ * GameSaver compressé. La taille du fichier est affichée sur la sortie
+ * d'erreur à la préparation de chaque cas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int buildings;
+
+    @Param({"java", "binary", "deflate"})
+    public String format;
+
+    private GameState gameState;
+    private Path saveFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        gameState = CityGenerator.createGame(buildings, 42L);
+        saveFile = Files.createTempFile("bench", ".energyville");
+        long bytes = save();
+        System.err.println("💾 " + format + " / " + buildings + " bâtiments : " + bytes + " octets");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saveFile);
+    }
+
+    @Benchmark
+    public long save() throws IOException {
+        if (!format.equals("java"))
+            return GameSaver.save(gameState, saveFile, format.equals("deflate"));
+
+        try (ObjectOutputStream oos = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(saveFile)))) {
+            oos.writeObject(gameState.getCity());
+        }
+        return Files.size(saveFile);
+    }
+
+    @Benchmark
+    public Object load() throws IOException, ClassNotFoundException {
+        if (!format.equals("java"))
+            return GameSaver.load(saveFile);
+
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(saveFile)))) {
+            return ois.readObject();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.td.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.td.model.GameState;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de la boucle de simulation : une heure de jeu par opération
+ * La ville est régénérée à chaque itération : chacune part du même état au
+ * lieu d'une ville agrandie par les heures des itérations précédentes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int buildings;
+
+    private GameState gameState;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        gameState = CityGenerator.createGame(buildings, 42L);
+    }
+
+    @Benchmark
+    public void cityAdvanceTime() {
+        gameState.getCity().advanceTime();
+    }
+
+    @Benchmark
+    public void energySimulatorUpdate() {
+        gameState.getEnergySimulator().update();
+    }
+
+    @Benchmark
+    public void economyManagerUpdate() {
+        gameState.getEconomyManager().update();
+    }
+
+    @Benchmark
+    public void populationManagerUpdate() {
+        gameState.getPopulationManager().update();
+    }
+}
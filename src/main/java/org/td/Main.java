@@ -1,8 +1,20 @@
 package org.td;
 
 import javafx.application.Application;
+import org.td.model.GameState;
+import org.td.model.entities.NuclearPlant;
+import org.td.model.persistence.GameJournal;
+import org.td.model.persistence.Recording;
+import org.td.model.simulation.HeadlessEngine;
+import org.td.model.simulation.ReplayEngine;
+import org.td.model.simulation.TransactionLedger;
 import org.td.view.MainView;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
 /**
  * Classe principale pour lancer l'application
  * Point d'entrée du jeu ÉnergiVille
@@ -28,6 +40,18 @@ public class Main {
         // Vérifier la version Java
         checkJavaVersion();
 
+        // Rejeu d'un enregistrement
+        if (hasArgument(args, "--replay")) {
+            runReplay(args);
+            return;
+        }
+
+        // Mode headless : simulation sans interface graphique
+        if (hasArgument(args, "--headless")) {
+            runHeadless(args);
+            return;
+        }
+
         // Créer le dossier de sauvegarde s'il n'existe pas
         createSaveDirectory();
 
@@ -52,6 +76,171 @@ public class Main {
         }
     }
 
+    /**
+     * Lance une simulation headless (sans JavaFX) et affiche un résumé
+     * Options : --years N, --days N, --until yyyy-MM-dd, --difficulty N,
+     * --city NOM, --seed N, --verbose, --ledger FICHIER (journal complet sur disque),
+     * --journal DOSSIER (sauvegarde continue ; reprend la partie qui s'y trouve),
+     * --record FICHIER (enregistrement rejouable avec --replay)
+     */
+    private static void runHeadless(String[] args) {
+        String cityName = getArgument(args, "--city", "Headless City");
+        GameState gameState;
+        LocalDateTime target;
+        try {
+            int difficulty = Integer.parseInt(getArgument(args, "--difficulty", "2"));
+            String seed = getArgument(args, "--seed", null);
+            String journal = getArgument(args, "--journal", null);
+            gameState = journal == null ? null
+                    : GameJournal.recover(Path.of(journal));
+            if (gameState == null) {
+                gameState = seed == null
+                        ? new GameState(cityName, "Headless", difficulty)
+                        : new GameState(cityName, "Headless", difficulty, Long.parseLong(seed));
+            }
+            if (journal != null) {
+                gameState.startJournal(Path.of(journal));
+            }
+            target = parseTargetDate(args, gameState.getCity().getCurrentTime());
+        } catch (Exception e) {
+            System.err.println("❌ Arguments invalides: " + e.getMessage());
+            System.err.println("   Usage: --headless [--years N | --days N | --until yyyy-MM-dd]"
+                    + " [--difficulty 1-3] [--city NOM] [--seed N] [--verbose] [--ledger FICHIER]"
+                    + " [--journal DOSSIER] [--record FICHIER]");
+            System.exit(2);
+            return;
+        }
+
+        HeadlessEngine engine = new HeadlessEngine(gameState);
+        engine.setTargetDate(target);
+        engine.setQuiet(!hasArgument(args, "--verbose"));
+
+        TransactionLedger ledger = gameState.getEconomyManager().getLedger();
+        String ledgerFile = getArgument(args, "--ledger", null);
+        if (ledgerFile != null) {
+            try {
+                ledger.spillTo(Path.of(ledgerFile));
+            } catch (IOException e) {
+                System.err.println("❌ Journal impossible à ouvrir: " + e.getMessage());
+                System.exit(2);
+                return;
+            }
+        }
+
+        String recordFile = getArgument(args, "--record", null);
+        if (recordFile != null) {
+            gameState.startRecording();
+        }
+
+        // La progression est écrite sur stderr pour rester visible en mode silencieux
+        engine.setProgressListener(progress -> System.err.println("⏩ " + progress), 1000);
+
+        System.out.println("▶ Simulation headless jusqu'au " + target.toLocalDate() + "...");
+        HeadlessEngine.Result result = engine.run();
+
+        System.out.println();
+        System.out.println("✓ Simulation terminée (" + result.stopReason + ")");
+        if (!result.detail.isEmpty()) {
+            System.out.println("  Raison: " + result.detail);
+        }
+        System.out.println("  " + result);
+        System.out.println();
+        System.out.println(gameState.getCity().getSummary());
+        System.out.println("Score: " + gameState.calculateScore());
+        System.out.println("Graine: " + gameState.getCity().getWorldSeed());
+        System.out.println("Transactions: " + ledger.size()
+                + (ledger.isSpilling() ? " (journal: " + ledgerFile + ")" : ""));
+        try {
+            ledger.close();
+            gameState.detachJournal();
+        } catch (IOException e) {
+            System.err.println("⚠️ Fermeture du journal: " + e.getMessage());
+        }
+        if (recordFile != null) {
+            try {
+                Recording recording = gameState.stopRecording();
+                recording.writeTo(Path.of(recordFile));
+                System.out.println("Enregistrement: " + recordFile + " (" + recording.getCommandCount()
+                        + " commande(s), heures " + recording.getStartHour() + "-" + recording.getEndHour() + ")");
+            } catch (IOException e) {
+                System.err.println("❌ Enregistrement non écrit: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rejoue un enregistrement et vérifie qu'il aboutit au même état
+     * Options : --seek HEURE (état à cette heure depuis la fondation),
+     * --find-incident (première heure d'un incident nucléaire)
+     */
+    private static void runReplay(String[] args) {
+        String file = getArgument(args, "--replay", null);
+        Recording recording;
+        try {
+            recording = Recording.readFrom(Path.of(file));
+        } catch (Exception e) {
+            System.err.println("❌ Enregistrement illisible: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        ReplayEngine replay = new ReplayEngine(recording);
+        replay.setQuiet(!hasArgument(args, "--verbose"));
+        System.out.println("▶ Rejeu de " + file + " (graine " + recording.getSeed() + ", heures "
+                + recording.getStartHour() + "-" + recording.getEndHour() + ", "
+                + recording.getCommandCount() + " commande(s))");
+
+        long start = System.nanoTime();
+        if (hasArgument(args, "--find-incident")) {
+            long found = replay.findFirst(state -> state.getCity().getPowerPlants().stream()
+                    .anyMatch(plant -> plant instanceof NuclearPlant nuclear
+                            && nuclear.isContaminated()),
+                    recording.getStartHour(), recording.getEndHour());
+            System.out.println(found < 0 ? "Aucun incident nucléaire"
+                    : "☢️ Incident nucléaire à l'heure " + found + " (" + replay.getGameState().getCity().getCurrentTime() + ")");
+        } else if (hasArgument(args, "--seek")) {
+            replay.seek(Long.parseLong(getArgument(args, "--seek", "0")));
+        } else {
+            boolean identical = replay.verify();
+            System.out.println(identical ? "✓ Rejeu identique à la partie enregistrée"
+                    : "❌ Rejeu divergent : empreinte finale différente");
+        }
+        System.out.printf("  %d heure(s) atteinte(s) en %.2f s, %d image(s) clé(s)%n", replay.getHour(),
+                (System.nanoTime() - start) / 1e9, replay.getKeyframeCount());
+        System.out.println();
+        System.out.println(replay.getGameState().getCity().getSummary());
+    }
+
+    /**
+     * Calcule la date cible à partir des arguments (1 an par défaut)
+     */
+    private static LocalDateTime parseTargetDate(String[] args, LocalDateTime start) {
+        String until = getArgument(args, "--until", null);
+        if (until != null) {
+            return LocalDate.parse(until).atStartOfDay();
+        }
+        String days = getArgument(args, "--days", null);
+        if (days != null) {
+            return start.plusDays(Long.parseLong(days));
+        }
+        return start.plusYears(Long.parseLong(getArgument(args, "--years", "1")));
+    }
+
+    private static boolean hasArgument(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equals(name))
+                return true;
+        }
+        return false;
+    }
+
+    private static String getArgument(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name))
+                return args[i + 1];
+        }
+        return defaultValue;
+    }
+
     /**
      * Vérifie que la version Java est compatible
      */
@@ -1,5 +1,7 @@
 package org.td.controller;
 
+import org.td.model.command.CommandResult;
+
 public class BuildResult {
     public final boolean success;
     public final String message;
@@ -8,4 +10,8 @@ public class BuildResult {
         this.success = success;
         this.message = message;
     }
+
+    public static BuildResult from(CommandResult result) {
+        return new BuildResult(result.success, result.message);
+    }
 }
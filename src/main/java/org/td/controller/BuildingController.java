@@ -1,13 +1,14 @@
 package org.td.controller;
 
+import org.td.model.command.BuildingCommand;
+import org.td.model.command.GameCommand;
 import org.td.model.entities.*;
 import org.td.model.enums.*;
+import javafx.application.Platform;
 import javafx.beans.property.*;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
-import java.util.Random;
-import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Contrôleur pour la gestion des bâtiments
@@ -87,330 +88,158 @@ public class BuildingController {
     /**
      * Construit une centrale électrique
      */
-    public BuildResult buildPowerPlant(PowerPlantType type, int x, int y) {
-        // Vérifier niveau ville requis
-        if (!type.isUnlockedAt(city.getLevel())) {
-            return new BuildResult(false,
-                    "Niveau ville insuffisant (requis: " + type.getMinimumCityLevel() + ")");
-        }
-
-        // Vérifier coût
-        double cost = calculatePowerPlantCost(type, 1);
-        if (!city.canAfford(cost)) {
-            return new BuildResult(false,
-                    String.format("Budget insuffisant (requis: %.0f €)", cost));
-        }
-
-        // REFACTOR: Contrainte de construction (Niveau <= 2 : Max 1 centrale par type)
-        if (city.getLevel() <= 2) {
-            long existingCount = city.getPowerPlants().stream()
-                    .filter(p -> p.getType().equals(type.getDisplayName()))
-                    .count();
-
-            if (existingCount >= 1) {
-                return new BuildResult(false,
-                        "Niveau 3 requis pour avoir plusieurs centrales du même type !");
-            }
-        }
-
-        // Créer la centrale
-        PowerPlant plant = createPowerPlant(type, 1, x, y);
-        if (plant == null) {
-            return new BuildResult(false, "Erreur lors de la création");
-        }
-
-        // Vérifier chevauchement
-        if (!city.addBuilding(plant)) {
-            return new BuildResult(false, "Emplacement occupé ou invalide");
-        }
-
-        // Débiter le coût
-        city.spendMoney(cost);
-
-        return new BuildResult(true,
-                String.format("%s construite avec succès!", type.getDisplayName()));
+    public CompletableFuture<BuildResult> buildPowerPlant(PowerPlantType type, int x, int y) {
+        return execute(BuildingCommand.buildPowerPlant(type, x, y));
     }
 
     /**
      * Construit une infrastructure
      */
-    public BuildResult buildInfrastructure(BuildingType type, int x, int y) {
-        // Vérifier niveau ville requis
-        if (!type.isUnlockedAt(city.getLevel())) {
-            return new BuildResult(false,
-                    "Niveau ville insuffisant (requis: " + type.getMinimumCityLevel() + ")");
-        }
-
-        // Vérifier coût
-        double cost = type.getConstructionCost();
-        if (!city.canAfford(cost)) {
-            return new BuildResult(false,
-                    String.format("Budget insuffisant (requis: %.0f €)", cost));
-        }
-
-        // Créer l'infrastructure
-        Infrastructure infrastructure = new Infrastructure(type, x, y);
-
-        // Vérifier chevauchement
-        if (!city.addBuilding(infrastructure)) {
-            return new BuildResult(false, "Emplacement occupé ou invalide");
-        }
-
-        // Débiter le coût
-        city.spendMoney(cost);
-
-        return new BuildResult(true,
-                String.format("%s construit avec succès!", type.getDisplayName()));
+    public CompletableFuture<BuildResult> buildInfrastructure(BuildingType type, int x, int y) {
+        return execute(BuildingCommand.buildInfrastructure(type, x, y));
     }
 
     /**
      * Construit un bâtiment aléatoire
      */
-    public BuildResult buildRandom(int x, int y) {
+    public CompletableFuture<BuildResult> buildRandom(int x, int y) {
         // Méthode conservée pour compatibilité, mais le mode RANDOM sera retiré
-        return new BuildResult(false, "Mode désactivé");
+        return CompletableFuture.completedFuture(new BuildResult(false, "Mode désactivé"));
     }
 
     /**
      * Construit immédiatement une centrale à une position aléatoire valide
      */
-    public BuildResult buildRandomly(PowerPlantType type) {
-        // Vérifier niveau et coût
-        if (!type.isUnlockedAt(city.getLevel())) {
-            return new BuildResult(false, "Niveau insuffisant");
-        }
-        if (!city.canAfford(calculatePowerPlantCost(type, 1))) {
-            return new BuildResult(false, "Fonds insuffisants");
-        }
-
-        // Trouver une position valide
-        Random rand = new Random();
-        for (int i = 0; i < 50; i++) { // 50 tentatives
-            int x = rand.nextInt(org.td.utils.GameConfig.CANVAS_WIDTH - 100) + 20;
-            int y = rand.nextInt(org.td.utils.GameConfig.CANVAS_HEIGHT - 100) + 20;
-
-            // Tenter de construire
-            PowerPlant plant = createPowerPlant(type, 1, x, y);
-            if (city.addBuilding(plant)) {
-                city.spendMoney(calculatePowerPlantCost(type, 1));
-                return new BuildResult(true, type.getDisplayName() + " construit !");
-            }
-        }
-
-        return new BuildResult(false, "Impossible de trouver un emplacement libre");
+    public CompletableFuture<BuildResult> buildRandomly(PowerPlantType type) {
+        return execute(BuildingCommand.buildRandomly(type));
     }
 
     /**
      * Construit immédiatement une infrastructure à une position aléatoire valide
      */
-    public BuildResult buildRandomly(BuildingType type) {
-        // Vérifier niveau et coût
-        if (!type.isUnlockedAt(city.getLevel())) {
-            return new BuildResult(false, "Niveau insuffisant");
-        }
-        if (!city.canAfford(type.getConstructionCost())) {
-            return new BuildResult(false, "Fonds insuffisants");
-        }
-
-        // Trouver une position valide
-        Random rand = new Random();
-        for (int i = 0; i < 50; i++) { // 50 tentatives
-            int x = rand.nextInt(org.td.utils.GameConfig.CANVAS_WIDTH - 100) + 20;
-            int y = rand.nextInt(org.td.utils.GameConfig.CANVAS_HEIGHT - 100) + 20;
-
-            // Tenter de construire
-            Infrastructure infra = new Infrastructure(type, x, y);
-            if (city.addBuilding(infra)) {
-                city.spendMoney(type.getConstructionCost());
-                return new BuildResult(true, type.getDisplayName() + " construit !");
-            }
-        }
-
-        return new BuildResult(false, "Impossible de trouver un emplacement libre");
+    public CompletableFuture<BuildResult> buildRandomly(BuildingType type) {
+        return execute(BuildingCommand.buildRandomly(type));
     }
 
     /**
      * Tente de construire au clic (selon mode actuel)
+     * Le résultat est livré sur le thread JavaFX
      */
-    public BuildResult attemptBuild(int x, int y) {
-        BuildResult result = switch (buildMode) {
+    public CompletableFuture<BuildResult> attemptBuild(int x, int y) {
+        CompletableFuture<BuildResult> result = switch (buildMode) {
             case POWER_PLANT -> buildPowerPlant(selectedPlantType, x, y);
             case INFRASTRUCTURE -> buildInfrastructure(selectedInfraType, x, y);
             case RANDOM -> buildRandom(x, y);
-            case NONE -> new BuildResult(false, "Aucun mode de construction actif");
+            case NONE -> CompletableFuture.completedFuture(
+                    new BuildResult(false, "Aucun mode de construction actif"));
         };
 
-        // Annuler mode construction après succès
-        if (result.success) {
-            cancelBuildMode();
-        }
-
-        return result;
+        return result.thenApplyAsync(r -> {
+            // Annuler mode construction après succès
+            if (r.success) {
+                cancelBuildMode();
+            }
+            return r;
+        }, Platform::runLater);
     }
 
     /**
      * Améliore un bâtiment
      */
-    public BuildResult upgradeBuilding(Building building) {
-        if (!building.canUpgrade()) {
-            return new BuildResult(false, "Niveau maximum atteint");
-        }
-
-        double cost = building.getUpgradeCost();
-        if (!city.canAfford(cost)) {
-            return new BuildResult(false,
-                    String.format("Budget insuffisant (requis: %.0f €)", cost));
-        }
-
-        city.spendMoney(cost);
-        boolean success = building.upgrade();
-
-        if (success) {
-            return new BuildResult(true,
-                    String.format("%s amélioré au niveau %d!",
-                            building.getType(), building.getLevel()));
-        } else {
-            // Rembourser si échec
-            city.spendMoney(-cost);
-            return new BuildResult(false, "Échec de l'amélioration");
-        }
+    public CompletableFuture<BuildResult> upgradeBuilding(Building building) {
+        return execute(BuildingCommand.upgrade(building));
     }
 
     /**
      * Supprime un bâtiment
      */
-    public BuildResult demolishBuilding(Building building) {
-        boolean removed = city.removeBuilding(building);
-
-        if (removed) {
-            return new BuildResult(true,
-                    String.format("%s démoli (remboursement: %.0f €)",
-                            building.getType(), building.getConstructionCost() * 0.5));
-        } else {
-            return new BuildResult(false, "Impossible de démolir ce bâtiment");
-        }
+    public CompletableFuture<BuildResult> demolishBuilding(Building building) {
+        return execute(BuildingCommand.demolish(building));
     }
 
     /**
      * Active/Désactive un bâtiment
      */
-    public void toggleBuilding(Building building) {
-        building.toggleActive();
+    public CompletableFuture<BuildResult> toggleBuilding(Building building) {
+        return execute(BuildingCommand.toggle(building));
     }
 
     /**
      * Effectue la maintenance d'une centrale
      */
-    public BuildResult performMaintenance(PowerPlant plant) {
-        double cost = plant.performMaintenance();
-
-        if (!city.canAfford(cost)) {
-            return new BuildResult(false,
-                    String.format("Budget insuffisant (requis: %.0f €)", cost));
-        }
-
-        city.spendMoney(cost);
-        return new BuildResult(true,
-                String.format("Maintenance effectuée (%.0f €)", cost));
+    public CompletableFuture<BuildResult> performMaintenance(PowerPlant plant) {
+        return execute(BuildingCommand.maintain(plant));
     }
 
     /**
      * Réapprovisionne une centrale à charbon
      */
-    public BuildResult refuelCoalPlant(CoalPlant plant, double tons) {
-        double cost = plant.buyCoal(tons);
-
-        if (!city.canAfford(cost)) {
-            return new BuildResult(false,
-                    String.format("Budget insuffisant (requis: %.0f €)", cost));
-        }
-
-        city.spendMoney(cost);
-        return new BuildResult(true,
-                String.format("%.0f tonnes de charbon achetées", tons));
+    public CompletableFuture<BuildResult> refuelCoalPlant(CoalPlant plant, double tons) {
+        return execute(BuildingCommand.refuelCoal(plant, tons));
     }
 
     /**
      * Réapprovisionne une centrale nucléaire
      */
-    public BuildResult refuelNuclearPlant(NuclearPlant plant, double kg) {
-        double cost = plant.refuel(kg);
-
-        if (!city.canAfford(cost)) {
-            return new BuildResult(false,
-                    String.format("Budget insuffisant (requis: %.0f €)", cost));
-        }
-
-        city.spendMoney(cost);
-        return new BuildResult(true,
-                String.format("%.0f kg de combustible nucléaire achetés", kg));
+    public CompletableFuture<BuildResult> refuelNuclearPlant(NuclearPlant plant, double kg) {
+        return execute(BuildingCommand.refuelNuclear(plant, kg));
     }
 
     /**
      * Arrêt d'urgence d'une centrale nucléaire
      */
-    public void emergencyShutdownNuclear(NuclearPlant plant) {
-        plant.emergencyShutdown();
+    public CompletableFuture<BuildResult> emergencyShutdownNuclear(NuclearPlant plant) {
+        return execute(BuildingCommand.emergencyShutdown(plant));
     }
 
     /**
      * Redémarre une centrale nucléaire
      */
-    public BuildResult restartNuclearPlant(NuclearPlant plant) {
-        boolean success = plant.restart();
-
-        if (success) {
-            return new BuildResult(true, "Centrale nucléaire redémarrée");
-        } else {
-            return new BuildResult(false,
-                    "Impossible de redémarrer (sécurité ou combustible insuffisant)");
-        }
+    public CompletableFuture<BuildResult> restartNuclearPlant(NuclearPlant plant) {
+        return execute(BuildingCommand.restart(plant));
     }
 
     /**
-     * Obtient tous les bâtiments
+     * Transmet la commande au thread de simulation
      */
-    public List<Building> getAllBuildings() {
-        List<Building> all = new ArrayList<>();
-        // Filtrer les nulls éventuels et éviter les doublons si les listes sont mal
-        // gérées
-        if (city.getResidences() != null)
-            all.addAll(city.getResidences());
-        if (city.getPowerPlants() != null)
-            all.addAll(city.getPowerPlants());
-        if (city.getInfrastructures() != null)
-            all.addAll(city.getInfrastructures());
-
-        // Nettoyage de sécurité
-        all.removeAll(Collections.singleton(null));
+    private CompletableFuture<BuildResult> execute(GameCommand command) {
+        return gameController.execute(command).thenApply(BuildResult::from);
+    }
 
+    /**
+     * Obtient tous les bâtiments (dernière photographie publiée, n'importe quel thread)
+     */
+    public List<Building> getAllBuildings() {
+        CitySnapshot snapshot = city.getSnapshot();
+        List<Building> all = new ArrayList<>(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            all.add(snapshot.getBuilding(i));
+        }
         return all;
     }
 
     /**
-     * Trouve le bâtiment à une position
+     * Trouve le bâtiment à une position (dernière photographie publiée)
+     * L'index spatial vivant n'est lu que par le thread de simulation.
      */
     public Building getBuildingAt(int x, int y) {
-        for (Building building : getAllBuildings()) {
-            int bx = building.getX();
-            int by = building.getY();
-            int width = building.getWidth() * 40; // CELL_SIZE = 40
-            int height = building.getHeight() * 40;
-
-            if (x >= bx && x < bx + width && y >= by && y < by + height) {
-                return building;
-            }
-        }
-        return null;
+        CitySnapshot snapshot = city.getSnapshot();
+        int index = snapshot.findAt(x, y);
+        return index >= 0 ? snapshot.getBuilding(index) : null;
     }
 
     /**
-     * Obtient les centrales nécessitant maintenance
+     * Obtient les centrales nécessitant maintenance (dernière photographie publiée)
      */
     public List<PowerPlant> getPlantsNeedingMaintenance() {
-        return city.getPowerPlants().stream()
-                .filter(PowerPlant::needsMaintenance)
-                .collect(Collectors.toList());
+        CitySnapshot snapshot = city.getSnapshot();
+        List<PowerPlant> plants = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.getKind(i) == CitySnapshot.POWER_PLANT && snapshot.needsMaintenance(i)) {
+                plants.add((PowerPlant) snapshot.getBuilding(i));
+            }
+        }
+        return plants;
     }
 
     /**
@@ -453,31 +282,26 @@ public class BuildingController {
     }
 
     /**
-     * Crée une instance de centrale
-     */
-    private PowerPlant createPowerPlant(PowerPlantType type, int level, int x, int y) {
-        return switch (type) {
-            case COAL -> new CoalPlant(level, x, y);
-            case SOLAR -> new SolarPlant(level, x, y);
-            case WIND -> new WindTurbine(level, x, y);
-            case NUCLEAR -> new NuclearPlant(level, x, y);
-            // Pour HYDRO et GEOTHERMAL, on réutilise des types existants
-            // (ou créer de nouvelles classes si nécessaire)
-            case HYDRO -> new CoalPlant(level, x, y); // Temporaire
-            case GEOTHERMAL -> new SolarPlant(level, x, y); // Temporaire
-        };
-    }
-
-    /**
-     * Obtient les statistiques de bâtiments
+     * Obtient les statistiques de bâtiments (dernière photographie publiée)
      */
     public BuildingStats getBuildingStats() {
+        CitySnapshot snapshot = city.getSnapshot();
+        int activePlants = 0;
+        int plantsNeedingMaintenance = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.getKind(i) != CitySnapshot.POWER_PLANT)
+                continue;
+            if (snapshot.isActive(i))
+                activePlants++;
+            if (snapshot.needsMaintenance(i))
+                plantsNeedingMaintenance++;
+        }
         return new BuildingStats(
-                city.getResidences().size(),
-                city.getPowerPlants().size(),
-                city.getInfrastructures().size(),
-                (int) city.getPowerPlants().stream().filter(Building::isActive).count(),
-                (int) getPlantsNeedingMaintenance().size());
+                snapshot.getResidenceCount(),
+                snapshot.getPowerPlantCount(),
+                snapshot.getInfrastructureCount(),
+                activePlants,
+                plantsNeedingMaintenance);
     }
 
     // === GETTERS ===
@@ -2,13 +2,24 @@ package org.td.controller;
 
 import javafx.beans.property.*;
 import org.td.model.GameState;
+import org.td.model.command.CityCommand;
+import org.td.model.command.CommandResult;
+import org.td.model.command.GameCommand;
 import org.td.model.entities.*;
 import org.td.model.enums.*;
 import org.td.model.simulation.*;
+import org.td.utils.GameConfig;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import javafx.application.Platform;
 
 /**
@@ -40,6 +51,21 @@ public class GameController {
 
     // Listeners pour notifications
     private List<GameEventListener> eventListeners;
+    private List<Consumer<StatsSnapshot>> stateListeners;
+
+    // Dernier état de la simulation, livré au plus une fois par pulsation JavaFX
+    private StatePublisher<StatsSnapshot> statePublisher;
+
+    // Conseiller : un thread dédié, pour ne pas occuper le pool commun de la partie
+    private final ExecutorService advisorExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "BuildAdvisor-Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private CompletableFuture<List<BuildAdvisor.Recommendation>> pendingAdvice; // Conseil en cours de calcul
+
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     /**
      * Constructeur pour nouvelle partie
@@ -81,8 +107,17 @@ public class GameController {
 
         // Listeners
         this.eventListeners = new ArrayList<>();
+        this.stateListeners = new ArrayList<>();
 
         // Écouter les événements du TimeManager
+        this.statePublisher = new StatePublisher<>(Platform::runLater, snapshot -> {
+            updateProperties(snapshot);
+            checkGameEvents(snapshot);
+            for (Consumer<StatsSnapshot> listener : stateListeners) {
+                listener.accept(snapshot);
+            }
+        });
+        gameState.getTimeManager().setUiBackpressure(statePublisher::isBackedUp);
         setupTimeListeners();
 
         // Écouter les événements aléatoires
@@ -98,19 +133,18 @@ public class GameController {
         gameState.getTimeManager().addListener(new TimeListener() {
             @Override
             public void onTimeAdvanced(LocalDateTime currentTime) {
-                javafx.application.Platform.runLater(() -> {
-                    updateProperties();
-                    checkGameEvents();
-                });
+                // Thread de simulation : relevé de l'état, fusionné jusqu'à la prochaine pulsation
+                gameState.getCity().publishSnapshot();
+                statePublisher.publish(StatsSnapshot.capture(gameState));
             }
 
             @Override
-            public void onNewDay(java.time.LocalDateTime currentTime) {
+            public void onNewDay(LocalDateTime currentTime) {
                 Platform.runLater(() -> notifyEvent("Nouveau jour: " + currentTime.toLocalDate()));
             }
 
             @Override
-            public void onNewMonth(java.time.LocalDateTime currentTime) {
+            public void onNewMonth(LocalDateTime currentTime) {
                 Platform.runLater(() -> {
                     notifyEvent("Nouveau mois: " + currentTime.getMonth());
                     generateMonthlyReport();
@@ -133,64 +167,89 @@ public class GameController {
      * Démarre le jeu
      */
     public void startGame() {
+        startJournal();
         gameState.start();
         updateProperties();
         notifyEvent("Bienvenue dans " + gameState.getCity().getName() + "!");
     }
 
     /**
-     * Met à jour toutes les properties (appelé chaque tick)
+     * Démarre la sauvegarde continue (journal + instantanés en arrière-plan)
+     */
+    private void startJournal() {
+        if (gameState.getJournal() != null)
+            return;
+        try {
+            gameState.startJournal(Path.of(GameConfig.JOURNAL_DIRECTORY));
+        } catch (IOException e) {
+            notifyWarning("⚠️ Sauvegarde continue indisponible: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Termine la sauvegarde continue (la partie reste reprenable)
+     * Le résultat (journal fermé ou non) est livré sur le thread JavaFX
+     */
+    public CompletableFuture<Boolean> closeJournal() {
+        return gameState.closeJournal()
+                .handleAsync((result, error) -> error == null && result.success, Platform::runLater);
+    }
+
+    /**
+     * Met à jour toutes les properties depuis l'état courant (thread JavaFX)
      */
     private void updateProperties() {
-        City city = gameState.getCity();
+        updateProperties(StatsSnapshot.capture(gameState));
+    }
 
+    /**
+     * Met à jour toutes les properties (au plus une fois par pulsation)
+     */
+    private void updateProperties(StatsSnapshot snapshot) {
         // Données ville
-        moneyProperty.set(city.getMoney());
-        happinessProperty.set(city.getHappiness());
-        populationProperty.set(city.getPopulation());
-        cityLevelProperty.set(city.getLevel());
-        pollutionProperty.set(city.getTotalPollution());
+        moneyProperty.set(snapshot.money);
+        happinessProperty.set(snapshot.happiness);
+        populationProperty.set(snapshot.population);
+        cityLevelProperty.set(snapshot.cityLevel);
+        pollutionProperty.set(snapshot.pollution);
 
         // Énergie
-        energyProductionProperty.set(city.getTotalEnergyProduction());
-        energyDemandProperty.set(city.getTotalEnergyDemand());
+        energyProductionProperty.set(snapshot.energyProduction);
+        energyDemandProperty.set(snapshot.energyDemand);
 
         // Simulateurs
-        gridStabilityProperty.set(gameState.getEnergySimulator().getGridStability());
-        coverageRateProperty.set(gameState.getEnergySimulator().getCoverageRate());
+        gridStabilityProperty.set(snapshot.gridStability);
+        coverageRateProperty.set(snapshot.coverageRate);
 
         // Économie
-        revenueProperty.set(city.getTotalRevenue());
-        expensesProperty.set(city.getTotalExpenses());
+        revenueProperty.set(snapshot.revenue);
+        expensesProperty.set(snapshot.expenses);
 
         // Temps
-        java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-        timeProperty.set(city.getCurrentTime().format(formatter));
+        timeProperty.set(snapshot.time.format(TIME_FORMATTER));
     }
 
     /**
      * Vérifie les événements de jeu
      */
-    private void checkGameEvents() {
-        City city = gameState.getCity();
-
+    private void checkGameEvents(StatsSnapshot snapshot) {
         // Alerte argent faible
-        if (city.getMoney() < 5000 && city.getMoney() > 0) {
-            notifyWarning("⚠️ Budget faible! Restant: " + (int) city.getMoney() + "€");
+        if (snapshot.money < 5000 && snapshot.money > 0) {
+            notifyWarning("⚠️ Budget faible! Restant: " + (int) snapshot.money + "€");
         }
 
         // Alerte bonheur faible
-        if (city.getHappiness() < 30) {
-            notifyWarning("😞 Satisfaction très basse! (" + (int) city.getHappiness() + "%)");
+        if (snapshot.happiness < 30) {
+            notifyWarning("😞 Satisfaction très basse! (" + (int) snapshot.happiness + "%)");
         }
 
         // Alerte pénurie énergétique
-        if (gameState.getEnergySimulator().getCoverageRate() < 70) {
+        if (snapshot.coverageRate < 70) {
             notifyWarning("⚡ Pénurie d'électricité!");
         }
 
         // Alerte centrales à maintenir
-        long needMaintenance = gameState.getEnergySimulator().getPlantsNeedingMaintenance();
+        long needMaintenance = snapshot.plantsNeedingMaintenance;
         if (needMaintenance > 0) {
             notifyWarning("🔧 " + needMaintenance + " centrale(s) nécessitent maintenance");
         }
@@ -251,13 +310,17 @@ public class GameController {
      * Redémarre le jeu
      */
     public void restartGame() {
-        // Stop current game
-        if (gameState != null && gameState.getTimeManager() != null) {
-            gameState.getTimeManager().stop();
+        // Stop current game (journal fermé entre deux heures, puis arrêt de la boucle)
+        GameState previous = gameState;
+        if (previous != null && previous.getTimeManager() != null) {
+            previous.closeJournal().whenComplete((result, error) -> previous.getTimeManager().stop());
         }
 
         // Create new state
         this.gameState = new GameState("ÉnergiVille", "Joueur", 2);
+        synchronized (this) {
+            pendingAdvice = null; // Conseil calculé sur l'ancienne partie
+        }
         initialize(); // Re-bind properties and controllers
 
         // Restart logic
@@ -267,15 +330,18 @@ public class GameController {
 
     /**
      * Sauvegarde la partie
+     * Le résultat est livré sur le thread JavaFX, sans bloquer l'interface
      */
-    public boolean saveGame(String filename) {
-        boolean success = gameState.save(filename);
-        if (success) {
-            notifyEvent("💾 Partie sauvegardée: " + filename);
-        } else {
-            notifyWarning("❌ Échec de la sauvegarde");
-        }
-        return success;
+    public CompletableFuture<Boolean> saveGame(String filename) {
+        return gameState.save(filename).handleAsync((result, error) -> {
+            boolean success = error == null && result.success;
+            if (success) {
+                notifyEvent("💾 Partie sauvegardée: " + filename);
+            } else {
+                notifyWarning("❌ Échec de la sauvegarde");
+            }
+            return success;
+        }, Platform::runLater);
     }
 
     /**
@@ -296,6 +362,24 @@ public class GameController {
         return allRecommendations;
     }
 
+    /**
+     * Classe les actions possibles en simulant leurs 30 prochains jours
+     * (voir BuildAdvisor). La partie continue pendant le calcul, sur une copie.
+     */
+    public synchronized CompletableFuture<List<BuildAdvisor.Recommendation>> adviseBuild() {
+        // Une seule copie de la partie par conseil : une demande pendant le calcul attend le même résultat
+        if (pendingAdvice != null && !pendingAdvice.isDone())
+            return pendingAdvice;
+        pendingAdvice = gameState.forkAsync()
+                .thenApplyAsync(copy -> new BuildAdvisor(copy).advise(), advisorExecutor)
+                .whenComplete((ranking, error) -> {
+                    if (error != null) {
+                        System.err.println("❌ Conseiller: " + error.getMessage());
+                    }
+                });
+        return pendingAdvice;
+    }
+
     /**
      * Obtient un résumé de l'état du jeu
      */
@@ -316,46 +400,51 @@ public class GameController {
         return gameState.generateFullReport();
     }
 
+    /**
+     * Transmet une action du joueur au thread de simulation
+     * Le résultat est complété sur ce thread : les vues repassent sur le
+     * thread JavaFX (Platform.runLater) avant de toucher à l'interface.
+     */
+    public CompletableFuture<CommandResult> execute(GameCommand command) {
+        return gameState.submit(command).whenComplete((result, error) -> {
+            if (error != null) {
+                System.err.println("❌ Commande échouée: " + error.getMessage());
+            }
+            statePublisher.publish(StatsSnapshot.capture(gameState));
+        });
+    }
+
     /**
      * Demande un prêt d'urgence
      */
-    public boolean requestEmergencyLoan() {
-        boolean granted = gameState.getEconomyManager().grantEmergencyLoan();
-        if (granted) {
-            updateProperties();
-            notifyEvent("🏦 Prêt d'urgence accordé: 20,000€");
-        } else {
-            notifyWarning("❌ Prêt refusé (dette trop élevée)");
-        }
-        return granted;
+    public CompletableFuture<CommandResult> requestEmergencyLoan() {
+        return execute(CityCommand.emergencyLoan()).thenApply(result -> {
+            Platform.runLater(() -> sendNotification(result.message,
+                    result.success ? EventType.INFO : EventType.WARNING));
+            return result;
+        });
     }
 
     /**
      * Ajuste le prix de l'électricité
      */
-    public void adjustElectricityPrice(double newPrice) {
-        gameState.getEconomyManager().adjustElectricityPrice(newPrice);
-        notifyEvent("💡 Prix électricité ajusté: " +
-                String.format("%.2f €/kWh", newPrice));
+    public CompletableFuture<CommandResult> adjustElectricityPrice(double newPrice) {
+        return execute(CityCommand.electricityPrice(newPrice)).thenApply(result -> {
+            Platform.runLater(() -> notifyEvent(result.message));
+            return result;
+        });
     }
 
     /**
      * Effectue maintenance sur toutes les centrales
      */
-    public void performGlobalMaintenance() {
-        double totalCost = 0;
-        for (PowerPlant plant : gameState.getCity().getPowerPlants()) {
-            if (plant.needsMaintenance()) { // ✅ Maintenant public et retourne boolean
-                totalCost += plant.performMaintenance();
+    public CompletableFuture<CommandResult> performGlobalMaintenance() {
+        return execute(CityCommand.globalMaintenance()).thenApply(result -> {
+            if (result.success) {
+                Platform.runLater(() -> notifyEvent(result.message));
             }
-        }
-
-        if (totalCost > 0) {
-            gameState.getCity().spendMoney(totalCost);
-            updateProperties();
-            notifyEvent("🔧 Maintenance globale effectuée: " +
-                    String.format("%.0f €", totalCost));
-        }
+            return result;
+        });
     }
 
     // === GESTION DES ÉVÉNEMENTS ===
@@ -382,6 +471,13 @@ public class GameController {
         eventListeners.add(listener);
     }
 
+    /**
+     * Écoute chaque relevé publié (thread JavaFX, au plus une fois par pulsation)
+     */
+    public void addStateListener(Consumer<StatsSnapshot> listener) {
+        stateListeners.add(listener);
+    }
+
     public City getCity() {
         return gameState.getCity();
     }
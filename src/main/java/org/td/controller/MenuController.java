@@ -1,7 +1,16 @@
 package org.td.controller;
 
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
+import org.td.model.GameState;
+import org.td.model.persistence.GameJournal;
+import org.td.model.persistence.SaveCatalog;
+import org.td.utils.GameConfig;
 import org.td.view.MainView;
+import org.td.view.SaveSlotDialog;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Contrôleur pour le menu principal
@@ -30,6 +39,44 @@ public class MenuController {
         }
     }
 
+    /**
+     * Charge une partie choisie dans le catalogue des sauvegardes
+     */
+    public void loadGame() {
+        SaveSlotDialog.chooseSave().ifPresent(entry -> {
+            GameState state = load(entry);
+            if (state == null) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Charger une Partie");
+                alert.setHeaderText("Impossible de charger " + entry.getName());
+                alert.showAndWait();
+                return;
+            }
+            try {
+                new MainView(state).start(stage);
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.err.println("Erreur lors du lancement du jeu");
+            }
+        });
+    }
+
+    /**
+     * Sauvegarde classique, ou partie continue (instantané + rejeu du journal)
+     */
+    private GameState load(SaveCatalog.Entry entry) {
+        Path journal = Path.of(GameConfig.JOURNAL_DIRECTORY).toAbsolutePath();
+        if (!journal.equals(entry.file.toAbsolutePath().getParent())) {
+            return GameState.load(entry.file.toString());
+        }
+        try {
+            return GameJournal.recover(journal);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Reprise impossible: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Quitte l'application
      */
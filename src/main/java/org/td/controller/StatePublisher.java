@@ -0,0 +1,84 @@
+package org.td.controller;
+
+import org.td.utils.GameConfig;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Transmet le dernier état publié par le thread de simulation au thread JavaFX
+ * Le producteur écrase un emplacement unique sans verrou ; au plus une tâche
+ * est en attente côté JavaFX. Les états intermédiaires sont abandonnés :
+ * le travail de l'interface suit la cadence d'affichage, pas celle des ticks.
+ */
+public class StatePublisher<T> {
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private final AtomicBoolean pulsePending = new AtomicBoolean(false);
+    private final Executor executor; // Platform::runLater en jeu
+    private final Consumer<T> consumer;
+
+    private volatile long pendingSince; // System.nanoTime() de la tâche en attente
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    /**
+     * Constructeur
+     * @param executor Exécute la tâche de livraison (thread JavaFX)
+     * @param consumer Reçoit le dernier état, sur le thread de l'executor
+     */
+    public StatePublisher(Executor executor, Consumer<T> consumer) {
+        this.executor = executor;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Publie un nouvel état (remplace celui qui n'a pas encore été livré)
+     */
+    public void publish(T state) {
+        latest.set(state);
+        published.incrementAndGet();
+        if (pulsePending.compareAndSet(false, true)) {
+            pendingSince = System.nanoTime();
+            executor.execute(this::deliver);
+        }
+    }
+
+    /**
+     * Livre le dernier état (tâche côté JavaFX)
+     */
+    private void deliver() {
+        // Libérer le drapeau avant de lire : une publication concurrente relancera une tâche
+        pulsePending.set(false);
+        T state = latest.getAndSet(null);
+        if (state != null) {
+            delivered.incrementAndGet();
+            consumer.accept(state);
+        }
+    }
+
+    /**
+     * Vrai si la tâche en attente n'a pas été exécutée depuis plus de
+     * GameConfig.UI_BACKPRESSURE_NANOS : le thread JavaFX prend du retard
+     * et la simulation doit ralentir
+     */
+    public boolean isBackedUp() {
+        return pulsePending.get() && System.nanoTime() - pendingSince > GameConfig.UI_BACKPRESSURE_NANOS;
+    }
+
+    /**
+     * Nombre d'états publiés
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * Nombre d'états effectivement livrés (les autres ont été fusionnés)
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+}
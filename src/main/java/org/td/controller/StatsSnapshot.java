@@ -0,0 +1,53 @@
+package org.td.controller;
+
+import org.td.model.GameState;
+import org.td.model.entities.City;
+import org.td.model.simulation.EnergySimulator;
+
+import java.time.LocalDateTime;
+
+/**
+ * Valeurs affichées par l'interface, relevées sur le thread de simulation
+ * (objet immuable transmis au thread JavaFX par StatePublisher)
+ */
+public class StatsSnapshot {
+    public final double money;
+    public final double happiness;
+    public final int population;
+    public final int cityLevel;
+    public final double pollution;
+    public final double energyProduction;
+    public final double energyDemand;
+    public final double gridStability;
+    public final double coverageRate;
+    public final double revenue;
+    public final double expenses;
+    public final long plantsNeedingMaintenance;
+    public final LocalDateTime time;
+
+    private StatsSnapshot(GameState gameState) {
+        City city = gameState.getCity();
+        EnergySimulator energy = gameState.getEnergySimulator();
+
+        this.money = city.getMoney();
+        this.happiness = city.getHappiness();
+        this.population = city.getPopulation();
+        this.cityLevel = city.getLevel();
+        this.pollution = city.getTotalPollution();
+        this.energyProduction = city.getTotalEnergyProduction();
+        this.energyDemand = city.getTotalEnergyDemand();
+        this.gridStability = energy.getGridStability();
+        this.coverageRate = energy.getCoverageRate();
+        this.revenue = city.getTotalRevenue();
+        this.expenses = city.getTotalExpenses();
+        this.plantsNeedingMaintenance = energy.getPlantsNeedingMaintenance();
+        this.time = city.getCurrentTime();
+    }
+
+    /**
+     * Relève l'état courant (à appeler depuis le thread qui fait avancer la ville)
+     */
+    public static StatsSnapshot capture(GameState gameState) {
+        return new StatsSnapshot(gameState);
+    }
+}
@@ -1,11 +1,15 @@
 package org.td.controller;
 
+import org.td.model.command.CityCommand;
+import org.td.model.command.CommandResult;
 import org.td.model.enums.GameSpeed;
 import org.td.model.simulation.TimeManager;
+import javafx.application.Platform;
 import javafx.beans.property.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Contrôleur pour la gestion du temps de jeu
@@ -89,7 +93,8 @@ public class TimeController {
             case SLOW -> GameSpeed.NORMAL;
             case NORMAL -> GameSpeed.FAST;
             case FAST -> GameSpeed.ULTRA_FAST;
-            case ULTRA_FAST -> GameSpeed.ULTRA_FAST; // Déjà max
+            case ULTRA_FAST -> GameSpeed.TURBO;
+            case TURBO -> GameSpeed.TURBO; // Déjà max
         };
         setSpeed(next);
     }
@@ -104,6 +109,7 @@ public class TimeController {
             case NORMAL -> GameSpeed.SLOW;
             case FAST -> GameSpeed.NORMAL;
             case ULTRA_FAST -> GameSpeed.FAST;
+            case TURBO -> GameSpeed.ULTRA_FAST;
         };
         setSpeed(previous);
     }
@@ -111,19 +117,10 @@ public class TimeController {
     /**
      * Saute des heures (mode debug/cheat)
      */
-    public void skipHours(int hours) {
-        boolean wasPaused = timeManager.isPaused();
-
-        if (!wasPaused) {
-            timeManager.pause();
-        }
-
-        timeManager.skipHours(hours);
-        updateTimeDisplay();
-
-        if (!wasPaused) {
-            timeManager.resume();
-        }
+    public CompletableFuture<CommandResult> skipHours(int hours) {
+        // Exécuté entre deux heures par le thread de simulation : pas besoin de pause
+        return gameController.execute(CityCommand.skipHours(hours))
+                .whenComplete((result, error) -> Platform.runLater(this::updateTimeDisplay));
     }
 
     /**
@@ -1,13 +1,30 @@
 package org.td.model;
 
+import org.td.model.command.CommandQueue;
+import org.td.model.command.CommandResult;
+import org.td.model.command.ForkCommand;
+import org.td.model.command.GameCommand;
+import org.td.model.command.JournalCommand;
+import org.td.model.command.JournaledCommand;
+import org.td.model.command.SaveCommand;
 import org.td.model.entities.*;
+import org.td.model.persistence.GameJournal;
+import org.td.model.persistence.Recording;
+import org.td.model.persistence.GameSaver;
+import org.td.model.persistence.SaveFormatException;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 import org.td.model.simulation.*;
+import org.td.utils.GameConfig;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Représente l'état global du jeu
@@ -39,11 +56,27 @@ public class GameState implements Serializable {
     private List<Objective> currentObjectives;
     private List<Objective> completedObjectives;
 
+    // Actions du joueur, exécutées par le seul thread qui fait avancer la ville
+    private transient CommandQueue commandQueue;
+    private transient Random placementRandom;
+
+    // Sauvegarde continue (null si la partie n'est pas journalisée)
+    private transient GameJournal journal;
+    private transient int journalDepth; // > 0 : effets reproduits par le rejeu de l'enregistrement en cours
+    private transient Recording recording; // Enregistrement pour rejeu (null si inactif)
+
     /**
      * Constructeur
      */
     public GameState(String cityName, String playerName, int difficulty) {
-        this.city = new City(cityName);
+        this(cityName, playerName, difficulty, SimulationRandom.newSeed());
+    }
+
+    /**
+     * Constructeur avec graine (partie reproductible)
+     */
+    public GameState(String cityName, String playerName, int difficulty, long seed) {
+        this.city = new City(cityName, seed);
         this.playerName = playerName;
         this.difficulty = difficulty;
         this.status = GameStatus.PLAYING;
@@ -60,6 +93,7 @@ public class GameState implements Serializable {
 
         // Liaison pour synchronisation
         this.city.setPopulationManager(this.populationManager);
+        initializeCommands();
 
         // Objectifs et succès
         this.achievements = new ArrayList<>();
@@ -71,6 +105,67 @@ public class GameState implements Serializable {
         applyDifficulty();
     }
 
+    /**
+     * Prépare la file de commandes et la branche sur la boucle de simulation
+     */
+    private void initializeCommands() {
+        this.commandQueue = new CommandQueue();
+        this.placementRandom = new SimulationRandom(city.getWorldSeed(), SimulationRandom.STREAM_PLACEMENT);
+        if (timeManager != null) {
+            timeManager.setCommandProcessor(this::processCommands);
+            timeManager.setHourStep(this::update);
+            timeManager.setTickObserver(this::onTick);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initializeCommands();
+    }
+
+    // === SAUVEGARDE (voir org.td.model.persistence.GameSaver) ===
+
+    /**
+     * Écrit l'état propre de la partie (la ville et les gestionnaires s'écrivent à part)
+     */
+    public void writeState(StateOutput out) {
+        out.writeEnum(status);
+        out.writeString(playerName);
+        out.writeInt(difficulty);
+        out.writeTime(gameStartTime);
+        out.writeLong(totalGameTimeMinutes);
+        out.writeInt(achievementsUnlocked);
+        out.writeLong(((SimulationRandom) placementRandom).getCounter());
+        out.writeInt(achievements.size());
+        for (Achievement achievement : achievements)
+            achievement.writeState(out);
+        for (List<Objective> objectives : List.of(currentObjectives, completedObjectives)) {
+            out.writeInt(objectives.size());
+            for (Objective objective : objectives)
+                objective.writeState(out);
+        }
+    }
+
+    public void readState(StateInput in) {
+        status = in.readEnum(GameStatus.class);
+        playerName = in.readString();
+        difficulty = in.readInt();
+        gameStartTime = in.readTime();
+        totalGameTimeMinutes = in.readLong();
+        achievementsUnlocked = in.readInt();
+        ((SimulationRandom) placementRandom).setCounter(in.readLong());
+        achievements.clear();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++)
+            achievements.add(Achievement.readState(in));
+        for (List<Objective> objectives : List.of(currentObjectives, completedObjectives)) {
+            objectives.clear();
+            count = in.readInt();
+            for (int i = 0; i < count; i++)
+                objectives.add(Objective.readState(in));
+        }
+    }
+
     /**
      * Initialise les succès (achievements)
      */
@@ -142,7 +237,7 @@ public class GameState implements Serializable {
     }
 
     /**
-     * Met à jour l'état du jeu (appelé chaque frame/tick)
+     * Met à jour l'état du jeu (chaque heure, juste après la ville : voir TimeManager.tick)
      */
     public void update() {
         if (status != GameStatus.PLAYING)
@@ -150,7 +245,6 @@ public class GameState implements Serializable {
 
         // Mise à jour des gestionnaires
         energySimulator.update();
-        energySimulator.update();
         economyManager.update();
         populationManager.update();
         randomEventManager.update(); // Mettre à jour les événements
@@ -165,6 +259,212 @@ public class GameState implements Serializable {
         }
     }
 
+    /**
+     * Avance le jeu d'une heure (commandes en attente, puis la même heure que
+     * la boucle temps réel). Pas de thread ni d'horloge : l'appelant décide du rythme
+     */
+    public void advanceHour() {
+        processCommands();
+        timeManager.tick();
+    }
+
+    /**
+     * Fin d'une heure de jeu (boucle temps réel ou advanceHour)
+     */
+    private void onTick() {
+        if (journalDepth > 0)
+            return;
+        if (journal != null) {
+            journal.appendHour(this);
+        }
+        if (recording != null) {
+            recording.hourCompleted(this);
+        }
+    }
+
+    /**
+     * Dépose une action du joueur (n'importe quel thread)
+     * Si la boucle temps réel tourne, elle l'exécutera à la prochaine limite
+     * d'heure ; sinon la commande est exécutée immédiatement par l'appelant.
+     * @return Résultat, complété sur le thread qui exécute la commande
+     */
+    public CompletableFuture<CommandResult> submit(GameCommand command) {
+        CompletableFuture<CommandResult> result = commandQueue.submit(command);
+        if (timeManager.isRunning()) {
+            timeManager.requestWakeUp();
+        } else {
+            // Pas de boucle : l'appelant exécute, un seul à la fois
+            synchronized (commandQueue) {
+                processCommands();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Exécute les commandes en attente (thread de simulation uniquement)
+     * @return Nombre de commandes exécutées
+     */
+    public int processCommands() {
+        int executed = commandQueue.drain(this);
+        if (executed > 0) {
+            city.publishSnapshot();
+        }
+        return executed;
+    }
+
+    /**
+     * Exécute une commande (thread de simulation uniquement)
+     * La commande est journalisée avant d'être appliquée ; les heures qu'elle
+     * fait passer ne le sont pas, son rejeu les reproduit.
+     */
+    public CommandResult execute(GameCommand command) {
+        if (journalDepth == 0 && command instanceof JournaledCommand journaled) {
+            if (journal != null) {
+                journal.appendCommand(journaled);
+            }
+            if (recording != null) {
+                recording.addCommand(timeManager.getGameHoursElapsed(), journaled);
+            }
+        }
+        journalDepth++;
+        try {
+            return command.execute(this);
+        } finally {
+            journalDepth--;
+        }
+    }
+
+    // === SAUVEGARDE CONTINUE (voir GameJournal) ===
+
+    /**
+     * Journalise la partie dans un dossier (partie arrêtée ou thread de simulation)
+     */
+    public GameJournal startJournal(Path directory) throws IOException {
+        detachJournal();
+        journal = GameJournal.open(directory, this);
+        return journal;
+    }
+
+    /**
+     * Termine la journalisation entre deux heures de jeu
+     * Coût constant : le journal est déjà sur disque, il suffit de le forcer.
+     * @return Résultat, complété sur le thread qui exécute la commande (sans attente)
+     */
+    public CompletableFuture<CommandResult> closeJournal() {
+        return submit(new JournalCommand());
+    }
+
+    /**
+     * Détache et ferme le journal (thread de simulation uniquement)
+     */
+    public void detachJournal() throws IOException {
+        GameJournal current = journal;
+        journal = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public GameJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Partie indépendante partant de l'état actuel (thread de simulation ou partie arrêtée)
+     * Les bâtiments ne sont pas recopiés : parent et copie les partagent et
+     * chacun copie un bâtiment la première fois qu'il le modifie. La copie
+     * évolue ensuite exactement comme le parent à commandes égales ; elle n'a
+     * ni boucle temps réel, ni journal, ni enregistrement. Les bâtiments de
+     * la copie se modifient via City.modifiable.
+     * Coût : l'appel est en temps constant, mais chaque heure modifie tous
+     * les bâtiments. La prochaine heure du parent, puis celle de la copie,
+     * recopient donc chacun tous leurs bâtiments, et leur index spatial est
+     * reconstruit à la première requête de position (voir ForkBenchmark).
+     * Pour une copie qui part sur un autre thread, voir forkDetached.
+     */
+    public GameState fork() {
+        return GameSaver.fork(this);
+    }
+
+    /**
+     * Copie dont les tirages aléatoires suivent une autre graine : même
+     * point de départ, avenir différent (simulations de Monte-Carlo)
+     */
+    public GameState fork(long seed) {
+        return GameSaver.fork(this, seed);
+    }
+
+    /**
+     * Copie dont les bâtiments sont recopiés tout de suite plutôt que partagés
+     * Le parent reste seul propriétaire de ses bâtiments : sa prochaine heure
+     * ne recopie rien et garde son index spatial. À préférer pour une copie
+     * confiée à un autre thread alors que le parent continue de tourner.
+     */
+    public GameState forkDetached() {
+        return GameSaver.forkDetached(this);
+    }
+
+    /**
+     * Copie détachée (voir forkDetached) prise sur le thread de simulation,
+     * entre deux heures de jeu (n'importe quel thread)
+     */
+    public CompletableFuture<GameState> forkAsync() {
+        ForkCommand command = new ForkCommand();
+        submit(command);
+        return command.getResult();
+    }
+
+    // === ENREGISTREMENT (voir Recording et ReplayEngine) ===
+
+    /**
+     * Enregistre les commandes à partir de maintenant (partie arrêtée ou thread de simulation)
+     */
+    public Recording startRecording() {
+        recording = Recording.start(this);
+        return recording;
+    }
+
+    /**
+     * Arrête l'enregistrement et le rend
+     */
+    public Recording stopRecording() {
+        Recording current = recording;
+        recording = null;
+        return current;
+    }
+
+    public Recording getRecording() {
+        return recording;
+    }
+
+    /**
+     * Empreinte de l'état (argent, bonheur, production, population, bâtiments)
+     * Comparée au rejeu pour détecter une divergence
+     */
+    public int getChecksum() {
+        long h = Double.doubleToLongBits(city.getMoney());
+        h = h * 31 + Double.doubleToLongBits(city.getHappiness());
+        h = h * 31 + Double.doubleToLongBits(city.getTotalEnergyProduction());
+        h = h * 31 + city.getPopulation();
+        h = h * 31 + city.getBuildingCount();
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Générateur des positions de construction aléatoires
+     */
+    public Random getPlacementRandom() {
+        return placementRandom;
+    }
+
+    /**
+     * Vérifie si la partie est terminée
+     */
+    public boolean isGameOver() {
+        return status == GameStatus.GAME_OVER || city.isGameOver();
+    }
+
     /**
      * Vérifie les objectifs
      */
@@ -187,7 +487,7 @@ public class GameState implements Serializable {
                 objective.setCompleted(true);
                 completedObjectives.add(objective);
                 currentObjectives.remove(objective);
-                System.out.println("🎯 Objectif complété: " + objective.getName());
+                city.log("🎯 Objectif complété: " + objective.getName());
 
                 // Récompense
                 city.spendMoney(-5000); // 5000€ bonus
@@ -218,7 +518,7 @@ public class GameState implements Serializable {
             if (unlocked) {
                 achievement.unlock();
                 achievementsUnlocked++;
-                System.out.println("🏆 Succès débloqué: " + achievement.getName());
+                city.log("🏆 Succès débloqué: " + achievement.getName());
             }
         }
     }
@@ -259,30 +559,33 @@ public class GameState implements Serializable {
     }
 
     /**
-     * Sauvegarde le jeu
+     * Sauvegarde le jeu (format binaire, voir GameSaver)
+     * Pendant la simulation, l'écriture passe par la file de commandes pour
+     * avoir lieu entre deux heures de jeu.
+     * @return Résultat, complété sur le thread qui exécute la commande (sans attente)
      */
-    public boolean save(String filename) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(filename))) {
-            oos.writeObject(this);
-            System.out.println("💾 Jeu sauvegardé: " + filename);
-            return true;
-        } catch (IOException e) {
-            System.err.println("❌ Erreur sauvegarde: " + e.getMessage());
-            return false;
-        }
+    public CompletableFuture<CommandResult> save(String filename) {
+        return submit(new SaveCommand(filename, GameConfig.SAVE_COMPRESSION))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        System.err.println("❌ Erreur sauvegarde: " + error.getMessage());
+                    } else if (result.success) {
+                        System.out.println(result.message);
+                    } else {
+                        System.err.println(result.message);
+                    }
+                });
     }
 
     /**
      * Charge une sauvegarde
      */
     public static GameState load(String filename) {
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(filename))) {
-            GameState state = (GameState) ois.readObject();
+        try {
+            GameState state = GameSaver.load(Path.of(filename));
             System.out.println("📂 Jeu chargé: " + filename);
             return state;
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException | SaveFormatException e) {
             System.err.println("❌ Erreur chargement: " + e.getMessage());
             return null;
         }
@@ -430,6 +733,19 @@ class Achievement implements Serializable {
         this.unlockedDate = LocalDateTime.now();
     }
 
+    void writeState(StateOutput out) {
+        out.writeString(name);
+        out.writeString(description);
+        out.writeBoolean(unlocked);
+        out.writeTime(unlockedDate);
+    }
+
+    static Achievement readState(StateInput in) {
+        Achievement achievement = new Achievement(in.readString(), in.readString(), in.readBoolean());
+        achievement.unlockedDate = in.readTime();
+        return achievement;
+    }
+
     public String getName() {
         return name;
     }
@@ -469,6 +785,23 @@ class Objective implements Serializable {
         this.completed = false;
     }
 
+    void writeState(StateOutput out) {
+        out.writeString(name);
+        out.writeString(description);
+        out.writeEnum(type);
+        out.writeDouble(target);
+        out.writeDouble(progress);
+        out.writeBoolean(completed);
+    }
+
+    static Objective readState(StateInput in) {
+        Objective objective = new Objective(in.readString(), in.readString(),
+                in.readEnum(ObjectiveType.class), in.readDouble());
+        objective.progress = in.readDouble();
+        objective.completed = in.readBoolean();
+        return objective;
+    }
+
     public String getName() {
         return name;
     }
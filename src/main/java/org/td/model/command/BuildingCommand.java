@@ -0,0 +1,372 @@
+package org.td.model.command;
+
+import org.td.model.GameState;
+import org.td.model.entities.*;
+import org.td.model.enums.BuildingType;
+import org.td.model.enums.PowerPlantType;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
+import org.td.utils.GameConfig;
+
+import java.util.Random;
+
+/**
+ * Commande portant sur un bâtiment : construction, amélioration, démolition,
+ * activation, maintenance et approvisionnement
+ */
+public class BuildingCommand extends JournaledCommand {
+    private static final long serialVersionUID = 1L;
+
+    public enum Action {
+        BUILD_POWER_PLANT,
+        BUILD_INFRASTRUCTURE,
+        BUILD_RANDOM_POWER_PLANT,
+        BUILD_RANDOM_INFRASTRUCTURE,
+        UPGRADE,
+        DEMOLISH,
+        TOGGLE,
+        MAINTAIN,
+        REFUEL_COAL,
+        REFUEL_NUCLEAR,
+        NUCLEAR_SHUTDOWN,
+        NUCLEAR_RESTART
+    }
+
+    private final Action action;
+    private final int x, y; // Position du bâtiment (ou de la construction)
+    private final PowerPlantType plantType;
+    private final BuildingType infraType;
+    private final double amount; // Quantité de combustible
+
+    private BuildingCommand(Action action, int x, int y, PowerPlantType plantType,
+            BuildingType infraType, double amount) {
+        this.action = action;
+        this.x = x;
+        this.y = y;
+        this.plantType = plantType;
+        this.infraType = infraType;
+        this.amount = amount;
+    }
+
+    // === FABRIQUES ===
+
+    public static BuildingCommand buildPowerPlant(PowerPlantType type, int x, int y) {
+        return new BuildingCommand(Action.BUILD_POWER_PLANT, x, y, type, null, 0);
+    }
+
+    public static BuildingCommand buildInfrastructure(BuildingType type, int x, int y) {
+        return new BuildingCommand(Action.BUILD_INFRASTRUCTURE, x, y, null, type, 0);
+    }
+
+    public static BuildingCommand buildRandomly(PowerPlantType type) {
+        return new BuildingCommand(Action.BUILD_RANDOM_POWER_PLANT, 0, 0, type, null, 0);
+    }
+
+    public static BuildingCommand buildRandomly(BuildingType type) {
+        return new BuildingCommand(Action.BUILD_RANDOM_INFRASTRUCTURE, 0, 0, null, type, 0);
+    }
+
+    public static BuildingCommand upgrade(Building building) {
+        return on(Action.UPGRADE, building, 0);
+    }
+
+    public static BuildingCommand demolish(Building building) {
+        return on(Action.DEMOLISH, building, 0);
+    }
+
+    public static BuildingCommand toggle(Building building) {
+        return on(Action.TOGGLE, building, 0);
+    }
+
+    public static BuildingCommand maintain(PowerPlant plant) {
+        return on(Action.MAINTAIN, plant, 0);
+    }
+
+    public static BuildingCommand refuelCoal(CoalPlant plant, double tons) {
+        return on(Action.REFUEL_COAL, plant, tons);
+    }
+
+    public static BuildingCommand refuelNuclear(NuclearPlant plant, double kg) {
+        return on(Action.REFUEL_NUCLEAR, plant, kg);
+    }
+
+    public static BuildingCommand emergencyShutdown(NuclearPlant plant) {
+        return on(Action.NUCLEAR_SHUTDOWN, plant, 0);
+    }
+
+    public static BuildingCommand restart(NuclearPlant plant) {
+        return on(Action.NUCLEAR_RESTART, plant, 0);
+    }
+
+    private static BuildingCommand on(Action action, Building building, double amount) {
+        return new BuildingCommand(action, building.getX(), building.getY(), null, null, amount);
+    }
+
+    // === JOURNAL ===
+
+    @Override
+    public int getJournalKind() {
+        return KIND_BUILDING;
+    }
+
+    @Override
+    public void writeState(StateOutput out) {
+        out.writeEnum(action);
+        out.writeInt(x);
+        out.writeInt(y);
+        out.writeEnum(plantType);
+        out.writeEnum(infraType);
+        out.writeDouble(amount);
+    }
+
+    static BuildingCommand readFields(StateInput in) {
+        return new BuildingCommand(in.readEnum(Action.class), in.readInt(), in.readInt(),
+                in.readEnum(PowerPlantType.class), in.readEnum(BuildingType.class), in.readDouble());
+    }
+
+    // === EXÉCUTION ===
+
+    @Override
+    public CommandResult execute(GameState state) {
+        City city = state.getCity();
+        return switch (action) {
+            case BUILD_POWER_PLANT -> buildPowerPlant(city, plantType, x, y);
+            case BUILD_INFRASTRUCTURE -> buildInfrastructure(city, infraType, x, y);
+            case BUILD_RANDOM_POWER_PLANT -> buildRandomPowerPlant(city, state.getPlacementRandom());
+            case BUILD_RANDOM_INFRASTRUCTURE -> buildRandomInfrastructure(city, state.getPlacementRandom());
+            default -> executeOnBuilding(city, city.modifiable(city.getBuildingAt(x, y)));
+        };
+    }
+
+    private CommandResult executeOnBuilding(City city, Building building) {
+        // Le bâtiment a pu être démoli ou déplacé depuis la demande
+        if (building == null || building.getX() != x || building.getY() != y) {
+            return CommandResult.fail("Bâtiment introuvable");
+        }
+
+        return switch (action) {
+            case UPGRADE -> upgrade(city, building);
+            case DEMOLISH -> demolish(city, building);
+            case TOGGLE -> {
+                building.toggleActive();
+                yield CommandResult.ok(building.getType() + (building.isActive() ? " activé" : " désactivé"));
+            }
+            case MAINTAIN -> building instanceof PowerPlant plant
+                    ? maintain(city, plant)
+                    : CommandResult.fail("Seules les centrales nécessitent une maintenance");
+            case REFUEL_COAL -> building instanceof CoalPlant coal
+                    ? refuelCoal(city, coal)
+                    : CommandResult.fail("Ce bâtiment n'est pas une centrale à charbon");
+            case REFUEL_NUCLEAR, NUCLEAR_SHUTDOWN, NUCLEAR_RESTART -> building instanceof NuclearPlant nuclear
+                    ? executeOnNuclear(city, nuclear)
+                    : CommandResult.fail("Ce bâtiment n'est pas une centrale nucléaire");
+            default -> CommandResult.fail("Action inconnue");
+        };
+    }
+
+    private CommandResult buildPowerPlant(City city, PowerPlantType type, int px, int py) {
+        // Vérifier niveau ville requis
+        if (!type.isUnlockedAt(city.getLevel())) {
+            return CommandResult.fail(
+                    "Niveau ville insuffisant (requis: " + type.getMinimumCityLevel() + ")");
+        }
+
+        // Vérifier coût
+        double cost = type.getConstructionCost(1);
+        if (!city.canAfford(cost)) {
+            return CommandResult.fail(String.format("Budget insuffisant (requis: %.0f €)", cost));
+        }
+
+        // Contrainte de construction (Niveau <= 2 : Max 1 centrale par type)
+        if (city.getLevel() <= 2) {
+            long existingCount = city.getPowerPlants().stream()
+                    .filter(p -> p.getType().equals(type.getDisplayName()))
+                    .count();
+
+            if (existingCount >= 1) {
+                return CommandResult.fail("Niveau 3 requis pour avoir plusieurs centrales du même type !");
+            }
+        }
+
+        // Vérifier chevauchement
+        if (!city.addBuilding(createPowerPlant(type, 1, px, py))) {
+            return CommandResult.fail("Emplacement occupé ou invalide");
+        }
+
+        city.spendMoney(cost);
+        return CommandResult.ok(String.format("%s construite avec succès!", type.getDisplayName()));
+    }
+
+    private CommandResult buildInfrastructure(City city, BuildingType type, int px, int py) {
+        // Vérifier niveau ville requis
+        if (!type.isUnlockedAt(city.getLevel())) {
+            return CommandResult.fail(
+                    "Niveau ville insuffisant (requis: " + type.getMinimumCityLevel() + ")");
+        }
+
+        // Vérifier coût
+        double cost = type.getConstructionCost();
+        if (!city.canAfford(cost)) {
+            return CommandResult.fail(String.format("Budget insuffisant (requis: %.0f €)", cost));
+        }
+
+        // Vérifier chevauchement
+        if (!city.addBuilding(new Infrastructure(type, px, py))) {
+            return CommandResult.fail("Emplacement occupé ou invalide");
+        }
+
+        city.spendMoney(cost);
+        return CommandResult.ok(String.format("%s construit avec succès!", type.getDisplayName()));
+    }
+
+    private CommandResult buildRandomPowerPlant(City city, Random random) {
+        // Vérifier niveau et coût
+        if (!plantType.isUnlockedAt(city.getLevel())) {
+            return CommandResult.fail("Niveau insuffisant");
+        }
+        double cost = plantType.getConstructionCost(1);
+        if (!city.canAfford(cost)) {
+            return CommandResult.fail("Fonds insuffisants");
+        }
+
+        // Trouver une position valide
+        for (int i = 0; i < 50; i++) { // 50 tentatives
+            int px = random.nextInt(GameConfig.CANVAS_WIDTH - 100) + 20;
+            int py = random.nextInt(GameConfig.CANVAS_HEIGHT - 100) + 20;
+
+            if (city.addBuilding(createPowerPlant(plantType, 1, px, py))) {
+                city.spendMoney(cost);
+                return CommandResult.ok(plantType.getDisplayName() + " construit !");
+            }
+        }
+
+        return CommandResult.fail("Impossible de trouver un emplacement libre");
+    }
+
+    private CommandResult buildRandomInfrastructure(City city, Random random) {
+        // Vérifier niveau et coût
+        if (!infraType.isUnlockedAt(city.getLevel())) {
+            return CommandResult.fail("Niveau insuffisant");
+        }
+        if (!city.canAfford(infraType.getConstructionCost())) {
+            return CommandResult.fail("Fonds insuffisants");
+        }
+
+        // Trouver une position valide
+        for (int i = 0; i < 50; i++) { // 50 tentatives
+            int px = random.nextInt(GameConfig.CANVAS_WIDTH - 100) + 20;
+            int py = random.nextInt(GameConfig.CANVAS_HEIGHT - 100) + 20;
+
+            if (city.addBuilding(new Infrastructure(infraType, px, py))) {
+                city.spendMoney(infraType.getConstructionCost());
+                return CommandResult.ok(infraType.getDisplayName() + " construit !");
+            }
+        }
+
+        return CommandResult.fail("Impossible de trouver un emplacement libre");
+    }
+
+    private CommandResult upgrade(City city, Building building) {
+        if (!building.canUpgrade()) {
+            return CommandResult.fail("Niveau maximum atteint");
+        }
+
+        double cost = building.getUpgradeCost();
+        if (!city.canAfford(cost)) {
+            return CommandResult.fail(String.format("Budget insuffisant (requis: %.0f €)", cost));
+        }
+
+        city.spendMoney(cost);
+        if (!building.upgrade()) {
+            // Rembourser si échec
+            city.spendMoney(-cost);
+            return CommandResult.fail("Échec de l'amélioration");
+        }
+
+        return CommandResult.ok(String.format("%s amélioré au niveau %d!",
+                building.getType(), building.getLevel()));
+    }
+
+    private CommandResult demolish(City city, Building building) {
+        if (!city.removeBuilding(building)) {
+            return CommandResult.fail("Impossible de démolir ce bâtiment");
+        }
+        return CommandResult.ok(String.format("%s démoli (remboursement: %.0f €)",
+                building.getType(), building.getConstructionCost() * 0.5));
+    }
+
+    private CommandResult maintain(City city, PowerPlant plant) {
+        // Vérifier coût avant de toucher à la centrale
+        double cost = plant.getWeeklyMaintenanceCost();
+        if (!city.canAfford(cost)) {
+            return CommandResult.fail(String.format("Budget insuffisant (requis: %.0f €)", cost));
+        }
+
+        city.spendMoney(plant.performMaintenance());
+        return CommandResult.ok(String.format("Maintenance effectuée (%.0f €)", cost));
+    }
+
+    private CommandResult refuelCoal(City city, CoalPlant plant) {
+        // Vérifier coût avant de toucher à la centrale
+        double cost = plant.getCoalCost(amount);
+        if (!city.canAfford(cost)) {
+            return CommandResult.fail(String.format("Budget insuffisant (requis: %.0f €)", cost));
+        }
+
+        city.spendMoney(plant.buyCoal(amount));
+        return CommandResult.ok(String.format("%.0f tonnes de charbon achetées", amount));
+    }
+
+    private CommandResult executeOnNuclear(City city, NuclearPlant plant) {
+        switch (action) {
+            case REFUEL_NUCLEAR -> {
+                double cost = plant.getFuelCost(amount);
+                if (!city.canAfford(cost)) {
+                    return CommandResult.fail(String.format("Budget insuffisant (requis: %.0f €)", cost));
+                }
+                city.spendMoney(plant.refuel(amount));
+                return CommandResult.ok(String.format("%.0f kg de combustible nucléaire achetés", amount));
+            }
+            case NUCLEAR_SHUTDOWN -> {
+                plant.emergencyShutdown();
+                return CommandResult.ok("Arrêt d'urgence effectué");
+            }
+            default -> {
+                if (!plant.restart()) {
+                    return CommandResult.fail("Impossible de redémarrer (sécurité ou combustible insuffisant)");
+                }
+                return CommandResult.ok("Centrale nucléaire redémarrée");
+            }
+        }
+    }
+
+    /**
+     * Crée une instance de centrale
+     */
+    public static PowerPlant createPowerPlant(PowerPlantType type, int level, int x, int y) {
+        return switch (type) {
+            case COAL -> new CoalPlant(level, x, y);
+            case SOLAR -> new SolarPlant(level, x, y);
+            case WIND -> new WindTurbine(level, x, y);
+            case NUCLEAR -> new NuclearPlant(level, x, y);
+            // Pour HYDRO et GEOTHERMAL, on réutilise des types existants
+            // (ou créer de nouvelles classes si nécessaire)
+            case HYDRO -> new CoalPlant(level, x, y); // Temporaire
+            case GEOTHERMAL -> new SolarPlant(level, x, y); // Temporaire
+        };
+    }
+
+    // === GETTERS ===
+
+    public Action getAction() {
+        return action;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+}
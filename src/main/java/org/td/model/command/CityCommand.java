@@ -0,0 +1,109 @@
+package org.td.model.command;
+
+import org.td.model.GameState;
+import org.td.model.entities.City;
+import org.td.model.entities.PowerPlant;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
+
+/**
+ * Commande portant sur la ville entière : maintenance globale, finances, temps
+ */
+public class CityCommand extends JournaledCommand {
+    private static final long serialVersionUID = 1L;
+
+    public enum Action {
+        GLOBAL_MAINTENANCE,
+        EMERGENCY_LOAN,
+        ELECTRICITY_PRICE,
+        SKIP_HOURS
+    }
+
+    private final Action action;
+    private final double amount; // Prix ou nombre d'heures selon l'action
+
+    private CityCommand(Action action, double amount) {
+        this.action = action;
+        this.amount = amount;
+    }
+
+    // === FABRIQUES ===
+
+    public static CityCommand globalMaintenance() {
+        return new CityCommand(Action.GLOBAL_MAINTENANCE, 0);
+    }
+
+    public static CityCommand emergencyLoan() {
+        return new CityCommand(Action.EMERGENCY_LOAN, 0);
+    }
+
+    public static CityCommand electricityPrice(double newPrice) {
+        return new CityCommand(Action.ELECTRICITY_PRICE, newPrice);
+    }
+
+    public static CityCommand skipHours(int hours) {
+        return new CityCommand(Action.SKIP_HOURS, hours);
+    }
+
+    // === JOURNAL ===
+
+    @Override
+    public int getJournalKind() {
+        return KIND_CITY;
+    }
+
+    @Override
+    public void writeState(StateOutput out) {
+        out.writeEnum(action);
+        out.writeDouble(amount);
+    }
+
+    static CityCommand readFields(StateInput in) {
+        return new CityCommand(in.readEnum(Action.class), in.readDouble());
+    }
+
+    // === EXÉCUTION ===
+
+    @Override
+    public CommandResult execute(GameState state) {
+        City city = state.getCity();
+        return switch (action) {
+            case GLOBAL_MAINTENANCE -> {
+                double totalCost = 0;
+                for (PowerPlant plant : city.getPowerPlants()) {
+                    if (plant.needsMaintenance()) {
+                        totalCost += city.modifiable(plant).performMaintenance();
+                    }
+                }
+                if (totalCost <= 0) {
+                    yield CommandResult.fail("Aucune centrale à entretenir");
+                }
+                city.spendMoney(totalCost);
+                yield CommandResult.ok("🔧 Maintenance globale effectuée: " +
+                        String.format("%.0f €", totalCost));
+            }
+            case EMERGENCY_LOAN -> state.getEconomyManager().grantEmergencyLoan()
+                    ? CommandResult.ok("🏦 Prêt d'urgence accordé: 20,000€")
+                    : CommandResult.fail("❌ Prêt refusé (dette trop élevée)");
+            case ELECTRICITY_PRICE -> {
+                state.getEconomyManager().adjustElectricityPrice(amount);
+                yield CommandResult.ok("💡 Prix électricité ajusté: " +
+                        String.format("%.2f €/kWh", amount));
+            }
+            case SKIP_HOURS -> {
+                state.getTimeManager().skipHours((int) amount);
+                yield CommandResult.ok(String.format("%d heure(s) passée(s)", (int) amount));
+            }
+        };
+    }
+
+    // === GETTERS ===
+
+    public Action getAction() {
+        return action;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,80 @@
+package org.td.model.command;
+
+import org.td.model.GameState;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * File de commandes multi-producteurs / consommateur unique, sans verrou
+ * Les threads de l'interface déposent des commandes ; seul le thread qui
+ * fait avancer la ville les exécute (entre deux heures de jeu).
+ * Chaque dépôt est un seul échange atomique sur la queue de la liste.
+ */
+public class CommandQueue {
+    private final AtomicReference<Node> tail;
+    private Node head; // Consommateur uniquement (nœud sentinelle)
+
+    /**
+     * Constructeur
+     */
+    public CommandQueue() {
+        Node sentinel = new Node(null, null);
+        this.head = sentinel;
+        this.tail = new AtomicReference<>(sentinel);
+    }
+
+    /**
+     * Dépose une commande (n'importe quel thread)
+     * @return Résultat, complété par le thread consommateur
+     */
+    public CompletableFuture<CommandResult> submit(GameCommand command) {
+        CompletableFuture<CommandResult> future = new CompletableFuture<>();
+        Node node = new Node(command, future);
+        Node previous = tail.getAndSet(node);
+        previous.next = node; // Publication (champ volatile)
+        return future;
+    }
+
+    /**
+     * Exécute toutes les commandes déposées (thread consommateur uniquement)
+     * @return Nombre de commandes exécutées
+     */
+    public int drain(GameState state) {
+        int executed = 0;
+        Node next;
+        while ((next = head.next) != null) {
+            head = next;
+            GameCommand command = next.command;
+            CompletableFuture<CommandResult> future = next.future;
+            next.command = null;
+            next.future = null;
+
+            try {
+                future.complete(state.execute(command));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+            executed++;
+        }
+        return executed;
+    }
+
+    /**
+     * Vrai si aucune commande n'est en attente (indicatif)
+     */
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    private static final class Node {
+        GameCommand command;
+        CompletableFuture<CommandResult> future;
+        volatile Node next;
+
+        Node(GameCommand command, CompletableFuture<CommandResult> future) {
+            this.command = command;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.td.model.command;
+
+/**
+ * Résultat d'une commande (message destiné au joueur)
+ */
+public class CommandResult {
+    public final boolean success;
+    public final String message;
+
+    public CommandResult(boolean success, String message) {
+        this.success = success;
+        this.message = message;
+    }
+
+    public static CommandResult ok(String message) {
+        return new CommandResult(true, message);
+    }
+
+    public static CommandResult fail(String message) {
+        return new CommandResult(false, message);
+    }
+}
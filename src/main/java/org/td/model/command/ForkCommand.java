@@ -0,0 +1,30 @@
+package org.td.model.command;
+
+import org.td.model.GameState;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Copie la partie sur le thread de simulation, entre deux heures de jeu
+ * (voir GameState.forkAsync et forkDetached)
+ */
+public class ForkCommand extends GameCommand {
+    private static final long serialVersionUID = 1L;
+
+    private final transient CompletableFuture<GameState> result = new CompletableFuture<>();
+
+    @Override
+    public CommandResult execute(GameState state) {
+        try {
+            result.complete(state.forkDetached());
+            return CommandResult.ok("Partie copiée");
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return CommandResult.fail("❌ Copie impossible: " + e.getMessage());
+        }
+    }
+
+    public CompletableFuture<GameState> getResult() {
+        return result;
+    }
+}
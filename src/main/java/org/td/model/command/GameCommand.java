@@ -0,0 +1,21 @@
+package org.td.model.command;
+
+import org.td.model.GameState;
+
+import java.io.Serializable;
+
+/**
+ * Action du joueur sur la partie
+ * Une commande ne contient que des données (types, positions, montants) :
+ * les bâtiments sont désignés par leur position et retrouvés au moment de
+ * l'exécution, sur le thread de simulation. Les commandes qui modifient la
+ * partie sont journalisées et rejouées (voir JournaledCommand).
+ */
+public abstract class GameCommand implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Valide puis applique la commande (thread de simulation uniquement)
+     */
+    public abstract CommandResult execute(GameState state);
+}
@@ -0,0 +1,26 @@
+package org.td.model.command;
+
+import org.td.model.GameState;
+
+import java.io.IOException;
+
+/**
+ * Ferme le journal de la partie sur le thread de simulation, entre deux
+ * heures de jeu (aucune écriture n'est alors en cours)
+ */
+public class JournalCommand extends GameCommand {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public CommandResult execute(GameState state) {
+        if (state.getJournal() == null) {
+            return CommandResult.fail("Aucun journal ouvert");
+        }
+        try {
+            state.detachJournal();
+            return CommandResult.ok("💾 Sauvegarde continue terminée");
+        } catch (IOException e) {
+            return CommandResult.fail("❌ Fermeture du journal: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.td.model.command;
+
+import org.td.model.persistence.SaveFormatException;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
+
+/**
+ * Commande qui modifie la partie : écrite dans le journal et dans les
+ * enregistrements, puis relue pour le rejeu
+ * Les commandes sans effet sur la partie (sauvegarde, copie, fermeture du
+ * journal) étendent directement GameCommand et n'y sont jamais écrites.
+ */
+public abstract class JournaledCommand extends GameCommand {
+    private static final long serialVersionUID = 1L;
+
+    // Types de commandes dans le journal
+    static final int KIND_BUILDING = 1;
+    static final int KIND_CITY = 2;
+
+    /**
+     * Type de la commande dans le journal (voir readState)
+     */
+    public abstract int getJournalKind();
+
+    /**
+     * Écrit les données de la commande
+     */
+    public abstract void writeState(StateOutput out);
+
+    /**
+     * Relit une commande écrite par writeState
+     */
+    public static JournaledCommand readState(int kind, StateInput in) {
+        return switch (kind) {
+            case KIND_BUILDING -> BuildingCommand.readFields(in);
+            case KIND_CITY -> CityCommand.readFields(in);
+            default -> throw new SaveFormatException("Type de commande inconnu: " + kind);
+        };
+    }
+}
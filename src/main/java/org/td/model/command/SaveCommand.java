@@ -0,0 +1,33 @@
+package org.td.model.command;
+
+import org.td.model.GameState;
+import org.td.model.persistence.GameSaver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Sauvegarde la partie sur le thread de simulation, entre deux heures de jeu
+ * (l'état n'y change pas pendant l'écriture)
+ */
+public class SaveCommand extends GameCommand {
+    private static final long serialVersionUID = 1L;
+
+    private final String filename;
+    private final boolean compress;
+
+    public SaveCommand(String filename, boolean compress) {
+        this.filename = filename;
+        this.compress = compress;
+    }
+
+    @Override
+    public CommandResult execute(GameState state) {
+        try {
+            long size = GameSaver.save(state, Path.of(filename), compress);
+            return CommandResult.ok(String.format("💾 Jeu sauvegardé: %s (%d Ko)", filename, size / 1024));
+        } catch (IOException | RuntimeException e) {
+            return CommandResult.fail("❌ Erreur sauvegarde: " + e.getMessage());
+        }
+    }
+}
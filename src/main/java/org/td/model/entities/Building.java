@@ -1,5 +1,9 @@
 package org.td.model.entities;
 
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
+import org.td.model.simulation.SimulationRandom;
+
 import java.io.Serializable;
 import java.util.UUID;
 
@@ -7,7 +11,7 @@ import java.util.UUID;
  * Classe abstraite représentant un bâtiment dans la ville
  * Tous les types de bâtiments héritent de cette classe
  */
-public abstract class Building implements Serializable {
+public abstract class Building implements Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
 
     protected String id; // Identifiant unique
@@ -19,6 +23,14 @@ public abstract class Building implements Serializable {
     protected boolean isUnderConstruction; // En cours de construction
     protected int constructionProgress; // Progression (0-100)
 
+    // Aléatoire déterministe (voir SimulationRandom)
+    private long entityKey; // Dérivée du type, de la position et du niveau initial
+    private long randomKey; // entityKey combinée à la graine de la ville
+    private long randomCounter; // Nombre de tirages effectués
+
+    private transient BuildingListener listener; // Ville propriétaire (index spatial, agrégats)
+    private transient int changeDepth; // Imbrication de beginChange/endChange
+
     /**
      * Constructeur de base
      * @param level Niveau initial du bâtiment
@@ -34,6 +46,38 @@ public abstract class Building implements Serializable {
         this.constructionTime = System.currentTimeMillis();
         this.isUnderConstruction = false;
         this.constructionProgress = 100;
+        this.entityKey = computeEntityKey();
+        this.randomKey = entityKey; // Avant rattachement à une ville
+    }
+
+    private long computeEntityKey() {
+        long key = SimulationRandom.hash(getClass().getName().hashCode(), level);
+        return SimulationRandom.hash(key, ((long) x << 32) | (y & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Rattache le flux aléatoire du bâtiment à la graine de la ville
+     * (idempotent : ne dépend que de la graine et de la clé d'entité)
+     */
+    void bindWorldSeed(long worldSeed) {
+        if (entityKey == 0) {
+            entityKey = computeEntityKey(); // Sauvegarde antérieure aux clés d'entité
+        }
+        randomKey = SimulationRandom.hash(worldSeed, entityKey);
+    }
+
+    /**
+     * Tirage uniforme dans [0, 1) sur le flux propre du bâtiment
+     */
+    protected double nextRandom() {
+        return SimulationRandom.nextDouble(randomKey, randomCounter++);
+    }
+
+    /**
+     * Tirage uniforme dans [0, bound) sur le flux propre du bâtiment
+     */
+    protected int nextRandomInt(int bound) {
+        return SimulationRandom.nextInt(randomKey, randomCounter++, bound);
     }
 
     /**
@@ -78,9 +122,11 @@ public abstract class Building implements Serializable {
      */
     public boolean upgrade() {
         if (level < 5 && !isUnderConstruction) {
+            beginChange();
             level++;
             isUnderConstruction = true;
             constructionProgress = 0;
+            endChange();
             return true;
         }
         return false;
@@ -105,7 +151,28 @@ public abstract class Building implements Serializable {
      * Active ou désactive le bâtiment
      */
     public void toggleActive() {
+        beginChange();
         this.isActive = !this.isActive;
+        endChange();
+    }
+
+    /**
+     * Début d'une modification d'état (la ville retire l'ancienne contribution)
+     * Les appels peuvent s'imbriquer : seul le plus externe notifie
+     */
+    protected final void beginChange() {
+        if (changeDepth++ == 0 && listener != null) {
+            listener.beforeChange(this);
+        }
+    }
+
+    /**
+     * Fin d'une modification d'état (la ville ajoute la nouvelle contribution)
+     */
+    protected final void endChange() {
+        if (--changeDepth == 0 && listener != null) {
+            listener.afterChange(this);
+        }
     }
 
     /**
@@ -135,7 +202,7 @@ public abstract class Building implements Serializable {
     }
 
     public void setX(int x) {
-        this.x = x;
+        setPosition(x, this.y);
     }
 
     public int getY() {
@@ -143,7 +210,43 @@ public abstract class Building implements Serializable {
     }
 
     public void setY(int y) {
+        setPosition(this.x, y);
+    }
+
+    /**
+     * Déplace le bâtiment (la ville propriétaire est notifiée)
+     */
+    public void setPosition(int x, int y) {
+        int oldX = this.x;
+        int oldY = this.y;
+        this.x = x;
         this.y = y;
+        if (listener != null && (oldX != x || oldY != y)) {
+            listener.onBuildingMoved(this, oldX, oldY);
+        }
+    }
+
+    /**
+     * Copie du bâtiment, détachée de toute ville (copie à l'écriture, voir City.modifiable)
+     * Tous les champs des bâtiments sont des valeurs : une copie superficielle suffit.
+     */
+    Building copy() {
+        try {
+            Building copy = (Building) super.clone();
+            copy.listener = null;
+            copy.changeDepth = 0;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    BuildingListener getListener() {
+        return listener;
+    }
+
+    void setListener(BuildingListener listener) {
+        this.listener = listener;
     }
 
     public int getLevel() {
@@ -151,7 +254,9 @@ public abstract class Building implements Serializable {
     }
 
     public void setLevel(int level) {
+        beginChange();
         this.level = Math.max(1, Math.min(5, level));
+        endChange();
     }
 
     public boolean isActive() {
@@ -159,7 +264,9 @@ public abstract class Building implements Serializable {
     }
 
     public void setActive(boolean active) {
+        beginChange();
         this.isActive = active;
+        endChange();
     }
 
     public double getConstructionCost() {
@@ -196,4 +303,41 @@ public abstract class Building implements Serializable {
     public int hashCode() {
         return id.hashCode();
     }
+
+    // === SAUVEGARDE (voir org.td.model.persistence) ===
+
+    /**
+     * Écrit l'état du bâtiment (les sous-classes complètent, toujours dans le même ordre)
+     */
+    public void writeState(StateOutput out) {
+        out.writeString(id);
+        out.writeInt(x);
+        out.writeInt(y);
+        out.writeInt(level);
+        out.writeBoolean(isActive);
+        out.writeDouble(constructionCost);
+        out.writeLong(constructionTime);
+        out.writeBoolean(isUnderConstruction);
+        out.writeInt(constructionProgress);
+        out.writeLong(entityKey);
+        out.writeLong(randomCounter);
+    }
+
+    /**
+     * Relit l'état écrit par writeState (avant rattachement à une ville)
+     */
+    public void readState(StateInput in) {
+        id = in.readString();
+        x = in.readInt();
+        y = in.readInt();
+        level = in.readInt();
+        isActive = in.readBoolean();
+        constructionCost = in.readDouble();
+        constructionTime = in.readLong();
+        isUnderConstruction = in.readBoolean();
+        constructionProgress = in.readInt();
+        entityKey = in.readLong();
+        randomCounter = in.readLong();
+        randomKey = entityKey; // Recalculée au rattachement (bindWorldSeed)
+    }
 }
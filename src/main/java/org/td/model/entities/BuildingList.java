@@ -0,0 +1,152 @@
+package org.td.model.entities;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Liste de bâtiments qui notifie la ville de chaque ajout et retrait
+ * Toutes les voies de modification (add, set, remove, clear, iterator...)
+ * passent par les méthodes surchargées ici, l'index spatial reste donc à jour
+ * même quand la liste est modifiée directement.
+ * Deux listes peuvent partager leurs éléments (voir share) : la première
+ * modification de l'une d'elles recopie alors le tableau de références.
+ */
+public class BuildingList<T extends Building> extends AbstractList<T> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private ArrayList<T> elements;
+    private transient BuildingListener listener;
+    private transient boolean sharedElements; // Tableau peut-être partagé avec une autre liste
+
+    public BuildingList() {
+        this.elements = new ArrayList<>();
+    }
+
+    public BuildingList(Collection<? extends T> initial) {
+        this.elements = new ArrayList<>(initial);
+    }
+
+    /**
+     * Nouvelle liste partageant les éléments de celle-ci (sans écouteur)
+     */
+    BuildingList<T> share() {
+        BuildingList<T> copy = new BuildingList<>();
+        copy.elements = elements;
+        copy.sharedElements = true;
+        sharedElements = true;
+        return copy;
+    }
+
+    /**
+     * Remplace un élément par sa copie sans notifier (même bâtiment, même contribution)
+     */
+    void replace(int index, T copy) {
+        ownElements();
+        elements.set(index, copy);
+    }
+
+    /**
+     * Index d'un élément (comparaison par identité, les copies ayant le même id)
+     */
+    int indexOfInstance(Building building) {
+        for (int i = 0, n = elements.size(); i < n; i++) {
+            if (elements.get(i) == building)
+                return i;
+        }
+        return -1;
+    }
+
+    private void ownElements() {
+        if (sharedElements) {
+            elements = new ArrayList<>(elements);
+            sharedElements = false;
+        }
+    }
+
+    /**
+     * Branche l'écouteur (sans notifier les éléments déjà présents)
+     */
+    void setListener(BuildingListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public T get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public void add(int index, T element) {
+        ownElements();
+        elements.add(index, element);
+        modCount++;
+        if (listener != null)
+            listener.onBuildingAdded(element);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        ownElements();
+        T old = elements.set(index, element);
+        if (old != element && listener != null) {
+            listener.onBuildingRemoved(old);
+            listener.onBuildingAdded(element);
+        }
+        return old;
+    }
+
+    @Override
+    public T remove(int index) {
+        ownElements();
+        T removed = elements.remove(index);
+        modCount++;
+        if (listener != null)
+            listener.onBuildingRemoved(removed);
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        ownElements();
+        var range = elements.subList(fromIndex, toIndex);
+        if (listener != null) {
+            for (T element : range)
+                listener.onBuildingRemoved(element);
+        }
+        range.clear();
+        modCount++;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        ownElements();
+        boolean removed = elements.removeIf(element -> {
+            if (!filter.test(element))
+                return false;
+            if (listener != null)
+                listener.onBuildingRemoved(element);
+            return true;
+        });
+        if (removed)
+            modCount++;
+        return removed;
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        ownElements();
+        // Simple permutation : rien à notifier
+        elements.sort(comparator);
+        modCount++;
+    }
+}
@@ -0,0 +1,28 @@
+package org.td.model.entities;
+
+/**
+ * Interface pour suivre les modifications des bâtiments d'une ville
+ * (ajout, retrait, déplacement, changement d'état)
+ */
+public interface BuildingListener {
+    default void onBuildingAdded(Building building) {
+    }
+
+    default void onBuildingRemoved(Building building) {
+    }
+
+    default void onBuildingMoved(Building building, int oldX, int oldY) {
+    }
+
+    /**
+     * Appelé juste avant une modification de l'état du bâtiment
+     */
+    default void beforeChange(Building building) {
+    }
+
+    /**
+     * Appelé juste après une modification de l'état du bâtiment
+     */
+    default void afterChange(Building building) {
+    }
+}
@@ -1,13 +1,23 @@
 package org.td.model.entities;
 
 import org.td.model.enums.*;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
+import org.td.model.simulation.SimulationRandom;
+import org.td.utils.GameConfig;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +54,9 @@ public class City implements Serializable {
     private double globalEnergyDemandMultiplier = 1.0;
     private double globalRevenueMultiplier = 1.0;
 
+    // Mise à jour des bâtiments en parallèle (fork-join) au-delà d'un lot
+    private boolean parallelUpdates = true;
+
     // Game Over stats
     private boolean isGameOver = false;
     private String gameOverReason = "";
@@ -53,40 +66,376 @@ public class City implements Serializable {
     private List<PowerPlant> powerPlants;
     private List<Infrastructure> infrastructures;
 
-    // Historique (pour graphiques)
-    private List<Double> moneyHistory;
-    private List<Double> happinessHistory;
-    private List<Double> energyHistory;
-
+    // Index spatial (reconstruit au chargement)
+    private transient SpatialIndex spatialIndex; // null : construit à la première requête (ville dérivée)
+    private transient BuildingListener buildingTracker;
+
+    // Agrégats de l'heure courante (une seule passe sur les bâtiments)
+    private transient TickAggregate aggregate;
+    // Totaux maintenus par différence (changements de bâtiments)
+    private transient CityAggregates totals;
+    // Photographies publiées pour l'interface
+    private transient CitySnapshotBuffer snapshots;
+    private transient long structureVersion; // Ajouts, retraits, déplacements
+    private transient boolean sharesBuildings; // Des bâtiments sont encore partagés avec une autre ville
+    private transient boolean quiet; // Messages de la simulation coupés (headless, rejeu, conseiller)
+
+    // Historique (pour graphiques) : heure, jour, mois, année
+    private CityHistory history;
+
+    // Graine de la partie : tout l'aléatoire de la simulation en dérive
+    private long worldSeed;
     private Random random;
 
     /**
-     * Constructeur
+     * Constructeur (graine aléatoire)
      */
     public City(String name) {
+        this(name, SimulationRandom.newSeed());
+    }
+
+    /**
+     * Constructeur avec graine : deux villes de même graine évoluent à l'identique
+     */
+    public City(String name, long worldSeed) {
         this.name = name;
+        this.worldSeed = worldSeed;
         this.level = 1;
         this.currentTime = LocalDateTime.of(2025, 1, 1, 0, 0);
         this.foundationDate = LocalDateTime.of(2025, 1, 1, 0, 0);
 
         // Ressources initiales
-        this.money = org.td.utils.GameConfig.STARTING_MONEY_NORMAL;
+        this.money = GameConfig.STARTING_MONEY_NORMAL;
         this.happiness = 75.0;
         this.population = 0;
 
         // Initialisation collections
-        this.residences = new ArrayList<>();
-        this.powerPlants = new ArrayList<>();
-        this.infrastructures = new ArrayList<>();
+        this.residences = new BuildingList<>();
+        this.powerPlants = new BuildingList<>();
+        this.infrastructures = new BuildingList<>();
+        attachBuildingIndex();
 
-        this.moneyHistory = new ArrayList<>();
-        this.happinessHistory = new ArrayList<>();
-        this.energyHistory = new ArrayList<>();
+        this.history = new CityHistory();
 
-        this.random = new Random();
+        this.random = new SimulationRandom(worldSeed, SimulationRandom.STREAM_CITY);
 
         // Ville de départ
         initializeStartingCity();
+        publishSnapshot();
+    }
+
+    /**
+     * Branche l'index spatial sur les listes de bâtiments et l'alimente
+     */
+    private void attachBuildingIndex() {
+        spatialIndex = new SpatialIndex();
+        totals = new CityAggregates();
+        snapshots = new CitySnapshotBuffer();
+        buildingTracker = createBuildingTracker();
+
+        // Les anciennes sauvegardes contiennent des ArrayList simples
+        if (!(residences instanceof BuildingList))
+            residences = new BuildingList<>(residences);
+        if (!(powerPlants instanceof BuildingList))
+            powerPlants = new BuildingList<>(powerPlants);
+        if (!(infrastructures instanceof BuildingList))
+            infrastructures = new BuildingList<>(infrastructures);
+
+        for (List<? extends Building> list : List.of(residences, powerPlants, infrastructures)) {
+            for (Building building : list)
+                buildingTracker.onBuildingAdded(building);
+            ((BuildingList<?>) list).setListener(buildingTracker);
+        }
+    }
+
+    /**
+     * Écouteur des bâtiments de la ville
+     * Sert aussi de marque de propriété : un bâtiment dont l'écouteur n'est
+     * pas celui-ci est partagé avec une autre ville et doit être copié avant
+     * d'être modifié (voir modifiable).
+     */
+    private BuildingListener createBuildingTracker() {
+        return new BuildingListener() {
+            @Override
+            public void onBuildingAdded(Building building) {
+                building.bindWorldSeed(worldSeed);
+                if (spatialIndex != null)
+                    spatialIndex.insert(building);
+                totals.add(building);
+                building.setListener(this);
+                structureVersion++;
+            }
+
+            @Override
+            public void onBuildingRemoved(Building building) {
+                if (spatialIndex != null)
+                    spatialIndex.remove(building);
+                totals.remove(building);
+                structureVersion++;
+                if (building.getListener() == this)
+                    building.setListener(null);
+            }
+
+            @Override
+            public void onBuildingMoved(Building building, int oldX, int oldY) {
+                if (spatialIndex != null)
+                    spatialIndex.move(building, oldX, oldY);
+                structureVersion++;
+            }
+
+            @Override
+            public void beforeChange(Building building) {
+                totals.remove(building);
+            }
+
+            @Override
+            public void afterChange(Building building) {
+                totals.add(building);
+            }
+        };
+    }
+
+    /**
+     * Index spatial (reconstruit à partir des listes s'il n'existe pas encore)
+     */
+    private SpatialIndex spatialIndex() {
+        if (spatialIndex == null) {
+            SpatialIndex index = new SpatialIndex();
+            for (List<? extends Building> list : List.of(residences, powerPlants, infrastructures)) {
+                for (Building building : list)
+                    index.insert(building);
+            }
+            spatialIndex = index;
+        }
+        return spatialIndex;
+    }
+
+    // === COPIE À L'ÉCRITURE (voir GameState.fork) ===
+
+    /**
+     * Reprend les bâtiments d'une autre ville sans les copier (thread de la ville source)
+     * Les deux villes partagent ensuite les mêmes objets : chacune copie un
+     * bâtiment la première fois qu'elle le modifie. Coût constant : listes,
+     * totaux et agrégats sont repris tels quels, l'index spatial est
+     * reconstruit à la première requête de position. La recopie de tous les
+     * bâtiments est reportée à la prochaine heure de chaque ville.
+     */
+    public void shareBuildingsOf(City source) {
+        source.releaseBuildings();
+
+        residences = ((BuildingList<Residence>) source.residences).share();
+        powerPlants = ((BuildingList<PowerPlant>) source.powerPlants).share();
+        infrastructures = ((BuildingList<Infrastructure>) source.infrastructures).share();
+        for (List<? extends Building> list : List.of(residences, powerPlants, infrastructures))
+            ((BuildingList<?>) list).setListener(buildingTracker);
+
+        spatialIndex = null;
+        totals.copyFrom(source.totals);
+        if (aggregate == null)
+            aggregate = new TickAggregate();
+        aggregate.copyFrom(source.aggregate);
+        structureVersion = source.structureVersion + 1;
+        sharesBuildings = true;
+        snapshots = new CitySnapshotBuffer(); // Rien de publié tant que publishSnapshot n'est pas appelé
+    }
+
+    /**
+     * Reprend une copie des bâtiments d'une autre ville (thread de la ville source)
+     * Contrairement à shareBuildingsOf, la source reste seule propriétaire
+     * de ses bâtiments : c'est cette ville qui paie la recopie, tout de suite,
+     * et la source n'a ni bâtiment à recopier ni index spatial à reconstruire
+     * à sa prochaine heure. L'index de cette ville est reconstruit à sa
+     * première requête de position, sur son propre thread.
+     */
+    public void copyBuildingsOf(City source) {
+        residences = copyList(source.residences);
+        powerPlants = copyList(source.powerPlants);
+        infrastructures = copyList(source.infrastructures);
+
+        spatialIndex = null;
+        totals.copyFrom(source.totals);
+        if (aggregate == null)
+            aggregate = new TickAggregate();
+        aggregate.copyFrom(source.aggregate);
+        structureVersion = source.structureVersion + 1;
+        sharesBuildings = false;
+        snapshots = new CitySnapshotBuffer(); // Rien de publié tant que publishSnapshot n'est pas appelé
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Building> BuildingList<T> copyList(List<T> buildings) {
+        List<T> copies = new ArrayList<>(buildings.size());
+        for (T building : buildings) {
+            T copy = (T) building.copy();
+            copy.setListener(buildingTracker);
+            copy.bindWorldSeed(worldSeed); // Copie d'une partie à une autre graine
+            copies.add(copy);
+        }
+        BuildingList<T> list = new BuildingList<>(copies);
+        list.setListener(buildingTracker);
+        return list;
+    }
+
+    /**
+     * Rend tous les bâtiments actuels partagés : un nouvel écouteur remplace
+     * l'ancien, qui ne marque donc plus la propriété
+     */
+    private void releaseBuildings() {
+        buildingTracker = createBuildingTracker();
+        for (List<? extends Building> list : List.of(residences, powerPlants, infrastructures))
+            ((BuildingList<?>) list).setListener(buildingTracker);
+        sharesBuildings = true;
+    }
+
+    /**
+     * Version modifiable d'un bâtiment de la ville (thread de simulation uniquement)
+     * Un bâtiment partagé avec une autre ville est d'abord copié et remplacé
+     * par sa copie ; il faut ensuite utiliser l'objet retourné.
+     * @return le bâtiment lui-même s'il appartient déjà à la ville ou n'en fait pas partie
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Building> T modifiable(T building) {
+        if (building == null || building.getListener() == buildingTracker || !sharesBuildings)
+            return building;
+
+        BuildingList<? super T> list = (BuildingList<? super T>) listOf(building);
+        int index = list != null ? list.indexOfInstance(building) : -1;
+        if (index < 0)
+            return building;
+        return (T) own(list, index);
+    }
+
+    private <T extends Building> T own(BuildingList<T> list, int index) {
+        T shared = list.get(index);
+        @SuppressWarnings("unchecked")
+        T copy = (T) shared.copy();
+        copy.setListener(buildingTracker);
+        copy.bindWorldSeed(worldSeed); // Copie d'une partie à une autre graine
+        list.replace(index, copy);
+        if (spatialIndex != null)
+            spatialIndex.replace(shared, copy);
+        return copy;
+    }
+
+    /**
+     * Copie tous les bâtiments encore partagés (avant une mise à jour qui les touche tous)
+     * L'index spatial est abandonné : une reconstruction à la première requête
+     * coûte autant que de le corriger bâtiment par bâtiment, mais sort ce coût
+     * de l'heure de jeu.
+     */
+    private void ownAllBuildings() {
+        spatialIndex = null;
+        for (List<? extends Building> list : List.of(residences, powerPlants, infrastructures)) {
+            BuildingList<?> buildings = (BuildingList<?>) list;
+            for (int i = 0, n = buildings.size(); i < n; i++) {
+                if (buildings.get(i).getListener() != buildingTracker)
+                    own(buildings, i);
+            }
+        }
+        sharesBuildings = false;
+    }
+
+    private List<? extends Building> listOf(Building building) {
+        if (building instanceof Residence)
+            return residences;
+        if (building instanceof PowerPlant)
+            return powerPlants;
+        if (building instanceof Infrastructure)
+            return infrastructures;
+        return null;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (history == null)
+            history = new CityHistory(); // Sauvegarde antérieure à l'historique multi-résolution
+        attachBuildingIndex();
+        refreshAggregate();
+        publishSnapshot();
+    }
+
+    // === SAUVEGARDE (les bâtiments sont écrits à part, en colonnes) ===
+
+    /**
+     * Écrit l'état de la ville hors bâtiments
+     */
+    public void writeState(StateOutput out) {
+        out.writeString(name);
+        out.writeInt(level);
+        out.writeTime(currentTime);
+        out.writeTime(foundationDate);
+        out.writeDouble(money);
+        out.writeDouble(happiness);
+        out.writeInt(population);
+        out.writeDouble(totalEnergyProduction);
+        out.writeDouble(totalEnergyDemand);
+        out.writeDouble(totalEnergyStorage);
+        out.writeDouble(energyBalance);
+        out.writeDouble(totalPollution);
+        out.writeDouble(totalRevenue);
+        out.writeDouble(totalExpenses);
+        out.writeInt(consecutiveHappyHours);
+        out.writeInt(consecutiveUnhappyHours);
+        out.writeDouble(globalEnergyDemandMultiplier);
+        out.writeDouble(globalRevenueMultiplier);
+        out.writeBoolean(parallelUpdates);
+        out.writeBoolean(isGameOver);
+        out.writeString(gameOverReason);
+        out.writeLong(((SimulationRandom) random).getCounter());
+        history.writeState(out);
+    }
+
+    /**
+     * Relit l'état écrit par writeState (la graine est celle de la construction)
+     */
+    public void readState(StateInput in) {
+        name = in.readString();
+        level = in.readInt();
+        currentTime = in.readTime();
+        foundationDate = in.readTime();
+        money = in.readDouble();
+        happiness = in.readDouble();
+        population = in.readInt();
+        totalEnergyProduction = in.readDouble();
+        totalEnergyDemand = in.readDouble();
+        totalEnergyStorage = in.readDouble();
+        energyBalance = in.readDouble();
+        totalPollution = in.readDouble();
+        totalRevenue = in.readDouble();
+        totalExpenses = in.readDouble();
+        consecutiveHappyHours = in.readInt();
+        consecutiveUnhappyHours = in.readInt();
+        globalEnergyDemandMultiplier = in.readDouble();
+        globalRevenueMultiplier = in.readDouble();
+        parallelUpdates = in.readBoolean();
+        isGameOver = in.readBoolean();
+        gameOverReason = in.readString();
+        ((SimulationRandom) random).setCounter(in.readLong());
+        history.readState(in);
+    }
+
+    /**
+     * Remplace tous les bâtiments (chargement) puis recalcule agrégats et photographie
+     */
+    public void restoreBuildings(List<Residence> savedResidences, List<PowerPlant> savedPlants,
+            List<Infrastructure> savedInfrastructures) {
+        residences.clear();
+        powerPlants.clear();
+        infrastructures.clear();
+        residences.addAll(savedResidences);
+        powerPlants.addAll(savedPlants);
+        infrastructures.addAll(savedInfrastructures);
+        refreshAggregate();
+        publishSnapshot();
+    }
+
+    /**
+     * Recalcule les agrégats à partir de l'état actuel des bâtiments
+     */
+    private void refreshAggregate() {
+        if (aggregate == null)
+            aggregate = new TickAggregate();
+        aggregate.compute(residences, powerPlants, infrastructures);
     }
 
     /**
@@ -107,6 +456,7 @@ public class City implements Serializable {
         // Un parc
         infrastructures.add(new Infrastructure(BuildingType.PARK, 300, 100));
 
+        refreshAggregate();
         updatePopulation();
     }
 
@@ -120,6 +470,9 @@ public class City implements Serializable {
         // Mise à jour de tous les bâtiments
         updateBuildings(currentHour);
 
+        // Agrégats partagés par les calculs globaux et les gestionnaires
+        refreshAggregate();
+
         // Calculs globaux
         updateEnergyBalance();
         updateEconomy();
@@ -127,60 +480,79 @@ public class City implements Serializable {
         updateHappiness();
         updatePollution();
 
-        // Vérification croissance/déclin
-        checkCityEvolution();
+        // Vérification croissance/déclin (les gestionnaires lisent ensuite les agrégats)
+        if (checkCityEvolution()) {
+            refreshAggregate();
+        }
 
         // Mise à jour niveau ville
         updateCityLevel();
 
-        // Sauvegarde historique (toutes les 24h)
-        if (currentHour == 0) {
-            saveHistory();
-        }
+        // Sauvegarde historique (chaque heure, agrégée par jour, mois et année)
+        saveHistory();
     }
 
     /**
      * Met à jour tous les bâtiments
      */
     private void updateBuildings(int hour) {
-        // Résidences
-        for (Residence res : residences) {
-            res.updateDemand(hour);
-            res.update();
+        int total = getBuildingCount();
+        if (sharesBuildings)
+            ownAllBuildings();
+
+        // Chaque bâtiment n'utilise que son propre état et son propre flux aléatoire :
+        // l'ordre de mise à jour n'influe pas sur le résultat
+        if (parallelUpdates && total > GameConfig.PARALLEL_UPDATE_CHUNK) {
+            ForkJoinPool.commonPool().invoke(new BuildingUpdateTask(this, hour, 0, total));
+            return;
         }
 
-        // Centrales
-        for (PowerPlant plant : powerPlants) {
-            // Mise à jour heure pour solaire
-            if (plant instanceof SolarPlant) {
-                ((SolarPlant) plant).updateHour(hour);
-            }
-            plant.update();
+        for (int i = 0; i < total; i++) {
+            updateBuilding(getBuilding(i), hour);
         }
+    }
 
-        // Infrastructures
-        for (Infrastructure infra : infrastructures) {
-            infra.update();
+    /**
+     * Met à jour un bâtiment pour l'heure donnée
+     */
+    static void updateBuilding(Building building, int hour) {
+        building.beginChange();
+        if (building instanceof Residence) {
+            ((Residence) building).updateDemand(hour);
+        } else if (building instanceof SolarPlant) {
+            // Mise à jour heure pour solaire
+            ((SolarPlant) building).updateHour(hour);
         }
+        building.update();
+        building.endChange();
     }
 
     /**
-     * Calcule le bilan énergétique
+     * Bâtiment à l'index donné (résidences, puis centrales, puis infrastructures)
      */
-    private void updateEnergyBalance() {
-        totalEnergyProduction = powerPlants.stream()
-                .filter(Building::isActive)
-                .mapToDouble(PowerPlant::getCurrentProduction)
-                .sum();
+    Building getBuilding(int index) {
+        if (index < residences.size())
+            return residences.get(index);
+        index -= residences.size();
+        if (index < powerPlants.size())
+            return powerPlants.get(index);
+        return infrastructures.get(index - powerPlants.size());
+    }
 
-        totalEnergyDemand = residences.stream()
-                .mapToDouble(Residence::getEnergyDemand)
-                .sum();
+    /**
+     * Nombre total de bâtiments
+     */
+    public int getBuildingCount() {
+        return residences.size() + powerPlants.size() + infrastructures.size();
+    }
 
-        totalEnergyDemand += infrastructures.stream()
-                .filter(Building::isActive)
-                .mapToDouble(Infrastructure::getEnergyConsumption)
-                .sum();
+    /**
+     * Calcule le bilan énergétique
+     */
+    private void updateEnergyBalance() {
+        totalEnergyProduction = aggregate.getActiveProduction();
+        totalEnergyDemand = aggregate.getResidentialDemand()
+                + totals.getActiveInfrastructureConsumption();
 
         // Application du multiplicateur d'événement (ex: Canicule)
         totalEnergyDemand *= globalEnergyDemandMultiplier;
@@ -210,8 +582,8 @@ public class City implements Serializable {
 
         // Sinon, on alimente un pourcentage aléatoire de maisons correspondant au ratio
         // On mélange la liste pour ne pas pénaliser toujours les mêmes
-        java.util.List<Residence> shuffledResidences = new java.util.ArrayList<>(residences);
-        java.util.Collections.shuffle(shuffledResidences);
+        List<Residence> shuffledResidences = new ArrayList<>(residences);
+        Collections.shuffle(shuffledResidences, random);
 
         int buildingsToPower = (int) (shuffledResidences.size() * supplyRatio);
 
@@ -234,24 +606,16 @@ public class City implements Serializable {
         totalRevenue += energySold * 0.08;
 
         // Revenus des infrastructures
-        totalRevenue += infrastructures.stream()
-                .mapToDouble(Infrastructure::getHourlyRevenue)
-                .sum();
+        totalRevenue += aggregate.getInfrastructureRevenue();
 
         // Application du multiplicateur d'événement (ex: Crise économique)
         totalRevenue *= globalRevenueMultiplier;
 
         // Dépenses des centrales
-        totalExpenses += powerPlants.stream()
-                .filter(Building::isActive)
-                .mapToDouble(PowerPlant::getHourlyCost)
-                .sum();
+        totalExpenses += aggregate.getActivePlantCost();
 
         // Dépenses des infrastructures
-        totalExpenses += infrastructures.stream()
-                .filter(Building::isActive)
-                .mapToDouble(Infrastructure::getMaintenanceCost)
-                .sum();
+        totalExpenses += totals.getActiveInfrastructureMaintenance();
 
         // Mise à jour budget
         double netIncome = totalRevenue - totalExpenses;
@@ -262,9 +626,7 @@ public class City implements Serializable {
      * Met à jour la population totale
      */
     private void updatePopulation() {
-        population = residences.stream()
-                .mapToInt(Residence::getPopulation)
-                .sum();
+        population = totals.getPopulation();
     }
 
     /**
@@ -298,11 +660,8 @@ public class City implements Serializable {
         }
 
         // Contribution des résidences (Satisfaction moyenne)
-        if (!residences.isEmpty()) {
-            double avgSatisfaction = residences.stream()
-                    .mapToDouble(Residence::getSatisfaction)
-                    .average()
-                    .orElse(50);
+        if (totals.getResidenceCount() > 0) {
+            double avgSatisfaction = totals.getAverageSatisfaction();
             targetHappiness = (targetHappiness + avgSatisfaction) / 2.0;
         }
 
@@ -313,9 +672,8 @@ public class City implements Serializable {
             targetHappiness = (targetHappiness * 0.6) + (needsSatisfaction * 0.4);
         } else {
             // Fallback: Contribution des infrastructures simple
-            double infraBonus = infrastructures.stream()
-                    .mapToDouble(Infrastructure::getHappinessContribution)
-                    .sum() / Math.max(1, population / 100.0);
+            double infraBonus = aggregate.getInfrastructureHappiness()
+                    / Math.max(1, population / 100.0);
             targetHappiness += infraBonus * 0.1;
         }
 
@@ -347,26 +705,27 @@ public class City implements Serializable {
      * Met à jour la pollution totale
      */
     private void updatePollution() {
-        totalPollution = powerPlants.stream()
-                .filter(Building::isActive)
-                .mapToDouble(PowerPlant::getHourlyPollution)
-                .sum();
+        totalPollution = aggregate.getActivePollution();
     }
 
     /**
      * Vérifie et applique l'évolution de la ville
+     * @return vrai si des bâtiments ont pu être ajoutés, retirés ou améliorés
      */
-    private void checkCityEvolution() {
+    private boolean checkCityEvolution() {
         int hour = currentTime.getHour();
 
         // Vérification une fois par jour à minuit
         if (hour != 0)
-            return;
+            return false;
+
+        boolean changed = false;
 
         // Croissance si conditions favorables
         if (happiness > 70 && energyBalance > totalEnergyDemand * 0.2) {
             if (random.nextDouble() < 0.4) { // 40% de chance
                 growCity();
+                changed = true;
             }
         }
 
@@ -374,13 +733,16 @@ public class City implements Serializable {
         if (happiness < 30 || consecutiveUnhappyHours > 72) {
             if (random.nextDouble() < 0.3) { // 30% de chance
                 shrinkCity();
+                changed = true;
             }
         }
 
         // Upgrade automatique de résidences
         if (happiness > 60 && random.nextDouble() < 0.2) {
             upgradeRandomResidence();
+            changed = true;
         }
+        return changed;
     }
 
     /**
@@ -396,7 +758,7 @@ public class City implements Serializable {
             Residence newRes = new Residence(newLevel, x, y);
             if (!overlapsExisting(newRes)) {
                 residences.add(newRes);
-                System.out.println("📍 Nouvelle résidence construite: " + newLevel);
+                log("📍 Nouvelle résidence construite: " + newLevel);
             }
         }
         // Nouvelle infrastructure (30% de chance)
@@ -408,7 +770,7 @@ public class City implements Serializable {
             Infrastructure newInfra = new Infrastructure(type, x, y);
             if (!overlapsExisting(newInfra)) {
                 infrastructures.add(newInfra);
-                System.out.println("🏗️ Nouvelle infrastructure: " + type.getDisplayName());
+                log("🏗️ Nouvelle infrastructure: " + type.getDisplayName());
             }
         }
     }
@@ -419,7 +781,7 @@ public class City implements Serializable {
     private void shrinkCity() {
         if (residences.size() > 3 && random.nextDouble() < 0.5) {
             Residence removed = residences.remove(residences.size() - 1);
-            System.out.println("📉 Une résidence a été abandonnée");
+            log("📉 Une résidence a été abandonnée");
         }
     }
 
@@ -434,7 +796,7 @@ public class City implements Serializable {
         if (!upgradeable.isEmpty()) {
             Residence toUpgrade = upgradeable.get(random.nextInt(upgradeable.size()));
             toUpgrade.upgrade();
-            System.out.println("⬆️ Résidence améliorée au niveau " + toUpgrade.getLevel());
+            log("⬆️ Résidence améliorée au niveau " + toUpgrade.getLevel());
         }
     }
 
@@ -453,19 +815,7 @@ public class City implements Serializable {
      * Vérifie si un bâtiment chevauche d'autres
      */
     private boolean overlapsExisting(Building newBuilding) {
-        for (Residence res : residences) {
-            if (newBuilding.overlaps(res))
-                return true;
-        }
-        for (PowerPlant plant : powerPlants) {
-            if (newBuilding.overlaps(plant))
-                return true;
-        }
-        for (Infrastructure infra : infrastructures) {
-            if (newBuilding.overlaps(infra))
-                return true;
-        }
-        return false;
+        return spatialIndex().overlaps(newBuilding);
     }
 
     /**
@@ -493,7 +843,7 @@ public class City implements Serializable {
 
         if (newLevel > level) {
             level = newLevel;
-            System.out.println("🎉 La ville atteint le niveau " + level + "!");
+            log("🎉 La ville atteint le niveau " + level + "!");
         }
     }
 
@@ -501,16 +851,8 @@ public class City implements Serializable {
      * Sauvegarde l'historique
      */
     private void saveHistory() {
-        moneyHistory.add(money);
-        happinessHistory.add(happiness);
-        energyHistory.add(energyBalance);
-
-        // Garde seulement 90 jours d'historique
-        if (moneyHistory.size() > 90) {
-            moneyHistory.remove(0);
-            happinessHistory.remove(0);
-            energyHistory.remove(0);
-        }
+        history.record(currentTime, money, happiness, totalEnergyProduction, totalEnergyDemand,
+                getTotalPollution(), population);
     }
 
     /**
@@ -590,6 +932,39 @@ public class City implements Serializable {
         return removed;
     }
 
+    /**
+     * Déplace un bâtiment si la nouvelle position est libre
+     */
+    public boolean moveBuilding(Building building, int x, int y) {
+        building = modifiable(building);
+        if (building.getListener() != buildingTracker)
+            return false; // N'appartient pas à cette ville
+
+        Building blocking = spatialIndex().findOverlap(x, y,
+                building.getWidth() * GameConfig.CELL_SIZE,
+                building.getHeight() * GameConfig.CELL_SIZE, building);
+        if (blocking != null)
+            return false;
+
+        building.setPosition(x, y);
+        return true;
+    }
+
+    /**
+     * Retourne le bâtiment situé au point donné (en pixels), ou null
+     */
+    public Building getBuildingAt(int x, int y) {
+        return spatialIndex().findAt(x, y);
+    }
+
+    /**
+     * Parcourt les bâtiments visibles dans un rectangle (en pixels)
+     */
+    public void forEachBuildingInRect(int x, int y, int width, int height,
+            Consumer<? super Building> action) {
+        spatialIndex().forEachInRect(x, y, width, height, action);
+    }
+
     /**
      * Retourne un résumé de l'état de la ville
      */
@@ -615,6 +990,10 @@ public class City implements Serializable {
         return name;
     }
 
+    public long getWorldSeed() {
+        return worldSeed;
+    }
+
     public int getLevel() {
         return level;
     }
@@ -675,16 +1054,68 @@ public class City implements Serializable {
         return infrastructures;
     }
 
+    /**
+     * Publie une photographie des bâtiments pour l'interface
+     * (à appeler depuis le thread qui modifie la ville)
+     */
+    public void publishSnapshot() {
+        snapshots.publish(this);
+    }
+
+    /**
+     * Dernière photographie publiée (thread JavaFX)
+     */
+    public CitySnapshot getSnapshot() {
+        return snapshots.acquire();
+    }
+
+    /**
+     * Incrémentée à chaque ajout, retrait ou déplacement de bâtiment
+     */
+    public long getStructureVersion() {
+        return structureVersion;
+    }
+
+    /**
+     * Agrégats de l'heure courante, calculés après la mise à jour des bâtiments
+     */
+    public TickAggregate getTickAggregate() {
+        return aggregate;
+    }
+
+    /**
+     * Totaux maintenus à chaque changement de bâtiment (lecture en O(1))
+     */
+    public CityAggregates getAggregates() {
+        return totals;
+    }
+
+    public CityHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Moyennes journalières des 90 derniers jours
+     */
     public List<Double> getMoneyHistory() {
-        return moneyHistory;
+        return history.getAverages(CityHistory.Resolution.DAY, CityHistory.Metric.MONEY, 90);
     }
 
     public List<Double> getHappinessHistory() {
-        return happinessHistory;
+        return history.getAverages(CityHistory.Resolution.DAY, CityHistory.Metric.HAPPINESS, 90);
     }
 
+    /**
+     * Bilan énergétique moyen (production - demande) des 90 derniers jours
+     */
     public List<Double> getEnergyHistory() {
-        return energyHistory;
+        List<Double> production = history.getAverages(CityHistory.Resolution.DAY, CityHistory.Metric.PRODUCTION, 90);
+        List<Double> demand = history.getAverages(CityHistory.Resolution.DAY, CityHistory.Metric.DEMAND, 90);
+        List<Double> balance = new ArrayList<>(production.size());
+        for (int i = 0; i < production.size(); i++) {
+            balance.add(production.get(i) - demand.get(i));
+        }
+        return balance;
     }
 
     public void setGlobalEnergyDemandMultiplier(double multiplier) {
@@ -702,4 +1133,62 @@ public class City implements Serializable {
     public double getGlobalRevenueMultiplier() {
         return globalRevenueMultiplier;
     }
+
+    public boolean isParallelUpdates() {
+        return parallelUpdates;
+    }
+
+    public void setParallelUpdates(boolean parallelUpdates) {
+        this.parallelUpdates = parallelUpdates;
+    }
+
+    /**
+     * Message de la simulation sur la console (sauf ville silencieuse)
+     * Propre à la partie : couper une simulation n'affecte pas les autres.
+     */
+    public void log(String message) {
+        if (!quiet)
+            System.out.println(message);
+    }
+
+    public boolean isQuiet() {
+        return quiet;
+    }
+
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+}
+
+/**
+ * Tâche fork-join de mise à jour d'une plage de bâtiments
+ */
+class BuildingUpdateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final City city;
+    private final int hour;
+    private final int from;
+    private final int to;
+
+    BuildingUpdateTask(City city, int hour, int from, int to) {
+        this.city = city;
+        this.hour = hour;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= GameConfig.PARALLEL_UPDATE_CHUNK) {
+            for (int i = from; i < to; i++) {
+                City.updateBuilding(city.getBuilding(i), hour);
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        invokeAll(new BuildingUpdateTask(city, hour, from, mid),
+                new BuildingUpdateTask(city, hour, mid, to));
+    }
 }
@@ -0,0 +1,163 @@
+package org.td.model.entities;
+
+import org.td.model.enums.BuildingType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totaux de la ville maintenus par différence à chaque changement de bâtiment
+ * (ajout, retrait, activation, amélioration, mise à jour horaire)
+ * Les lectures sont en O(1) quelle que soit la taille de la ville.
+ * Les valeurs décimales sont stockées en virgule fixe : les sommes entières
+ * ne dépendent pas de l'ordre des mises à jour, même en parallèle.
+ */
+public class CityAggregates {
+    private static final double SCALE = 1_000_000.0; // 6 décimales
+
+    // Résidences
+    private final LongAdder residenceCount = new LongAdder();
+    private final LongAdder population = new LongAdder();
+    private final LongAdder satisfactionSum = new LongAdder(); // Virgule fixe
+
+    // Centrales
+    private final LongAdder plantCount = new LongAdder();
+    private final LongAdder activePlantCount = new LongAdder();
+    private final LongAdder plantEfficiencySum = new LongAdder(); // Virgule fixe
+    private final LongAdder plantsNeedingMaintenance = new LongAdder();
+
+    // Infrastructures
+    private final LongAdder activeInfrastructureConsumption = new LongAdder(); // Virgule fixe
+    private final LongAdder activeInfrastructureMaintenance = new LongAdder(); // Virgule fixe
+    private final LongAdder[] infrastructureCounts = new LongAdder[BuildingType.values().length];
+
+    public CityAggregates() {
+        for (int i = 0; i < infrastructureCounts.length; i++) {
+            infrastructureCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Ajoute la contribution actuelle d'un bâtiment
+     */
+    void add(Building building) {
+        apply(building, 1);
+    }
+
+    /**
+     * Retire la contribution actuelle d'un bâtiment
+     */
+    void remove(Building building) {
+        apply(building, -1);
+    }
+
+    private void apply(Building building, int sign) {
+        if (building instanceof Residence res) {
+            residenceCount.add(sign);
+            population.add(sign * (long) res.getPopulation());
+            satisfactionSum.add(sign * toFixed(res.getSatisfaction()));
+        } else if (building instanceof PowerPlant plant) {
+            plantCount.add(sign);
+            plantEfficiencySum.add(sign * toFixed(plant.getEfficiency()));
+            if (plant.isActive()) {
+                activePlantCount.add(sign);
+            }
+            if (plant.needsMaintenance()) {
+                plantsNeedingMaintenance.add(sign);
+            }
+        } else if (building instanceof Infrastructure infra) {
+            infrastructureCounts[infra.getInfrastructureType().ordinal()].add(sign);
+            if (infra.isActive()) {
+                activeInfrastructureConsumption.add(sign * toFixed(infra.getEnergyConsumption()));
+                activeInfrastructureMaintenance.add(sign * toFixed(infra.getMaintenanceCost()));
+            }
+        }
+    }
+
+    /**
+     * Reprend les totaux d'une autre ville (ville dérivée, voir City.shareBuildingsOf)
+     */
+    void copyFrom(CityAggregates other) {
+        copy(residenceCount, other.residenceCount);
+        copy(population, other.population);
+        copy(satisfactionSum, other.satisfactionSum);
+        copy(plantCount, other.plantCount);
+        copy(activePlantCount, other.activePlantCount);
+        copy(plantEfficiencySum, other.plantEfficiencySum);
+        copy(plantsNeedingMaintenance, other.plantsNeedingMaintenance);
+        copy(activeInfrastructureConsumption, other.activeInfrastructureConsumption);
+        copy(activeInfrastructureMaintenance, other.activeInfrastructureMaintenance);
+        for (int i = 0; i < infrastructureCounts.length; i++) {
+            copy(infrastructureCounts[i], other.infrastructureCounts[i]);
+        }
+    }
+
+    private static void copy(LongAdder target, LongAdder source) {
+        target.reset();
+        target.add(source.sum());
+    }
+
+    private static long toFixed(double value) {
+        return Math.round(value * SCALE);
+    }
+
+    // === GETTERS ===
+
+    public int getResidenceCount() {
+        return residenceCount.intValue();
+    }
+
+    public int getPopulation() {
+        return population.intValue();
+    }
+
+    public double getSatisfactionSum() {
+        return satisfactionSum.sum() / SCALE;
+    }
+
+    /**
+     * Satisfaction moyenne des résidences (50 si aucune)
+     */
+    public double getAverageSatisfaction() {
+        int count = getResidenceCount();
+        return count == 0 ? 50 : getSatisfactionSum() / count;
+    }
+
+    public int getPlantCount() {
+        return plantCount.intValue();
+    }
+
+    public int getActivePlantCount() {
+        return activePlantCount.intValue();
+    }
+
+    /**
+     * Efficacité moyenne des centrales, entre 0 et 1 (0 si aucune)
+     */
+    public double getAveragePlantEfficiency() {
+        int count = getPlantCount();
+        return count == 0 ? 0 : plantEfficiencySum.sum() / SCALE / count;
+    }
+
+    public int getPlantsNeedingMaintenance() {
+        return plantsNeedingMaintenance.intValue();
+    }
+
+    public double getActiveInfrastructureConsumption() {
+        return activeInfrastructureConsumption.sum() / SCALE;
+    }
+
+    public double getActiveInfrastructureMaintenance() {
+        return activeInfrastructureMaintenance.sum() / SCALE;
+    }
+
+    /**
+     * Nombre d'infrastructures des types donnés
+     */
+    public int getInfrastructureCount(BuildingType... types) {
+        int count = 0;
+        for (BuildingType type : types) {
+            count += infrastructureCounts[type.ordinal()].intValue();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,253 @@
+package org.td.model.entities;
+
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Historique de la ville à plusieurs résolutions (heure, jour, mois, année)
+ * Chaque résolution est un tampon circulaire de tableaux primitifs : mémoire
+ * fixe quelle que soit la durée de la partie, ajout en O(1) sans allocation.
+ * Chaque case garde le minimum, le maximum et la moyenne de sa période.
+ */
+public class CityHistory implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Grandeurs suivies
+     */
+    public enum Metric {
+        MONEY("Argent"),
+        HAPPINESS("Bonheur"),
+        PRODUCTION("Production"),
+        DEMAND("Demande"),
+        POLLUTION("Pollution"),
+        POPULATION("Population");
+
+        private final String displayName;
+
+        Metric(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Résolutions et nombre de périodes conservées
+     */
+    public enum Resolution {
+        HOUR(24 * 30), // 30 jours
+        DAY(365 * 2), // 2 ans
+        MONTH(12 * 100), // 100 ans
+        YEAR(200);
+
+        private final int capacity;
+
+        Resolution(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * Numéro de la période contenant cet instant (croissant dans le temps)
+         */
+        long bucketOf(LocalDateTime time) {
+            return switch (this) {
+                case HOUR -> time.toLocalDate().toEpochDay() * 24 + time.getHour();
+                case DAY -> time.toLocalDate().toEpochDay();
+                case MONTH -> time.getYear() * 12L + time.getMonthValue() - 1;
+                case YEAR -> time.getYear();
+            };
+        }
+    }
+
+    private static final int METRICS = Metric.values().length;
+
+    private final Ring[] rings = new Ring[Resolution.values().length];
+    private final double[] sample = new double[METRICS]; // Relevé courant (réutilisé)
+
+    public CityHistory() {
+        for (Resolution resolution : Resolution.values()) {
+            rings[resolution.ordinal()] = new Ring(resolution.getCapacity());
+        }
+    }
+
+    /**
+     * Enregistre le relevé d'une heure dans toutes les résolutions
+     */
+    public void record(LocalDateTime time, double money, double happiness, double production,
+            double demand, double pollution, double population) {
+        sample[Metric.MONEY.ordinal()] = money;
+        sample[Metric.HAPPINESS.ordinal()] = happiness;
+        sample[Metric.PRODUCTION.ordinal()] = production;
+        sample[Metric.DEMAND.ordinal()] = demand;
+        sample[Metric.POLLUTION.ordinal()] = pollution;
+        sample[Metric.POPULATION.ordinal()] = population;
+
+        for (Resolution resolution : Resolution.values()) {
+            rings[resolution.ordinal()].add(resolution.bucketOf(time), sample);
+        }
+    }
+
+    // === LECTURE (index 0 = période la plus ancienne conservée) ===
+
+    public int size(Resolution resolution) {
+        return rings[resolution.ordinal()].size;
+    }
+
+    /**
+     * Numéro de la période (heures ou jours depuis 1970, année*12+mois, année)
+     */
+    public long getBucket(Resolution resolution, int index) {
+        Ring ring = rings[resolution.ordinal()];
+        return ring.keys[ring.slot(index)];
+    }
+
+    public double getMin(Resolution resolution, Metric metric, int index) {
+        Ring ring = rings[resolution.ordinal()];
+        return ring.min[metric.ordinal() * ring.capacity + ring.slot(index)];
+    }
+
+    public double getMax(Resolution resolution, Metric metric, int index) {
+        Ring ring = rings[resolution.ordinal()];
+        return ring.max[metric.ordinal() * ring.capacity + ring.slot(index)];
+    }
+
+    public double getAverage(Resolution resolution, Metric metric, int index) {
+        Ring ring = rings[resolution.ordinal()];
+        int slot = ring.slot(index);
+        return ring.sum[metric.ordinal() * ring.capacity + slot] / ring.counts[slot];
+    }
+
+    /**
+     * Moyennes des dernières périodes, de la plus ancienne à la plus récente
+     */
+    public List<Double> getAverages(Resolution resolution, Metric metric, int limit) {
+        int size = size(resolution);
+        List<Double> values = new ArrayList<>(Math.min(size, limit));
+        for (int i = Math.max(0, size - limit); i < size; i++) {
+            values.add(getAverage(resolution, metric, i));
+        }
+        return values;
+    }
+
+    // === SAUVEGARDE ===
+
+    /**
+     * Écrit les périodes conservées, de la plus ancienne à la plus récente
+     */
+    public void writeState(StateOutput out) {
+        for (Ring ring : rings) {
+            out.writeInt(ring.size);
+            for (int i = 0; i < ring.size; i++) {
+                int slot = ring.slot(i);
+                out.writeLong(ring.keys[slot]);
+                out.writeInt(ring.counts[slot]);
+                for (int m = 0; m < METRICS; m++) {
+                    int at = m * ring.capacity + slot;
+                    out.writeDouble(ring.min[at]);
+                    out.writeDouble(ring.max[at]);
+                    out.writeDouble(ring.sum[at]);
+                }
+            }
+        }
+    }
+
+    public void readState(StateInput in) {
+        for (Ring ring : rings) {
+            int size = in.readInt();
+            int skipped = Math.max(0, size - ring.capacity); // Capacité réduite depuis la sauvegarde
+            ring.size = 0;
+            ring.head = -1;
+            for (int i = 0; i < size; i++) {
+                long key = in.readLong();
+                int count = in.readInt();
+                boolean kept = i >= skipped;
+                if (kept) {
+                    ring.head = (ring.head + 1) % ring.capacity;
+                    ring.size++;
+                    ring.keys[ring.head] = key;
+                    ring.counts[ring.head] = count;
+                }
+                for (int m = 0; m < METRICS; m++) {
+                    double min = in.readDouble(), max = in.readDouble(), sum = in.readDouble();
+                    if (kept) {
+                        int at = m * ring.capacity + ring.head;
+                        ring.min[at] = min;
+                        ring.max[at] = max;
+                        ring.sum[at] = sum;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tampon circulaire d'une résolution ; valeurs rangées par grandeur
+     * (grandeur * capacité + case)
+     */
+    private static final class Ring implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final int capacity;
+        final long[] keys;
+        final int[] counts;
+        final double[] min;
+        final double[] max;
+        final double[] sum;
+        int head = -1; // Case de la période en cours
+        int size;
+
+        Ring(int capacity) {
+            this.capacity = capacity;
+            this.keys = new long[capacity];
+            this.counts = new int[capacity];
+            this.min = new double[capacity * METRICS];
+            this.max = new double[capacity * METRICS];
+            this.sum = new double[capacity * METRICS];
+        }
+
+        void add(long key, double[] values) {
+            if (size == 0 || keys[head] != key) {
+                // Nouvelle période : la plus ancienne est écrasée quand le tampon est plein
+                head = (head + 1) % capacity;
+                size = Math.min(size + 1, capacity);
+                keys[head] = key;
+                counts[head] = 0;
+                for (int m = 0; m < METRICS; m++) {
+                    int at = m * capacity + head;
+                    min[at] = Double.POSITIVE_INFINITY;
+                    max[at] = Double.NEGATIVE_INFINITY;
+                    sum[at] = 0;
+                }
+            }
+
+            counts[head]++;
+            for (int m = 0; m < METRICS; m++) {
+                int at = m * capacity + head;
+                double value = values[m];
+                if (value < min[at])
+                    min[at] = value;
+                if (value > max[at])
+                    max[at] = value;
+                sum[at] += value;
+            }
+        }
+
+        int slot(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Période " + index + " hors de l'historique (" + size + ")");
+            return (head - size + 1 + index + capacity) % capacity;
+        }
+    }
+}
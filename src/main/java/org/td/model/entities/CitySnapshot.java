@@ -0,0 +1,433 @@
+package org.td.model.entities;
+
+import org.td.model.enums.BuildingType;
+import org.td.model.enums.PowerPlantType;
+import org.td.model.enums.ResidenceLevel;
+import org.td.utils.GameConfig;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Photographie des bâtiments de la ville, lue par l'interface
+ * Les données sont stockées en tableaux primitifs (un élément par bâtiment,
+ * résidences puis centrales puis infrastructures). L'instance est remplie par
+ * CitySnapshotBuffer puis n'est plus modifiée tant que le lecteur la détient.
+ * Un index par cellules, propre à la photographie, permet les recherches
+ * par position ; il n'est reconstruit que si la géométrie a changé.
+ */
+public final class CitySnapshot {
+    // Catégories de bâtiments
+    public static final byte RESIDENCE = 0;
+    public static final byte POWER_PLANT = 1;
+    public static final byte INFRASTRUCTURE = 2;
+
+    // Indicateurs (bits de flags)
+    private static final byte ACTIVE = 1;
+    private static final byte HAS_ELECTRICITY = 1 << 1;
+    private static final byte NEEDS_MAINTENANCE = 1 << 2;
+    private static final byte CAN_UPGRADE = 1 << 3;
+
+    private static final int CELL = GameConfig.CELL_SIZE;
+    private static final ResidenceLevel[] RESIDENCE_LEVELS = ResidenceLevel.values();
+    private static final PowerPlantType[] PLANT_TYPES = PowerPlantType.values();
+    private static final BuildingType[] INFRA_TYPES = BuildingType.values();
+
+    // Données par bâtiment
+    private int size;
+    private int[] x = new int[0];
+    private int[] y = new int[0];
+    private byte[] width = new byte[0]; // En cellules
+    private byte[] height = new byte[0];
+    private byte[] kind = new byte[0];
+    private byte[] subtype = new byte[0]; // Ordinal du niveau, type de centrale ou d'infrastructure
+    private byte[] level = new byte[0];
+    private byte[] flags = new byte[0];
+    private float[] efficiency = new float[0]; // Centrales uniquement
+    private float[] upgradeCost = new float[0];
+    private Building[] buildings = new Building[0]; // Pour les actions du joueur
+
+    private int residenceCount;
+    private int powerPlantCount;
+    private int infrastructureCount;
+
+    private LocalDateTime time;
+    private long structureVersion;
+    private long version; // Numéro de publication
+    private long appearance; // Empreinte de l'aspect statique (position, type, niveau, activité)
+
+    // Index par cellules : table (clé de cellule -> première entrée) + listes chaînées
+    private long[] cellKeys = new long[0];
+    private int[] cellHeads = new int[0]; // -1 = emplacement libre
+    private int cellMask;
+    private int[] entryBuilding = new int[0];
+    private int[] entryNext = new int[0];
+    private boolean indexValid;
+
+    CitySnapshot() {
+    }
+
+    // === REMPLISSAGE (écrivain) ===
+
+    /**
+     * Recopie l'état des bâtiments de la ville
+     */
+    void fill(City city, long structureVersion, long version) {
+        List<Residence> residences = city.getResidences();
+        List<PowerPlant> powerPlants = city.getPowerPlants();
+        List<Infrastructure> infrastructures = city.getInfrastructures();
+
+        int total = residences.size() + powerPlants.size() + infrastructures.size();
+        if (total != size) {
+            indexValid = false;
+        }
+        ensureCapacity(total);
+
+        int i = 0;
+        for (int r = 0, n = residences.size(); r < n; r++, i++) {
+            Residence res = residences.get(r);
+            copyCommon(i, res, RESIDENCE, res.getResidenceLevel().ordinal());
+            if (res.hasElectricity())
+                flags[i] |= HAS_ELECTRICITY;
+        }
+        for (int p = 0, n = powerPlants.size(); p < n; p++, i++) {
+            PowerPlant plant = powerPlants.get(p);
+            copyCommon(i, plant, POWER_PLANT, plant.getPlantType().ordinal());
+            efficiency[i] = (float) plant.getEfficiency();
+            if (plant.needsMaintenance())
+                flags[i] |= NEEDS_MAINTENANCE;
+        }
+        for (int f = 0, n = infrastructures.size(); f < n; f++, i++) {
+            Infrastructure infra = infrastructures.get(f);
+            copyCommon(i, infra, INFRASTRUCTURE, infra.getInfrastructureType().ordinal());
+        }
+        long look = total;
+        for (int j = 0; j < total; j++) {
+            look = look * 31 + appearanceOf(j);
+        }
+
+        // Libérer les références des bâtiments retirés
+        if (size > total)
+            Arrays.fill(buildings, total, size, null);
+
+        this.size = total;
+        this.residenceCount = residences.size();
+        this.powerPlantCount = powerPlants.size();
+        this.infrastructureCount = infrastructures.size();
+        this.time = city.getCurrentTime();
+        this.structureVersion = structureVersion;
+        this.version = version;
+        this.appearance = look;
+
+        if (!indexValid) {
+            rebuildIndex();
+        }
+    }
+
+    private void copyCommon(int i, Building building, byte buildingKind, int buildingSubtype) {
+        int bx = building.getX();
+        int by = building.getY();
+        byte w = (byte) building.getWidth();
+        byte h = (byte) building.getHeight();
+        if (x[i] != bx || y[i] != by || width[i] != w || height[i] != h) {
+            indexValid = false;
+        }
+        x[i] = bx;
+        y[i] = by;
+        width[i] = w;
+        height[i] = h;
+        kind[i] = buildingKind;
+        subtype[i] = (byte) buildingSubtype;
+        level[i] = (byte) building.getLevel();
+        efficiency[i] = 1f;
+
+        boolean canUpgrade = building.canUpgrade();
+        upgradeCost[i] = canUpgrade ? (float) building.getUpgradeCost() : 0f;
+
+        byte f = 0;
+        if (building.isActive())
+            f |= ACTIVE;
+        if (canUpgrade)
+            f |= CAN_UPGRADE;
+        flags[i] = f;
+        buildings[i] = building;
+    }
+
+    private long appearanceOf(int i) {
+        long h = ((long) x[i] << 32) ^ y[i];
+        h = h * 31 + ((width[i] << 8) | height[i]);
+        h = h * 31 + ((kind[i] << 16) | (subtype[i] << 8) | level[i]);
+        return h * 31 + (flags[i] & ACTIVE);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= x.length)
+            return;
+        int newCapacity = Math.max(capacity, x.length + (x.length >> 1) + 16);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        width = Arrays.copyOf(width, newCapacity);
+        height = Arrays.copyOf(height, newCapacity);
+        kind = Arrays.copyOf(kind, newCapacity);
+        subtype = Arrays.copyOf(subtype, newCapacity);
+        level = Arrays.copyOf(level, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        efficiency = Arrays.copyOf(efficiency, newCapacity);
+        upgradeCost = Arrays.copyOf(upgradeCost, newCapacity);
+        buildings = Arrays.copyOf(buildings, newCapacity);
+    }
+
+    // === INDEX PAR CELLULES ===
+
+    private void rebuildIndex() {
+        // Un bâtiment non aligné sur la grille recouvre une cellule de plus par axe
+        int entries = 0;
+        for (int i = 0; i < size; i++) {
+            entries += (Math.max(1, width[i]) + 1) * (Math.max(1, height[i]) + 1);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(16, entries * 2 - 1)) << 1;
+        if (cellKeys.length != capacity) {
+            cellKeys = new long[capacity];
+            cellHeads = new int[capacity];
+        }
+        Arrays.fill(cellHeads, -1);
+        cellMask = capacity - 1;
+        if (entryBuilding.length < entries) {
+            entryBuilding = new int[entries];
+            entryNext = new int[entries];
+        }
+
+        int entry = 0;
+        for (int i = 0; i < size; i++) {
+            int minCx = Math.floorDiv(x[i], CELL);
+            int minCy = Math.floorDiv(y[i], CELL);
+            int maxCx = Math.floorDiv(x[i] + Math.max(1, width[i]) * CELL - 1, CELL);
+            int maxCy = Math.floorDiv(y[i] + Math.max(1, height[i]) * CELL - 1, CELL);
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                for (int cy = minCy; cy <= maxCy; cy++) {
+                    int slot = slotFor(key(cx, cy));
+                    entryBuilding[entry] = i;
+                    entryNext[entry] = cellHeads[slot];
+                    cellHeads[slot] = entry;
+                    entry++;
+                }
+            }
+        }
+        indexValid = true;
+    }
+
+    /**
+     * Emplacement de la clé (créé s'il n'existe pas)
+     */
+    private int slotFor(long key) {
+        int slot = hash(key) & cellMask;
+        while (cellHeads[slot] != -1) {
+            if (cellKeys[slot] == key)
+                return slot;
+            slot = (slot + 1) & cellMask;
+        }
+        cellKeys[slot] = key;
+        return slot;
+    }
+
+    /**
+     * Première entrée de la cellule, ou -1
+     */
+    private int firstEntry(long key) {
+        if (cellHeads.length == 0)
+            return -1;
+        int slot = hash(key) & cellMask;
+        while (cellHeads[slot] != -1) {
+            if (cellKeys[slot] == key)
+                return cellHeads[slot];
+            slot = (slot + 1) & cellMask;
+        }
+        return -1;
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        // Finaliseur de MurmurHash3
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    // === REQUÊTES ===
+
+    /**
+     * Index du bâtiment contenant le point (en pixels), ou -1
+     */
+    public int findAt(int px, int py) {
+        for (int e = firstEntry(key(Math.floorDiv(px, CELL), Math.floorDiv(py, CELL))); e != -1; e = entryNext[e]) {
+            int i = entryBuilding[e];
+            if (px >= x[i] && px < x[i] + width[i] * CELL && py >= y[i] && py < y[i] + height[i] * CELL) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parcourt les index des bâtiments intersectant le rectangle (en pixels)
+     * Chaque bâtiment n'est visité qu'une fois, depuis sa cellule d'ancrage
+     */
+    public void forEachInRect(int rx, int ry, int rw, int rh, IntConsumer action) {
+        if (rw <= 0 || rh <= 0)
+            return;
+
+        int minCx = Math.floorDiv(rx, CELL);
+        int minCy = Math.floorDiv(ry, CELL);
+        int maxCx = Math.floorDiv(rx + rw - 1, CELL);
+        int maxCy = Math.floorDiv(ry + rh - 1, CELL);
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                for (int e = firstEntry(key(cx, cy)); e != -1; e = entryNext[e]) {
+                    int i = entryBuilding[e];
+                    int anchorX = Math.max(Math.floorDiv(x[i], CELL), minCx);
+                    int anchorY = Math.max(Math.floorDiv(y[i], CELL), minCy);
+                    if (anchorX == cx && anchorY == cy &&
+                            x[i] + width[i] * CELL > rx && rx + rw > x[i] &&
+                            y[i] + height[i] * CELL > ry && ry + rh > y[i]) {
+                        action.accept(i);
+                    }
+                }
+            }
+        }
+    }
+
+    // === GETTERS ===
+
+    public int size() {
+        return size;
+    }
+
+    public int getResidenceCount() {
+        return residenceCount;
+    }
+
+    public int getPowerPlantCount() {
+        return powerPlantCount;
+    }
+
+    public int getInfrastructureCount() {
+        return infrastructureCount;
+    }
+
+    /**
+     * Date de jeu au moment de la photographie
+     */
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    /**
+     * Version de structure de la ville (ajouts, retraits, déplacements)
+     */
+    public long getStructureVersion() {
+        return structureVersion;
+    }
+
+    /**
+     * Numéro de publication : change à chaque nouvelle photographie
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Empreinte de l'aspect statique des bâtiments
+     * Inchangée tant qu'aucun bâtiment n'est ajouté, déplacé, amélioré ou
+     * activé/désactivé : l'interface peut réutiliser son rendu en cache.
+     */
+    public long getAppearance() {
+        return appearance;
+    }
+
+    public int getX(int i) {
+        return x[i];
+    }
+
+    public int getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Largeur en cellules
+     */
+    public int getWidth(int i) {
+        return width[i];
+    }
+
+    /**
+     * Hauteur en cellules
+     */
+    public int getHeight(int i) {
+        return height[i];
+    }
+
+    /**
+     * Catégorie : RESIDENCE, POWER_PLANT ou INFRASTRUCTURE
+     */
+    public byte getKind(int i) {
+        return kind[i];
+    }
+
+    public int getLevel(int i) {
+        return level[i];
+    }
+
+    public ResidenceLevel getResidenceLevel(int i) {
+        return kind[i] == RESIDENCE ? RESIDENCE_LEVELS[subtype[i]] : null;
+    }
+
+    public PowerPlantType getPlantType(int i) {
+        return kind[i] == POWER_PLANT ? PLANT_TYPES[subtype[i]] : null;
+    }
+
+    public BuildingType getInfrastructureType(int i) {
+        return kind[i] == INFRASTRUCTURE ? INFRA_TYPES[subtype[i]] : null;
+    }
+
+    public boolean isActive(int i) {
+        return (flags[i] & ACTIVE) != 0;
+    }
+
+    public boolean hasElectricity(int i) {
+        return (flags[i] & HAS_ELECTRICITY) != 0;
+    }
+
+    public boolean needsMaintenance(int i) {
+        return (flags[i] & NEEDS_MAINTENANCE) != 0;
+    }
+
+    public boolean canUpgrade(int i) {
+        return (flags[i] & CAN_UPGRADE) != 0;
+    }
+
+    public double getEfficiency(int i) {
+        return efficiency[i];
+    }
+
+    public double getUpgradeCost(int i) {
+        return upgradeCost[i];
+    }
+
+    /**
+     * Bâtiment vivant correspondant (pour les actions du joueur uniquement :
+     * son état peut avoir changé depuis la photographie)
+     */
+    public Building getBuilding(int i) {
+        return buildings[i];
+    }
+}
@@ -0,0 +1,45 @@
+package org.td.model.entities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple tampon de CitySnapshot entre la simulation et l'interface
+ * L'écrivain remplit le tampon arrière puis l'échange avec le tampon du
+ * milieu ; le lecteur récupère le tampon du milieu s'il est plus récent.
+ * Aucun verrou côté lecteur, aucune allocation après le premier remplissage,
+ * et le tampon détenu par le lecteur n'est jamais modifié.
+ */
+public final class CitySnapshotBuffer {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100; // Le tampon du milieu n'a pas encore été lu
+
+    private final CitySnapshot[] snapshots = {
+            new CitySnapshot(), new CitySnapshot(), new CitySnapshot()
+    };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 2; // Propriété de l'écrivain
+    private int front = 0; // Propriété du lecteur
+    private long published; // Numéro de la dernière publication (écrivain)
+
+    /**
+     * Publie l'état actuel de la ville
+     * Appelé par le thread qui fait avancer la ville (ou par l'interface
+     * quand la simulation est arrêtée) ; les écrivains sont sérialisés.
+     */
+    public synchronized void publish(City city) {
+        snapshots[back].fill(city, city.getStructureVersion(), ++published);
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Retourne la photographie la plus récente (thread JavaFX uniquement)
+     * Elle reste valide jusqu'au prochain appel : ne pas la conserver au-delà
+     * d'une image.
+     */
+    public CitySnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return snapshots[front];
+    }
+}
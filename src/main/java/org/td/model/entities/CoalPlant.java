@@ -1,6 +1,8 @@
 package org.td.model.entities;
 
 import org.td.model.enums.PowerPlantType;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 /**
  * Centrale à charbon
@@ -59,6 +61,13 @@ public class CoalPlant extends PowerPlant {
      */
     public double buyCoal(double tons) {
         coalReserve += tons;
+        return getCoalCost(tons);
+    }
+
+    /**
+     * Coût d'un achat de charbon
+     */
+    public double getCoalCost(double tons) {
         return tons * coalCostPerTon;
     }
 
@@ -105,4 +114,22 @@ public class CoalPlant extends PowerPlant {
         double hourlyConsumption = (currentProduction * coalConsumptionRate) / 1000.0;
         return coalReserve / hourlyConsumption;
     }
-}
\ No newline at end of file
+
+    // === SAUVEGARDE ===
+
+    @Override
+    public void writeState(StateOutput out) {
+        super.writeState(out);
+        out.writeDouble(coalReserve);
+        out.writeDouble(coalConsumptionRate);
+        out.writeDouble(coalCostPerTon);
+    }
+
+    @Override
+    public void readState(StateInput in) {
+        super.readState(in);
+        coalReserve = in.readDouble();
+        coalConsumptionRate = in.readDouble();
+        coalCostPerTon = in.readDouble();
+    }
+}
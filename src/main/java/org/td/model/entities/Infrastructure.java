@@ -1,6 +1,8 @@
 package org.td.model.entities;
 
 import org.td.model.enums.BuildingType;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 /**
  * Infrastructure publique (commercial, divertissement, parcs, etc.)
@@ -160,7 +162,7 @@ public class Infrastructure extends Building {
      */
     private void updateVisitors() {
         // Variation selon type et heure
-        double occupancyRate = 0.3 + Math.random() * 0.5; // 30-80%
+        double occupancyRate = 0.3 + nextRandom() * 0.5; // 30-80%
 
         // Ajustement selon le type
         if (infrastructureType == BuildingType.ENTERTAINMENT ||
@@ -201,6 +203,7 @@ public class Infrastructure extends Building {
     public boolean upgrade() {
         if (!canUpgrade()) return false;
 
+        beginChange();
         level++;
         happinessBonus *= 1.3;
         visitorCapacity = (int)(visitorCapacity * 1.5);
@@ -208,6 +211,7 @@ public class Infrastructure extends Building {
         maintenanceCost *= 1.3;
 
         super.upgrade();
+        endChange();
         return true;
     }
 
@@ -218,16 +222,19 @@ public class Infrastructure extends Building {
 
     @Override
     public int getWidth() {
-        return switch(infrastructureType) {
-            case STADIUM -> 3;
-            case HOSPITAL, SCHOOL, UNIVERSITY -> 2;
-            default -> 1;
-        };
+        return footprintOf(infrastructureType);
     }
 
     @Override
     public int getHeight() {
-        return switch(infrastructureType) {
+        return footprintOf(infrastructureType);
+    }
+
+    /**
+     * Côté (en cellules) de l'emprise carrée d'un type d'infrastructure
+     */
+    public static int footprintOf(BuildingType type) {
+        return switch(type) {
             case STADIUM -> 3;
             case HOSPITAL, SCHOOL, UNIVERSITY -> 2;
             default -> 1;
@@ -280,4 +287,30 @@ public class Infrastructure extends Building {
     public double getRevenuePerVisitor() {
         return revenuePerVisitor;
     }
-}
\ No newline at end of file
+
+    // === SAUVEGARDE ===
+
+    @Override
+    public void writeState(StateOutput out) {
+        super.writeState(out);
+        out.writeEnum(infrastructureType);
+        out.writeDouble(happinessBonus);
+        out.writeDouble(energyConsumption);
+        out.writeDouble(maintenanceCost);
+        out.writeInt(visitorCapacity);
+        out.writeInt(currentVisitors);
+        out.writeDouble(revenuePerVisitor);
+    }
+
+    @Override
+    public void readState(StateInput in) {
+        super.readState(in);
+        infrastructureType = in.readEnum(BuildingType.class);
+        happinessBonus = in.readDouble();
+        energyConsumption = in.readDouble();
+        maintenanceCost = in.readDouble();
+        visitorCapacity = in.readInt();
+        currentVisitors = in.readInt();
+        revenuePerVisitor = in.readDouble();
+    }
+}
@@ -1,8 +1,8 @@
 package org.td.model.entities;
 
 import org.td.model.enums.PowerPlantType;
-
-import java.util.Random;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 /**
  * Centrale nucléaire
@@ -20,8 +20,6 @@ public class NuclearPlant extends PowerPlant {
     private double temperature; // Température du réacteur (°C)
     private int incidentRiskLevel; // Niveau de risque d'incident (0-10)
 
-    private Random random;
-
     /**
      * Constructeur
      */
@@ -45,8 +43,6 @@ public class NuclearPlant extends PowerPlant {
         // Combustible
         this.fuelReserve = 500.0; // 500 kg d'uranium enrichi
         this.fuelConsumptionRate = 0.01; // 0.01 kg par kWh
-
-        this.random = new Random();
     }
 
     @Override
@@ -90,7 +86,7 @@ public class NuclearPlant extends PowerPlant {
 
         // Surchauffe si maintenance négligée
         if (hoursSinceLastMaintenance > maintenanceInterval * 1.5) {
-            temperature += random.nextDouble() * 10;
+            temperature += nextRandom() * 10;
         }
     }
 
@@ -111,7 +107,7 @@ public class NuclearPlant extends PowerPlant {
         else if (hoursSinceLastMaintenance > maintenanceInterval) incidentRiskLevel += 1;
 
         // Vérification incident
-        if (incidentRiskLevel >= 7 && random.nextDouble() < 0.01) {
+        if (incidentRiskLevel >= 7 && nextRandom() < 0.01) {
             triggerIncident();
         }
     }
@@ -172,6 +168,13 @@ public class NuclearPlant extends PowerPlant {
      */
     public double refuel(double kg) {
         fuelReserve += kg;
+        return getFuelCost(kg);
+    }
+
+    /**
+     * Coût d'un réapprovisionnement
+     */
+    public double getFuelCost(double kg) {
         return kg * 50000; // 50,000€ par kg d'uranium enrichi
     }
 
@@ -179,9 +182,11 @@ public class NuclearPlant extends PowerPlant {
      * Effectue un arrêt d'urgence
      */
     public void emergencyShutdown() {
+        beginChange();
         isActive = false;
         currentProduction = 0;
         temperature = Math.max(20, temperature - 50);
+        endChange();
     }
 
     /**
@@ -189,7 +194,9 @@ public class NuclearPlant extends PowerPlant {
      */
     public boolean restart() {
         if (safetyLevel > 0.7 && temperature < 400 && fuelReserve > 100) {
+            beginChange();
             isActive = true;
+            endChange();
             return true;
         }
         return false;
@@ -202,7 +209,7 @@ public class NuclearPlant extends PowerPlant {
 
     @Override
     public String getStatus() {
-        if (!isActive && pollutionLevel > 50) return "⚠️ INCIDENT NUCLÉAIRE";
+        if (isContaminated()) return "⚠️ INCIDENT NUCLÉAIRE";
         if (incidentRiskLevel >= 7) return "DANGER - Risque critique";
         if (incidentRiskLevel >= 4) return "ATTENTION - Risque élevé";
         return super.getStatus();
@@ -241,4 +248,35 @@ public class NuclearPlant extends PowerPlant {
     public boolean isInDanger() {
         return incidentRiskLevel >= 7;
     }
-}
\ No newline at end of file
+
+    /**
+     * Arrêtée après un incident et contaminée
+     */
+    public boolean isContaminated() {
+        return !isActive && pollutionLevel > 50;
+    }
+
+    // === SAUVEGARDE ===
+
+    @Override
+    public void writeState(StateOutput out) {
+        super.writeState(out);
+        out.writeDouble(safetyLevel);
+        out.writeDouble(radioactiveWaste);
+        out.writeDouble(fuelReserve);
+        out.writeDouble(fuelConsumptionRate);
+        out.writeDouble(temperature);
+        out.writeInt(incidentRiskLevel);
+    }
+
+    @Override
+    public void readState(StateInput in) {
+        super.readState(in);
+        safetyLevel = in.readDouble();
+        radioactiveWaste = in.readDouble();
+        fuelReserve = in.readDouble();
+        fuelConsumptionRate = in.readDouble();
+        temperature = in.readDouble();
+        incidentRiskLevel = in.readInt();
+    }
+}
@@ -1,6 +1,8 @@
 package org.td.model.entities;
 
 import org.td.model.enums.PowerPlantType;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 /**
  * Classe abstraite représentant une centrale électrique
@@ -85,13 +87,22 @@ public abstract class PowerPlant extends Building {
         }
     }
 
+    /**
+     * Coût d'une maintenance (une semaine d'entretien)
+     */
+    public double getWeeklyMaintenanceCost() {
+        return maintenanceCostPerHour * 24 * 7;
+    }
+
     /**
      * Effectue la maintenance de la centrale
      */
     public double performMaintenance() {
-        double cost = maintenanceCostPerHour * 24 * 7; // Une semaine de maintenance
+        double cost = getWeeklyMaintenanceCost();
+        beginChange();
         efficiency = Math.min(1.0, efficiency + 0.3);
         hoursSinceLastMaintenance = 0;
+        endChange();
         return cost;
     }
 
@@ -103,6 +114,7 @@ public abstract class PowerPlant extends Building {
         if (!canUpgrade())
             return false;
 
+        beginChange();
         level++;
         maxProduction *= 1.5; // +50% de production
         efficiency = 1.0; // Réinitialise l'efficacité
@@ -110,6 +122,7 @@ public abstract class PowerPlant extends Building {
         hoursSinceLastMaintenance = 0;
 
         super.upgrade();
+        endChange();
         return true;
     }
 
@@ -233,6 +246,40 @@ public abstract class PowerPlant extends Building {
 
     // Setters
     public void setEfficiency(double efficiency) {
+        beginChange();
         this.efficiency = Math.max(0, Math.min(1.0, efficiency));
+        endChange();
+    }
+
+    // === SAUVEGARDE ===
+
+    @Override
+    public void writeState(StateOutput out) {
+        super.writeState(out);
+        out.writeEnum(plantType);
+        out.writeDouble(maxProduction);
+        out.writeDouble(currentProduction);
+        out.writeDouble(efficiency);
+        out.writeDouble(maintenanceCostPerHour);
+        out.writeDouble(pollutionLevel);
+        out.writeDouble(operatingCostPerKWh);
+        out.writeDouble(totalEnergyProduced);
+        out.writeInt(hoursSinceLastMaintenance);
+        out.writeInt(maintenanceInterval);
+    }
+
+    @Override
+    public void readState(StateInput in) {
+        super.readState(in);
+        plantType = in.readEnum(PowerPlantType.class);
+        maxProduction = in.readDouble();
+        currentProduction = in.readDouble();
+        efficiency = in.readDouble();
+        maintenanceCostPerHour = in.readDouble();
+        pollutionLevel = in.readDouble();
+        operatingCostPerKWh = in.readDouble();
+        totalEnergyProduced = in.readDouble();
+        hoursSinceLastMaintenance = in.readInt();
+        maintenanceInterval = in.readInt();
     }
-}
\ No newline at end of file
+}
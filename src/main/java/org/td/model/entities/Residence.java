@@ -1,8 +1,8 @@
 package org.td.model.entities;
 
 import org.td.model.enums.ResidenceLevel;
-
-import java.util.Random;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 /**
  * Représente une résidence dans la ville
@@ -20,15 +20,12 @@ public class Residence extends Building {
     private boolean hasElectricity; // A de l'électricité actuellement
     private int hoursWithoutElectricity; // Heures consécutives sans électricité
 
-    private Random random;
-
     /**
      * Constructeur
      */
     public Residence(ResidenceLevel level, int x, int y) {
         super(level.getLevel(), x, y);
         this.residenceLevel = level;
-        this.random = new Random();
         this.satisfaction = 75.0;
         this.hasElectricity = true;
         this.hoursWithoutElectricity = 0;
@@ -45,9 +42,9 @@ public class Residence extends Building {
      */
     private void initializePopulation() {
         int basePopulation = switch (residenceLevel) {
-            case BASIC -> 20 + random.nextInt(30); // 20-50 habitants
-            case MEDIUM -> 50 + random.nextInt(50); // 50-100 habitants
-            case ADVANCED -> 100 + random.nextInt(100); // 100-200 habitants
+            case BASIC -> 20 + nextRandomInt(30); // 20-50 habitants
+            case MEDIUM -> 50 + nextRandomInt(50); // 50-100 habitants
+            case ADVANCED -> 100 + nextRandomInt(100); // 100-200 habitants
         };
         this.population = basePopulation;
     }
@@ -58,7 +55,7 @@ public class Residence extends Building {
     private void calculateBaseEnergyDemand() {
         double min = residenceLevel.getMinEnergyDemand();
         double max = residenceLevel.getMaxEnergyDemand();
-        double variance = random.nextDouble();
+        double variance = nextRandom();
 
         this.baseEnergyDemand = min + variance * (max - min);
         this.baseEnergyDemand *= (population / 35.0); // Ajustement selon population
@@ -71,7 +68,7 @@ public class Residence extends Building {
     private void calculateRevenue() {
         double min = residenceLevel.getMinRevenue();
         double max = residenceLevel.getMaxRevenue();
-        this.revenuePerHour = min + random.nextDouble() * (max - min);
+        this.revenuePerHour = min + nextRandom() * (max - min);
         this.revenuePerHour *= (population / 50.0); // Ajustement selon population
     }
 
@@ -97,7 +94,7 @@ public class Residence extends Building {
         satisfaction = Math.max(0, Math.min(100, satisfaction));
 
         // Risque d'abandon si satisfaction trop basse
-        if (satisfaction < 20 && random.nextDouble() < 0.1) {
+        if (satisfaction < 20 && nextRandom() < 0.1) {
             // Perte de population
             population = Math.max(5, population - 5);
             calculateBaseEnergyDemand();
@@ -105,8 +102,8 @@ public class Residence extends Building {
         }
 
         // Croissance de population si satisfaction élevée
-        if (satisfaction > 60 && hasElectricity && random.nextDouble() < 0.05) {
-            population += random.nextInt(3) + 1;
+        if (satisfaction > 60 && hasElectricity && nextRandom() < 0.05) {
+            population += nextRandomInt(3) + 1;
             calculateBaseEnergyDemand();
             calculateRevenue();
         }
@@ -120,7 +117,7 @@ public class Residence extends Building {
         this.energyDemand = this.baseEnergyDemand * multiplier;
 
         // Variation aléatoire légère
-        this.energyDemand *= (0.95 + random.nextDouble() * 0.1);
+        this.energyDemand *= (0.95 + nextRandom() * 0.1);
     }
 
     /**
@@ -155,9 +152,10 @@ public class Residence extends Building {
         };
 
         if (nextLevel != null) {
+            beginChange();
             this.residenceLevel = nextLevel;
             this.level = nextLevel.getLevel();
-            this.population += 30 + random.nextInt(20);
+            this.population += 30 + nextRandomInt(20);
 
             calculateBaseEnergyDemand();
             calculateRevenue();
@@ -166,6 +164,7 @@ public class Residence extends Building {
             this.satisfaction = Math.min(100, satisfaction + 10);
 
             super.upgrade();
+            endChange();
             return true;
         }
         return false;
@@ -238,4 +237,32 @@ public class Residence extends Building {
     public int getHoursWithoutElectricity() {
         return hoursWithoutElectricity;
     }
-}
\ No newline at end of file
+
+    // === SAUVEGARDE ===
+
+    @Override
+    public void writeState(StateOutput out) {
+        super.writeState(out);
+        out.writeEnum(residenceLevel);
+        out.writeDouble(energyDemand);
+        out.writeDouble(baseEnergyDemand);
+        out.writeInt(population);
+        out.writeDouble(satisfaction);
+        out.writeDouble(revenuePerHour);
+        out.writeBoolean(hasElectricity);
+        out.writeInt(hoursWithoutElectricity);
+    }
+
+    @Override
+    public void readState(StateInput in) {
+        super.readState(in);
+        residenceLevel = in.readEnum(ResidenceLevel.class);
+        energyDemand = in.readDouble();
+        baseEnergyDemand = in.readDouble();
+        population = in.readInt();
+        satisfaction = in.readDouble();
+        revenuePerHour = in.readDouble();
+        hasElectricity = in.readBoolean();
+        hoursWithoutElectricity = in.readInt();
+    }
+}
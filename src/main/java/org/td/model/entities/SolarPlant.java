@@ -2,6 +2,8 @@ package org.td.model.entities;
 
 
 import org.td.model.enums.PowerPlantType;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 /**
  * Centrale solaire (panneaux photovoltaïques)
@@ -134,4 +136,22 @@ public class SolarPlant extends PowerPlant {
     public double getWeatherMultiplier() {
         return weatherMultiplier;
     }
-}
\ No newline at end of file
+
+    // === SAUVEGARDE ===
+
+    @Override
+    public void writeState(StateOutput out) {
+        super.writeState(out);
+        out.writeDouble(solarMultiplier);
+        out.writeInt(currentHour);
+        out.writeDouble(weatherMultiplier);
+    }
+
+    @Override
+    public void readState(StateInput in) {
+        super.readState(in);
+        solarMultiplier = in.readDouble();
+        currentHour = in.readInt();
+        weatherMultiplier = in.readDouble();
+    }
+}
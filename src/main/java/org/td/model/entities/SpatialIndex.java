@@ -0,0 +1,357 @@
+package org.td.model.entities;
+
+import org.td.utils.GameConfig;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Index spatial par grille de cellules (GameConfig.CELL_SIZE)
+ * Chaque bâtiment est enregistré dans toutes les cellules qu'il recouvre.
+ * Table de hachage à adressage ouvert (clé = cellule encodée en long),
+ * sans allocation pour les requêtes point et rectangle.
+ */
+public final class SpatialIndex {
+    private static final int CELL = GameConfig.CELL_SIZE;
+    private static final int INITIAL_CAPACITY = 64; // Puissance de 2
+    private static final int INITIAL_BUCKET = 2;
+
+    // Table de hachage (sondage linéaire)
+    private long[] keys;
+    private Building[][] buckets;
+    private int[] counts; // 0 = emplacement libre
+    private int mask;
+    private int usedCells;
+
+    private int size; // Nombre de bâtiments indexés
+
+    /**
+     * Constructeur
+     */
+    public SpatialIndex() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    // === MODIFICATIONS ===
+
+    /**
+     * Ajoute un bâtiment à sa position actuelle
+     */
+    public void insert(Building building) {
+        insertAt(building, building.getX(), building.getY());
+        size++;
+    }
+
+    /**
+     * Retire un bâtiment (à sa position actuelle)
+     */
+    public void remove(Building building) {
+        if (removeAt(building, building.getX(), building.getY())) {
+            size--;
+        }
+    }
+
+    /**
+     * Déplace un bâtiment déjà indexé depuis son ancienne position
+     */
+    public void move(Building building, int oldX, int oldY) {
+        if (removeAt(building, oldX, oldY)) {
+            insertAt(building, building.getX(), building.getY());
+        }
+    }
+
+    /**
+     * Remplace un bâtiment par sa copie (même position, même taille)
+     */
+    public void replace(Building original, Building copy) {
+        int minCx = Math.floorDiv(original.getX(), CELL);
+        int minCy = Math.floorDiv(original.getY(), CELL);
+        int maxCx = Math.floorDiv(original.getX() + original.getWidth() * CELL - 1, CELL);
+        int maxCy = Math.floorDiv(original.getY() + original.getHeight() * CELL - 1, CELL);
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                int slot = find(key(cx, cy));
+                if (slot < 0)
+                    continue;
+                Building[] bucket = buckets[slot];
+                for (int i = 0, n = counts[slot]; i < n; i++) {
+                    if (bucket[i] == original) {
+                        bucket[i] = copy;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Vide l'index
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    // === REQUÊTES ===
+
+    /**
+     * Retourne le bâtiment contenant le point (en pixels), ou null
+     */
+    public Building findAt(int px, int py) {
+        int slot = find(key(Math.floorDiv(px, CELL), Math.floorDiv(py, CELL)));
+        if (slot < 0)
+            return null;
+
+        Building[] bucket = buckets[slot];
+        for (int i = 0, n = counts[slot]; i < n; i++) {
+            Building b = bucket[i];
+            if (px >= b.getX() && px < b.getX() + b.getWidth() * CELL &&
+                    py >= b.getY() && py < b.getY() + b.getHeight() * CELL) {
+                return b;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retourne un bâtiment chevauchant le rectangle (en pixels), ou null
+     * @param exclude Bâtiment ignoré (ex: celui qu'on déplace), peut être null
+     */
+    public Building findOverlap(int x, int y, int width, int height, Building exclude) {
+        if (width <= 0 || height <= 0)
+            return null;
+
+        int minCx = Math.floorDiv(x, CELL);
+        int minCy = Math.floorDiv(y, CELL);
+        int maxCx = Math.floorDiv(x + width - 1, CELL);
+        int maxCy = Math.floorDiv(y + height - 1, CELL);
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                int slot = find(key(cx, cy));
+                if (slot < 0)
+                    continue;
+
+                Building[] bucket = buckets[slot];
+                for (int i = 0, n = counts[slot]; i < n; i++) {
+                    Building b = bucket[i];
+                    if (b != exclude && intersects(b, x, y, width, height)) {
+                        return b;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Vérifie si un bâtiment chevaucherait un bâtiment indexé
+     * (y compris lui-même s'il est déjà dans l'index)
+     */
+    public boolean overlaps(Building building) {
+        return findOverlap(building.getX(), building.getY(),
+                building.getWidth() * CELL, building.getHeight() * CELL, null) != null;
+    }
+
+    /**
+     * Parcourt les bâtiments intersectant le rectangle (en pixels)
+     * Chaque bâtiment n'est visité qu'une fois, depuis sa cellule d'ancrage
+     * (première cellule commune au bâtiment et au rectangle)
+     */
+    public void forEachInRect(int x, int y, int width, int height, Consumer<? super Building> action) {
+        if (width <= 0 || height <= 0)
+            return;
+
+        int minCx = Math.floorDiv(x, CELL);
+        int minCy = Math.floorDiv(y, CELL);
+        int maxCx = Math.floorDiv(x + width - 1, CELL);
+        int maxCy = Math.floorDiv(y + height - 1, CELL);
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                int slot = find(key(cx, cy));
+                if (slot < 0)
+                    continue;
+
+                Building[] bucket = buckets[slot];
+                for (int i = 0, n = counts[slot]; i < n; i++) {
+                    Building b = bucket[i];
+                    int anchorX = Math.max(Math.floorDiv(b.getX(), CELL), minCx);
+                    int anchorY = Math.max(Math.floorDiv(b.getY(), CELL), minCy);
+                    if (anchorX == cx && anchorY == cy && intersects(b, x, y, width, height)) {
+                        action.accept(b);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // === INTERNE ===
+
+    private static boolean intersects(Building b, int x, int y, int width, int height) {
+        return !(b.getX() + b.getWidth() * CELL <= x ||
+                x + width <= b.getX() ||
+                b.getY() + b.getHeight() * CELL <= y ||
+                y + height <= b.getY());
+    }
+
+    private void insertAt(Building building, int px, int py) {
+        int minCx = Math.floorDiv(px, CELL);
+        int minCy = Math.floorDiv(py, CELL);
+        int maxCx = Math.floorDiv(px + building.getWidth() * CELL - 1, CELL);
+        int maxCy = Math.floorDiv(py + building.getHeight() * CELL - 1, CELL);
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                addToCell(key(cx, cy), building);
+            }
+        }
+    }
+
+    private boolean removeAt(Building building, int px, int py) {
+        int minCx = Math.floorDiv(px, CELL);
+        int minCy = Math.floorDiv(py, CELL);
+        int maxCx = Math.floorDiv(px + building.getWidth() * CELL - 1, CELL);
+        int maxCy = Math.floorDiv(py + building.getHeight() * CELL - 1, CELL);
+
+        boolean found = false;
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                found |= removeFromCell(key(cx, cy), building);
+            }
+        }
+        return found;
+    }
+
+    private void addToCell(long key, Building building) {
+        int slot = find(key);
+        if (slot < 0) {
+            if ((usedCells + 1) * 4 > keys.length * 3) {
+                rehash(keys.length * 2);
+            }
+            slot = freeSlot(key);
+            keys[slot] = key;
+            buckets[slot] = new Building[INITIAL_BUCKET];
+            usedCells++;
+        }
+
+        Building[] bucket = buckets[slot];
+        int n = counts[slot];
+        if (n == bucket.length) {
+            bucket = Arrays.copyOf(bucket, n * 2);
+            buckets[slot] = bucket;
+        }
+        bucket[n] = building;
+        counts[slot] = n + 1;
+    }
+
+    private boolean removeFromCell(long key, Building building) {
+        int slot = find(key);
+        if (slot < 0)
+            return false;
+
+        Building[] bucket = buckets[slot];
+        int n = counts[slot];
+        for (int i = 0; i < n; i++) {
+            if (bucket[i] == building) {
+                bucket[i] = bucket[n - 1];
+                bucket[n - 1] = null;
+                counts[slot] = n - 1;
+                if (n == 1) {
+                    deleteSlot(slot);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retourne l'emplacement de la clé, ou -1
+     */
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (counts[slot] != 0) {
+            if (keys[slot] == key)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int freeSlot(long key) {
+        int slot = hash(key) & mask;
+        while (counts[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Suppression avec décalage arrière (pas de pierres tombales)
+     */
+    private void deleteSlot(int slot) {
+        buckets[slot] = null;
+        usedCells--;
+
+        int hole = slot;
+        int next = (slot + 1) & mask;
+        while (counts[next] != 0) {
+            int home = hash(keys[next]) & mask;
+            // L'entrée peut remonter si son emplacement d'origine n'est pas entre le trou et elle
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                buckets[hole] = buckets[next];
+                counts[hole] = counts[next];
+                buckets[next] = null;
+                counts[next] = 0;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Building[][] oldBuckets = buckets;
+        int[] oldCounts = counts;
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = freeSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                buckets[slot] = oldBuckets[i];
+                counts[slot] = oldCounts[i];
+                usedCells++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        buckets = new Building[capacity][];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        usedCells = 0;
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        // Finaliseur de MurmurHash3
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
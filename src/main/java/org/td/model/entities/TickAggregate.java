@@ -0,0 +1,118 @@
+package org.td.model.entities;
+
+import java.util.List;
+
+/**
+ * Agrégats de la ville calculés en une seule passe après la mise à jour des bâtiments
+ * Seules les valeurs qui varient à chaque heure (production, demande, visiteurs...)
+ * sont ici ; les totaux stables sont tenus à jour par CityAggregates
+ * (objet réutilisé d'une heure à l'autre, aucune allocation par tick)
+ */
+public class TickAggregate {
+    // Énergie
+    private double activeProduction; // Production des centrales actives
+    private double residentialDemand; // Demande de toutes les résidences
+
+    // Économie
+    private double infrastructureRevenue;
+    private double activePlantCost; // Maintenance + exploitation des centrales actives
+
+    // Environnement
+    private double activePollution;
+    private double infrastructureHappiness;
+
+    // Centrales
+    private int lowEfficiencyPlants; // Efficacité < 40%
+    private int nuclearPlantsInDanger;
+
+    /**
+     * Recalcule tous les agrégats en parcourant chaque bâtiment une seule fois
+     */
+    void compute(List<Residence> residences, List<PowerPlant> powerPlants,
+            List<Infrastructure> infrastructures) {
+        reset();
+
+        for (int i = 0, n = residences.size(); i < n; i++) {
+            residentialDemand += residences.get(i).getEnergyDemand();
+        }
+
+        for (int i = 0, n = powerPlants.size(); i < n; i++) {
+            PowerPlant plant = powerPlants.get(i);
+            if (plant.isActive()) {
+                activeProduction += plant.getCurrentProduction();
+                activePlantCost += plant.getHourlyCost();
+                activePollution += plant.getHourlyPollution();
+            }
+            if (plant.getEfficiency() < 0.4) {
+                lowEfficiencyPlants++;
+            }
+            if (plant instanceof NuclearPlant nuclear && nuclear.isInDanger()) {
+                nuclearPlantsInDanger++;
+            }
+        }
+
+        for (int i = 0, n = infrastructures.size(); i < n; i++) {
+            Infrastructure infra = infrastructures.get(i);
+            infrastructureRevenue += infra.getHourlyRevenue();
+            infrastructureHappiness += infra.getHappinessContribution();
+        }
+    }
+
+    /**
+     * Reprend les agrégats d'une autre ville (ville dérivée)
+     */
+    void copyFrom(TickAggregate other) {
+        activeProduction = other.activeProduction;
+        residentialDemand = other.residentialDemand;
+        infrastructureRevenue = other.infrastructureRevenue;
+        activePlantCost = other.activePlantCost;
+        activePollution = other.activePollution;
+        infrastructureHappiness = other.infrastructureHappiness;
+        lowEfficiencyPlants = other.lowEfficiencyPlants;
+        nuclearPlantsInDanger = other.nuclearPlantsInDanger;
+    }
+
+    private void reset() {
+        activeProduction = 0;
+        residentialDemand = 0;
+        infrastructureRevenue = 0;
+        activePlantCost = 0;
+        activePollution = 0;
+        infrastructureHappiness = 0;
+        lowEfficiencyPlants = 0;
+        nuclearPlantsInDanger = 0;
+    }
+
+    // === GETTERS ===
+    public double getActiveProduction() {
+        return activeProduction;
+    }
+
+    public double getResidentialDemand() {
+        return residentialDemand;
+    }
+
+    public double getInfrastructureRevenue() {
+        return infrastructureRevenue;
+    }
+
+    public double getActivePlantCost() {
+        return activePlantCost;
+    }
+
+    public double getActivePollution() {
+        return activePollution;
+    }
+
+    public double getInfrastructureHappiness() {
+        return infrastructureHappiness;
+    }
+
+    public int getLowEfficiencyPlants() {
+        return lowEfficiencyPlants;
+    }
+
+    public int getNuclearPlantsInDanger() {
+        return nuclearPlantsInDanger;
+    }
+}
@@ -1,8 +1,8 @@
 package org.td.model.entities;
 
 import org.td.model.enums.PowerPlantType;
-
-import java.util.Random;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 /**
  * Éolienne
@@ -19,8 +19,6 @@ public class WindTurbine extends PowerPlant {
     private double minWindSpeed; // Vitesse minimale pour produire
     private double maxWindSpeed; // Vitesse maximale avant arrêt sécurité
 
-    private Random random;
-
     /**
      * Constructeur
      */
@@ -41,8 +39,6 @@ public class WindTurbine extends PowerPlant {
         this.minWindSpeed = 3.0; // Minimum: 3 m/s
         this.maxWindSpeed = 25.0; // Arrêt sécurité au-dessus
         this.windMultiplier = 0.5;
-
-        this.random = new Random();
     }
 
     @Override
@@ -62,7 +58,7 @@ public class WindTurbine extends PowerPlant {
      */
     private void updateWindSpeed() {
         // Variation aléatoire du vent (-2 à +2 m/s par heure)
-        double change = (random.nextDouble() - 0.5) * 4;
+        double change = (nextRandom() - 0.5) * 4;
         windSpeed += change;
 
         // Limites réalistes (0-35 m/s)
@@ -103,11 +99,11 @@ public class WindTurbine extends PowerPlant {
     public void updateWeather(String weatherType) {
         // Ajustement du vent selon météo
         switch(weatherType) {
-            case "CALM" -> windSpeed = 2 + random.nextDouble() * 3; // 2-5 m/s
-            case "LIGHT_WIND" -> windSpeed = 5 + random.nextDouble() * 5; // 5-10 m/s
-            case "MODERATE_WIND" -> windSpeed = 10 + random.nextDouble() * 5; // 10-15 m/s
-            case "STRONG_WIND" -> windSpeed = 15 + random.nextDouble() * 8; // 15-23 m/s
-            case "STORMY" -> windSpeed = 25 + random.nextDouble() * 10; // 25-35 m/s
+            case "CALM" -> windSpeed = 2 + nextRandom() * 3; // 2-5 m/s
+            case "LIGHT_WIND" -> windSpeed = 5 + nextRandom() * 5; // 5-10 m/s
+            case "MODERATE_WIND" -> windSpeed = 10 + nextRandom() * 5; // 10-15 m/s
+            case "STRONG_WIND" -> windSpeed = 15 + nextRandom() * 8; // 15-23 m/s
+            case "STORMY" -> windSpeed = 25 + nextRandom() * 10; // 25-35 m/s
         }
         updateProduction();
     }
@@ -188,4 +184,26 @@ public class WindTurbine extends PowerPlant {
     public double getMaxWindSpeed() {
         return maxWindSpeed;
     }
-}
\ No newline at end of file
+
+    // === SAUVEGARDE ===
+
+    @Override
+    public void writeState(StateOutput out) {
+        super.writeState(out);
+        out.writeDouble(windSpeed);
+        out.writeDouble(windMultiplier);
+        out.writeDouble(optimalWindSpeed);
+        out.writeDouble(minWindSpeed);
+        out.writeDouble(maxWindSpeed);
+    }
+
+    @Override
+    public void readState(StateInput in) {
+        super.readState(in);
+        windSpeed = in.readDouble();
+        windMultiplier = in.readDouble();
+        optimalWindSpeed = in.readDouble();
+        minWindSpeed = in.readDouble();
+        maxWindSpeed = in.readDouble();
+    }
+}
@@ -35,6 +35,14 @@ public enum GameSpeed {
             200,       // 0.2 seconde réelle = 1 heure de jeu
             5.0,       // 5x vitesse normale
             "Vitesse maximale pour tester rapidement"
+    ),
+
+    TURBO(
+            "Turbo",
+            "🚀",
+            0,         // Aucune attente : autant d'heures que le processeur le permet
+            Double.POSITIVE_INFINITY,
+            "Simulation sans limite, l'affichage est rafraîchi 60 fois par seconde"
     );
 
     private final String displayName;
@@ -55,6 +63,13 @@ public enum GameSpeed {
         this.description = description;
     }
 
+    /**
+     * Vérifie si la vitesse n'est pas bornée (simulation au maximum)
+     */
+    public boolean isUncapped() {
+        return millisecondsPerHour == 0;
+    }
+
     /**
      * Retourne combien d'heures de jeu passent en 1 heure réelle
      */
@@ -89,6 +104,9 @@ public enum GameSpeed {
      * Obtient une description détaillée avec calculs
      */
     public String getDetailedDescription() {
+        if (isUncapped()) {
+            return String.format("%s %s\n%s", icon, displayName, description);
+        }
         return String.format(
                 "%s %s\n" +
                         "%s\n\n" +
@@ -114,7 +132,8 @@ public enum GameSpeed {
             case SLOW -> NORMAL;
             case NORMAL -> FAST;
             case FAST -> ULTRA_FAST;
-            case ULTRA_FAST -> ULTRA_FAST; // Max
+            case ULTRA_FAST -> TURBO;
+            case TURBO -> TURBO; // Max
         };
     }
 
@@ -127,6 +146,7 @@ public enum GameSpeed {
             case NORMAL -> SLOW;
             case FAST -> NORMAL;
             case ULTRA_FAST -> FAST;
+            case TURBO -> ULTRA_FAST;
         };
     }
 
@@ -141,7 +161,7 @@ public enum GameSpeed {
      * Vérifie si c'est la vitesse maximale
      */
     public boolean isMax() {
-        return this == ULTRA_FAST;
+        return this == TURBO;
     }
 
     // Getters
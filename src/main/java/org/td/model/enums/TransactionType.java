@@ -0,0 +1,8 @@
+package org.td.model.enums;
+
+/**
+ * Types de transactions
+ */
+public enum TransactionType {
+    REVENUE, EXPENSE, CONSTRUCTION, UPGRADE, MAINTENANCE, LOAN, ADJUSTMENT
+}
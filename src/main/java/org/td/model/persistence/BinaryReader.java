@@ -0,0 +1,95 @@
+package org.td.model.persistence;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecture séquentielle du format de BinaryWriter
+ */
+final class BinaryReader implements StateInput {
+    private final ByteBuffer buffer;
+
+    BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public int readInt() {
+        long raw = readVarLong();
+        int value = (int) raw;
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public long readLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    @Override
+    public double readDouble() {
+        try {
+            return buffer.getDouble();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    @Override
+    public String readString() {
+        long length = readVarLong();
+        if (length == 0)
+            return null;
+        int bytes = (int) (length - 1);
+        if (bytes > buffer.remaining())
+            throw truncated();
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), bytes,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + bytes);
+        return value;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new SaveFormatException("Varint invalide");
+    }
+
+    int readByte() {
+        if (!buffer.hasRemaining())
+            throw truncated();
+        return buffer.get();
+    }
+
+    /**
+     * Bloc précédé de sa longueur, lu comme un tampon indépendant
+     */
+    ByteBuffer readBlock() {
+        long length = readVarLong();
+        if (length > buffer.remaining())
+            throw truncated();
+        ByteBuffer block = buffer.slice(buffer.position(), (int) length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(buffer.position() + (int) length);
+        return block;
+    }
+
+    boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    private static SaveFormatException truncated() {
+        return new SaveFormatException("Sauvegarde tronquée");
+    }
+}
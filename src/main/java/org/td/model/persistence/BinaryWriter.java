@@ -0,0 +1,113 @@
+package org.td.model.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Écriture séquentielle compacte dans un tampon extensible
+ * Entiers en varint zigzag (1 octet pour les petites valeurs), décimaux
+ * sur 8 octets, chaînes UTF-8 précédées de leur longueur.
+ */
+final class BinaryWriter implements StateOutput {
+    private ByteBuffer buffer;
+
+    BinaryWriter(int initialCapacity) {
+        buffer = ByteBuffer.allocate(Math.max(16, initialCapacity)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public void writeInt(int value) {
+        writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public void writeLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    @Override
+    public void writeDouble(double value) {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    @Override
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Entier positif en varint (7 bits par octet)
+     */
+    void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) {
+        ensure(length);
+        buffer.put(bytes, offset, length);
+    }
+
+    /**
+     * Bloc précédé de sa longueur (sections, colonnes)
+     */
+    void writeBlock(BinaryWriter block) {
+        writeVarLong(block.size());
+        ensure(block.size());
+        buffer.put(block.buffer.array(), 0, block.size());
+    }
+
+    int size() {
+        return buffer.position();
+    }
+
+    void clear() {
+        buffer.clear();
+    }
+
+    /**
+     * Contenu écrit (vue sur le tableau interne)
+     */
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buffer.array(), 0, buffer.position()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    byte[] array() {
+        return buffer.array();
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes)
+            return;
+        long needed = (long) buffer.position() + bytes;
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, buffer.capacity() * 2L));
+        if (capacity < needed)
+            throw new SaveFormatException("Sauvegarde trop volumineuse");
+        ByteBuffer larger = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+}
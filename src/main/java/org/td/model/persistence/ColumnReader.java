@@ -0,0 +1,95 @@
+package org.td.model.persistence;
+
+import java.util.UUID;
+
+/**
+ * Lecture des colonnes écrites par ColumnWriter, objet par objet
+ */
+final class ColumnReader implements StateInput {
+    private final int records;
+    private final byte[] types;
+    private final BinaryReader[] data;
+    private final long[] previous;
+    private final int[] counts;
+    private final int[] bits; // Octet de booléens en cours
+    private int cursor;
+    private int record;
+
+    ColumnReader(BinaryReader in) {
+        this.records = (int) in.readVarLong();
+        int count = (int) in.readVarLong();
+        this.types = new byte[count];
+        this.data = new BinaryReader[count];
+        this.previous = new long[count];
+        this.counts = new int[count];
+        this.bits = new int[count];
+        for (int i = 0; i < count; i++) {
+            types[i] = (byte) in.readByte();
+            data[i] = new BinaryReader(in.readBlock());
+        }
+    }
+
+    int getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Passe à l'objet suivant
+     */
+    void beginRecord() {
+        if (record >= records)
+            throw new SaveFormatException("Plus d'objets que prévu");
+        if (record > 0 && cursor != types.length)
+            throw new SaveFormatException("Objet lu partiellement : " + cursor + "/" + types.length + " valeurs");
+        cursor = 0;
+        record++;
+    }
+
+    @Override
+    public int readInt() {
+        int column = next(ColumnWriter.INT);
+        previous[column] += data[column].readLong();
+        return (int) previous[column];
+    }
+
+    @Override
+    public long readLong() {
+        int column = next(ColumnWriter.LONG);
+        previous[column] += data[column].readLong();
+        return previous[column];
+    }
+
+    @Override
+    public double readDouble() {
+        int column = next(ColumnWriter.DOUBLE);
+        previous[column] ^= Long.reverse(data[column].readVarLong());
+        return Double.longBitsToDouble(previous[column]);
+    }
+
+    @Override
+    public boolean readBoolean() {
+        int column = next(ColumnWriter.BOOLEAN);
+        if (counts[column] % 8 == 0)
+            bits[column] = data[column].readByte();
+        return (bits[column] >> (counts[column]++ % 8) & 1) != 0;
+    }
+
+    @Override
+    public String readString() {
+        int column = next(ColumnWriter.STRING);
+        if (data[column].readByte() == 1) {
+            long high = Double.doubleToRawLongBits(data[column].readDouble());
+            long low = Double.doubleToRawLongBits(data[column].readDouble());
+            return new UUID(high, low).toString();
+        }
+        return data[column].readString();
+    }
+
+    private int next(byte type) {
+        if (cursor >= types.length)
+            throw new SaveFormatException("Colonne " + cursor + " absente de la sauvegarde");
+        if (types[cursor] != type)
+            throw new SaveFormatException("Colonne " + cursor + " : type " + types[cursor] + " au lieu de " + type);
+        return cursor++;
+    }
+}
@@ -0,0 +1,153 @@
+package org.td.model.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Écriture en colonnes d'une suite d'objets de même classe
+ * La n-ième valeur écrite par chaque objet va dans la n-ième colonne.
+ * Encodage par colonne :
+ * - entiers : écart avec la valeur précédente, en varint zigzag
+ *   (positions sur grille, niveaux, compteurs : souvent 1 octet)
+ * - décimaux : XOR avec la valeur précédente, bits inversés en varint
+ *   (valeur répétée : 1 octet)
+ * - booléens : 1 bit
+ * - chaînes : identifiants UUID sur 16 octets, sinon UTF-8
+ */
+final class ColumnWriter implements StateOutput {
+    static final byte INT = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte BOOLEAN = 4;
+    static final byte STRING = 5;
+
+    private final List<Column> columns = new ArrayList<>();
+    private int cursor;
+    private int records;
+
+    /**
+     * Commence l'objet suivant
+     */
+    void beginRecord() {
+        if (records > 0 && cursor != columns.size())
+            throw new IllegalStateException("Objet incomplet : " + cursor + "/" + columns.size() + " valeurs");
+        cursor = 0;
+        records++;
+    }
+
+    int getRecordCount() {
+        return records;
+    }
+
+    @Override
+    public void writeInt(int value) {
+        Column column = next(INT);
+        column.data.writeLong((long) value - column.previous);
+        column.previous = value;
+    }
+
+    @Override
+    public void writeLong(long value) {
+        Column column = next(LONG);
+        column.data.writeLong(value - column.previous);
+        column.previous = value;
+    }
+
+    @Override
+    public void writeDouble(double value) {
+        Column column = next(DOUBLE);
+        long bits = Double.doubleToRawLongBits(value);
+        column.data.writeVarLong(Long.reverse(bits ^ column.previous));
+        column.previous = bits;
+    }
+
+    @Override
+    public void writeBoolean(boolean value) {
+        Column column = next(BOOLEAN);
+        if (column.count % 8 == 0)
+            column.data.writeByte(0);
+        if (value) {
+            byte[] bytes = column.data.array();
+            bytes[column.data.size() - 1] |= (byte) (1 << (column.count % 8));
+        }
+        column.count++;
+    }
+
+    @Override
+    public void writeString(String value) {
+        Column column = next(STRING);
+        long[] uuid = parseUuid(value);
+        if (uuid != null) {
+            column.data.writeByte(1);
+            column.data.writeDouble(Double.longBitsToDouble(uuid[0]));
+            column.data.writeDouble(Double.longBitsToDouble(uuid[1]));
+        } else {
+            column.data.writeByte(0);
+            column.data.writeString(value);
+        }
+    }
+
+    /**
+     * Écrit les colonnes : nombre d'objets, nombre de colonnes, puis (type, bloc)
+     */
+    void writeTo(BinaryWriter out) {
+        if (records > 0 && cursor != columns.size())
+            throw new IllegalStateException("Dernier objet incomplet");
+        out.writeVarLong(records);
+        out.writeVarLong(columns.size());
+        for (Column column : columns) {
+            out.writeByte(column.type);
+            out.writeBlock(column.data);
+        }
+    }
+
+    private Column next(byte type) {
+        if (cursor == columns.size()) {
+            if (records > 1)
+                throw new IllegalStateException("Colonne " + cursor + " absente des objets précédents");
+            columns.add(new Column(type));
+        }
+        Column column = columns.get(cursor++);
+        if (column.type != type)
+            throw new IllegalStateException("Colonne " + (cursor - 1) + " : type " + type + " au lieu de " + column.type);
+        return column;
+    }
+
+    /**
+     * UUID canonique (8-4-4-4-12 en minuscules) en deux longs, sinon null
+     */
+    private static long[] parseUuid(String value) {
+        if (value == null || value.length() != 36)
+            return null;
+        long high = 0, low = 0;
+        int digits = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-')
+                    return null;
+                continue;
+            }
+            int digit = Character.digit(c, 16);
+            if (digit < 0 || Character.isUpperCase(c))
+                return null;
+            if (digits < 16)
+                high = high << 4 | digit;
+            else
+                low = low << 4 | digit;
+            digits++;
+        }
+        return new long[] { high, low };
+    }
+
+    private static final class Column {
+        final byte type;
+        final BinaryWriter data = new BinaryWriter(256);
+        long previous;
+        int count;
+
+        Column(byte type) {
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package org.td.model.persistence;
+
+import org.td.model.GameState;
+import org.td.model.command.JournaledCommand;
+import org.td.model.simulation.TransactionLedger;
+import org.td.utils.GameConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+
+/**
+ * Sauvegarde continue : journal d'écriture anticipée + instantanés
+ *
+ * Chaque commande du joueur est écrite dans le journal avant d'être exécutée,
+ * puis chaque heure de jeu y laisse une empreinte de l'état (GameState.getChecksum).
+ * Le journal est un fichier projeté en mémoire : une écriture coûte une copie
+ * de quelques octets, quelle que soit la taille de la ville, et survit à un
+ * arrêt brutal du processus.
+ *
+ * Périodiquement, un instantané complet (format GameSaver) démarre une
+ * nouvelle génération : le thread de simulation n'encode que le contenu brut
+ * en mémoire, la compression, l'écriture et la synchronisation disque se font
+ * sur un thread dédié. Les générations précédentes sont supprimées une fois
+ * l'instantané sur disque.
+ *
+ * Reprise : dernier instantané lisible, puis rejeu des journaux qui le
+ * suivent. Un enregistrement incomplet (écriture interrompue) termine le rejeu.
+ *
+ * Fichiers du dossier : snapshot-N.energyville et journal-N.wal (N = génération)
+ * Journal : en-tête (MAGIC, version, suite de la génération précédente,
+ * génération) puis enregistrements (taille, CRC32C, type, contenu).
+ * Toutes les méthodes d'écriture sont à appeler depuis le thread de simulation.
+ */
+public final class GameJournal implements AutoCloseable {
+    public static final int MAGIC = 0x4C415745; // "EWAL" sur disque
+    public static final short FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 8; // Taille + CRC32C
+    private static final int END_OF_SEGMENT = -1;
+
+    // Types d'enregistrements
+    private static final byte RECORD_COMMAND = 1;
+    private static final byte RECORD_TICK = 2; // Ancienne heure de la boucle temps réel (sans les gestionnaires)
+    private static final byte RECORD_HOUR = 3; // Heure de jeu (TimeManager.tick)
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_EXTENSION = ".wal";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long snapshotIntervalHours;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "GameJournal-Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Génération courante
+    private long generation;
+    private FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long position; // Prochaine écriture dans le fichier
+    private long hoursSinceSnapshot;
+    private long records;
+    private Future<?> pendingSnapshot;
+
+    private final BinaryWriter record = new BinaryWriter(256); // Réutilisé
+    private final CRC32C crc = new CRC32C();
+
+    private GameJournal(Path directory, long snapshotIntervalHours, int segmentBytes) {
+        this.directory = directory;
+        this.snapshotIntervalHours = snapshotIntervalHours;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Démarre la journalisation d'une partie dans un dossier
+     * Un instantané de départ ouvre une nouvelle génération ; les fichiers
+     * existants (autre partie ou ancienne reprise) sont supprimés une fois
+     * cet instantané écrit.
+     */
+    public static GameJournal open(Path directory, GameState state) throws IOException {
+        return open(directory, state, GameConfig.JOURNAL_SNAPSHOT_HOURS);
+    }
+
+    public static GameJournal open(Path directory, GameState state, long snapshotIntervalHours)
+            throws IOException {
+        Files.createDirectories(directory);
+        GameJournal journal = new GameJournal(directory, snapshotIntervalHours,
+                GameConfig.JOURNAL_SEGMENT_BYTES);
+        TreeMap<Long, Path> existing = list(directory, JOURNAL_PREFIX);
+        existing.putAll(list(directory, SNAPSHOT_PREFIX));
+        long next = existing.isEmpty() ? 0 : existing.lastKey() + 1;
+        journal.startGeneration(next, false, state);
+        return journal;
+    }
+
+    // === ÉCRITURE (thread de simulation) ===
+
+    /**
+     * Écrit une commande avant son exécution
+     */
+    public void appendCommand(JournaledCommand command) {
+        record.clear();
+        record.writeByte(RECORD_COMMAND);
+        record.writeVarLong(command.getJournalKind());
+        command.writeState(record);
+        append();
+    }
+
+    /**
+     * Écrit l'empreinte de l'état après une heure de jeu
+     * puis lance un instantané si l'intervalle est écoulé
+     */
+    public void appendHour(GameState state) {
+        record.clear();
+        record.writeByte(RECORD_HOUR);
+        record.writeInt(TransactionLedger.tickOf(state.getCity().getCurrentTime()));
+        record.writeInt(state.getChecksum());
+        append();
+
+        if (++hoursSinceSnapshot >= snapshotIntervalHours && isSnapshotIdle()) {
+            snapshot(state);
+        }
+    }
+
+    /**
+     * Instantané immédiat : nouvelle génération, écriture en arrière-plan
+     */
+    public void snapshot(GameState state) {
+        try {
+            startGeneration(generation + 1, true, state);
+        } catch (IOException e) {
+            System.err.println("⚠️ Instantané impossible: " + e.getMessage());
+        }
+    }
+
+    private void append() {
+        int length = record.size();
+        crc.reset();
+        crc.update(record.array(), 0, length);
+        try {
+            MappedByteBuffer segment = segmentFor(RECORD_HEADER_BYTES + length);
+            int offset = (int) (position % segmentBytes);
+            segment.putInt(offset, length);
+            segment.putInt(offset + 4, (int) crc.getValue());
+            segment.put(offset + RECORD_HEADER_BYTES, record.array(), 0, length);
+            position += RECORD_HEADER_BYTES + length;
+            records++;
+        } catch (IOException e) {
+            System.err.println("❌ Journal impossible à écrire: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Segment pouvant recevoir l'enregistrement ; un segment trop plein est
+     * marqué comme terminé et l'écriture passe au suivant
+     */
+    private MappedByteBuffer segmentFor(int bytes) throws IOException {
+        if (bytes + 4 > segmentBytes)
+            throw new IOException("Enregistrement trop grand: " + bytes + " octets");
+        int offset = (int) (position % segmentBytes);
+        if (offset + bytes + 4 > segmentBytes) {
+            segment(position).putInt(offset, END_OF_SEGMENT);
+            position += segmentBytes - offset;
+        }
+        return segment(position);
+    }
+
+    private MappedByteBuffer segment(long at) throws IOException {
+        int number = (int) (at / segmentBytes);
+        while (segments.size() <= number) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE,
+                    (long) segments.size() * segmentBytes, segmentBytes);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            segments.add(mapped);
+        }
+        return segments.get(number);
+    }
+
+    /**
+     * Ouvre le journal d'une génération et confie son instantané au thread d'écriture
+     * @param continues vrai si le journal prolonge celui de la génération précédente
+     */
+    private void startGeneration(long number, boolean continues, GameState state) throws IOException {
+        // Seule étape bloquante : l'encodage brut de l'état courant
+        BinaryWriter payload = GameSaver.encodePayload(state);
+        SaveSummary summary = SaveSummary.capture(state);
+
+        FileChannel previous = channel;
+        List<MappedByteBuffer> previousSegments = new ArrayList<>(segments);
+        channel = FileChannel.open(journalFile(directory, number), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segments.clear();
+        generation = number;
+        position = 0;
+        hoursSinceSnapshot = 0;
+
+        MappedByteBuffer header = segment(0);
+        header.putInt(0, MAGIC);
+        header.putShort(4, FORMAT_VERSION);
+        header.put(6, (byte) (continues ? 1 : 0));
+        header.put(7, (byte) 0);
+        header.putLong(8, number);
+        position = HEADER_BYTES;
+
+        Path snapshot = snapshotFile(directory, number);
+        pendingSnapshot = writer.submit(() -> {
+            try {
+                for (MappedByteBuffer segment : previousSegments)
+                    segment.force();
+                if (previous != null)
+                    previous.close();
+                GameSaver.writeAtomically(GameSaver.frame(payload, summary, GameConfig.SAVE_COMPRESSION), snapshot);
+                deleteGenerationsBefore(number);
+            } catch (IOException | RuntimeException e) {
+                // Les générations précédentes restent en place pour la reprise
+                System.err.println("⚠️ Instantané " + number + " non écrit: " + e.getMessage());
+            }
+        });
+    }
+
+    private boolean isSnapshotIdle() {
+        return pendingSnapshot == null || pendingSnapshot.isDone();
+    }
+
+    private void deleteGenerationsBefore(long number) throws IOException {
+        for (String prefix : List.of(JOURNAL_PREFIX, SNAPSHOT_PREFIX)) {
+            for (var entry : list(directory, prefix).headMap(number).entrySet()) {
+                Files.deleteIfExists(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Attend l'instantané en cours et force le journal sur disque
+     */
+    public void flush() {
+        awaitSnapshot();
+        for (MappedByteBuffer segment : segments)
+            segment.force();
+    }
+
+    private void awaitSnapshot() {
+        Future<?> pending = pendingSnapshot;
+        if (pending == null)
+            return;
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("⚠️ Instantané: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Termine la journalisation : le dossier reste utilisable par recover
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null)
+            return;
+        flush();
+        writer.shutdown();
+        channel.close();
+        channel = null;
+        segments.clear();
+    }
+
+    // === REPRISE ===
+
+    /**
+     * Reconstruit la partie journalisée dans un dossier
+     * @return la partie, ou null si le dossier ne contient aucun instantané lisible
+     */
+    public static GameState recover(Path directory) throws IOException {
+        if (!Files.isDirectory(directory))
+            return null;
+        TreeMap<Long, Path> snapshots = list(directory, SNAPSHOT_PREFIX);
+        TreeMap<Long, Path> journals = list(directory, JOURNAL_PREFIX);
+
+        // Le plus récent instantané lisible (le dernier a pu être interrompu)
+        GameState state = null;
+        long base = -1;
+        for (Long number : snapshots.descendingKeySet()) {
+            try {
+                state = GameSaver.load(snapshots.get(number));
+                base = number;
+                break;
+            } catch (SaveFormatException e) {
+                System.err.println("⚠️ Instantané " + number + " illisible: " + e.getMessage());
+            }
+        }
+        if (state == null)
+            return null;
+
+        long replayed = 0;
+        for (long number = base; journals.containsKey(number); number++) {
+            Replay replay = replay(journals.get(number), number, number > base, state);
+            replayed += replay.records;
+            if (!replay.complete)
+                break; // Fin d'écriture ou divergence : les générations suivantes ne s'enchaînent pas
+        }
+        System.out.println("♻️ Partie reprise: instantané " + base + " + " + replayed + " enregistrement(s)");
+        return state;
+    }
+
+    private static Replay replay(Path file, long number, boolean mustContinue, GameState state)
+            throws IOException {
+        Replay replay = new Replay();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (in.size() < HEADER_BYTES)
+                return replay;
+            ByteBuffer content = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (content.getInt(0) != MAGIC || content.getShort(4) > FORMAT_VERSION
+                    || content.getLong(8) != number)
+                throw new SaveFormatException("Journal invalide: " + file.getFileName());
+            if (mustContinue && content.get(6) == 0)
+                return replay; // Journal d'une nouvelle partie dont l'instantané manque
+
+            int segmentBytes = GameConfig.JOURNAL_SEGMENT_BYTES;
+            CRC32C crc = new CRC32C();
+            int position = HEADER_BYTES;
+            while (position + 4 <= content.limit()) {
+                int offset = position % segmentBytes;
+                int length = offset + 4 > segmentBytes ? END_OF_SEGMENT : content.getInt(position);
+                if (length == END_OF_SEGMENT) {
+                    position += segmentBytes - offset;
+                    continue;
+                }
+                if (length <= 0)
+                    break; // Fin du journal
+                if (position + RECORD_HEADER_BYTES + length > content.limit())
+                    return replay;
+                ByteBuffer body = content.slice(position + RECORD_HEADER_BYTES, length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != content.getInt(position + 4))
+                    return replay; // Écriture interrompue
+
+                if (!apply(new BinaryReader(body), state)) {
+                    System.err.println("⚠️ Divergence au rejeu du journal " + number
+                            + " (enregistrement " + replay.records + ")");
+                    return replay;
+                }
+                replay.records++;
+                position += RECORD_HEADER_BYTES + length;
+            }
+            replay.complete = true;
+        }
+        return replay;
+    }
+
+    /**
+     * Rejoue un enregistrement
+     * @return false si l'état obtenu ne correspond pas à l'empreinte écrite
+     */
+    private static boolean apply(BinaryReader in, GameState state) {
+        int type = in.readByte();
+        switch (type) {
+            case RECORD_COMMAND -> {
+                state.execute(JournaledCommand.readState((int) in.readVarLong(), in));
+                return true;
+            }
+            case RECORD_TICK, RECORD_HOUR -> {
+                // Les heures RECORD_TICK d'anciens journaux divergent : le rejeu s'arrête à la première
+                state.getTimeManager().tick();
+                int hour = in.readInt();
+                int expected = in.readInt();
+                return hour == TransactionLedger.tickOf(state.getCity().getCurrentTime())
+                        && expected == state.getChecksum();
+            }
+            default -> throw new SaveFormatException("Enregistrement de journal inconnu: " + type);
+        }
+    }
+
+    private static final class Replay {
+        long records;
+        boolean complete;
+    }
+
+    // === OUTILS ===
+
+    /**
+     * Instantané le plus récent du dossier (aperçu de la partie reprenable)
+     * @return null si le dossier n'en contient aucun
+     */
+    public static Path latestSnapshot(Path directory) throws IOException {
+        if (!Files.isDirectory(directory))
+            return null;
+        TreeMap<Long, Path> snapshots = list(directory, SNAPSHOT_PREFIX);
+        return snapshots.isEmpty() ? null : snapshots.lastEntry().getValue();
+    }
+
+    private static Path snapshotFile(Path directory, long number) {
+        return directory.resolve(SNAPSHOT_PREFIX + number + GameConfig.SAVE_EXTENSION);
+    }
+
+    private static Path journalFile(Path directory, long number) {
+        return directory.resolve(JOURNAL_PREFIX + number + JOURNAL_EXTENSION);
+    }
+
+    /**
+     * Fichiers d'un type, par génération croissante
+     */
+    private static TreeMap<Long, Path> list(Path directory, String prefix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                int end = name.indexOf('.', prefix.length());
+                if (end < 0 || name.endsWith(".tmp"))
+                    continue;
+                try {
+                    files.put(Long.parseLong(name.substring(prefix.length(), end)), file);
+                } catch (NumberFormatException e) {
+                    // Fichier étranger au journal
+                }
+            }
+        }
+        return files;
+    }
+
+    // === GETTERS ===
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Enregistrements écrits depuis l'ouverture
+     */
+    public long getRecordCount() {
+        return records;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+}
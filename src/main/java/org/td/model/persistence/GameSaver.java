@@ -0,0 +1,444 @@
+package org.td.model.persistence;
+
+import org.td.model.GameState;
+import org.td.model.command.BuildingCommand;
+import org.td.model.entities.Building;
+import org.td.model.entities.City;
+import org.td.model.entities.Infrastructure;
+import org.td.model.entities.PowerPlant;
+import org.td.model.entities.Residence;
+import org.td.model.enums.BuildingType;
+import org.td.model.enums.PowerPlantType;
+import org.td.model.enums.ResidenceLevel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Sauvegarde binaire versionnée d'une partie
+ *
+ * Fichier : en-tête fixe (little-endian) puis contenu, éventuellement compressé
+ * - MAGIC (int), FORMAT_VERSION (short), options (byte), réservé (byte)
+ * - taille du contenu stocké (int), taille décompressée (int), CRC32 du contenu stocké (int)
+ * - depuis la version 2 : résumé de taille fixe, non compressé (voir SaveSummary)
+ * Contenu : suite de sections (numéro varint, bloc). Une section inconnue est
+ * ignorée, ce qui permet d'en ajouter sans casser les anciennes versions.
+ * Les bâtiments sont écrits en colonnes (voir ColumnWriter).
+ *
+ * L'écriture passe par un fichier temporaire du même dossier, forcé sur
+ * disque puis renommé atomiquement : une sauvegarde interrompue ne remplace
+ * jamais la précédente.
+ * L'état doit être stable pendant l'écriture : thread de simulation ou
+ * partie arrêtée (voir GameState.save).
+ */
+public final class GameSaver {
+    public static final int MAGIC = 0x45564C53; // "SLVE" sur disque
+    public static final short FORMAT_VERSION = 2;
+    public static final short SUMMARY_VERSION = 2; // Première version avec résumé
+    public static final int HEADER_BYTES = 20;
+
+    private static final byte FLAG_DEFLATE = 1;
+
+    // Sections
+    private static final int SECTION_INFO = 1;
+    private static final int SECTION_GAME = 2;
+    private static final int SECTION_CITY = 3;
+    private static final int SECTION_RESIDENCES = 4;
+    private static final int SECTION_POWER_PLANTS = 5;
+    private static final int SECTION_INFRASTRUCTURES = 6;
+    private static final int SECTION_TIME = 7;
+    private static final int SECTION_ENERGY = 8;
+    private static final int SECTION_ECONOMY = 9;
+    private static final int SECTION_POPULATION = 10;
+    private static final int SECTION_EVENTS = 11;
+
+    private GameSaver() {
+    }
+
+    // === ÉCRITURE ===
+
+    /**
+     * Écrit la partie dans un fichier (remplacement atomique)
+     * @return taille du fichier en octets
+     */
+    public static long save(GameState state, Path file, boolean compress) throws IOException {
+        return writeAtomically(encode(state, compress), file);
+    }
+
+    /**
+     * Écrit un tampon encodé via un fichier temporaire renommé atomiquement
+     * @return taille du fichier en octets
+     */
+    static long writeAtomically(ByteBuffer encoded, Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path directory = absolute.getParent();
+        if (directory != null)
+            Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (encoded.hasRemaining())
+                    channel.write(encoded);
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return Files.size(absolute);
+    }
+
+    /**
+     * Encode la partie (en-tête compris) dans un tampon prêt à écrire
+     */
+    public static ByteBuffer encode(GameState state, boolean compress) {
+        return frame(encodePayload(state), SaveSummary.capture(state), compress);
+    }
+
+    /**
+     * Encode le contenu brut (sans en-tête ni compression)
+     * Seule étape qui lit l'état : le reste peut se faire sur un autre thread.
+     */
+    static BinaryWriter encodePayload(GameState state) {
+        return encodePayload(state, true);
+    }
+
+    private static BinaryWriter encodePayload(GameState state, boolean withBuildings) {
+        City city = state.getCity();
+        int buildings = withBuildings ? city.getBuildingCount() : 0;
+        BinaryWriter payload = new BinaryWriter(4096 + buildings * 48);
+        BinaryWriter section = new BinaryWriter(4096);
+
+        // Informations nécessaires pour recréer la partie avant de relire son état
+        section.writeLong(city.getWorldSeed());
+        section.writeString(city.getName());
+        section.writeString(state.getPlayerName());
+        section.writeInt(state.getDifficulty());
+        writeSection(payload, SECTION_INFO, section);
+
+        state.writeState(section);
+        writeSection(payload, SECTION_GAME, section);
+        city.writeState(section);
+        writeSection(payload, SECTION_CITY, section);
+
+        if (withBuildings) {
+            writeSection(payload, SECTION_RESIDENCES, encodeBuildings(city.getResidences(), section));
+            writeSection(payload, SECTION_POWER_PLANTS, encodePowerPlants(city.getPowerPlants(), section));
+            writeSection(payload, SECTION_INFRASTRUCTURES, encodeBuildings(city.getInfrastructures(), section));
+        }
+
+        state.getTimeManager().writeState(section);
+        writeSection(payload, SECTION_TIME, section);
+        state.getEnergySimulator().writeState(section);
+        writeSection(payload, SECTION_ENERGY, section);
+        state.getEconomyManager().writeState(section);
+        writeSection(payload, SECTION_ECONOMY, section);
+        state.getPopulationManager().writeState(section);
+        writeSection(payload, SECTION_POPULATION, section);
+        state.getRandomEventManager().writeState(section);
+        writeSection(payload, SECTION_EVENTS, section);
+        return payload;
+    }
+
+    /**
+     * Ajoute l'en-tête (et compresse) au contenu brut
+     */
+    static ByteBuffer frame(BinaryWriter payload, SaveSummary summary, boolean compress) {
+        byte[] stored = payload.array();
+        int storedLength = payload.size();
+        if (compress) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            deflater.setInput(stored, 0, storedLength);
+            deflater.finish();
+            BinaryWriter compressed = new BinaryWriter(storedLength / 2 + 64);
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                compressed.writeBytes(chunk, 0, n);
+            }
+            deflater.end();
+            stored = compressed.array();
+            storedLength = compressed.size();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(stored, 0, storedLength);
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + SaveSummary.BYTES + storedLength)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC);
+        out.putShort(FORMAT_VERSION);
+        out.put(compress ? FLAG_DEFLATE : 0);
+        out.put((byte) 0);
+        out.putInt(storedLength);
+        out.putInt(payload.size());
+        out.putInt((int) crc.getValue());
+        summary.write(out);
+        out.put(stored, 0, storedLength);
+        out.flip();
+        return out;
+    }
+
+    private static void writeSection(BinaryWriter payload, int id, BinaryWriter section) {
+        payload.writeVarLong(id);
+        payload.writeBlock(section);
+        section.clear();
+    }
+
+    private static BinaryWriter encodeBuildings(List<? extends Building> buildings,
+            BinaryWriter section) {
+        ColumnWriter columns = new ColumnWriter();
+        for (Building building : buildings) {
+            columns.beginRecord();
+            building.writeState(columns);
+        }
+        columns.writeTo(section);
+        return section;
+    }
+
+    /**
+     * Centrales : ordre des types, puis un jeu de colonnes par type
+     * (chaque sous-classe a ses propres champs)
+     */
+    private static BinaryWriter encodePowerPlants(List<PowerPlant> plants, BinaryWriter section) {
+        PowerPlantType[] types = PowerPlantType.values();
+        ColumnWriter[] columns = new ColumnWriter[types.length];
+        for (int t = 0; t < types.length; t++)
+            columns[t] = new ColumnWriter();
+
+        section.writeVarLong(plants.size());
+        for (PowerPlant plant : plants) {
+            int type = plant.getPlantType().ordinal();
+            section.writeVarLong(type);
+            columns[type].beginRecord();
+            plant.writeState(columns[type]);
+        }
+        section.writeVarLong(types.length);
+        for (ColumnWriter column : columns)
+            column.writeTo(section);
+        return section;
+    }
+
+    // === LECTURE ===
+
+    /**
+     * Charge une partie écrite par save
+     */
+    public static GameState load(Path file) throws IOException {
+        ByteBuffer content;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE)
+                throw new SaveFormatException("Taille de sauvegarde invalide: " + size);
+            content = ByteBuffer.allocate((int) size);
+            while (content.hasRemaining()) {
+                if (channel.read(content) < 0)
+                    throw new SaveFormatException("Sauvegarde tronquée");
+            }
+            content.flip();
+        }
+        return decode(content);
+    }
+
+    /**
+     * Décode un tampon produit par encode
+     */
+    public static GameState decode(ByteBuffer content) {
+        content.order(ByteOrder.LITTLE_ENDIAN);
+        if (content.remaining() < HEADER_BYTES || content.getInt() != MAGIC)
+            throw new SaveFormatException("Ce fichier n'est pas une sauvegarde ÉnergiVille");
+        short version = content.getShort();
+        if (version > FORMAT_VERSION || version < 1)
+            throw new SaveFormatException("Version de sauvegarde non supportée: " + version);
+        byte flags = content.get();
+        content.get(); // Réservé
+        int storedLength = content.getInt();
+        int rawLength = content.getInt();
+        int checksum = content.getInt();
+        if (version >= SUMMARY_VERSION) {
+            if (content.remaining() < SaveSummary.BYTES)
+                throw new SaveFormatException("Sauvegarde tronquée");
+            content.position(content.position() + SaveSummary.BYTES); // Résumé : inutile au chargement
+        }
+        if (storedLength != content.remaining() || rawLength < 0)
+            throw new SaveFormatException("Sauvegarde tronquée");
+
+        byte[] stored = new byte[storedLength];
+        content.get(stored);
+        CRC32 crc = new CRC32();
+        crc.update(stored);
+        if ((int) crc.getValue() != checksum)
+            throw new SaveFormatException("Sauvegarde corrompue (somme de contrôle)");
+
+        byte[] raw = stored;
+        if ((flags & FLAG_DEFLATE) != 0) {
+            raw = new byte[rawLength];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(stored);
+                int n = 0;
+                while (!inflater.finished() && n < rawLength) {
+                    int inflated = inflater.inflate(raw, n, rawLength - n);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                        break;
+                    n += inflated;
+                }
+                if (n != rawLength || !inflater.finished())
+                    throw new SaveFormatException("Sauvegarde corrompue (décompression)");
+            } catch (DataFormatException e) {
+                throw new SaveFormatException("Sauvegarde corrompue (décompression)", e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        return decodePayload(new BinaryReader(ByteBuffer.wrap(raw)), null, 0, false);
+    }
+
+    // === COPIE ===
+
+    /**
+     * Copie indépendante de la partie (voir GameState.fork)
+     * Tout sauf les bâtiments passe par l'encodage : ville, historique,
+     * gestionnaires et journal des transactions en mémoire ont une taille
+     * bornée. Les bâtiments, eux, sont partagés en copie à l'écriture.
+     */
+    public static GameState fork(GameState state) {
+        return fork(state, state.getCity().getWorldSeed());
+    }
+
+    /**
+     * Copie de la partie dont les tirages aléatoires suivent la graine donnée
+     * (la graine de la partie donne une copie qui évolue comme elle)
+     */
+    public static GameState fork(GameState state, long seed) {
+        return fork(state, seed, false);
+    }
+
+    /**
+     * Copie qui recopie tout de suite les bâtiments (voir GameState.forkDetached)
+     */
+    public static GameState forkDetached(GameState state) {
+        return fork(state, state.getCity().getWorldSeed(), true);
+    }
+
+    private static GameState fork(GameState state, long seed, boolean copyBuildings) {
+        BinaryWriter payload = encodePayload(state, false);
+        return decodePayload(new BinaryReader(ByteBuffer.wrap(payload.array(), 0, payload.size())),
+                state.getCity(), seed, copyBuildings);
+    }
+
+    /**
+     * @param buildingSource ville dont les bâtiments sont repris (null : bâtiments lus dans le contenu)
+     * @param forkSeed graine de la copie (ignorée sans buildingSource)
+     * @param copyBuildings bâtiments de buildingSource recopiés plutôt que partagés
+     */
+    private static GameState decodePayload(BinaryReader payload, City buildingSource, long forkSeed,
+            boolean copyBuildings) {
+        Map<Integer, ByteBuffer> sections = new HashMap<>();
+        while (payload.hasRemaining()) {
+            int id = (int) payload.readVarLong();
+            sections.put(id, payload.readBlock()); // Sections inconnues ignorées
+        }
+
+        BinaryReader info = section(sections, SECTION_INFO);
+        long seed = info.readLong();
+        if (buildingSource != null)
+            seed = forkSeed; // Compteurs des flux relus, clés tirées de la nouvelle graine
+        String cityName = info.readString();
+        String playerName = info.readString();
+        int difficulty = info.readInt();
+
+        GameState state = new GameState(cityName, playerName, difficulty, seed);
+        state.readState(section(sections, SECTION_GAME));
+        City city = state.getCity();
+        city.readState(section(sections, SECTION_CITY));
+
+        if (buildingSource != null) {
+            if (copyBuildings)
+                city.copyBuildingsOf(buildingSource);
+            else
+                city.shareBuildingsOf(buildingSource);
+            city.setQuiet(buildingSource.isQuiet()); // La copie d'une ville silencieuse l'est aussi
+        } else {
+            city.restoreBuildings(
+                    decodeBuildings(section(sections, SECTION_RESIDENCES),
+                            () -> new Residence(ResidenceLevel.values()[0], 0, 0)),
+                    decodePowerPlants(section(sections, SECTION_POWER_PLANTS)),
+                    decodeBuildings(section(sections, SECTION_INFRASTRUCTURES),
+                            () -> new Infrastructure(BuildingType.values()[0], 0, 0)));
+        }
+
+        state.getTimeManager().readState(section(sections, SECTION_TIME));
+        state.getEnergySimulator().readState(section(sections, SECTION_ENERGY));
+        state.getEconomyManager().readState(section(sections, SECTION_ECONOMY));
+        state.getPopulationManager().readState(section(sections, SECTION_POPULATION));
+        state.getRandomEventManager().readState(section(sections, SECTION_EVENTS));
+        return state;
+    }
+
+    private static BinaryReader section(Map<Integer, ByteBuffer> sections, int id) {
+        ByteBuffer section = sections.get(id);
+        if (section == null)
+            throw new SaveFormatException("Section " + id + " absente de la sauvegarde");
+        return new BinaryReader(section);
+    }
+
+    private static <T extends Building> List<T> decodeBuildings(BinaryReader section,
+            Supplier<T> factory) {
+        ColumnReader columns = new ColumnReader(section);
+        List<T> buildings = new ArrayList<>(columns.getRecordCount());
+        for (int i = 0; i < columns.getRecordCount(); i++) {
+            columns.beginRecord();
+            T building = factory.get();
+            building.readState(columns);
+            buildings.add(building);
+        }
+        return buildings;
+    }
+
+    private static List<PowerPlant> decodePowerPlants(BinaryReader section) {
+        PowerPlantType[] types = PowerPlantType.values();
+        int count = (int) section.readVarLong();
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) section.readVarLong();
+            if (order[i] >= types.length)
+                throw new SaveFormatException("Type de centrale inconnu: " + order[i]);
+        }
+        int savedTypes = (int) section.readVarLong();
+        ColumnReader[] columns = new ColumnReader[savedTypes];
+        for (int t = 0; t < savedTypes; t++)
+            columns[t] = new ColumnReader(section);
+
+        List<PowerPlant> plants = new ArrayList<>(count);
+        for (int type : order) {
+            columns[type].beginRecord();
+            PowerPlant plant = BuildingCommand.createPowerPlant(types[type], 1, 0, 0);
+            plant.readState(columns[type]);
+            plants.add(plant);
+        }
+        return plants;
+    }
+}
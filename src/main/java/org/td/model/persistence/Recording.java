@@ -0,0 +1,211 @@
+package org.td.model.persistence;
+
+import org.td.model.GameState;
+import org.td.model.command.JournaledCommand;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Enregistrement d'une partie : graine et commandes du joueur datées
+ * Une partie étant déterministe à graine égale, ces données suffisent à la
+ * rejouer (voir ReplayEngine). Les heures sont comptées depuis la fondation
+ * de la ville ; une commande datée de l'heure h est exécutée avant que
+ * l'heure h ne s'écoule.
+ * Un enregistrement commencé en cours de partie embarque l'état de départ.
+ * Les modifications faites hors commandes ne sont pas enregistrées.
+ *
+ * Fichier (varints, voir BinaryWriter) : MAGIC, version, graine, ville,
+ * joueur, difficulté, heures de début et de fin, mode des heures, empreinte
+ * finale, état de départ (bloc vide si fondation), puis les commandes.
+ */
+public final class Recording {
+    public static final int MAGIC = 0x43455245; // "EREC" sur disque
+    public static final int FORMAT_VERSION = 2;
+
+    private final long seed;
+    private final String cityName;
+    private final String playerName;
+    private final int difficulty;
+    private final long startHour;
+    private final byte[] startState; // null : partie rejouée depuis sa fondation
+
+    private long endHour;
+    private int finalChecksum;
+
+    // Commandes, dans l'ordre d'exécution
+    private long[] hours = new long[64];
+    private final List<JournaledCommand> commands = new ArrayList<>();
+
+    private Recording(long seed, String cityName, String playerName, int difficulty, long startHour,
+            byte[] startState) {
+        this.seed = seed;
+        this.cityName = cityName;
+        this.playerName = playerName;
+        this.difficulty = difficulty;
+        this.startHour = startHour;
+        this.startState = startState;
+        this.endHour = startHour;
+    }
+
+    /**
+     * Commence l'enregistrement d'une partie (partie arrêtée ou thread de simulation)
+     */
+    public static Recording start(GameState state) {
+        long hour = state.getTimeManager().getGameHoursElapsed();
+        byte[] startState = null;
+        if (hour > 0) {
+            ByteBuffer encoded = GameSaver.encode(state, true);
+            startState = new byte[encoded.remaining()];
+            encoded.get(startState);
+        }
+        Recording recording = new Recording(state.getCity().getWorldSeed(), state.getCity().getName(),
+                state.getPlayerName(), state.getDifficulty(), hour, startState);
+        recording.finalChecksum = state.getChecksum();
+        return recording;
+    }
+
+    // === ENREGISTREMENT (thread de simulation) ===
+
+    public void addCommand(long hour, JournaledCommand command) {
+        if (commands.size() == hours.length)
+            hours = Arrays.copyOf(hours, hours.length * 2);
+        hours[commands.size()] = hour;
+        commands.add(command);
+    }
+
+    /**
+     * Fin d'une heure de jeu
+     */
+    public void hourCompleted(GameState state) {
+        endHour = state.getTimeManager().getGameHoursElapsed();
+        finalChecksum = state.getChecksum();
+    }
+
+    // === REJEU ===
+
+    /**
+     * État de départ (nouvelle partie à partir de la graine ou état embarqué)
+     */
+    public GameState createInitialState() {
+        if (startState != null)
+            return GameSaver.decode(ByteBuffer.wrap(startState));
+        return new GameState(cityName, playerName, difficulty, seed);
+    }
+
+    /**
+     * Premier index de commande datée de l'heure donnée ou plus tard
+     */
+    public int firstCommandAt(long hour) {
+        int low = 0, high = commands.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (hours[middle] < hour)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    public int getCommandCount() {
+        return commands.size();
+    }
+
+    public long getCommandHour(int index) {
+        return hours[index];
+    }
+
+    public JournaledCommand getCommand(int index) {
+        return commands.get(index);
+    }
+
+    // === FICHIER ===
+
+    public long writeTo(Path file) throws IOException {
+        BinaryWriter out = new BinaryWriter(1024 + commands.size() * 16);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(seed);
+        out.writeString(cityName);
+        out.writeString(playerName);
+        out.writeInt(difficulty);
+        out.writeLong(startHour);
+        out.writeLong(endHour);
+        out.writeInt(finalChecksum);
+        BinaryWriter block = new BinaryWriter(startState != null ? startState.length + 8 : 8);
+        if (startState != null)
+            block.writeBytes(startState, 0, startState.length);
+        out.writeBlock(block);
+
+        out.writeInt(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            JournaledCommand command = commands.get(i);
+            out.writeLong(hours[i]);
+            out.writeInt(command.getJournalKind());
+            command.writeState(out);
+        }
+        return GameSaver.writeAtomically(ByteBuffer.wrap(out.array(), 0, out.size()), file);
+    }
+
+    public static Recording readFrom(Path file) throws IOException {
+        BinaryReader in = new BinaryReader(ByteBuffer.wrap(Files.readAllBytes(file)));
+        if (in.readInt() != MAGIC)
+            throw new SaveFormatException("Ce fichier n'est pas un enregistrement ÉnergiVille");
+        int version = in.readInt();
+        if (version < 1 || version > FORMAT_VERSION)
+            throw new SaveFormatException("Version d'enregistrement non supportée: " + version);
+
+        long seed = in.readLong();
+        String cityName = in.readString();
+        String playerName = in.readString();
+        int difficulty = in.readInt();
+        long startHour = in.readLong();
+        long endHour = in.readLong();
+        if (version < 2)
+            in.readBoolean(); // Nature des heures, avant que les deux boucles ne simulent la même heure
+        int finalChecksum = in.readInt();
+        ByteBuffer block = in.readBlock();
+        byte[] startState = null;
+        if (block.hasRemaining()) {
+            startState = new byte[block.remaining()];
+            block.get(startState);
+        }
+
+        Recording recording = new Recording(seed, cityName, playerName, difficulty, startHour, startState);
+        recording.endHour = endHour;
+        recording.finalChecksum = finalChecksum;
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long hour = in.readLong();
+            recording.addCommand(hour, JournaledCommand.readState(in.readInt(), in));
+        }
+        return recording;
+    }
+
+    // === GETTERS ===
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getStartHour() {
+        return startHour;
+    }
+
+    public long getEndHour() {
+        return endHour;
+    }
+
+    /**
+     * Empreinte de l'état à la fin de la dernière heure enregistrée
+     */
+    public int getFinalChecksum() {
+        return finalChecksum;
+    }
+}
@@ -0,0 +1,196 @@
+package org.td.model.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalogue des sauvegardes d'un dossier
+ * Un fichier index garde, pour chaque sauvegarde, sa taille, sa date de
+ * modification et une copie de son résumé. Lister les sauvegardes ne coûte
+ * alors qu'une lecture de l'index (projeté en mémoire) et un stat par
+ * fichier ; seul un fichier nouveau ou modifié voit son en-tête relu, puis
+ * l'index est réécrit.
+ *
+ * Index (little-endian) : MAGIC (int), version (short), réservé (short),
+ * nombre d'entrées (int), puis entrées de taille fixe
+ * (nom, taille, date de modification, présence du résumé, résumé).
+ */
+public final class SaveCatalog {
+    public static final String INDEX_FILE = "catalog.idx";
+    public static final int MAGIC = 0x54414345; // "ECAT" sur disque
+    public static final short FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 12;
+    private static final int NAME_BYTES = 126;
+    private static final int ENTRY_BYTES = 2 + NAME_BYTES + 8 + 8 + 1 + SaveSummary.BYTES;
+
+    private final Path directory;
+    private final String extension;
+
+    public SaveCatalog(Path directory, String extension) {
+        this.directory = directory;
+        this.extension = extension;
+    }
+
+    /**
+     * Sauvegarde du dossier
+     */
+    public static final class Entry {
+        public final Path file;
+        public final long size;
+        public final long lastModified;
+        public final SaveSummary summary; // null : sauvegarde sans résumé (ancien format)
+
+        public Entry(Path file, long size, long lastModified, SaveSummary summary) {
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.summary = summary;
+        }
+
+        public String getName() {
+            return file.getFileName().toString();
+        }
+    }
+
+    /**
+     * Liste les sauvegardes, les plus récentes d'abord, et met l'index à jour
+     */
+    public List<Entry> scan() throws IOException {
+        if (!Files.isDirectory(directory))
+            return new ArrayList<>();
+        Map<String, Entry> indexed = readIndex();
+
+        List<Entry> entries = new ArrayList<>();
+        boolean changed = false;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + extension)) {
+            for (Path file : stream) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue; // Supprimée pendant la lecture
+                }
+                if (!attributes.isRegularFile())
+                    continue;
+                long size = attributes.size();
+                long modified = attributes.lastModifiedTime().toMillis();
+
+                Entry entry = indexed.remove(file.getFileName().toString());
+                if (entry == null || entry.size != size || entry.lastModified != modified) {
+                    entry = new Entry(file, size, modified, readSummary(file));
+                    changed = true;
+                }
+                entries.add(entry);
+            }
+        }
+        changed |= !indexed.isEmpty(); // Sauvegardes supprimées depuis
+
+        if (changed)
+            writeIndex(entries);
+        entries.sort(Comparator.comparingLong((Entry entry) -> entry.lastModified).reversed());
+        return entries;
+    }
+
+    private static SaveSummary readSummary(Path file) {
+        try {
+            return SaveSummary.readFrom(file);
+        } catch (IOException | RuntimeException e) {
+            return null; // Fichier illisible : listé sans résumé
+        }
+    }
+
+    // === INDEX ===
+
+    private Map<String, Entry> readIndex() {
+        Map<String, Entry> entries = new HashMap<>();
+        Path index = directory.resolve(INDEX_FILE);
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES)
+                return entries;
+            ByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (content.getInt() != MAGIC || content.getShort() != FORMAT_VERSION)
+                return entries;
+            content.getShort();
+            int count = content.getInt();
+            if (count < 0 || HEADER_BYTES + (long) count * ENTRY_BYTES > size)
+                return entries;
+
+            for (int i = 0; i < count; i++) {
+                int start = content.position();
+                int length = Math.min(content.getShort() & 0xFFFF, NAME_BYTES);
+                byte[] name = new byte[length];
+                content.get(name);
+                content.position(start + 2 + NAME_BYTES);
+                long fileSize = content.getLong();
+                long modified = content.getLong();
+                boolean hasSummary = content.get() != 0;
+                SaveSummary summary = hasSummary ? SaveSummary.read(content) : null;
+                content.position(start + ENTRY_BYTES);
+
+                String fileName = new String(name, StandardCharsets.UTF_8);
+                entries.put(fileName, new Entry(directory.resolve(fileName), fileSize, modified, summary));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Index absent ou abîmé : reconstruit à partir des en-têtes
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private void writeIndex(List<Entry> entries) {
+        List<Entry> kept = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (entry.getName().getBytes(StandardCharsets.UTF_8).length <= NAME_BYTES)
+                kept.add(entry); // Nom trop long : relu à chaque fois plutôt que tronqué
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + kept.size() * ENTRY_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC);
+        out.putShort(FORMAT_VERSION);
+        out.putShort((short) 0);
+        out.putInt(kept.size());
+        for (Entry entry : kept) {
+            int start = out.position();
+            byte[] name = entry.getName().getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) name.length);
+            out.put(name);
+            out.position(start + 2 + NAME_BYTES);
+            out.putLong(entry.size);
+            out.putLong(entry.lastModified);
+            out.put((byte) (entry.summary != null ? 1 : 0));
+            if (entry.summary != null)
+                entry.summary.write(out);
+            out.position(start + ENTRY_BYTES);
+        }
+        out.flip();
+
+        try {
+            GameSaver.writeAtomically(out, directory.resolve(INDEX_FILE));
+        } catch (IOException e) {
+            // L'index n'est qu'un cache : la liste reste correcte
+            System.err.println("⚠️ Index des sauvegardes non écrit: " + e.getMessage());
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+}
@@ -0,0 +1,16 @@
+package org.td.model.persistence;
+
+/**
+ * Sauvegarde illisible (fichier tronqué, corrompu ou d'une version inconnue)
+ */
+public class SaveFormatException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SaveFormatException(String message) {
+        super(message);
+    }
+
+    public SaveFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,192 @@
+package org.td.model.persistence;
+
+import org.td.model.GameState;
+import org.td.model.entities.Building;
+import org.td.model.entities.City;
+import org.td.utils.GameConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Résumé d'une sauvegarde (bloc de taille fixe placé juste après l'en-tête)
+ * Non compressé : la liste des sauvegardes se lit sans décoder la partie.
+ * Vignette : carte de THUMBNAIL_SIZE² cases, une catégorie de bâtiment par case.
+ */
+public final class SaveSummary {
+    public static final int THUMBNAIL_SIZE = 32;
+    public static final int BYTES = 256 + THUMBNAIL_SIZE * THUMBNAIL_SIZE;
+
+    // Cases de la vignette
+    public static final byte EMPTY = 0;
+    public static final byte RESIDENCE = 1;
+    public static final byte POWER_PLANT = 2;
+    public static final byte INFRASTRUCTURE = 3;
+
+    private static final int CITY_NAME_BYTES = 94;
+    private static final int PLAYER_NAME_BYTES = 46;
+    private static final int THUMBNAIL_OFFSET = 256;
+
+    public final String cityName;
+    public final String playerName;
+    public final int difficulty;
+    public final int level;
+    public final int population;
+    public final int buildingCount;
+    public final double money;
+    public final double happiness;
+    public final LocalDateTime gameTime;
+    public final long savedAtMillis; // Heure réelle de la sauvegarde
+    public final byte[] thumbnail; // Ligne par ligne
+
+    public SaveSummary(String cityName, String playerName, int difficulty, int level, int population,
+            int buildingCount, double money, double happiness, LocalDateTime gameTime, long savedAtMillis,
+            byte[] thumbnail) {
+        this.cityName = cityName;
+        this.playerName = playerName;
+        this.difficulty = difficulty;
+        this.level = level;
+        this.population = population;
+        this.buildingCount = buildingCount;
+        this.money = money;
+        this.happiness = happiness;
+        this.gameTime = gameTime;
+        this.savedAtMillis = savedAtMillis;
+        this.thumbnail = thumbnail;
+    }
+
+    /**
+     * Résumé de l'état courant (thread de simulation)
+     */
+    public static SaveSummary capture(GameState state) {
+        City city = state.getCity();
+        return new SaveSummary(city.getName(), state.getPlayerName(), state.getDifficulty(),
+                city.getLevel(), city.getPopulation(), city.getBuildingCount(), city.getMoney(),
+                city.getHappiness(), city.getCurrentTime(), System.currentTimeMillis(), thumbnailOf(city));
+    }
+
+    /**
+     * Carte réduite de la ville, cadrée sur l'emprise des bâtiments
+     */
+    private static byte[] thumbnailOf(City city) {
+        byte[] cells = new byte[THUMBNAIL_SIZE * THUMBNAIL_SIZE];
+        List<List<? extends Building>> groups = List.of(
+                city.getResidences(), city.getInfrastructures(), city.getPowerPlants());
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (List<? extends Building> group : groups) {
+            for (Building building : group) {
+                minX = Math.min(minX, building.getX());
+                minY = Math.min(minY, building.getY());
+                maxX = Math.max(maxX, building.getX() + building.getWidth() * GameConfig.CELL_SIZE);
+                maxY = Math.max(maxY, building.getY() + building.getHeight() * GameConfig.CELL_SIZE);
+            }
+        }
+        if (minX > maxX)
+            return cells;
+
+        // Même échelle sur les deux axes ; les centrales sont dessinées en dernier (prioritaires)
+        double scale = (double) THUMBNAIL_SIZE / Math.max(1, Math.max(maxX - minX, maxY - minY));
+        byte[] kinds = { RESIDENCE, INFRASTRUCTURE, POWER_PLANT };
+        for (int g = 0; g < groups.size(); g++) {
+            for (Building building : groups.get(g)) {
+                int column = Math.min(THUMBNAIL_SIZE - 1, (int) ((building.getX() - minX) * scale));
+                int row = Math.min(THUMBNAIL_SIZE - 1, (int) ((building.getY() - minY) * scale));
+                cells[row * THUMBNAIL_SIZE + column] = kinds[g];
+            }
+        }
+        return cells;
+    }
+
+    public byte getCell(int column, int row) {
+        return thumbnail[row * THUMBNAIL_SIZE + column];
+    }
+
+    // === FORMAT (little-endian, BYTES octets à partir de la position) ===
+
+    void write(ByteBuffer out) {
+        int start = out.position();
+        putString(out, cityName, CITY_NAME_BYTES);
+        putString(out, playerName, PLAYER_NAME_BYTES);
+        out.putInt(difficulty);
+        out.putInt(level);
+        out.putInt(population);
+        out.putInt(buildingCount);
+        out.putDouble(money);
+        out.putDouble(happiness);
+        out.putLong(gameTime.toEpochSecond(ZoneOffset.UTC));
+        out.putLong(savedAtMillis);
+        out.position(start + THUMBNAIL_OFFSET); // Réservé : zéros
+        out.put(thumbnail, 0, THUMBNAIL_SIZE * THUMBNAIL_SIZE);
+    }
+
+    static SaveSummary read(ByteBuffer in) {
+        int start = in.position();
+        String cityName = getString(in, CITY_NAME_BYTES);
+        String playerName = getString(in, PLAYER_NAME_BYTES);
+        int difficulty = in.getInt();
+        int level = in.getInt();
+        int population = in.getInt();
+        int buildingCount = in.getInt();
+        double money = in.getDouble();
+        double happiness = in.getDouble();
+        LocalDateTime gameTime = LocalDateTime.ofEpochSecond(in.getLong(), 0, ZoneOffset.UTC);
+        long savedAt = in.getLong();
+        byte[] thumbnail = new byte[THUMBNAIL_SIZE * THUMBNAIL_SIZE];
+        in.position(start + THUMBNAIL_OFFSET);
+        in.get(thumbnail);
+        return new SaveSummary(cityName, playerName, difficulty, level, population, buildingCount,
+                money, happiness, gameTime, savedAt, thumbnail);
+    }
+
+    /**
+     * Lit le résumé d'une sauvegarde en projetant uniquement son en-tête
+     * @return null pour une sauvegarde sans résumé (format 1) ou un fichier étranger
+     */
+    public static SaveSummary readFrom(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < GameSaver.HEADER_BYTES + BYTES)
+                return null;
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, GameSaver.HEADER_BYTES + BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != GameSaver.MAGIC || header.getShort(4) < GameSaver.SUMMARY_VERSION)
+                return null;
+            header.position(GameSaver.HEADER_BYTES);
+            return read(header);
+        }
+    }
+
+    /**
+     * Chaîne UTF-8 dans un champ fixe (longueur sur 2 octets), tronquée si besoin
+     */
+    private static void putString(ByteBuffer out, String value, int capacity) {
+        String text = value != null ? value : "";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > capacity) {
+            text = text.substring(0, text.length() - 1);
+            bytes = text.getBytes(StandardCharsets.UTF_8);
+        }
+        int start = out.position();
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+        out.position(start + 2 + capacity);
+    }
+
+    private static String getString(ByteBuffer in, int capacity) {
+        int start = in.position();
+        int length = Math.min(in.getShort() & 0xFFFF, capacity);
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        in.position(start + 2 + capacity);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
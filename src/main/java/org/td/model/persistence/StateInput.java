@@ -0,0 +1,35 @@
+package org.td.model.persistence;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Source de l'état d'un objet sauvegardé (lecture dans l'ordre d'écriture)
+ */
+public interface StateInput {
+    int readInt();
+
+    long readLong();
+
+    double readDouble();
+
+    boolean readBoolean();
+
+    String readString();
+
+    default <E extends Enum<E>> E readEnum(Class<E> type) {
+        int ordinal = readInt();
+        if (ordinal < 0)
+            return null;
+        E[] values = type.getEnumConstants();
+        if (ordinal >= values.length)
+            throw new SaveFormatException("Valeur inconnue pour " + type.getSimpleName() + ": " + ordinal);
+        return values[ordinal];
+    }
+
+    default LocalDateTime readTime() {
+        if (!readBoolean())
+            return null;
+        return LocalDateTime.ofEpochSecond(readLong(), 0, ZoneOffset.UTC);
+    }
+}
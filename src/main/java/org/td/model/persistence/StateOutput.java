@@ -0,0 +1,41 @@
+package org.td.model.persistence;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Destination de l'état d'un objet sauvegardé (voir SaveFormat)
+ * Chaque classe écrit ses champs dans un ordre fixe et les relit dans le
+ * même ordre avec StateInput.
+ */
+public interface StateOutput {
+    void writeInt(int value);
+
+    void writeLong(long value);
+
+    void writeDouble(double value);
+
+    void writeBoolean(boolean value);
+
+    /**
+     * Chaîne UTF-8 (null accepté)
+     */
+    void writeString(String value);
+
+    /**
+     * Enumération par rang (null accepté)
+     */
+    default void writeEnum(Enum<?> value) {
+        writeInt(value == null ? -1 : value.ordinal());
+    }
+
+    /**
+     * Date à la seconde près (null accepté)
+     */
+    default void writeTime(LocalDateTime value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+}
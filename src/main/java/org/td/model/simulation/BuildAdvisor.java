@@ -0,0 +1,380 @@
+package org.td.model.simulation;
+
+import org.td.model.GameState;
+import org.td.model.command.BuildingCommand;
+import org.td.model.command.CommandResult;
+import org.td.model.command.GameCommand;
+import org.td.model.entities.Building;
+import org.td.model.entities.City;
+import org.td.model.entities.Infrastructure;
+import org.td.model.entities.PowerPlant;
+import org.td.model.entities.Residence;
+import org.td.model.enums.BuildingType;
+import org.td.model.enums.PowerPlantType;
+import org.td.utils.GameConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Conseiller de construction par simulation de Monte-Carlo
+ * Chaque action candidate (construire un type débloqué au meilleur
+ * emplacement libre, améliorer, démolir, ou ne rien faire) est appliquée à
+ * une copie de la partie, puis plusieurs avenirs de horizonHours heures sont
+ * simulés à partir de cette copie avec des graines différentes, en parallèle
+ * sur un pool fork-join propre au conseiller (le pool commun sert à la mise
+ * à jour des bâtiments de la partie en cours). Les avenirs inachevés à l'échéance du budget de
+ * temps sont ignorés. L'avenir d'indice r a la même graine pour tous les
+ * candidats : les écarts mesurés viennent de l'action, pas du hasard.
+ */
+public class BuildAdvisor {
+    private static final int MAX_BUILDING_CANDIDATES = 3; // Améliorations et démolitions proposées
+    private static final ForkJoinPool POOL = new ForkJoinPool(GameConfig.ADVISOR_THREADS);
+
+    private final GameState source; // Copie réservée au conseiller (GameState.fork)
+
+    // Options
+    private int rollouts = GameConfig.ADVISOR_ROLLOUTS;
+    private int horizonHours = GameConfig.ADVISOR_HORIZON_DAYS * 24;
+    private long timeBudgetMillis = GameConfig.ADVISOR_TIME_BUDGET_MS;
+    private ForkJoinPool pool = POOL;
+    private boolean quiet = true; // Coupe les messages des villes simulées
+
+    /**
+     * @param source copie de la partie (GameState.forkDetached ou forkAsync,
+     *               pour ne rien laisser à recopier à la partie en cours),
+     *               que seul le conseiller utilise
+     */
+    public BuildAdvisor(GameState source) {
+        this.source = source;
+    }
+
+    /**
+     * Simule les actions candidates et les classe, meilleure en tête
+     * Bloquant : rend la main au plus tard à l'échéance du budget de temps.
+     */
+    public List<Recommendation> advise() {
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        List<Candidate> candidates = prepareCandidates();
+        long baseSeed = SimulationRandom.hash(source.getCity().getWorldSeed(),
+                source.getTimeManager().getGameHoursElapsed());
+
+        // Entrelacés : à l'échéance, chaque candidat a à peu près autant d'avenirs
+        Rollout[] jobs = new Rollout[candidates.size() * rollouts];
+        for (int r = 0; r < rollouts; r++) {
+            long seed = SimulationRandom.hash(baseSeed, r);
+            for (int c = 0; c < candidates.size(); c++) {
+                jobs[r * candidates.size() + c] = new Rollout(candidates.get(c), seed, deadline);
+            }
+        }
+        pool.invoke(new RolloutTask(jobs, 0, jobs.length));
+
+        return rank(candidates, jobs);
+    }
+
+    // === CANDIDATS ===
+
+    private List<Candidate> prepareCandidates() {
+        City city = source.getCity();
+        List<Candidate> candidates = new ArrayList<>();
+        addCandidate(candidates, "⏸ Ne rien faire", null);
+
+        // Constructions : chaque type débloqué et abordable, au meilleur emplacement libre
+        for (PowerPlantType type : PowerPlantType.values()) {
+            if (!type.isUnlockedAt(city.getLevel()) || !city.canAfford(type.getConstructionCost(1)))
+                continue;
+            PowerPlant prototype = BuildingCommand.createPowerPlant(type, 1, 0, 0);
+            int[] spot = findFreeSpot(city, prototype);
+            if (spot != null) {
+                addCandidate(candidates, "🏗 " + type.getIcon() + " " + type.getDisplayName(),
+                        BuildingCommand.buildPowerPlant(type, spot[0], spot[1]));
+            }
+        }
+        for (BuildingType type : BuildingType.values()) {
+            if (!type.isUnlockedAt(city.getLevel()) || !city.canAfford(type.getConstructionCost()))
+                continue;
+            int[] spot = findFreeSpot(city, new Infrastructure(type, 0, 0));
+            if (spot != null) {
+                addCandidate(candidates, "🏗 " + type.getIcon() + " " + type.getDisplayName(),
+                        BuildingCommand.buildInfrastructure(type, spot[0], spot[1]));
+            }
+        }
+
+        // Améliorations : les bâtiments les plus vite rentabilisés
+        EconomyManager economy = source.getEconomyManager();
+        List<Building> owned = new ArrayList<>(city.getPowerPlants());
+        owned.addAll(city.getInfrastructures());
+        owned.stream()
+                .filter(b -> b.canUpgrade() && city.canAfford(b.getUpgradeCost()))
+                .filter(b -> economy.calculateROI(b) > 0)
+                .sorted(Comparator.comparingDouble(economy::calculateROI))
+                .limit(MAX_BUILDING_CANDIDATES)
+                .forEach(b -> addCandidate(candidates,
+                        String.format("⬆ Améliorer %s (%d, %d)", b.getType(), b.getX(), b.getY()),
+                        BuildingCommand.upgrade(b)));
+
+        // Démolitions : jamais rentabilisés d'abord, puis les plus lents à l'être
+        owned.stream()
+                .sorted(Comparator.comparingDouble(b -> {
+                    double roi = economy.calculateROI(b);
+                    return roi < 0 ? Double.NEGATIVE_INFINITY : -roi;
+                }))
+                .limit(MAX_BUILDING_CANDIDATES)
+                .forEach(b -> addCandidate(candidates,
+                        String.format("🧨 Démolir %s (%d, %d)", b.getType(), b.getX(), b.getY()),
+                        BuildingCommand.demolish(b)));
+
+        return candidates;
+    }
+
+    /**
+     * Applique l'action sur une copie ; une action refusée n'est pas proposée
+     */
+    private void addCandidate(List<Candidate> candidates, String label, GameCommand command) {
+        GameState base = source.fork();
+        base.getCity().setQuiet(quiet);
+        if (command != null) {
+            CommandResult result = base.execute(command);
+            if (!result.success)
+                return;
+        }
+        candidates.add(new Candidate(label, command, base));
+    }
+
+    /**
+     * Emplacement libre sur la grille le plus proche du centre des résidences
+     * @return {x, y} en pixels, null si la carte est pleine
+     */
+    static int[] findFreeSpot(City city, Building prototype) {
+        int width = prototype.getWidth() * GameConfig.CELL_SIZE;
+        int height = prototype.getHeight() * GameConfig.CELL_SIZE;
+
+        // Centre des résidences (centre de la carte s'il n'y en a pas)
+        double centerX = GameConfig.CANVAS_WIDTH / 2.0;
+        double centerY = GameConfig.CANVAS_HEIGHT / 2.0;
+        List<Residence> residences = city.getResidences();
+        if (!residences.isEmpty()) {
+            double sumX = 0, sumY = 0;
+            for (Residence residence : residences) {
+                sumX += residence.getX() + residence.getWidth() * GameConfig.CELL_SIZE / 2.0;
+                sumY += residence.getY() + residence.getHeight() * GameConfig.CELL_SIZE / 2.0;
+            }
+            centerX = sumX / residences.size();
+            centerY = sumY / residences.size();
+        }
+
+        int[] best = null;
+        double bestDistance = Double.MAX_VALUE;
+        boolean[] occupied = new boolean[1];
+        for (int y = 0; y + height <= GameConfig.CANVAS_HEIGHT; y += GameConfig.CELL_SIZE) {
+            for (int x = 0; x + width <= GameConfig.CANVAS_WIDTH; x += GameConfig.CELL_SIZE) {
+                double dx = x + width / 2.0 - centerX;
+                double dy = y + height / 2.0 - centerY;
+                double distance = dx * dx + dy * dy;
+                if (distance >= bestDistance)
+                    continue;
+
+                occupied[0] = false;
+                city.forEachBuildingInRect(x, y, width, height, b -> occupied[0] = true);
+                if (!occupied[0]) {
+                    best = new int[] { x, y };
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    // === CLASSEMENT ===
+
+    private List<Recommendation> rank(List<Candidate> candidates, Rollout[] jobs) {
+        int count = candidates.size();
+        int[] finished = new int[count];
+        double[] score = new double[count];
+        int[] failures = new int[count];
+        double[] blackouts = new double[count];
+        for (int i = 0; i < jobs.length; i++) {
+            Rollout job = jobs[i];
+            if (!job.finished)
+                continue;
+            int c = i % count;
+            finished[c]++;
+            score[c] += job.score;
+            blackouts[c] += job.blackoutHours;
+            if (job.failed)
+                failures[c]++;
+        }
+
+        // Pénalités à l'échelle du score (multiplié par la difficulté)
+        int difficulty = Math.max(1, source.getDifficulty());
+        List<Recommendation> ranking = new ArrayList<>();
+        for (int c = 0; c < count; c++) {
+            if (finished[c] == 0)
+                continue; // Aucun avenir terminé dans le budget de temps
+            Candidate candidate = candidates.get(c);
+            double meanScore = score[c] / finished[c];
+            double risk = (double) failures[c] / finished[c];
+            double meanBlackout = blackouts[c] / finished[c];
+            double rating = meanScore
+                    - risk * GameConfig.ADVISOR_FAILURE_PENALTY * difficulty
+                    - meanBlackout * GameConfig.ADVISOR_BLACKOUT_HOUR_PENALTY * difficulty;
+            ranking.add(new Recommendation(candidate.label, candidate.command, finished[c],
+                    meanScore, risk, meanBlackout, rating));
+        }
+        ranking.sort(Comparator.comparingDouble((Recommendation r) -> r.rating).reversed());
+        return ranking;
+    }
+
+    // === CONFIGURATION ===
+
+    public void setRollouts(int rollouts) {
+        this.rollouts = Math.max(1, rollouts);
+    }
+
+    public void setHorizonHours(int horizonHours) {
+        this.horizonHours = Math.max(1, horizonHours);
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    /**
+     * Action candidate et copie de la partie où elle a été appliquée
+     * La copie n'avance jamais : chaque avenir en part par GameState.fork.
+     */
+    private static final class Candidate {
+        final String label;
+        final GameCommand command;
+        final GameState base;
+
+        Candidate(String label, GameCommand command, GameState base) {
+            this.label = label;
+            this.command = command;
+            this.base = base;
+        }
+    }
+
+    /**
+     * Un avenir simulé d'un candidat
+     */
+    final class Rollout {
+        private final Candidate candidate;
+        private final long seed;
+        private final long deadline;
+
+        boolean finished; // Faux : interrompu par l'échéance, ignoré
+        int score;
+        int blackoutHours;
+        boolean failed; // Faillite ou game over avant l'horizon
+
+        Rollout(Candidate candidate, long seed, long deadline) {
+            this.candidate = candidate;
+            this.seed = seed;
+            this.deadline = deadline;
+        }
+
+        void run() {
+            if (System.nanoTime() >= deadline)
+                return;
+
+            GameState game;
+            synchronized (candidate.base) { // La copie modifie l'écouteur des bâtiments de la base
+                game = candidate.base.fork(seed);
+            }
+            City city = game.getCity();
+            city.setParallelUpdates(false); // Le parallélisme est entre les avenirs
+            boolean[] gameOver = new boolean[1];
+            game.getTimeManager().addListener(new TimeListener() {
+                @Override
+                public void onGameOver(String reason) {
+                    gameOver[0] = true;
+                }
+            });
+
+            for (int hour = 0; hour < horizonHours; hour++) {
+                if (hour % 24 == 0 && System.nanoTime() >= deadline)
+                    return;
+                game.advanceHour();
+                if (TimeManager.isBlackout(city))
+                    blackoutHours++;
+                if (gameOver[0] || game.isGameOver()) {
+                    failed = true;
+                    break;
+                }
+            }
+            score = game.calculateScore();
+            finished = true;
+        }
+    }
+
+    /**
+     * Classement d'une action candidate
+     */
+    public static class Recommendation {
+        public final String label;
+        public final GameCommand command; // null : ne rien faire
+        public final int rollouts; // Avenirs terminés dans le budget de temps
+        public final double meanScore;
+        public final double bankruptcyRisk; // Part des avenirs en faillite ou game over
+        public final double meanBlackoutHours;
+        public final double rating; // Score moyen moins les pénalités de risque et de black-out
+
+        public Recommendation(String label, GameCommand command, int rollouts, double meanScore,
+                double bankruptcyRisk, double meanBlackoutHours, double rating) {
+            this.label = label;
+            this.command = command;
+            this.rollouts = rollouts;
+            this.meanScore = meanScore;
+            this.bankruptcyRisk = bankruptcyRisk;
+            this.meanBlackoutHours = meanBlackoutHours;
+            this.rating = rating;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s : score %.0f, risque %.0f%%, black-out %.1f h (%d avenirs)",
+                    label, meanScore, bankruptcyRisk * 100, meanBlackoutHours, rollouts);
+        }
+    }
+}
+
+/**
+ * Exécute une plage d'avenirs en divisant jusqu'à un avenir par tâche
+ */
+class RolloutTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final BuildAdvisor.Rollout[] jobs;
+    private final int from;
+    private final int to;
+
+    RolloutTask(BuildAdvisor.Rollout[] jobs, int from, int to) {
+        this.jobs = jobs;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= 1) {
+            if (from < to)
+                jobs[from].run();
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        invokeAll(new RolloutTask(jobs, from, mid), new RolloutTask(jobs, mid, to));
+    }
+}
@@ -4,7 +4,11 @@ import org.td.model.entities.Building;
 import org.td.model.entities.City;
 import org.td.model.entities.Infrastructure;
 import org.td.model.entities.PowerPlant;
+import org.td.model.entities.TickAggregate;
 import org.td.model.enums.FinancialHealth;
+import org.td.model.enums.TransactionType;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,8 +28,14 @@ public class EconomyManager {
     // Statistiques financières
     private double totalRevenueAllTime;
     private double totalExpensesAllTime;
-    private List<Transaction> recentTransactions;
-    private static final int MAX_TRANSACTIONS = 100;
+    private TransactionLedger ledger;
+    private static final int MAX_TRANSACTIONS = 100; // Transactions récentes affichées
+
+    // Libellés internés dans le journal
+    private int hourlyRevenueId;
+    private int hourlyExpensesId;
+    private int priceAdjustmentId;
+    private int emergencyLoanId;
 
     // Budget mensuel
     private double monthlyRevenue;
@@ -40,7 +50,8 @@ public class EconomyManager {
         this.electricityPricePerKWh = 8.0; // 8 coins par kWh pour vente excess
         this.taxRate = 5.0; // 5% de taxe
         this.inflationRate = 2.0; // 2% par an
-        this.recentTransactions = new ArrayList<>();
+        this.ledger = new TransactionLedger();
+        internDescriptions();
         this.totalRevenueAllTime = 0;
         this.totalExpensesAllTime = 0;
         this.monthlyRevenue = 0;
@@ -48,6 +59,43 @@ public class EconomyManager {
         this.currentMonth = city.getCurrentTime().getMonthValue();
     }
 
+    /**
+     * Interne les libellés utilisés à chaque heure
+     */
+    private void internDescriptions() {
+        hourlyRevenueId = ledger.intern("Revenus horaires");
+        hourlyExpensesId = ledger.intern("Dépenses horaires");
+        priceAdjustmentId = ledger.intern("Ajustement prix électricité");
+        emergencyLoanId = ledger.intern("Prêt d'urgence");
+    }
+
+    // === SAUVEGARDE ===
+
+    public void writeState(StateOutput out) {
+        out.writeDouble(electricityPricePerKWh);
+        out.writeDouble(taxRate);
+        out.writeDouble(inflationRate);
+        out.writeDouble(totalRevenueAllTime);
+        out.writeDouble(totalExpensesAllTime);
+        out.writeDouble(monthlyRevenue);
+        out.writeDouble(monthlyExpenses);
+        out.writeInt(currentMonth);
+        ledger.writeState(out);
+    }
+
+    public void readState(StateInput in) {
+        electricityPricePerKWh = in.readDouble();
+        taxRate = in.readDouble();
+        inflationRate = in.readDouble();
+        totalRevenueAllTime = in.readDouble();
+        totalExpensesAllTime = in.readDouble();
+        monthlyRevenue = in.readDouble();
+        monthlyExpenses = in.readDouble();
+        currentMonth = in.readInt();
+        ledger.readState(in);
+        internDescriptions(); // Numéros de la sauvegarde
+    }
+
     /**
      * Met à jour l'économie (appelé chaque heure)
      */
@@ -94,25 +142,18 @@ public class EconomyManager {
         revenue += cityTax;
 
         // 4. Revenus des infrastructures commerciales
-        double infraRevenue = city.getInfrastructures().stream()
-                .mapToDouble(Infrastructure::getHourlyRevenue)
-                .sum();
+        TickAggregate aggregate = city.getTickAggregate();
+        double infraRevenue = aggregate.getInfrastructureRevenue();
         revenue += infraRevenue;
 
         // === DÉPENSES ===
 
         // 1. Maintenance des centrales
-        double plantMaintenance = city.getPowerPlants().stream()
-                .filter(Building::isActive)
-                .mapToDouble(PowerPlant::getHourlyCost)
-                .sum();
+        double plantMaintenance = aggregate.getActivePlantCost();
         expenses += plantMaintenance;
 
         // 2. Maintenance des infrastructures
-        double infraMaintenance = city.getInfrastructures().stream()
-                .filter(Building::isActive)
-                .mapToDouble(Infrastructure::getMaintenanceCost)
-                .sum();
+        double infraMaintenance = city.getAggregates().getActiveInfrastructureMaintenance();
         expenses += infraMaintenance;
 
         // 3. Coûts administratifs (basé sur taille ville)
@@ -120,8 +161,8 @@ public class EconomyManager {
         expenses += adminCosts;
 
         // Enregistrement
-        recordTransaction("Revenus horaires", revenue, TransactionType.REVENUE);
-        recordTransaction("Dépenses horaires", expenses, TransactionType.EXPENSE);
+        recordTransaction(hourlyRevenueId, revenue, TransactionType.REVENUE);
+        recordTransaction(hourlyExpensesId, expenses, TransactionType.EXPENSE);
 
         monthlyRevenue += revenue;
         monthlyExpenses += expenses;
@@ -144,21 +185,10 @@ public class EconomyManager {
     }
 
     /**
-     * Enregistre une transaction
+     * Enregistre une transaction (libellé interné, sans allocation)
      */
-    private void recordTransaction(String description, double amount, TransactionType type) {
-        Transaction transaction = new Transaction(
-                city.getCurrentTime(),
-                description,
-                amount,
-                type);
-
-        recentTransactions.add(transaction);
-
-        // Limite le nombre de transactions gardées
-        if (recentTransactions.size() > MAX_TRANSACTIONS) {
-            recentTransactions.remove(0);
-        }
+    private void recordTransaction(int descriptionId, double amount, TransactionType type) {
+        ledger.append(TransactionLedger.tickOf(city.getCurrentTime()), descriptionId, amount, type);
     }
 
     /**
@@ -261,11 +291,11 @@ public class EconomyManager {
      * Génère un rapport mensuel
      */
     private void generateMonthlyReport() {
-        System.out.println("\n=== RAPPORT MENSUEL ===");
-        System.out.println("Revenus: " + String.format("%.0f €", monthlyRevenue));
-        System.out.println("Dépenses: " + String.format("%.0f €", monthlyExpenses));
-        System.out.println("Bilan: " + String.format("%.0f €", getMonthlyNetIncome()));
-        System.out.println("======================\n");
+        city.log("\n=== RAPPORT MENSUEL ===");
+        city.log("Revenus: " + String.format("%.0f €", monthlyRevenue));
+        city.log("Dépenses: " + String.format("%.0f €", monthlyExpenses));
+        city.log("Bilan: " + String.format("%.0f €", getMonthlyNetIncome()));
+        city.log("======================\n");
     }
 
     /**
@@ -294,7 +324,7 @@ public class EconomyManager {
      */
     public void adjustElectricityPrice(double newPrice) {
         this.electricityPricePerKWh = Math.max(0.05, Math.min(0.50, newPrice));
-        recordTransaction("Ajustement prix électricité", 0, TransactionType.ADJUSTMENT);
+        recordTransaction(priceAdjustmentId, 0, TransactionType.ADJUSTMENT);
     }
 
     /**
@@ -305,7 +335,7 @@ public class EconomyManager {
             return false; // Dette trop importante
 
         double loanAmount = 20000;
-        recordTransaction("Prêt d'urgence", loanAmount, TransactionType.LOAN);
+        recordTransaction(emergencyLoanId, loanAmount, TransactionType.LOAN);
         return true;
     }
 
@@ -330,8 +360,24 @@ public class EconomyManager {
         return monthlyExpenses;
     }
 
+    /**
+     * Dernières transactions, reconstruites à la demande depuis le journal
+     */
     public List<Transaction> getRecentTransactions() {
-        return new ArrayList<>(recentTransactions);
+        List<Transaction> recent = new ArrayList<>(MAX_TRANSACTIONS);
+        long end = ledger.size();
+        for (long i = Math.max(ledger.getFirstIndex(), end - MAX_TRANSACTIONS); i < end; i++) {
+            recent.add(new Transaction(TransactionLedger.timeOf(ledger.getTick(i)),
+                    ledger.getDescription(i), ledger.getAmount(i), ledger.getType(i)));
+        }
+        return recent;
+    }
+
+    /**
+     * Journal complet des transactions (cumuls par type et par mois)
+     */
+    public TransactionLedger getLedger() {
+        return ledger;
     }
 
     public double getTotalRevenueAllTime() {
@@ -377,13 +423,6 @@ class Transaction {
     }
 }
 
-/**
- * Types de transactions
- */
-enum TransactionType {
-    REVENUE, EXPENSE, CONSTRUCTION, UPGRADE, MAINTENANCE, LOAN, ADJUSTMENT
-}
-
 /**
  * Santé financière de la ville
  */
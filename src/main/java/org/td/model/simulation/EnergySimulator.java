@@ -1,6 +1,8 @@
 package org.td.model.simulation;
 
 import org.td.model.entities.*;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,7 +31,7 @@ public class EnergySimulator {
      */
     public EnergySimulator(City city) {
         this.city = city;
-        this.random = new Random();
+        this.random = new SimulationRandom(city.getWorldSeed(), SimulationRandom.STREAM_ENERGY);
         this.gridStability = 100.0;
         this.transmissionLoss = 5.0; // 5% de perte par défaut
         this.activeOutages = new ArrayList<>();
@@ -38,6 +40,33 @@ public class EnergySimulator {
         this.totalOutages = 0;
     }
 
+    // === SAUVEGARDE ===
+
+    public void writeState(StateOutput out) {
+        out.writeLong(((SimulationRandom) random).getCounter());
+        out.writeDouble(gridStability);
+        out.writeDouble(transmissionLoss);
+        out.writeDouble(peakDemand);
+        out.writeDouble(peakProduction);
+        out.writeInt(totalOutages);
+        out.writeInt(activeOutages.size());
+        for (PowerOutage outage : activeOutages)
+            outage.writeState(out);
+    }
+
+    public void readState(StateInput in) {
+        ((SimulationRandom) random).setCounter(in.readLong());
+        gridStability = in.readDouble();
+        transmissionLoss = in.readDouble();
+        peakDemand = in.readDouble();
+        peakProduction = in.readDouble();
+        totalOutages = in.readInt();
+        activeOutages.clear();
+        int outages = in.readInt();
+        for (int i = 0; i < outages; i++)
+            activeOutages.add(PowerOutage.readState(in));
+    }
+
     /**
      * Met à jour la simulation énergétique
      */
@@ -79,10 +108,9 @@ public class EnergySimulator {
         }
 
         // Impact des centrales mal entretenues
-        for (PowerPlant plant : city.getPowerPlants()) {
-            if (plant.getEfficiency() < 0.4) { // Seuil abaissé à 40%
-                gridStability = Math.max(0, gridStability - 0.05);
-            }
+        int lowEfficiencyPlants = city.getTickAggregate().getLowEfficiencyPlants(); // Seuil abaissé à 40%
+        for (int i = 0; i < lowEfficiencyPlants; i++) {
+            gridStability = Math.max(0, gridStability - 0.05);
         }
     }
 
@@ -125,11 +153,10 @@ public class EnergySimulator {
         }
 
         // Panne si centrale nucléaire en danger
-        for (PowerPlant plant : city.getPowerPlants()) {
-            if (plant instanceof NuclearPlant nuclear) {
-                if (nuclear.isInDanger() && random.nextDouble() < 0.1) {
-                    createOutage("Problème centrale nucléaire");
-                }
+        int plantsInDanger = city.getTickAggregate().getNuclearPlantsInDanger();
+        for (int i = 0; i < plantsInDanger; i++) {
+            if (random.nextDouble() < 0.1) {
+                createOutage("Problème centrale nucléaire");
             }
         }
     }
@@ -145,7 +172,7 @@ public class EnergySimulator {
         activeOutages.add(outage);
         totalOutages++;
 
-        System.out.println("⚠️ PANNE ÉLECTRIQUE: " + cause +
+        city.log("⚠️ PANNE ÉLECTRIQUE: " + cause +
                 " (" + (int) affectedPercentage + "% affecté, " +
                 duration + "h)");
     }
@@ -200,23 +227,14 @@ public class EnergySimulator {
      * Calcule l'efficacité moyenne des centrales
      */
     public double getAverageEfficiency() {
-        List<PowerPlant> plants = city.getPowerPlants();
-        if (plants.isEmpty())
-            return 0;
-
-        return plants.stream()
-                .mapToDouble(PowerPlant::getEfficiency)
-                .average()
-                .orElse(0) * 100.0;
+        return city.getAggregates().getAveragePlantEfficiency() * 100.0;
     }
 
     /**
      * Retourne le nombre de centrales nécessitant maintenance
      */
     public long getPlantsNeedingMaintenance() {
-        return city.getPowerPlants().stream()
-                .filter(PowerPlant::needsMaintenance)
-                .count();
+        return city.getAggregates().getPlantsNeedingMaintenance();
     }
 
     /**
@@ -345,6 +363,20 @@ class PowerOutage {
         hoursRemaining--;
     }
 
+    void writeState(StateOutput out) {
+        out.writeString(cause);
+        out.writeInt(durationHours);
+        out.writeInt(hoursRemaining);
+        out.writeDouble(affectedPercentage);
+    }
+
+    static PowerOutage readState(StateInput in) {
+        PowerOutage outage = new PowerOutage(in.readString(), in.readInt(), 0);
+        outage.hoursRemaining = in.readInt();
+        outage.affectedPercentage = in.readDouble();
+        return outage;
+    }
+
     public boolean isResolved() {
         return hoursRemaining <= 0;
     }
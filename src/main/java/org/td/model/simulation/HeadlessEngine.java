@@ -0,0 +1,180 @@
+package org.td.model.simulation;
+
+import org.td.model.GameState;
+import org.td.model.entities.City;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Moteur de simulation headless (sans JavaFX ni horloge murale)
+ * Enchaîne les heures de jeu aussi vite que le CPU le permet
+ */
+public class HeadlessEngine {
+    private final GameState gameState;
+
+    // Conditions d'arrêt
+    private LocalDateTime targetDate; // null = pas de date cible
+    private long maxHours;
+
+    // Options
+    private boolean quiet; // Coupe les messages de la ville pendant la simulation
+    private long progressIntervalNanos;
+    private Consumer<Result> progressListener;
+
+    private volatile boolean stopRequested;
+    private String gameOverReason;
+
+    /**
+     * Constructeur
+     */
+    public HeadlessEngine(GameState gameState) {
+        this.gameState = gameState;
+        this.maxHours = Long.MAX_VALUE;
+        this.quiet = false;
+        this.progressIntervalNanos = 1_000_000_000L; // 1 seconde
+    }
+
+    /**
+     * Lance la simulation jusqu'à une condition d'arrêt
+     * Bloquant : s'exécute sur le thread appelant
+     */
+    public Result run() {
+        stopRequested = false;
+        gameOverReason = null;
+        City city = gameState.getCity();
+        boolean wasQuiet = city.isQuiet();
+        city.setQuiet(quiet || wasQuiet);
+
+        // Game over détecté par le TimeManager (black-out prolongé, etc.)
+        TimeListener gameOverListener = new TimeListener() {
+            @Override
+            public void onGameOver(String reason) {
+                gameOverReason = reason;
+            }
+        };
+        gameState.getTimeManager().addListener(gameOverListener);
+
+        long startNanos = System.nanoTime();
+        long nextProgress = startNanos + progressIntervalNanos;
+        long hours = 0;
+        StopReason reason;
+
+        try {
+            while (true) {
+                if (stopRequested) {
+                    reason = StopReason.STOPPED;
+                    break;
+                }
+                if (gameOverReason != null || gameState.isGameOver()) {
+                    reason = StopReason.GAME_OVER;
+                    break;
+                }
+                if (targetDate != null && !gameState.getCity().getCurrentTime().isBefore(targetDate)) {
+                    reason = StopReason.TARGET_DATE;
+                    break;
+                }
+                if (hours >= maxHours) {
+                    reason = StopReason.MAX_HOURS;
+                    break;
+                }
+
+                gameState.advanceHour();
+                hours++;
+
+                // Rapport de progression (vérifié toutes les 1024 heures)
+                if (progressListener != null && (hours & 1023) == 0) {
+                    long now = System.nanoTime();
+                    if (now >= nextProgress) {
+                        progressListener.accept(createResult(hours, now - startNanos, null));
+                        nextProgress = now + progressIntervalNanos;
+                    }
+                }
+            }
+        } finally {
+            gameState.getTimeManager().removeListener(gameOverListener);
+            city.setQuiet(wasQuiet);
+        }
+
+        return createResult(hours, System.nanoTime() - startNanos, reason);
+    }
+
+    /**
+     * Demande l'arrêt de la simulation (thread-safe)
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    private Result createResult(long hours, long elapsedNanos, StopReason reason) {
+        String detail = reason == StopReason.GAME_OVER
+                ? (gameOverReason != null ? gameOverReason : gameState.getCity().getGameOverReason())
+                : "";
+        return new Result(hours, elapsedNanos, gameState.getCity().getCurrentTime(), reason, detail);
+    }
+
+    // === CONFIGURATION ===
+
+    public void setTargetDate(LocalDateTime targetDate) {
+        this.targetDate = targetDate;
+    }
+
+    public void setMaxHours(long maxHours) {
+        this.maxHours = maxHours;
+    }
+
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    public void setProgressListener(Consumer<Result> listener, long intervalMillis) {
+        this.progressListener = listener;
+        this.progressIntervalNanos = intervalMillis * 1_000_000L;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Raisons d'arrêt de la simulation
+     */
+    public enum StopReason {
+        TARGET_DATE, GAME_OVER, MAX_HOURS, STOPPED
+    }
+
+    /**
+     * Résultat (ou progression) d'une exécution headless
+     */
+    public static class Result {
+        public final long hoursSimulated;
+        public final long elapsedNanos;
+        public final LocalDateTime gameTime;
+        public final StopReason stopReason; // null pendant la progression
+        public final String detail;
+
+        public Result(long hoursSimulated, long elapsedNanos, LocalDateTime gameTime,
+                StopReason stopReason, String detail) {
+            this.hoursSimulated = hoursSimulated;
+            this.elapsedNanos = elapsedNanos;
+            this.gameTime = gameTime;
+            this.stopReason = stopReason;
+            this.detail = detail;
+        }
+
+        /**
+         * Heures de jeu simulées par seconde réelle
+         */
+        public double getHoursPerSecond() {
+            if (elapsedNanos <= 0)
+                return 0;
+            return hoursSimulated / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d heures simulées en %.2f s (%.0f h/s) - %s",
+                    hoursSimulated, elapsedNanos / 1_000_000_000.0, getHoursPerSecond(), gameTime);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.td.model.simulation;
 
 import org.td.model.enums.BuildingType;
 import org.td.model.entities.*;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -33,7 +35,7 @@ public class PopulationManager {
      */
     public PopulationManager(City city) {
         this.city = city;
-        this.random = new Random();
+        this.random = new SimulationRandom(city.getWorldSeed(), SimulationRandom.STREAM_POPULATION);
         this.immigrationCount = 0;
         this.emigrationCount = 0;
         this.birthRate = 12.0; // 12 naissances pour 1000 habitants/an
@@ -45,6 +47,37 @@ public class PopulationManager {
         initializeNeeds();
     }
 
+    // === SAUVEGARDE ===
+
+    public void writeState(StateOutput out) {
+        out.writeLong(((SimulationRandom) random).getCounter());
+        out.writeInt(immigrationCount);
+        out.writeInt(emigrationCount);
+        out.writeDouble(birthRate);
+        out.writeDouble(migrationRate);
+        out.writeInt(peakPopulation);
+        out.writeInt(previousPopulation);
+        out.writeInt(needsSatisfaction.size());
+        for (Map.Entry<String, Double> need : needsSatisfaction.entrySet()) {
+            out.writeString(need.getKey());
+            out.writeDouble(need.getValue());
+        }
+    }
+
+    public void readState(StateInput in) {
+        ((SimulationRandom) random).setCounter(in.readLong());
+        immigrationCount = in.readInt();
+        emigrationCount = in.readInt();
+        birthRate = in.readDouble();
+        migrationRate = in.readDouble();
+        peakPopulation = in.readInt();
+        previousPopulation = in.readInt();
+        needsSatisfaction.clear();
+        int needs = in.readInt();
+        for (int i = 0; i < needs; i++)
+            needsSatisfaction.put(in.readString(), in.readDouble());
+    }
+
     /**
      * Initialise les besoins
      */
@@ -82,41 +115,30 @@ public class PopulationManager {
         needsSatisfaction.put("Énergie", Math.min(100, energyRatio * 100));
 
         // Santé (basé sur hôpitaux)
-        long hospitals = city.getInfrastructures().stream()
-                .filter(i -> i.getInfrastructureType() == BuildingType.HOSPITAL)
-                .count();
+        CityAggregates aggregates = city.getAggregates();
+        long hospitals = aggregates.getInfrastructureCount(BuildingType.HOSPITAL);
         double healthSatisfaction = Math.min(100, (hospitals * 150.0 / population) * 100);
         needsSatisfaction.put("Santé", healthSatisfaction);
 
         // Éducation (basé sur écoles + universités)
-        long schools = city.getInfrastructures().stream()
-                .filter(i -> i.getInfrastructureType() == BuildingType.SCHOOL ||
-                        i.getInfrastructureType() == BuildingType.UNIVERSITY)
-                .count();
+        long schools = aggregates.getInfrastructureCount(BuildingType.SCHOOL, BuildingType.UNIVERSITY);
         double eduSatisfaction = Math.min(100, (schools * 400.0 / population) * 100);
         needsSatisfaction.put("Éducation", eduSatisfaction);
 
         // Sécurité (police + pompiers)
-        long security = city.getInfrastructures().stream()
-                .filter(i -> i.getInfrastructureType() == BuildingType.POLICE_STATION ||
-                        i.getInfrastructureType() == BuildingType.FIRE_STATION)
-                .count();
+        long security = aggregates.getInfrastructureCount(BuildingType.POLICE_STATION,
+                BuildingType.FIRE_STATION);
         double securitySatisfaction = Math.min(100, (security * 100.0 / population) * 100);
         needsSatisfaction.put("Sécurité", securitySatisfaction);
 
         // Loisirs (divertissement + parcs)
-        long entertainment = city.getInfrastructures().stream()
-                .filter(i -> i.getInfrastructureType() == BuildingType.ENTERTAINMENT ||
-                        i.getInfrastructureType() == BuildingType.PARK ||
-                        i.getInfrastructureType() == BuildingType.STADIUM)
-                .count();
+        long entertainment = aggregates.getInfrastructureCount(BuildingType.ENTERTAINMENT,
+                BuildingType.PARK, BuildingType.STADIUM);
         double leisureSatisfaction = Math.min(100, (entertainment * 300.0 / population) * 100);
         needsSatisfaction.put("Loisirs", leisureSatisfaction);
 
         // Commerce
-        long commercial = city.getInfrastructures().stream()
-                .filter(i -> i.getInfrastructureType() == BuildingType.COMMERCIAL)
-                .count();
+        long commercial = aggregates.getInfrastructureCount(BuildingType.COMMERCIAL);
         double commerceSatisfaction = Math.min(100, (commercial * 200.0 / population) * 100);
         needsSatisfaction.put("Commerce", commerceSatisfaction);
     }
@@ -190,8 +212,8 @@ public class PopulationManager {
         // Créer une nouvelle petite résidence
         if (city.getMoney() > 5000 && random.nextDouble() < 0.5) {
             // La croissance automatique de la ville gérera ça
-            immigrationCount += 5 + random.nextInt(intensity * 3);
-            System.out.println("👥 Immigration: Nouveaux arrivants dans la ville");
+            immigrationCount += 5 + random.nextInt(Math.max(1, intensity * 3));
+            city.log("👥 Immigration: Nouveaux arrivants dans la ville");
         }
     }
 
@@ -206,8 +228,8 @@ public class PopulationManager {
                         random.nextInt(city.getResidences().size()));
                 // La réduction est gérée dans Residence.update()
             }
-            emigrationCount += 3 + random.nextInt(intensity * 2);
-            System.out.println("📉 Émigration: Des habitants quittent la ville");
+            emigrationCount += 3 + random.nextInt(Math.max(1, intensity * 2));
+            city.log("📉 Émigration: Des habitants quittent la ville");
         }
     }
 
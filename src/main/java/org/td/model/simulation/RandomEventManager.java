@@ -5,6 +5,8 @@ import org.td.model.entities.Residence;
 import org.td.model.enums.ResidenceLevel;
 import org.td.model.enums.EventType;
 import org.td.controller.GameEventListener;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 import java.io.Serializable;
 import java.util.Random;
@@ -31,10 +33,24 @@ public class RandomEventManager implements Serializable {
 
     public RandomEventManager(City city) {
         this.city = city;
-        this.random = new Random();
+        this.random = new SimulationRandom(city.getWorldSeed(), SimulationRandom.STREAM_EVENTS);
         this.listeners = new ArrayList<>();
     }
 
+    // === SAUVEGARDE ===
+
+    public void writeState(StateOutput out) {
+        out.writeLong(((SimulationRandom) random).getCounter());
+        out.writeEnum(currentEvent);
+        out.writeInt(eventDurationRemaining);
+    }
+
+    public void readState(StateInput in) {
+        ((SimulationRandom) random).setCounter(in.readLong());
+        currentEvent = in.readEnum(GameEvent.class);
+        eventDurationRemaining = in.readInt();
+    }
+
     public void update() {
         // Si un événement est en cours
         if (currentEvent != null) {
@@ -0,0 +1,131 @@
+package org.td.model.simulation;
+
+import org.td.model.GameState;
+import org.td.model.persistence.GameSaver;
+import org.td.model.persistence.Recording;
+import org.td.utils.GameConfig;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Rejeu d'un enregistrement à vitesse headless
+ * Un instantané (image clé) est gardé en mémoire toutes les
+ * keyframeIntervalHours heures rejouées : aller à une heure déjà dépassée
+ * repart de l'image clé précédente au lieu de la fondation, soit au plus
+ * un intervalle d'heures à rejouer.
+ */
+public class ReplayEngine {
+    private final Recording recording;
+    private final long keyframeIntervalHours;
+    private final TreeMap<Long, ByteBuffer> keyframes = new TreeMap<>();
+
+    private GameState state;
+    private long hour; // Heures écoulées depuis la fondation
+    private int nextCommand; // Index de la prochaine commande à exécuter
+    private boolean quiet = true; // Coupe les messages de la ville rejouée
+
+    public ReplayEngine(Recording recording) {
+        this(recording, GameConfig.REPLAY_KEYFRAME_DAYS * 24L);
+    }
+
+    public ReplayEngine(Recording recording, long keyframeIntervalHours) {
+        this.recording = recording;
+        this.keyframeIntervalHours = Math.max(1, keyframeIntervalHours);
+        this.state = recording.createInitialState();
+        state.getCity().setQuiet(quiet);
+        this.hour = state.getTimeManager().getGameHoursElapsed();
+        this.nextCommand = recording.firstCommandAt(hour);
+        keyframes.put(hour, GameSaver.encode(state, false));
+    }
+
+    /**
+     * Amène le rejeu au début de l'heure donnée (commandes de cette heure non exécutées)
+     * @return état rejoué, à ne pas modifier (il sert aux heures suivantes)
+     */
+    public GameState seek(long targetHour) {
+        long target = Math.max(recording.getStartHour(), targetHour);
+        Map.Entry<Long, ByteBuffer> keyframe = keyframes.floorEntry(target);
+        if (target < hour || target - hour > target - keyframe.getKey() + keyframeIntervalHours) {
+            restore(keyframe.getKey(), keyframe.getValue());
+        }
+        while (hour < target && !state.isGameOver())
+            advance();
+        return state;
+    }
+
+    /**
+     * Rejoue une heure (commandes de l'heure puis écoulement du temps)
+     */
+    public GameState step() {
+        advance();
+        return state;
+    }
+
+    /**
+     * Première heure où la condition est vraie (fin de l'heure), -1 sinon
+     * Utile pour retrouver un incident : l'état est laissé à cette heure.
+     */
+    public long findFirst(Predicate<GameState> condition, long fromHour, long toHour) {
+        seek(fromHour);
+        while (hour < toHour && !state.isGameOver()) {
+            advance();
+            if (condition.test(state))
+                return hour;
+        }
+        return -1;
+    }
+
+    /**
+     * Rejoue jusqu'à la fin de l'enregistrement et compare les empreintes
+     */
+    public boolean verify() {
+        seek(recording.getEndHour());
+        return state.getChecksum() == recording.getFinalChecksum();
+    }
+
+    private void advance() {
+        while (nextCommand < recording.getCommandCount() && recording.getCommandHour(nextCommand) <= hour) {
+            state.execute(recording.getCommand(nextCommand));
+            nextCommand++;
+        }
+        state.advanceHour();
+        hour = state.getTimeManager().getGameHoursElapsed();
+
+        if (hour - keyframes.lastKey() >= keyframeIntervalHours) {
+            keyframes.put(hour, GameSaver.encode(state, false));
+        }
+    }
+
+    private void restore(long keyframeHour, ByteBuffer keyframe) {
+        state = GameSaver.decode(keyframe.duplicate());
+        state.getCity().setQuiet(quiet); // Option non sauvegardée
+        hour = keyframeHour;
+        nextCommand = recording.firstCommandAt(hour);
+    }
+
+    // === CONFIGURATION ===
+
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+        state.getCity().setQuiet(quiet);
+    }
+
+    public GameState getGameState() {
+        return state;
+    }
+
+    public long getHour() {
+        return hour;
+    }
+
+    public int getKeyframeCount() {
+        return keyframes.size();
+    }
+
+    public Recording getRecording() {
+        return recording;
+    }
+}
@@ -0,0 +1,117 @@
+package org.td.model.simulation;
+
+import java.util.Random;
+
+/**
+ * Générateur aléatoire déterministe à compteur
+ * Chaque tirage est une fonction pure de (graine du monde, clé d'entité/flux, compteur) :
+ * une partie se rejoue à l'identique à partir de sa seule graine, et les bâtiments
+ * peuvent tirer en parallèle sans état partagé.
+ *
+ * Les bâtiments utilisent directement les fonctions statiques (deux longs par bâtiment) ;
+ * la ville et les gestionnaires utilisent une instance, compatible java.util.Random.
+ */
+public class SimulationRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    // Flux réservés (un par consommateur)
+    public static final long STREAM_CITY = 1;
+    public static final long STREAM_ENERGY = 2;
+    public static final long STREAM_POPULATION = 3;
+    public static final long STREAM_EVENTS = 4;
+    public static final long STREAM_PLACEMENT = 5;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private final long key; // Graine du monde combinée au flux
+    private long counter;
+
+    /**
+     * Crée le flux {@code stream} de la partie de graine {@code worldSeed}
+     */
+    public SimulationRandom(long worldSeed, long stream) {
+        super(0L);
+        this.key = hash(worldSeed, stream);
+        this.counter = 0;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextBits() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        return nextBits();
+    }
+
+    @Override
+    public double nextDouble() {
+        return toDouble(nextBits());
+    }
+
+    private long nextBits() {
+        return hash(key, counter++);
+    }
+
+    /**
+     * Nombre de tirages effectués sur ce flux
+     */
+    public long getCounter() {
+        return counter;
+    }
+
+    /**
+     * Reprend le flux après un nombre de tirages donné (chargement d'une sauvegarde)
+     */
+    public void setCounter(long counter) {
+        this.counter = counter;
+    }
+
+    // === FONCTIONS PURES ===
+
+    /**
+     * Combine deux valeurs en 64 bits bien mélangés
+     */
+    public static long hash(long a, long b) {
+        return mix(mix(a + GOLDEN_GAMMA) ^ (b * GOLDEN_GAMMA + GOLDEN_GAMMA));
+    }
+
+    /**
+     * Tirage uniforme dans [0, 1) pour (clé, compteur)
+     */
+    public static double nextDouble(long key, long counter) {
+        return toDouble(hash(key, counter));
+    }
+
+    /**
+     * Tirage uniforme dans [0, bound) pour (clé, compteur)
+     */
+    public static int nextInt(long key, long counter, int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("bound must be positive");
+        // Multiplication 32x32 -> 64 bits : biais négligeable pour un jeu
+        return (int) (((hash(key, counter) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Graine non déterministe pour une nouvelle partie
+     */
+    public static long newSeed() {
+        return mix(System.nanoTime() ^ Thread.currentThread().getId() * GOLDEN_GAMMA);
+    }
+
+    private static double toDouble(long bits) {
+        return (bits >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Finaliseur SplitMix64 (Stafford variant 13)
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -2,20 +2,27 @@ package org.td.model.simulation;
 
 import org.td.model.entities.*;
 import org.td.model.enums.GameSpeed;
+import org.td.utils.GameConfig;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
 
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 
 /**
  * Gère le temps de jeu et l'avancement de la simulation
  */
 public class TimeManager {
     private City city;
-    private GameSpeed currentSpeed;
-    private boolean isPaused;
-    private boolean isRunning;
+    private volatile GameSpeed currentSpeed;
+    private volatile boolean isPaused;
+    private volatile boolean isRunning;
 
     // Vitesses de jeu en millisecondes par heure de jeu
     private static final long SLOW_MS = 2000; // 2 secondes = 1 heure
@@ -27,9 +34,41 @@ public class TimeManager {
     private List<TimeListener> listeners;
 
     // Thread de simulation
-    private Thread simulationThread;
-    private long lastUpdateTime;
-    private long accumulatedTime;
+    private volatile Thread simulationThread;
+
+    // Mesures de la boucle (lues depuis d'autres threads)
+    private volatile double actualTicksPerSecond;
+    private volatile long totalTicks;
+    private volatile long droppedTicks; // Heures abandonnées quand le retard dépasse le rattrapage
+    private volatile long throttledWaits; // Attentes imposées par l'interface
+
+    // Contre-pression : vrai quand l'interface n'arrive plus à suivre
+    private volatile BooleanSupplier uiBackpressure = () -> false;
+
+    // Actions du joueur en attente, exécutées entre deux heures de jeu
+    private volatile IntSupplier commandProcessor = () -> 0;
+
+    // Reste de l'heure après la ville (gestionnaires, objectifs : GameState.update)
+    private volatile Runnable hourStep = () -> {
+    };
+
+    // Appelé à la fin de chaque heure (journal de la partie)
+    private volatile Runnable tickObserver = () -> {
+    };
+
+    // Boucle à pas fixe (thread de simulation, voir runOnce)
+    static final long PARK = -1; // Attente jusqu'au prochain réveil
+    private LongSupplier clock = System::nanoTime;
+    private GameSpeed loopSpeed; // null : échéances à replanifier (démarrage, reprise)
+    private long period;
+    private long nextTick;
+    private long windowStart;
+    private long windowTicks;
+
+    // Échantillonnage des notifications en vitesse TURBO (thread de simulation)
+    private long lastUiSample;
+    private boolean uiSamplePending;
+    private boolean newDayPending;
 
     // Compteur pour Game Over
     private int consecutiveZeroHappiness = 0;
@@ -43,8 +82,19 @@ public class TimeManager {
         this.isPaused = false;
         this.isRunning = false;
         this.listeners = new ArrayList<>();
-        this.lastUpdateTime = System.currentTimeMillis();
-        this.accumulatedTime = 0;
+    }
+
+    // === SAUVEGARDE ===
+
+    public void writeState(StateOutput out) {
+        out.writeEnum(currentSpeed);
+        out.writeInt(consecutiveZeroHappiness);
+    }
+
+    public void readState(StateInput in) {
+        GameSpeed speed = in.readEnum(GameSpeed.class);
+        currentSpeed = speed != null ? speed : GameSpeed.NORMAL;
+        consecutiveZeroHappiness = in.readInt();
     }
 
     /**
@@ -56,13 +106,14 @@ public class TimeManager {
 
         isRunning = true;
         isPaused = false;
+        loopSpeed = null;
 
         simulationThread = new Thread(this::runSimulation);
         simulationThread.setDaemon(true);
         simulationThread.setName("TimeManager-Thread");
         simulationThread.start();
 
-        System.out.println("⏰ Simulation démarrée");
+        city.log("⏰ Simulation démarrée");
     }
 
     /**
@@ -70,50 +121,193 @@ public class TimeManager {
      */
     public void stop() {
         isRunning = false;
-        if (simulationThread != null) {
-            simulationThread.interrupt();
+        Thread thread = simulationThread;
+        if (thread != null) {
+            thread.interrupt();
+            LockSupport.unpark(thread);
         }
-        System.out.println("⏰ Simulation arrêtée");
+        city.log("⏰ Simulation arrêtée");
     }
 
     /**
-     * Boucle principale de simulation
+     * Boucle principale de simulation à pas fixe
+     * Les commandes du joueur passent avant chaque passage (même en pause),
+     * puis runOnce décide d'avancer le temps ou d'attendre.
      */
     private void runSimulation() {
-        while (isRunning && !Thread.interrupted()) {
+        while (isRunning && !Thread.currentThread().isInterrupted()) {
             try {
-                if (!isPaused && !city.isGameOver()) {
-                    long currentTime = System.currentTimeMillis();
-                    long deltaTime = currentTime - lastUpdateTime;
-                    lastUpdateTime = currentTime;
+                // Limite d'heure : les commandes du joueur passent avant tout
+                commandProcessor.getAsInt();
+                if (!isRunning)
+                    break; // Arrêt demandé par une commande (fin de partie)
+
+                long wait = runOnce();
+                if (wait == PARK) {
+                    LockSupport.park(this);
+                } else if (wait > 0) {
+                    LockSupport.parkNanos(this, wait);
+                }
 
-                    accumulatedTime += deltaTime;
+            } catch (Exception e) {
+                System.err.println("Erreur dans la simulation: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
 
-                    // Vérifier si assez de temps s'est écoulé pour avancer d'une heure
-                    long msPerHour = currentSpeed.getMillisecondsPerHour();
+    /**
+     * Un passage de la boucle à pas fixe (thread de simulation)
+     * Chaque heure est planifiée à partir de l'échéance précédente et non de
+     * l'instant du réveil : le temps de jeu ne dérive pas. En cas de retard,
+     * au plus MAX_CATCH_UP_TICKS heures sont rattrapées par passage ; au-delà,
+     * le retard est abandonné pour éviter l'emballement.
+     * En pause, le thread est suspendu (aucune attente active) et repart
+     * d'une période complète. En vitesse TURBO, les heures s'enchaînent sans
+     * attente. Seule l'horloge (setClock) donne le temps : la comptabilité
+     * des heures se teste sans attendre.
+     * @return attente avant le passage suivant en nanosecondes (0 : aucune,
+     *         PARK : jusqu'au prochain réveil)
+     */
+    long runOnce() {
+        if (isPaused || city.isGameOver()) {
+            flushUiSample();
+            actualTicksPerSecond = 0;
+            loopSpeed = null; // Reprise : on repart d'une période complète
+            return PARK;
+        }
 
-                    if (accumulatedTime >= msPerHour) {
-                        // Avancer d'une heure
-                        city.advanceTime();
-                        accumulatedTime -= msPerHour;
+        if (loopSpeed == null) {
+            loopSpeed = currentSpeed;
+            period = nanosPerTick(loopSpeed);
+            nextTick = clock.getAsLong() + period;
+            windowStart = clock.getAsLong();
+            windowTicks = 0;
+        } else if (loopSpeed != currentSpeed) {
+            flushUiSample();
+            loopSpeed = currentSpeed;
+            period = nanosPerTick(loopSpeed);
+            nextTick = clock.getAsLong() + period;
+        }
 
-                        // Notifier les listeners
-                        notifyTimeAdvanced();
+        // L'interface prend du retard : on lui laisse une image
+        if (uiBackpressure.getAsBoolean()) {
+            throttledWaits++;
+            return GameConfig.UI_SAMPLE_NANOS;
+        }
 
-                        // Vérifications spéciales
-                        checkSpecialEvents();
-                    }
-                }
+        long now = clock.getAsLong();
+        if (loopSpeed.isUncapped()) {
+            tick();
+            totalTicks++;
+            windowTicks++;
+            now = clock.getAsLong();
+        } else {
+            if (nextTick - now > 0)
+                return nextTick - now;
+
+            // Rattrapage borné
+            int steps = 0;
+            while (now - nextTick >= 0 && steps < GameConfig.MAX_CATCH_UP_TICKS
+                    && !isPaused && !city.isGameOver()) {
+                tick();
+                nextTick += period;
+                steps++;
+                now = clock.getAsLong();
+            }
+            totalTicks += steps;
+            windowTicks += steps;
+
+            // Trop de retard : abandon plutôt qu'emballement
+            if (now - nextTick >= period) {
+                long behind = (now - nextTick) / period;
+                droppedTicks += behind;
+                nextTick += behind * period;
+            }
+        }
 
-                // Petit sleep pour éviter de surcharger le CPU
-                Thread.sleep(10);
+        long windowElapsed = now - windowStart;
+        if (windowElapsed >= GameConfig.TPS_WINDOW_NANOS) {
+            actualTicksPerSecond = windowTicks * 1_000_000_000.0 / windowElapsed;
+            windowStart = now;
+            windowTicks = 0;
+        }
+        return 0;
+    }
 
-            } catch (InterruptedException e) {
-                break;
-            } catch (Exception e) {
-                System.err.println("Erreur dans la simulation: " + e.getMessage());
-                e.printStackTrace();
+    /**
+     * Remplace l'horloge de la boucle et de l'échantillonnage TURBO (tests)
+     */
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    private static long nanosPerTick(GameSpeed speed) {
+        return speed.getMillisecondsPerHour() * 1_000_000L;
+    }
+
+    /**
+     * Réveille la boucle (reprise, changement de vitesse)
+     */
+    private void wakeUp() {
+        Thread thread = simulationThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Réveille la boucle pour qu'elle exécute les commandes déposées
+     * Sans effet sur l'échéance de la prochaine heure
+     */
+    public void requestWakeUp() {
+        wakeUp();
+    }
+
+    /**
+     * Avance la simulation d'une heure de jeu, sans horloge murale
+     * Utilisé par la boucle temps réel et par le moteur headless
+     * (GameState.advanceHour) : les deux simulent exactement la même heure.
+     */
+    public void tick() {
+        advanceHourStep();
+
+        // Notifier les listeners
+        if (currentSpeed.isUncapped()) {
+            // TURBO : l'interface échantillonne l'état au plus UI_SAMPLE_NANOS
+            uiSamplePending = true;
+            long now = clock.getAsLong();
+            if (now - lastUiSample >= GameConfig.UI_SAMPLE_NANOS) {
+                publishUiSample(now);
             }
+        } else {
+            notifyTimeAdvanced();
+        }
+
+        // Vérifications spéciales
+        checkSpecialEvents();
+        tickObserver.run();
+    }
+
+    /**
+     * Notifie l'état courant (et le dernier changement de jour non signalé)
+     */
+    private void publishUiSample(long now) {
+        lastUiSample = now;
+        uiSamplePending = false;
+        notifyTimeAdvanced();
+        if (newDayPending) {
+            newDayPending = false;
+            notifyNewDay();
+        }
+    }
+
+    /**
+     * Publie l'échantillon en attente (pause, changement de vitesse)
+     */
+    private void flushUiSample() {
+        if (uiSamplePending || newDayPending) {
+            publishUiSample(clock.getAsLong());
         }
     }
 
@@ -125,9 +319,13 @@ public class TimeManager {
         int hour = time.getHour();
         int day = time.getDayOfMonth();
 
-        // Événement de minuit (nouveau jour)
+        // Événement de minuit (nouveau jour), regroupé avec l'échantillon en TURBO
         if (hour == 0) {
-            notifyNewDay();
+            if (currentSpeed.isUncapped()) {
+                newDayPending = true;
+            } else {
+                notifyNewDay();
+            }
         }
 
         // Événement de début de mois
@@ -143,12 +341,7 @@ public class TimeManager {
 
         // Game Over - Pénurie critique (Black-out prolongé)
         // Si la production couvre moins de 50% de la demande pendant 24h consécutives
-        double energyProduction = city.getTotalEnergyProduction();
-        double energyDemand = city.getTotalEnergyDemand();
-
-        boolean isBlackout = energyDemand > 0 && (energyProduction / energyDemand < 0.5);
-
-        if (isBlackout) {
+        if (isBlackout(city)) {
             consecutiveZeroHappiness++;
 
             // Warnings pour prévenir le joueur
@@ -174,17 +367,49 @@ public class TimeManager {
         }
     }
 
+    /**
+     * Black-out : la production couvre moins de la moitié de la demande
+     */
+    public static boolean isBlackout(City city) {
+        double energyDemand = city.getTotalEnergyDemand();
+        return energyDemand > 0 && (city.getTotalEnergyProduction() / energyDemand < 0.5);
+    }
+
+    /**
+     * Branche l'exécution des commandes du joueur sur la boucle
+     * @param processor Exécute les commandes en attente, renvoie leur nombre
+     */
+    public void setCommandProcessor(IntSupplier processor) {
+        this.commandProcessor = processor;
+    }
+
+    /**
+     * Branche le reste de l'heure de jeu, exécuté juste après la ville
+     */
+    public void setHourStep(Runnable step) {
+        this.hourStep = step != null ? step : () -> {
+        };
+    }
+
+    /**
+     * Branche l'observateur de fin d'heure (thread de simulation)
+     */
+    public void setTickObserver(Runnable observer) {
+        this.tickObserver = observer != null ? observer : () -> {
+        };
+    }
+
     /**
      * Met en pause / reprend la simulation
      */
     public void togglePause() {
         isPaused = !isPaused;
         if (isPaused) {
-            System.out.println("⏸️ Simulation en pause");
+            city.log("⏸️ Simulation en pause");
             notifyPaused();
         } else {
-            System.out.println("▶️ Simulation reprise");
-            lastUpdateTime = System.currentTimeMillis();
+            city.log("▶️ Simulation reprise");
+            wakeUp();
             notifyResumed();
         }
     }
@@ -205,17 +430,26 @@ public class TimeManager {
     public void resume() {
         if (isPaused) {
             isPaused = false;
-            lastUpdateTime = System.currentTimeMillis();
+            wakeUp();
             notifyResumed();
         }
     }
 
+    /**
+     * Branche le signal de contre-pression de l'interface
+     * Tant qu'il est vrai, la boucle temps réel suspend l'avancement du temps
+     */
+    public void setUiBackpressure(BooleanSupplier backpressure) {
+        this.uiBackpressure = backpressure != null ? backpressure : () -> false;
+    }
+
     /**
      * Change la vitesse de jeu
      */
     public void setSpeed(GameSpeed speed) {
         this.currentSpeed = speed;
-        System.out.println("⚡ Vitesse changée: " + speed.getDisplayName());
+        wakeUp();
+        city.log("⚡ Vitesse changée: " + speed.getDisplayName());
         notifySpeedChanged();
     }
 
@@ -224,11 +458,19 @@ public class TimeManager {
      */
     public void skipHours(int hours) {
         for (int i = 0; i < hours && !city.isGameOver(); i++) {
-            city.advanceTime();
+            advanceHourStep();
         }
         notifyTimeAdvanced();
     }
 
+    /**
+     * Heure de jeu : la ville puis le reste de la partie
+     */
+    private void advanceHourStep() {
+        city.advanceTime();
+        hourStep.run();
+    }
+
     /**
      * Calcule le temps réel écoulé depuis la fondation
      */
@@ -327,6 +569,43 @@ public class TimeManager {
         return city;
     }
 
+    /**
+     * Heures de jeu par seconde visées à la vitesse actuelle
+     */
+    public double getTargetTicksPerSecond() {
+        if (currentSpeed.isUncapped())
+            return Double.POSITIVE_INFINITY;
+        return 1000.0 / currentSpeed.getMillisecondsPerHour();
+    }
+
+    /**
+     * Heures de jeu par seconde réellement simulées (dernière fenêtre de mesure)
+     */
+    public double getActualTicksPerSecond() {
+        return actualTicksPerSecond;
+    }
+
+    /**
+     * Heures simulées par la boucle temps réel depuis le démarrage
+     */
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Heures abandonnées faute de pouvoir rattraper le retard
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /**
+     * Attentes imposées par la contre-pression de l'interface
+     */
+    public long getThrottledWaits() {
+        return throttledWaits;
+    }
+
 }
 
 /**
@@ -0,0 +1,360 @@
+package org.td.model.simulation;
+
+import org.td.model.enums.TransactionType;
+import org.td.model.persistence.StateInput;
+import org.td.model.persistence.StateOutput;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Journal des transactions en colonnes (heure, montant, type, libellé)
+ * Ajout en O(1) dans des tableaux primitifs : ni objet ni date par écriture.
+ * Les libellés sont internés une fois et désignés par un numéro.
+ * Sans fichier de débordement, seules les CAPACITY dernières écritures sont
+ * gardées (tampon circulaire). Avec un fichier, chaque bloc plein est recopié
+ * dans un fichier projeté en mémoire : tout l'historique reste lisible sans
+ * faire grossir le tas. Les cumuls par type et par mois couvrent toujours
+ * toute la partie.
+ */
+public class TransactionLedger {
+    public static final int CAPACITY = 4096; // Écritures gardées en mémoire
+
+    // Enregistrement dans le fichier : heure (int), libellé << 8 | type (int), montant (double)
+    private static final int RECORD_BYTES = 16;
+    private static final int SEGMENT_RECORDS = 1 << 16; // 1 Mo par projection
+    private static final int TYPES = TransactionType.values().length;
+    private static final TransactionType[] TYPE_VALUES = TransactionType.values();
+
+    // Colonnes (tampon circulaire)
+    private final int[] ticks = new int[CAPACITY];
+    private final double[] amounts = new double[CAPACITY];
+    private final byte[] types = new byte[CAPACITY];
+    private final int[] descriptionIds = new int[CAPACITY];
+    private long size; // Écritures depuis le début de la partie
+
+    // Libellés internés
+    private final Map<String, Integer> descriptionIndex = new HashMap<>();
+    private final List<String> descriptions = new ArrayList<>();
+
+    // Cumuls
+    private final double[] totals = new double[TYPES];
+    private final long[] counts = new long[TYPES];
+    private double[] monthlyTotals = new double[12 * TYPES]; // (mois - premier mois) * TYPES + type
+    private int firstMonth = -1;
+    // Mois de la dernière écriture, pour ne recalculer le calendrier qu'au changement de mois
+    private int cachedMonth;
+    private int cachedMonthStart = Integer.MAX_VALUE;
+    private int cachedMonthEnd = Integer.MIN_VALUE;
+
+    // Débordement vers un fichier projeté
+    private FileChannel spillChannel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long spillBase; // Première écriture du fichier
+    private long spilled; // Écritures recopiées dans le fichier (index de fin)
+
+    /**
+     * Numéro du libellé (créé au premier usage)
+     */
+    public int intern(String description) {
+        Integer id = descriptionIndex.get(description);
+        if (id == null) {
+            id = descriptions.size();
+            descriptions.add(description);
+            descriptionIndex.put(description, id);
+        }
+        return id;
+    }
+
+    /**
+     * Ajoute une écriture
+     * @param tick heures écoulées depuis 1970 (voir tickOf)
+     */
+    public void append(int tick, int descriptionId, double amount, TransactionType type) {
+        int slot = (int) (size % CAPACITY);
+        if (spillChannel != null && size - spilled >= CAPACITY) {
+            spillBlock(); // L'emplacement va être réutilisé : recopie de tout ce qui reste
+        }
+
+        ticks[slot] = tick;
+        amounts[slot] = amount;
+        types[slot] = (byte) type.ordinal();
+        descriptionIds[slot] = descriptionId;
+        size++;
+
+        totals[type.ordinal()] += amount;
+        counts[type.ordinal()]++;
+        int month = monthOf(tick);
+        if (firstMonth < 0)
+            firstMonth = month;
+        int at = (month - firstMonth) * TYPES + type.ordinal();
+        if (at >= monthlyTotals.length)
+            monthlyTotals = Arrays.copyOf(monthlyTotals, Math.max(at + 1, monthlyTotals.length * 2));
+        if (at >= 0)
+            monthlyTotals[at] += amount;
+    }
+
+    /**
+     * Active le débordement vers un fichier
+     * Le fichier reçoit les écritures encore en mémoire puis toutes les suivantes.
+     */
+    public void spillTo(Path file) throws IOException {
+        if (spillChannel != null)
+            throw new IllegalStateException("Débordement déjà actif");
+        long first = getFirstIndex(); // Avant l'ouverture : fenêtre en mémoire
+        spillChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        spillBase = spilled = first;
+        spillBlock(); // Recopie immédiate : le tampon a pu avoir fait le tour
+    }
+
+    /**
+     * Ferme le fichier de débordement (seules les écritures en mémoire restent lisibles)
+     */
+    public void close() throws IOException {
+        if (spillChannel != null) {
+            spillChannel.close();
+            spillChannel = null;
+            segments.clear();
+        }
+    }
+
+    public boolean isSpilling() {
+        return spillChannel != null;
+    }
+
+    /**
+     * Recopie dans le fichier les écritures en mémoire pas encore recopiées
+     */
+    private void spillBlock() {
+        try {
+            for (long index = spilled; index < size; index++) {
+                int slot = (int) (index % CAPACITY);
+                MappedByteBuffer segment = segment(index);
+                int offset = (int) ((index - spillBase) % SEGMENT_RECORDS) * RECORD_BYTES;
+                segment.putInt(offset, ticks[slot]);
+                segment.putInt(offset + 4, descriptionIds[slot] << 8 | types[slot]);
+                segment.putDouble(offset + 8, amounts[slot]);
+            }
+            spilled = size;
+        } catch (IOException e) {
+            System.err.println("❌ Débordement du journal impossible: " + e.getMessage());
+            try {
+                close();
+            } catch (IOException ignored) {
+                // Le journal reste utilisable en mémoire
+            }
+        }
+    }
+
+    private MappedByteBuffer segment(long index) throws IOException {
+        int number = (int) ((index - spillBase) / SEGMENT_RECORDS);
+        while (segments.size() <= number) {
+            long position = (long) segments.size() * SEGMENT_RECORDS * RECORD_BYTES;
+            MappedByteBuffer mapped = spillChannel.map(FileChannel.MapMode.READ_WRITE, position,
+                    (long) SEGMENT_RECORDS * RECORD_BYTES);
+            mapped.order(ByteOrder.nativeOrder());
+            segments.add(mapped);
+        }
+        return segments.get(number);
+    }
+
+    // === LECTURE (index croissant depuis le début de la partie) ===
+
+    /**
+     * Nombre d'écritures depuis le début de la partie
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Plus ancien index encore lisible
+     */
+    public long getFirstIndex() {
+        if (spillChannel != null)
+            return spillBase;
+        return size - Math.min(size, CAPACITY);
+    }
+
+    public int getTick(long index) {
+        if (inMemory(index))
+            return ticks[(int) (index % CAPACITY)];
+        return spilledRecord(index).getInt(offsetOf(index));
+    }
+
+    public double getAmount(long index) {
+        if (inMemory(index))
+            return amounts[(int) (index % CAPACITY)];
+        return spilledRecord(index).getDouble(offsetOf(index) + 8);
+    }
+
+    public TransactionType getType(long index) {
+        if (inMemory(index))
+            return TYPE_VALUES[types[(int) (index % CAPACITY)]];
+        return TYPE_VALUES[spilledRecord(index).getInt(offsetOf(index) + 4) & 0xFF];
+    }
+
+    public String getDescription(long index) {
+        if (inMemory(index))
+            return descriptions.get(descriptionIds[(int) (index % CAPACITY)]);
+        return descriptions.get(spilledRecord(index).getInt(offsetOf(index) + 4) >>> 8);
+    }
+
+    /**
+     * Cumul d'un type depuis le début de la partie
+     */
+    public double getTotal(TransactionType type) {
+        return totals[type.ordinal()];
+    }
+
+    public long getCount(TransactionType type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * Cumul d'un type sur un mois (0 si aucune écriture)
+     */
+    public double getMonthlyTotal(int year, int month, TransactionType type) {
+        if (firstMonth < 0)
+            return 0;
+        int at = (year * 12 + month - 1 - firstMonth) * TYPES + type.ordinal();
+        return at >= 0 && at < monthlyTotals.length ? monthlyTotals[at] : 0;
+    }
+
+    private boolean inMemory(long index) {
+        if (index < getFirstIndex() || index >= size)
+            throw new IndexOutOfBoundsException("Écriture " + index + " hors du journal");
+        return index >= size - Math.min(size, CAPACITY);
+    }
+
+    private MappedByteBuffer spilledRecord(long index) {
+        return segments.get((int) ((index - spillBase) / SEGMENT_RECORDS));
+    }
+
+    private int offsetOf(long index) {
+        return (int) ((index - spillBase) % SEGMENT_RECORDS) * RECORD_BYTES;
+    }
+
+    // === SAUVEGARDE ===
+
+    /**
+     * Écrit les libellés, les cumuls et les écritures encore en mémoire
+     * (le fichier de débordement n'est pas recopié)
+     */
+    public void writeState(StateOutput out) {
+        out.writeInt(descriptions.size());
+        for (String description : descriptions)
+            out.writeString(description);
+
+        out.writeInt(TYPES);
+        for (int t = 0; t < TYPES; t++) {
+            out.writeDouble(totals[t]);
+            out.writeLong(counts[t]);
+        }
+        out.writeInt(firstMonth);
+        out.writeInt(monthlyTotals.length);
+        for (double total : monthlyTotals)
+            out.writeDouble(total);
+
+        long first = size - Math.min(size, CAPACITY);
+        out.writeLong(size);
+        out.writeLong(first);
+        for (long i = first; i < size; i++) {
+            int slot = (int) (i % CAPACITY);
+            out.writeInt(ticks[slot]);
+            out.writeInt(descriptionIds[slot]);
+            out.writeDouble(amounts[slot]);
+            out.writeInt(types[slot]);
+        }
+    }
+
+    /**
+     * Relit un journal écrit par writeState (débordement désactivé)
+     */
+    public void readState(StateInput in) {
+        close0();
+        descriptions.clear();
+        descriptionIndex.clear();
+        int descriptionCount = in.readInt();
+        for (int i = 0; i < descriptionCount; i++)
+            intern(in.readString());
+
+        int savedTypes = in.readInt();
+        Arrays.fill(totals, 0);
+        Arrays.fill(counts, 0);
+        for (int t = 0; t < savedTypes; t++) {
+            double total = in.readDouble();
+            long count = in.readLong();
+            if (t < TYPES) {
+                totals[t] = total;
+                counts[t] = count;
+            }
+        }
+        firstMonth = in.readInt();
+        monthlyTotals = new double[in.readInt()];
+        for (int i = 0; i < monthlyTotals.length; i++)
+            monthlyTotals[i] = in.readDouble();
+        cachedMonthStart = Integer.MAX_VALUE;
+        cachedMonthEnd = Integer.MIN_VALUE;
+
+        size = in.readLong();
+        long first = in.readLong();
+        for (long i = first; i < size; i++) {
+            int slot = (int) (i % CAPACITY);
+            ticks[slot] = in.readInt();
+            descriptionIds[slot] = in.readInt();
+            amounts[slot] = in.readDouble();
+            types[slot] = (byte) in.readInt();
+        }
+        spillBase = spilled = first;
+    }
+
+    private void close0() {
+        try {
+            close();
+        } catch (IOException e) {
+            System.err.println("⚠️ Fermeture du journal: " + e.getMessage());
+        }
+    }
+
+    // === HEURES ===
+
+    /**
+     * Heures écoulées depuis 1970 (sans allocation)
+     */
+    public static int tickOf(LocalDateTime time) {
+        return (int) (time.toLocalDate().toEpochDay() * 24 + time.getHour());
+    }
+
+    public static LocalDateTime timeOf(int tick) {
+        return LocalDateTime.of(LocalDate.ofEpochDay(Math.floorDiv(tick, 24)),
+                LocalTime.of(Math.floorMod(tick, 24), 0));
+    }
+
+    /**
+     * Mois absolu (année * 12 + mois - 1) d'une heure
+     */
+    private int monthOf(int tick) {
+        if (tick < cachedMonthStart || tick >= cachedMonthEnd) {
+            LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(tick, 24));
+            LocalDate first = date.withDayOfMonth(1);
+            cachedMonth = date.getYear() * 12 + date.getMonthValue() - 1;
+            cachedMonthStart = (int) (first.toEpochDay() * 24);
+            cachedMonthEnd = (int) (first.plusMonths(1).toEpochDay() * 24);
+        }
+        return cachedMonth;
+    }
+}
@@ -13,6 +13,14 @@ public class GameConfig {
     public static final int CANVAS_WIDTH = 680; // 1024 - 300 (sidebar) - 44 (marges)
     public static final int CANVAS_HEIGHT = 640; // 768 - 100 (stats) - 28 (marges)
     public static final int CELL_SIZE = 40;
+    // Caméra : bornes du zoom et seuil sous lequel la carte passe en vue simplifiée
+    public static final double MIN_ZOOM = 0.02;
+    public static final double MAX_ZOOM = 2.0;
+    public static final double DETAIL_ZOOM = 0.5;
+    // Vue simplifiée : côté maximal (en tuiles) de l'image des cellules
+    public static final int MAX_CELL_MAP_SIZE = 2048;
+    // Vue simplifiée tramée hors du thread JavaFX à partir de ce nombre de bâtiments
+    public static final int RASTER_THRESHOLD = 20_000;
 
     // === GRILLE DE JEU (taille basée sur niveau ville) ===
     public static final int BASE_GRID_SIZE = 10; // Grille de base (Level 1)
@@ -23,6 +31,25 @@ public class GameConfig {
     public static final long FRAME_TIME_MS = 1000 / TARGET_FPS;
     public static final boolean SHOW_GRID = true;
     public static final boolean SHOW_DEBUG_INFO = false;
+    // Mise à jour parallèle des bâtiments : taille d'un lot par tâche fork-join
+    public static final int PARALLEL_UPDATE_CHUNK = 1024;
+    // Boucle de simulation : heures rattrapées au plus par réveil quand elle prend du retard
+    public static final int MAX_CATCH_UP_TICKS = 5;
+    // Fenêtre de mesure des ticks par seconde effectifs
+    public static final long TPS_WINDOW_NANOS = 1_000_000_000L;
+    // Vitesse TURBO : intervalle minimal entre deux notifications à l'interface
+    public static final long UI_SAMPLE_NANOS = 1_000_000_000L / TARGET_FPS;
+    // Mise à jour de l'interface en attente depuis plus de 3 images : la simulation ralentit
+    public static final long UI_BACKPRESSURE_NANOS = 3 * UI_SAMPLE_NANOS;
+    // Conseiller de construction : avenirs simulés par action, horizon et budget de temps
+    public static final int ADVISOR_ROLLOUTS = 32;
+    public static final int ADVISOR_HORIZON_DAYS = 30;
+    public static final long ADVISOR_TIME_BUDGET_MS = 4000;
+    // Threads du conseiller : un cœur reste libre pour la boucle de simulation
+    public static final int ADVISOR_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    // Classement du conseiller : points retirés par avenir en faillite et par heure de black-out
+    public static final double ADVISOR_FAILURE_PENALTY = 5000;
+    public static final double ADVISOR_BLACKOUT_HOUR_PENALTY = 10;
 
     // === GAMEPLAY ===
     public static final double STARTING_MONEY_EASY = 100000;
@@ -56,7 +83,12 @@ public class GameConfig {
     // === SAUVEGARDE ===
     public static final String SAVE_DIRECTORY = "saves/";
     public static final String SAVE_EXTENSION = ".energyville";
+    public static final boolean SAVE_COMPRESSION = true; // Deflate sur le format binaire
     public static final int MAX_SAVE_SLOTS = 10;
+    public static final String JOURNAL_DIRECTORY = SAVE_DIRECTORY + "autosave/"; // Sauvegarde continue
+    public static final long JOURNAL_SNAPSHOT_HOURS = 24 * 7; // Instantané complet chaque semaine de jeu
+    public static final int JOURNAL_SEGMENT_BYTES = 1 << 20; // Projection du journal par blocs de 1 Mo
+    public static final int REPLAY_KEYFRAME_DAYS = 7; // Image clé du rejeu chaque semaine de jeu
 
     // === GRAPHIQUES ===
     public static final boolean ANTIALIASING = true;
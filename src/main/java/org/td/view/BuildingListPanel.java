@@ -3,19 +3,24 @@ package org.td.view;
 import org.td.controller.GameController;
 import org.td.controller.BuildingController; // Import manquant
 import org.td.model.entities.Building; // Import manquant
-import org.td.model.entities.Infrastructure;
-import org.td.model.entities.PowerPlant;
+import org.td.model.entities.CitySnapshot;
 import org.td.model.enums.BuildingType;
 import org.td.model.enums.PowerPlantType;
 import org.td.utils.GameConfig;
 import org.td.utils.UIStyles;
 
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 /**
  * Panneau latéral principal : Construction et Gestion
  */
@@ -27,6 +32,14 @@ public class BuildingListPanel {
     // Contenu des onglets
     private VBox constructionContent;
     private VBox managementContent;
+    private Label managementSummary;
+    private ListView<BuildingRow> buildingListView;
+    private final ObservableList<BuildingRow> buildingRows = FXCollections.observableArrayList();
+
+    // Dernière photographie affichée
+    private long shownVersion = -1;
+    private long shownStructureVersion = -1;
+    private double shownMoney = Double.NaN;
 
     public BuildingListPanel(GameController controller) {
         this.controller = controller;
@@ -60,14 +73,23 @@ public class BuildingListPanel {
         Tab managementTab = new Tab("Gestion");
         managementTab.setClosable(false);
 
-        ScrollPane scrollManage = new ScrollPane();
-        scrollManage.setFitToWidth(true);
-        managementContent = new VBox(10);
-        managementContent.setPadding(new Insets(10));
+        // Liste virtualisée : seules les cellules visibles existent
+        managementSummary = new Label();
+        managementSummary.setStyle(UIStyles.LABEL_SUBTITLE);
+        managementSummary.setPadding(new Insets(10, 10, 0, 10));
+
+        buildingListView = new ListView<>(buildingRows);
+        buildingListView.setCellFactory(list -> new BuildingCell());
+        buildingListView.setStyle("-fx-background-color: #1f2937; -fx-control-inner-background: #1f2937;");
+        Label empty = new Label("Aucun bâtiment en ville.");
+        empty.setStyle("-fx-text-fill: #9ca3af; -fx-font-style: italic;");
+        buildingListView.setPlaceholder(empty);
+        VBox.setVgrow(buildingListView, Priority.ALWAYS);
+
+        managementContent = new VBox(10, managementSummary, buildingListView);
         managementContent.setStyle(UIStyles.PANEL_DARK);
-        scrollManage.setContent(managementContent);
 
-        managementTab.setContent(scrollManage);
+        managementTab.setContent(managementContent);
 
         // Ajout des onglets
         tabPane.getTabs().addAll(constructionTab, managementTab);
@@ -207,128 +229,165 @@ public class BuildingListPanel {
     // ==========================================
     // ONGLET GESTION
     // ==========================================
-    private void refreshBuildingList() {
-        managementContent.getChildren().clear();
-
-        var buildings = controller.getBuildingController().getAllBuildings();
 
-        if (buildings.isEmpty()) {
-            Label empty = new Label("Aucun bâtiment en ville.");
-            empty.setStyle("-fx-text-fill: #9ca3af; -fx-font-style: italic;");
-            managementContent.getChildren().add(empty);
+    /**
+     * Met à jour le modèle de la liste par différence avec la photographie
+     * Seules les lignes dont l'affichage change sont remplacées.
+     */
+    private void refreshBuildingList() {
+        // Photographie publiée par la simulation (pas de lecture des listes vivantes)
+        CitySnapshot snapshot = controller.getCity().getSnapshot();
+        double money = controller.moneyProperty().get();
+        if (snapshot.getVersion() == shownVersion && money == shownMoney)
             return;
+        shownVersion = snapshot.getVersion();
+        shownMoney = money;
+
+        // Les centrales puis les infrastructures suivent les résidences
+        int first = snapshot.getResidenceCount();
+        int count = snapshot.size() - first;
+
+        // Bâtiments démolis : retirés d'abord pour ne pas décaler toute la liste
+        if (snapshot.getStructureVersion() != shownStructureVersion) {
+            shownStructureVersion = snapshot.getStructureVersion();
+            Set<Building> alive = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = first; i < snapshot.size(); i++)
+                alive.add(snapshot.getBuilding(i));
+            buildingRows.removeIf(row -> !alive.contains(row.building));
         }
 
-        // Filtrer et trier
-        var powerPlants = buildings.stream()
-                .filter(b -> b instanceof PowerPlant)
-                .map(b -> (PowerPlant) b)
-                .toList();
-
-        var infrastructures = buildings.stream()
-                .filter(b -> b instanceof Infrastructure)
-                .map(b -> (Infrastructure) b)
-                .toList();
-
-        if (!powerPlants.isEmpty()) {
-            Label h = new Label("⚡ Centrales (" + powerPlants.size() + ")");
-            h.setStyle(UIStyles.LABEL_SUBTITLE);
-            managementContent.getChildren().add(h);
-            for (PowerPlant p : powerPlants)
-                managementContent.getChildren().add(createManageCard(p));
+        // Parcours parallèle : après la ligne r, buildingRows[0..r] suit la photographie
+        for (int r = 0; r < count; r++) {
+            int i = first + r;
+            Building building = snapshot.getBuilding(i);
+            if (r < buildingRows.size() && buildingRows.get(r).building == building) {
+                if (!buildingRows.get(r).matches(snapshot, i, money))
+                    buildingRows.set(r, new BuildingRow(snapshot, i, money));
+            } else {
+                buildingRows.add(r, new BuildingRow(snapshot, i, money));
+            }
         }
+        if (buildingRows.size() > count)
+            buildingRows.remove(count, buildingRows.size());
 
-        if (!infrastructures.isEmpty()) {
-            Separator sep = new Separator();
-            sep.setPadding(new Insets(10, 0, 10, 0));
-            managementContent.getChildren().add(sep);
-
-            Label h = new Label("🏢 Infrastructures (" + infrastructures.size() + ")");
-            h.setStyle(UIStyles.LABEL_SUBTITLE);
-            managementContent.getChildren().add(h);
-            for (Infrastructure i : infrastructures)
-                managementContent.getChildren().add(createManageCard(i));
-        }
+        managementSummary.setText("⚡ Centrales (" + snapshot.getPowerPlantCount()
+                + ")   🏢 Infrastructures (" + snapshot.getInfrastructureCount() + ")");
     }
 
-    private VBox createManageCard(Building building) {
-        VBox card = new VBox(8);
-        card.setPadding(new Insets(10));
-        card.setStyle(UIStyles.CARD);
-
-        // Header
-        HBox header = new HBox(10);
-        header.setAlignment(Pos.CENTER_LEFT);
-
-        String iconStr = "❓";
-        String nameStr = building.getType();
+    /**
+     * Ligne de la liste : valeurs affichées d'un bâtiment (immuable)
+     */
+    private static final class BuildingRow {
+        final Building building;
+        final String icon;
+        final String name;
+        final int level;
+        final boolean canUpgrade;
+        final double cost;
+        final boolean canAfford;
+
+        BuildingRow(CitySnapshot snapshot, int index, double money) {
+            this.building = snapshot.getBuilding(index);
+            if (snapshot.getKind(index) == CitySnapshot.POWER_PLANT) {
+                PowerPlantType type = snapshot.getPlantType(index);
+                this.icon = type.getIcon();
+                this.name = type.getDisplayName();
+            } else {
+                BuildingType type = snapshot.getInfrastructureType(index);
+                this.icon = type.getIcon();
+                this.name = type.getDisplayName();
+            }
+            this.level = snapshot.getLevel(index);
+            this.canUpgrade = snapshot.canUpgrade(index);
+            this.cost = canUpgrade ? snapshot.getUpgradeCost(index) : 0;
+            this.canAfford = money >= cost;
+        }
 
-        if (building instanceof PowerPlant pp) {
-            iconStr = pp.getPlantType().getIcon();
-            nameStr = pp.getPlantType().getDisplayName();
-        } else if (building instanceof Infrastructure inf) {
-            iconStr = inf.getInfrastructureType().getIcon();
-            nameStr = inf.getInfrastructureType().getDisplayName();
+        /**
+         * Vrai si la ligne affiche déjà l'état du bâtiment (sans allocation)
+         */
+        boolean matches(CitySnapshot snapshot, int index, double money) {
+            boolean upgradable = snapshot.canUpgrade(index);
+            double upgradeCost = upgradable ? snapshot.getUpgradeCost(index) : 0;
+            return level == snapshot.getLevel(index)
+                    && canUpgrade == upgradable
+                    && cost == upgradeCost
+                    && canAfford == (money >= upgradeCost);
         }
+    }
 
-        Label icon = new Label(iconStr);
-        icon.setFont(Font.font(20));
+    /**
+     * Carte de gestion réutilisée par la liste virtualisée
+     */
+    private class BuildingCell extends ListCell<BuildingRow> {
+        private final VBox card = new VBox(8);
+        private final Label icon = new Label();
+        private final Label name = new Label();
+        private final Label lvl = new Label();
+        private final Button upgradeBtn = new Button();
+
+        BuildingCell() {
+            card.setPadding(new Insets(10));
+            card.setStyle(UIStyles.CARD);
+
+            // Header
+            HBox header = new HBox(10);
+            header.setAlignment(Pos.CENTER_LEFT);
+            icon.setFont(Font.font(20));
+            name.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
+            lvl.setStyle("-fx-text-fill: #d1d5db; -fx-font-size: 10px;");
+            header.getChildren().addAll(icon, new VBox(2, name, lvl));
+
+            // Bouton Upgrade
+            upgradeBtn.setMaxWidth(Double.MAX_VALUE);
+            upgradeBtn.setOnAction(e -> {
+                BuildingRow row = getItem();
+                if (row == null)
+                    return;
+                BuildingUpgradeDialog.show(row.building, controller);
+                javafx.application.Platform.runLater(BuildingListPanel.this::refreshBuildingList);
+            });
+
+            card.getChildren().addAll(header, upgradeBtn);
+            setStyle("-fx-background-color: transparent; -fx-padding: 4 10 4 10;");
+        }
 
-        VBox texts = new VBox(2);
-        Label name = new Label(nameStr);
-        name.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
-        Label lvl = new Label("Niveau " + building.getLevel());
-        lvl.setStyle("-fx-text-fill: #d1d5db; -fx-font-size: 10px;");
-        texts.getChildren().addAll(name, lvl);
+        @Override
+        protected void updateItem(BuildingRow row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null) {
+                setGraphic(null);
+                return;
+            }
 
-        header.getChildren().addAll(icon, texts);
+            icon.setText(row.icon);
+            name.setText(row.name);
+            lvl.setText("Niveau " + row.level);
 
-        // Bouton Upgrade
-        Button upgradeBtn = new Button();
-        upgradeBtn.setMaxWidth(Double.MAX_VALUE);
-
-        boolean canUpgrade = building.canUpgrade();
-        double cost = canUpgrade ? building.getUpgradeCost() : 0;
-        boolean canAfford = controller.getCity().canAfford(cost);
-
-        if (!canUpgrade) {
-            upgradeBtn.setText("MAX");
-            upgradeBtn.setDisable(true);
-            upgradeBtn.setStyle("-fx-background-color: #374151; -fx-text-fill: #9ca3af;");
-        } else {
-            upgradeBtn.setText("⬆ " + (int) cost + " €");
-            if (canAfford) {
-                upgradeBtn.setStyle(UIStyles.BUTTON_SUCCESS);
-                upgradeBtn.setDisable(false);
-            } else {
-                upgradeBtn.setStyle(UIStyles.BUTTON_PRIMARY); // Ou rouge/gris pour indiquer pas assez d'argent
+            if (!row.canUpgrade) {
+                upgradeBtn.setText("MAX");
                 upgradeBtn.setDisable(true);
+                upgradeBtn.setStyle("-fx-background-color: #374151; -fx-text-fill: #9ca3af;");
+            } else {
+                upgradeBtn.setText("⬆ " + (int) row.cost + " €");
+                if (row.canAfford) {
+                    upgradeBtn.setStyle(UIStyles.BUTTON_SUCCESS);
+                    upgradeBtn.setDisable(false);
+                } else {
+                    upgradeBtn.setStyle(UIStyles.BUTTON_PRIMARY); // Ou rouge/gris pour indiquer pas assez d'argent
+                    upgradeBtn.setDisable(true);
+                }
             }
+            setGraphic(card);
         }
-
-        upgradeBtn.setOnAction(e -> {
-            BuildingUpgradeDialog.show(building, controller);
-            javafx.application.Platform.runLater(this::refreshBuildingList);
-        });
-
-        card.getChildren().addAll(header, upgradeBtn);
-        return card;
     }
 
     private void startUpdateTimer() {
-        // Rafraîchir l'interface toutes les quelques secondes pour mettre à jour les
-        // disponibilités
-        javafx.animation.Timeline timeline = new javafx.animation.Timeline(
-                new javafx.animation.KeyFrame(
-                        javafx.util.Duration.seconds(2),
-                        e -> {
-                            // On rafraîchit la construction aussi car de nouveaux bâtiments
-                            // peuvent se débloquer avec le niveau
-                            refreshConstructionList();
-                            refreshBuildingList();
-                        }));
-        timeline.setCycleCount(javafx.animation.Timeline.INDEFINITE);
-        timeline.play();
+        // Chaque relevé publié par la simulation met la liste à jour par différence
+        controller.addStateListener(stats -> refreshBuildingList());
+
+        // La liste de construction ne change qu'avec le niveau de la ville
+        controller.cityLevelProperty().addListener((obs, oldVal, newVal) -> refreshConstructionList());
     }
 
     public VBox getView() {
@@ -1,5 +1,6 @@
 package org.td.view;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -151,19 +152,28 @@ public class BuildingUpgradeDialog {
                 // Handle upgrade
                 dialog.showAndWait().ifPresent(response -> {
                         if (response == upgradeBtn && building.canUpgrade()) {
-                                BuildResult result = controller.getBuildingController().upgradeBuilding(building);
-                                if (result.success) {
-                                        controller.sendNotification(result.message, EventType.SUCCESS);
-                                        // Show updated info
-                                        show(building, controller);
-                                } else {
-                                        // Use notification instead of Alert
-                                        controller.sendNotification(result.message, EventType.ERROR);
-                                }
+                                controller.getBuildingController().upgradeBuilding(building)
+                                                .thenAcceptAsync(result -> handleUpgradeResult(result, building, controller),
+                                                                Platform::runLater);
                         }
                 });
         }
 
+        private static void handleUpgradeResult(BuildResult result, Building building, GameController controller) {
+                if (result.success) {
+                        controller.sendNotification(result.message, EventType.SUCCESS);
+                        // Show updated info (la ville a pu remplacer le bâtiment par sa copie)
+                        // Recherche dans la photographie publiée : l'index vivant appartient au thread de simulation
+                        CitySnapshot snapshot = controller.getCity().getSnapshot();
+                        int index = snapshot.findAt(building.getX(), building.getY());
+                        Building current = index >= 0 ? snapshot.getBuilding(index) : null;
+                        show(current != null ? current : building, controller);
+                } else {
+                        // Use notification instead of Alert
+                        controller.sendNotification(result.message, EventType.ERROR);
+                }
+        }
+
         private static void addStatRow(GridPane grid, int row, String label, String value) {
                 Label labelText = new Label(label);
                 labelText.setStyle("-fx-text-fill: " + UIColors.toCss(UIColors.TEXT_SECONDARY) + ";");
@@ -0,0 +1,65 @@
+package org.td.view;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.td.model.entities.CitySnapshot;
+
+/**
+ * Vue simplifiée de la carte pour les faibles zooms
+ * Les bâtiments sont tramés en tuiles (voir CellRaster) sur le thread
+ * JavaFX, puis affichés en un seul drawImage, quel que soit leur nombre.
+ * Pour les très grandes villes, voir MapRasterizer.
+ */
+public class CellMapLayer {
+    private final CellRaster raster = new CellRaster();
+    private WritableImage image;
+    private int[] pixels = new int[0];
+    private boolean valid;
+
+    /**
+     * Reconstruit l'image si l'aspect des bâtiments a changé
+     */
+    public void update(CitySnapshot snapshot) {
+        if (valid && snapshot.getAppearance() == raster.appearance)
+            return;
+
+        raster.copyFrom(snapshot);
+        valid = true;
+        if (raster.size() == 0) {
+            image = null;
+            return;
+        }
+
+        int columns = raster.columns, rows = raster.rows;
+        if (image == null || (int) image.getWidth() != columns || (int) image.getHeight() != rows) {
+            image = new WritableImage(columns, rows);
+            pixels = new int[columns * rows];
+        }
+
+        raster.rasterize(pixels);
+        image.getPixelWriter().setPixels(0, 0, columns, rows,
+                PixelFormat.getIntArgbInstance(), pixels, 0, columns);
+    }
+
+    /**
+     * Dessine la dernière image à l'échelle de la caméra
+     */
+    public void draw(GraphicsContext gc, MapCamera camera) {
+        if (image != null) {
+            drawTiles(gc, camera, image, raster);
+        }
+    }
+
+    /**
+     * Dessine une image de tuiles (un pixel par tuile) à l'échelle de la caméra
+     */
+    static void drawTiles(GraphicsContext gc, MapCamera camera, WritableImage tiles, CellRaster layout) {
+        double zoom = camera.getZoom();
+        gc.setImageSmoothing(false); // Tuiles nettes
+        gc.drawImage(tiles, 0, 0, layout.columns, layout.rows,
+                (layout.originX - camera.getX()) * zoom, (layout.originY - camera.getY()) * zoom,
+                layout.columns * layout.tile * zoom, layout.rows * layout.tile * zoom);
+        gc.setImageSmoothing(true);
+    }
+}
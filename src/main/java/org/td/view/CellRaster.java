@@ -0,0 +1,151 @@
+package org.td.view;
+
+import javafx.scene.paint.Color;
+import org.td.model.entities.CitySnapshot;
+import org.td.model.enums.BuildingType;
+import org.td.model.enums.PowerPlantType;
+import org.td.model.enums.ResidenceLevel;
+import org.td.utils.GameConfig;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Copie compacte des emprises de bâtiments et leur tramage en tuiles
+ * Un pixel par tuile du monde, coloré selon le bâtiment qui l'occupe. Sur
+ * les très grandes villes, une tuile regroupe plusieurs cellules pour que
+ * l'image ne dépasse pas MAX_CELL_MAP_SIZE de côté.
+ * La copie est faite sur le thread JavaFX (la photographie n'est valide que
+ * le temps d'une image) ; le tramage peut ensuite tourner sur un autre thread.
+ */
+class CellRaster {
+    private static final int CELL = GameConfig.CELL_SIZE;
+
+    // Couleurs ARGB précalculées (opaques, donc identiques en prémultiplié)
+    private static final int[] RESIDENCE_ARGB = argb(ResidenceLevel.values().length,
+            i -> SpriteAtlas.getResidenceColor(ResidenceLevel.values()[i]));
+    private static final int[] PLANT_ARGB = argb(PowerPlantType.values().length,
+            i -> SpriteAtlas.getPlantColor(PowerPlantType.values()[i]));
+    private static final int[] INFRA_ARGB = argb(BuildingType.values().length,
+            i -> SpriteAtlas.getInfraColor(BuildingType.values()[i]));
+
+    private int size;
+    private int[] x = new int[0];
+    private int[] y = new int[0];
+    private int[] right = new int[0]; // Bord droit exclu (pixels du monde)
+    private int[] bottom = new int[0];
+    private int[] color = new int[0];
+
+    // Disposition de l'image
+    int columns, rows;
+    int originX, originY; // Coin haut-gauche de l'image (pixels du monde)
+    int tile = CELL; // Taille d'une tuile (pixels du monde)
+    long appearance;
+
+    /**
+     * Recopie les bâtiments de la photographie et calcule la disposition
+     */
+    void copyFrom(CitySnapshot snapshot) {
+        int n = snapshot.size();
+        if (n > x.length) {
+            int capacity = Math.max(n, x.length * 2);
+            x = new int[capacity];
+            y = new int[capacity];
+            right = new int[capacity];
+            bottom = new int[capacity];
+            color = new int[capacity];
+        }
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            x[i] = snapshot.getX(i);
+            y[i] = snapshot.getY(i);
+            right[i] = x[i] + snapshot.getWidth(i) * CELL;
+            bottom[i] = y[i] + snapshot.getHeight(i) * CELL;
+            color[i] = colorOf(snapshot, i);
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, right[i]);
+            maxY = Math.max(maxY, bottom[i]);
+        }
+        size = n;
+        appearance = snapshot.getAppearance();
+
+        if (n == 0) {
+            columns = rows = 0;
+            return;
+        }
+
+        originX = Math.floorDiv(minX, CELL) * CELL;
+        originY = Math.floorDiv(minY, CELL) * CELL;
+
+        // Regroupement des cellules si la ville est trop étendue
+        int extentCells = Math.max(maxX - originX, maxY - originY) / CELL + 1;
+        int cellsPerTile = (extentCells + GameConfig.MAX_CELL_MAP_SIZE - 1) / GameConfig.MAX_CELL_MAP_SIZE;
+        tile = CELL * Math.max(1, cellsPerTile);
+        columns = Math.max(1, (maxX - originX + tile - 1) / tile);
+        rows = Math.max(1, (maxY - originY + tile - 1) / tile);
+    }
+
+    /**
+     * Trame dans un tableau de columns x rows pixels
+     */
+    void rasterize(int[] pixels) {
+        Arrays.fill(pixels, 0, columns * rows, 0);
+        for (int i = 0; i < size; i++) {
+            int x0 = (x[i] - originX) / tile;
+            int x1 = (right[i] - 1 - originX) / tile;
+            int y0 = (y[i] - originY) / tile;
+            int y1 = (bottom[i] - 1 - originY) / tile;
+            for (int ty = y0; ty <= y1; ty++) {
+                Arrays.fill(pixels, ty * columns + x0, ty * columns + x1 + 1, color[i]);
+            }
+        }
+    }
+
+    /**
+     * Trame dans un tampon de columns x rows pixels (écritures absolues)
+     */
+    void rasterize(IntBuffer pixels) {
+        for (int p = 0, n = columns * rows; p < n; p++) {
+            pixels.put(p, 0);
+        }
+        for (int i = 0; i < size; i++) {
+            int x0 = (x[i] - originX) / tile;
+            int x1 = (right[i] - 1 - originX) / tile;
+            int y0 = (y[i] - originY) / tile;
+            int y1 = (bottom[i] - 1 - originY) / tile;
+            for (int ty = y0; ty <= y1; ty++) {
+                for (int p = ty * columns + x0, end = ty * columns + x1; p <= end; p++) {
+                    pixels.put(p, color[i]);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int colorOf(CitySnapshot snapshot, int i) {
+        return switch (snapshot.getKind(i)) {
+            case CitySnapshot.RESIDENCE -> RESIDENCE_ARGB[snapshot.getResidenceLevel(i).ordinal()];
+            case CitySnapshot.POWER_PLANT -> PLANT_ARGB[snapshot.getPlantType(i).ordinal()];
+            default -> INFRA_ARGB[snapshot.getInfrastructureType(i).ordinal()];
+        };
+    }
+
+    private static int[] argb(int count, IntFunction<Color> colors) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            Color c = colors.apply(i);
+            values[i] = ((int) Math.round(c.getOpacity() * 255) << 24)
+                    | ((int) Math.round(c.getRed() * 255) << 16)
+                    | ((int) Math.round(c.getGreen() * 255) << 8)
+                    | (int) Math.round(c.getBlue() * 255);
+        }
+        return values;
+    }
+}
@@ -4,11 +4,12 @@ import org.td.controller.*;
 import javafx.animation.AnimationTimer;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tooltip;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.StackPane;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
@@ -16,20 +17,57 @@ import org.td.model.entities.*;
 import org.td.model.enums.*;
 import org.td.utils.*;
 
+import java.util.function.IntConsumer;
+
 /**
  * Vue de la carte de la ville
- * Affiche tous les bâtiments et gère les interactions
+ * Affiche les bâtiments visibles et gère les interactions
+ * Glisser pour déplacer la vue (bouton du milieu, ou gauche hors construction),
+ * molette pour zoomer. En dessous de DETAIL_ZOOM, la carte passe en vue
+ * simplifiée (une couleur par cellule).
  */
 public class CityMapView {
+    // Polices partagées (aucune création pendant le rendu)
+    private static final Font FONT_PREVIEW_ICON = Font.font("Arial", 20);
+    private static final Font FONT_PREVIEW_LABEL = Font.font("Arial", FontWeight.BOLD, 14);
+    private static final Font FONT_DEBUG = Font.font("Arial", 12);
+
+    private static final double ZOOM_PER_WHEEL_PIXEL = 0.002;
+
     private GameController controller;
     private Canvas canvas;
     private GraphicsContext gc;
-    private ScrollPane scrollPane;
-    private StackPane container;
+    private Pane container;
 
     private Tooltip tooltip;
     private Building hoveredBuilding;
-    private int mouseGridX, mouseGridY;
+    private int mouseGridX, mouseGridY; // Cellule survolée (pixels du monde)
+
+    // Caméra et glisser-déplacer
+    private final MapCamera camera = new MapCamera();
+    private double dragX, dragY;
+    private boolean panning;
+
+    // Calques en cache (hors écran) : grille + aspect des bâtiments visibles
+    private Canvas layerCanvas;
+    private GraphicsContext layer;
+    private SpriteAtlas sprites;
+    private CellMapLayer cellMap;
+    private MapRasterizer rasterizer; // Vue simplifiée au-delà de RASTER_THRESHOLD bâtiments
+    private WritableImage staticLayer;
+    private long staticAppearance;
+    private long staticCamera = -1;
+    private long staticRebuilds;
+
+    // État de la dernière image affichée
+    private City renderedCity;
+    private long renderedVersion = -1;
+    private long renderedCamera = -1;
+    private double renderedWidth, renderedHeight;
+    private BuildingMode renderedBuildMode;
+    private Object renderedPreviewType;
+    private int renderedMouseX, renderedMouseY;
+    private boolean renderedMouseOver;
 
     public CityMapView(GameController controller) {
         this.controller = controller;
@@ -42,17 +80,19 @@ public class CityMapView {
         canvas = new Canvas(GameConfig.CANVAS_WIDTH, GameConfig.CANVAS_HEIGHT);
         gc = canvas.getGraphicsContext2D();
 
-        container = new StackPane(canvas);
-        container.setStyle("-fx-background-color: " + UIColors.toCss(UIColors.BACKGROUND_DARK) + ";");
+        layerCanvas = new Canvas(GameConfig.CANVAS_WIDTH, GameConfig.CANVAS_HEIGHT);
+        layer = layerCanvas.getGraphicsContext2D();
+        sprites = new SpriteAtlas();
+        cellMap = new CellMapLayer();
+        rasterizer = new MapRasterizer();
 
-        scrollPane = new ScrollPane(container);
-        scrollPane.setPannable(true);
-        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        // Important: Mettre le fond du ScrollPane en sombre pour éviter le blanc lors
-        // du redimensionnement
-        scrollPane.setStyle(UIStyles.SCROLLBAR + "-fx-background: " + UIColors.toCss(UIColors.BACKGROUND_DARK) + ";" +
-                "-fx-background-color: " + UIColors.toCss(UIColors.BACKGROUND_DARK) + ";");
+        // Le canevas suit la taille de la zone (hors mise en page pour ne pas l'agrandir)
+        container = new Pane(canvas);
+        container.setStyle("-fx-background-color: " + UIColors.toCss(UIColors.BACKGROUND_DARK) + ";");
+        container.setPrefSize(GameConfig.CANVAS_WIDTH, GameConfig.CANVAS_HEIGHT);
+        canvas.setManaged(false);
+        canvas.widthProperty().bind(container.widthProperty());
+        canvas.heightProperty().bind(container.heightProperty());
 
         tooltip = new Tooltip();
         tooltip.setStyle(UIStyles.TOOLTIP);
@@ -63,6 +103,9 @@ public class CityMapView {
     private void setupEventHandlers() {
         canvas.setOnMouseClicked(this::handleMouseClick);
         canvas.setOnMouseMoved(this::handleMouseMove);
+        canvas.setOnMousePressed(this::handleMousePressed);
+        canvas.setOnMouseDragged(this::handleMouseDragged);
+        canvas.setOnScroll(this::handleScroll);
 
         // Fix: Ne pas afficher l'aperçu si la souris est hors de la zone
         canvas.setOnMouseEntered(e -> isMouseOver = true);
@@ -71,7 +114,7 @@ public class CityMapView {
 
     // ... rest of event handlers ...
 
-    private void drawBuildPreview() {
+    private void drawBuildPreview(CitySnapshot snapshot) {
         // Fix: Si la souris n'est pas sur la carte, on ne dessine rien !
         if (!isMouseOver)
             return;
@@ -79,7 +122,7 @@ public class CityMapView {
         BuildingController bc = controller.getBuildingController();
 
         // Calculer si placement valide
-        boolean valid = !isOccupied(mouseGridX, mouseGridY);
+        boolean valid = !isOccupied(snapshot, mouseGridX, mouseGridY);
         Color previewColor = valid ? UIColors.withOpacity(UIColors.SUCCESS, 0.5)
                 : UIColors.withOpacity(UIColors.ERROR, 0.5);
 
@@ -107,7 +150,7 @@ public class CityMapView {
 
         // Icône / Indicateur
         gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", 20));
+        gc.setFont(FONT_PREVIEW_ICON);
         String icon = bc.getBuildMode() == BuildingMode.POWER_PLANT ? "⚡" : "🏗";
         gc.fillText(icon, mouseGridX + size / 2 - 10, mouseGridY + size / 2 + 10);
 
@@ -115,27 +158,33 @@ public class CityMapView {
         gc.setFill(Color.WHITE);
         gc.setStroke(Color.BLACK);
         gc.setLineWidth(3);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        gc.setFont(FONT_PREVIEW_LABEL);
         // Effet de contour pour lisibilité
         gc.strokeText(name, mouseGridX, mouseGridY - 10);
         gc.fillText(name, mouseGridX, mouseGridY - 10);
     }
 
     private void handleMouseClick(MouseEvent event) {
-        int x = (int) (event.getX() / GameConfig.CELL_SIZE) * GameConfig.CELL_SIZE;
-        int y = (int) (event.getY() / GameConfig.CELL_SIZE) * GameConfig.CELL_SIZE;
+        // Fin d'un glisser : pas de clic
+        if (!event.isStillSincePress()) {
+            return;
+        }
+
+        int worldX = (int) Math.floor(camera.toWorldX(event.getX()));
+        int worldY = (int) Math.floor(camera.toWorldY(event.getY()));
+        int x = Math.floorDiv(worldX, GameConfig.CELL_SIZE) * GameConfig.CELL_SIZE;
+        int y = Math.floorDiv(worldY, GameConfig.CELL_SIZE) * GameConfig.CELL_SIZE;
 
         if (event.getButton() == MouseButton.PRIMARY) {
             // Clic gauche - construire ou sélectionner
             BuildingController bc = controller.getBuildingController();
 
             if (bc.getBuildMode() != BuildingMode.NONE) {
-                // Mode construction
-                BuildResult result = bc.attemptBuild(x, y);
-                showBuildResult(result);
+                // Mode construction (résultat livré sur le thread JavaFX)
+                bc.attemptBuild(x, y).thenAccept(this::showBuildResult);
             } else {
                 // Sélectionner bâtiment
-                Building building = bc.getBuildingAt((int) event.getX(), (int) event.getY());
+                Building building = findBuildingAt(worldX, worldY);
                 if (building != null) {
                     showBuildingInfo(building);
                 }
@@ -150,12 +199,13 @@ public class CityMapView {
         // Fix: Force status à true car si la souris bouge, elle est dessus !
         isMouseOver = true;
 
-        mouseGridX = (int) (event.getX() / GameConfig.CELL_SIZE) * GameConfig.CELL_SIZE;
-        mouseGridY = (int) (event.getY() / GameConfig.CELL_SIZE) * GameConfig.CELL_SIZE;
+        int worldX = (int) Math.floor(camera.toWorldX(event.getX()));
+        int worldY = (int) Math.floor(camera.toWorldY(event.getY()));
+        mouseGridX = Math.floorDiv(worldX, GameConfig.CELL_SIZE) * GameConfig.CELL_SIZE;
+        mouseGridY = Math.floorDiv(worldY, GameConfig.CELL_SIZE) * GameConfig.CELL_SIZE;
 
         // Tooltip pour bâtiment sous la souris
-        Building building = controller.getBuildingController()
-                .getBuildingAt((int) event.getX(), (int) event.getY());
+        Building building = findBuildingAt(worldX, worldY);
 
         if (building != null && building != hoveredBuilding) {
             hoveredBuilding = building;
@@ -167,11 +217,29 @@ public class CityMapView {
         }
     }
 
-    private void startRenderLoop() {
-        // Fix: On retire le binding qui cassait le rendu
-        // canvas.widthProperty().bind(container.widthProperty());
-        // canvas.heightProperty().bind(container.heightProperty());
+    private void handleMousePressed(MouseEvent event) {
+        // Bouton du milieu, ou gauche quand aucune construction n'est en cours
+        panning = event.getButton() == MouseButton.MIDDLE
+                || (event.getButton() == MouseButton.PRIMARY
+                        && controller.getBuildingController().getBuildMode() == BuildingMode.NONE);
+        dragX = event.getX();
+        dragY = event.getY();
+    }
+
+    private void handleMouseDragged(MouseEvent event) {
+        if (!panning)
+            return;
+        camera.pan(event.getX() - dragX, event.getY() - dragY);
+        dragX = event.getX();
+        dragY = event.getY();
+    }
 
+    private void handleScroll(ScrollEvent event) {
+        camera.zoomAt(Math.exp(event.getDeltaY() * ZOOM_PER_WHEEL_PIXEL), event.getX(), event.getY());
+        event.consume();
+    }
+
+    private void startRenderLoop() {
         AnimationTimer timer = new AnimationTimer() {
             @Override
             public void handle(long now) {
@@ -183,150 +251,232 @@ public class CityMapView {
 
     /**
      * Rendu principal de la carte
+     * L'image n'est redessinée que si une nouvelle photographie a été publiée,
+     * si la caméra a bougé ou si l'aperçu de construction a changé.
+     * En vue détaillée, la grille et l'aspect des bâtiments visibles viennent
+     * d'un calque en cache ; seuls les indicateurs dynamiques sont redessinés.
+     * En vue simplifiée, toute la ville tient dans une image de cellules.
      */
     private void render() {
         try {
-            // Fond
-            gc.setFill(UIColors.BACKGROUND_DARK);
-            // On dessine le fond sur toute la taille du canvas fixe
-            gc.fillRect(0, 0, GameConfig.CANVAS_WIDTH, GameConfig.CANVAS_HEIGHT);
-
-            // Grille
-            if (GameConfig.SHOW_GRID) {
-                drawGrid();
+            City city = controller.getCity();
+            if (city == null) {
+                return;
             }
 
-            // Bâtiments
-            City city = controller.getCity();
-            if (city != null) {
-                if (city.getResidences() != null)
-                    for (Residence residence : city.getResidences()) {
-                        if (residence != null)
-                            drawResidence(residence);
-                    }
+            // Photographie publiée par la simulation, jamais les listes vivantes
+            // Acquise une seule fois par image : un second appel la rendrait au rédacteur
+            CitySnapshot snapshot = city.getSnapshot();
+            BuildingController bc = controller.getBuildingController();
+            double width = canvas.getWidth();
+            double height = canvas.getHeight();
+            boolean previewChanged = updatePreviewState(bc);
+            boolean viewChanged = camera.getVersion() != renderedCamera
+                    || width != renderedWidth || height != renderedHeight;
+            boolean rasterReady = rasterizer.poll();
+            if (city == renderedCity && snapshot.getVersion() == renderedVersion
+                    && !previewChanged && !viewChanged && !rasterReady) {
+                return; // Rien n'a changé : on garde l'image précédente
+            }
+            if (width < 1 || height < 1) {
+                return;
+            }
 
-                if (city.getPowerPlants() != null)
-                    for (PowerPlant plant : city.getPowerPlants()) {
-                        if (plant != null)
-                            drawPowerPlant(plant);
+            if (camera.isDetailed()) {
+                // Calque statique (reconstruit si l'aspect des bâtiments ou la vue change)
+                if (city != renderedCity || viewChanged || staticLayer == null
+                        || snapshot.getAppearance() != staticAppearance || camera.getVersion() != staticCamera) {
+                    rebuildStaticLayer(snapshot, width, height);
+                }
+                gc.drawImage(staticLayer, 0, 0);
+            } else {
+                gc.setFill(UIColors.BACKGROUND_DARK);
+                gc.fillRect(0, 0, width, height);
+                if (snapshot.size() >= GameConfig.RASTER_THRESHOLD) {
+                    // Ville dense : tramage en tâche de fond, image partagée sans recopie
+                    rasterizer.update(snapshot);
+                    if (!rasterizer.draw(gc, camera)) {
+                        cellMap.draw(gc, camera); // Dernière image disponible en attendant
                     }
+                } else {
+                    cellMap.update(snapshot);
+                    cellMap.draw(gc, camera);
+                }
+            }
 
-                if (city.getInfrastructures() != null)
-                    for (Infrastructure infra : city.getInfrastructures()) {
-                        if (infra != null)
-                            drawInfrastructure(infra);
+            // Indicateurs dynamiques (coordonnées du monde)
+            gc.save();
+            applyCamera(gc);
+            if (camera.isDetailed()) {
+                forEachVisible(snapshot, width, height, i -> {
+                    switch (snapshot.getKind(i)) {
+                        case CitySnapshot.RESIDENCE -> drawResidenceOverlay(snapshot, i);
+                        case CitySnapshot.POWER_PLANT -> drawPowerPlantOverlay(snapshot, i);
+                        default -> {
+                        }
                     }
+                });
             }
 
             // Aperçu construction
-            if (controller.getBuildingController().getBuildMode() != BuildingMode.NONE) {
-                drawBuildPreview();
+            if (bc.getBuildMode() != BuildingMode.NONE) {
+                drawBuildPreview(snapshot);
             }
+            gc.restore();
 
             // Debug info
             if (GameConfig.SHOW_DEBUG_INFO) {
-                drawDebugInfo();
+                drawDebugInfo(snapshot);
             }
 
+            renderedCity = city;
+            renderedVersion = snapshot.getVersion();
+            renderedCamera = camera.getVersion();
+            renderedWidth = width;
+            renderedHeight = height;
+
         } catch (Exception e) {
             e.printStackTrace();
+            renderedVersion = -1; // Réessayer à la prochaine image
             // Fallback pour ne pas écran noir total
             gc.setFill(Color.RED);
             gc.fillText("ERREUR RENDU: " + e.getMessage(), 10, 50);
         }
     }
 
-    private void drawGrid() {
-        gc.setStroke(UIColors.GRID_LINE);
-        gc.setLineWidth(1);
+    /**
+     * Passe le contexte en coordonnées du monde
+     */
+    private void applyCamera(GraphicsContext target) {
+        double zoom = camera.getZoom();
+        target.setTransform(zoom, 0, 0, zoom, -camera.getX() * zoom, -camera.getY() * zoom);
+    }
 
-        for (int x = 0; x < GameConfig.CANVAS_WIDTH; x += GameConfig.CELL_SIZE) {
-            gc.strokeLine(x, 0, x, GameConfig.CANVAS_HEIGHT);
-        }
+    /**
+     * Parcourt les bâtiments qui intersectent la vue (index spatial de la photographie)
+     */
+    private void forEachVisible(CitySnapshot snapshot, double width, double height,
+            IntConsumer action) {
+        int left = (int) Math.floor(camera.getX());
+        int top = (int) Math.floor(camera.getY());
+        int right = (int) Math.ceil(camera.toWorldX(width));
+        int bottom = (int) Math.ceil(camera.toWorldY(height));
+        // Marge d'une cellule pour les débords (fumée, halo)
+        int margin = GameConfig.CELL_SIZE;
+        snapshot.forEachInRect(left - margin, top - margin,
+                right - left + 2 * margin, bottom - top + 2 * margin, action);
+    }
 
-        for (int y = 0; y < GameConfig.CANVAS_HEIGHT; y += GameConfig.CELL_SIZE) {
-            gc.strokeLine(0, y, GameConfig.CANVAS_WIDTH, y);
+    /**
+     * Mémorise l'état de l'aperçu de construction
+     * @return true s'il a changé depuis la dernière image
+     */
+    private boolean updatePreviewState(BuildingController bc) {
+        BuildingMode mode = bc.getBuildMode();
+        Object type = mode == BuildingMode.POWER_PLANT ? bc.getSelectedPlantType() : bc.getSelectedInfraType();
+        boolean changed = mode != renderedBuildMode || type != renderedPreviewType;
+        if (mode != BuildingMode.NONE) {
+            // La souris ne compte qu'en mode construction
+            changed |= mouseGridX != renderedMouseX || mouseGridY != renderedMouseY
+                    || isMouseOver != renderedMouseOver;
         }
-    }
 
-    private void drawResidence(Residence residence) {
-        int x = residence.getX();
-        int y = residence.getY();
-        int size = GameConfig.CELL_SIZE;
+        renderedBuildMode = mode;
+        renderedPreviewType = type;
+        renderedMouseX = mouseGridX;
+        renderedMouseY = mouseGridY;
+        renderedMouseOver = isMouseOver;
+        return changed;
+    }
 
-        // Couleur selon niveau
-        Color color = switch (residence.getResidenceLevel()) {
-            case BASIC -> UIColors.RESIDENCE_BASIC;
-            case MEDIUM -> UIColors.RESIDENCE_MEDIUM;
-            case ADVANCED -> UIColors.RESIDENCE_ADVANCED;
-        };
+    /**
+     * Redessine le calque statique : fond, grille et aspect des bâtiments visibles
+     */
+    private void rebuildStaticLayer(CitySnapshot snapshot, double width, double height) {
+        if (layerCanvas.getWidth() != width || layerCanvas.getHeight() != height) {
+            layerCanvas.setWidth(width);
+            layerCanvas.setHeight(height);
+            staticLayer = null; // Nouvelle taille : nouvelle image
+        }
 
-        // Bâtiment principal
-        gc.setFill(color);
-        gc.fillRoundRect(x + 2, y + 2, size - 4, size - 4, 4, 4);
+        // Fond
+        layer.setTransform(1, 0, 0, 1, 0, 0);
+        layer.setFill(UIColors.BACKGROUND_DARK);
+        layer.fillRect(0, 0, width, height);
 
-        // Bordure
-        gc.setStroke(color.brighter());
-        gc.setLineWidth(2);
-        gc.strokeRoundRect(x + 2, y + 2, size - 4, size - 4, 4, 4);
+        layer.save();
+        applyCamera(layer);
 
-        // Indicateur électricité
-        if (!residence.hasElectricity()) {
-            gc.setFill(UIColors.ERROR);
-            gc.fillOval(x + size - 12, y + 4, 8, 8);
+        // Grille
+        if (GameConfig.SHOW_GRID) {
+            drawGrid(width, height);
         }
 
-        // Fenêtres
-        gc.setFill(Color.web("#fbbf24"));
-        int windows = residence.getLevel();
-        for (int i = 0; i < windows; i++) {
-            gc.fillRect(x + 8 + i * 8, y + 8, 4, 4);
-        }
+        forEachVisible(snapshot, width, height, i -> {
+            int x = snapshot.getX(i);
+            int y = snapshot.getY(i);
+            switch (snapshot.getKind(i)) {
+                case CitySnapshot.RESIDENCE ->
+                    sprites.drawResidence(layer, snapshot.getResidenceLevel(i), snapshot.getLevel(i), x, y);
+                case CitySnapshot.POWER_PLANT ->
+                    sprites.drawPowerPlant(layer, snapshot.getPlantType(i), snapshot.getLevel(i),
+                            snapshot.isActive(i), x, y);
+                default -> sprites.drawInfrastructure(layer, snapshot.getInfrastructureType(i), x, y);
+            }
+        });
+        layer.restore();
+
+        // L'image existante est réutilisée tant que la taille ne change pas
+        staticLayer = layerCanvas.snapshot(null, staticLayer);
+        staticAppearance = snapshot.getAppearance();
+        staticCamera = camera.getVersion();
+        staticRebuilds++;
     }
 
-    private void drawPowerPlant(PowerPlant plant) {
-        int x = plant.getX();
-        int y = plant.getY();
-        int size = GameConfig.CELL_SIZE * 2; // 80x80 pixels typically
-
-        // Couleur de base
-        Color baseColor = getPlantColor(plant);
-
-        // --- RENDU SELON TYPE ET NIVEAU ---
-        if (plant instanceof CoalPlant) {
-            drawCoalPlant(x, y, size, plant.getLevel(), baseColor);
-        } else if (plant instanceof NuclearPlant) {
-            drawNuclearPlant(x, y, size, plant.getLevel(), baseColor);
-        } else if (plant instanceof SolarPlant) {
-            drawSolarPlant(x, y, size, plant.getLevel(), baseColor);
-        } else if (plant instanceof WindTurbine) {
-            drawWindTurbine(x, y, size, plant.getLevel(), baseColor);
-        } else {
-            // Fallback générique
-            gc.setFill(baseColor);
-            gc.fillRoundRect(x + 5, y + 5, size - 10, size - 10, 10, 10);
+    /**
+     * Lignes de la grille visibles (coordonnées du monde)
+     */
+    private void drawGrid(double width, double height) {
+        int cell = GameConfig.CELL_SIZE;
+        double left = camera.getX();
+        double top = camera.getY();
+        double right = camera.toWorldX(width);
+        double bottom = camera.toWorldY(height);
+
+        layer.setStroke(UIColors.GRID_LINE);
+        layer.setLineWidth(1 / camera.getZoom());
+
+        for (double x = Math.floor(left / cell) * cell; x <= right; x += cell) {
+            layer.strokeLine(x, top, x, bottom);
         }
 
-        // --- INDICATEURS COMMUNS (Overlay) ---
+        for (double y = Math.floor(top / cell) * cell; y <= bottom; y += cell) {
+            layer.strokeLine(left, y, right, y);
+        }
+    }
 
-        // Effet "Actif" (Bordure brillante)
-        if (plant.isActive()) {
-            gc.setStroke(Color.WHITE);
-            gc.setLineWidth(1);
-            gc.strokeRoundRect(x + 4, y + 4, size - 8, size - 8, 10, 10);
+    /**
+     * Indicateurs dynamiques d'une habitation (dessinés à chaque image)
+     */
+    private void drawResidenceOverlay(CitySnapshot snapshot, int i) {
+        // Indicateur électricité
+        if (!snapshot.hasElectricity(i)) {
+            int size = GameConfig.CELL_SIZE;
+            gc.setFill(UIColors.ERROR);
+            gc.fillOval(snapshot.getX(i) + size - 12, snapshot.getY(i) + 4, 8, 8);
         }
+    }
 
-        // Badge Niveau
-        gc.setFill(Color.BLACK); // Fond noir
-        gc.fillOval(x + size - 25, y + size - 25, 20, 20);
-        gc.setStroke(Color.WHITE);
-        gc.strokeOval(x + size - 25, y + size - 25, 20, 20);
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        gc.fillText(String.valueOf(plant.getLevel()), x + size - 18, y + size - 10);
+    /**
+     * Indicateurs dynamiques d'une centrale (dessinés à chaque image)
+     */
+    private void drawPowerPlantOverlay(CitySnapshot snapshot, int i) {
+        int x = snapshot.getX(i);
+        int y = snapshot.getY(i);
+        int size = GameConfig.CELL_SIZE * 2;
 
         // Barre d'Efficacité (fine en bas)
-        double efficiency = plant.getEfficiency();
+        double efficiency = snapshot.getEfficiency(i);
         Color barColor = efficiency > 0.8 ? UIColors.SUCCESS : efficiency > 0.4 ? UIColors.WARNING : UIColors.ERROR;
         gc.setFill(Color.rgb(50, 50, 50));
         gc.fillRect(x + 10, y + size - 8, size - 20, 4); // Fond barre
@@ -334,204 +484,34 @@ public class CityMapView {
         gc.fillRect(x + 10, y + size - 8, (size - 20) * efficiency, 4);
 
         // Alerte Maintenance
-        if (plant.needsMaintenance()) {
+        if (snapshot.needsMaintenance(i)) {
             gc.setFill(UIColors.ERROR); // Rouge clignotant idéalement
             gc.fillOval(x + size - 20, y + 4, 16, 16);
             gc.setFill(Color.WHITE);
-            gc.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+            gc.setFont(SpriteAtlas.FONT_BADGE);
             gc.fillText("!", x + size - 15, y + 16);
         }
     }
 
-    // --- DESSIN CHARBON (Usine) ---
-    private void drawCoalPlant(int x, int y, int size, int level, Color color) {
-        // Corps principal
-        gc.setFill(color.darker());
-        gc.fillRect(x + 10, y + size / 2, size - 20, size / 2 - 10);
-
-        // Toit en dents de scie (Factory roof)
-        gc.setFill(color.brighter());
-        double[] xPoints = { x + 10, x + 10, x + 30, x + 30, x + 50, x + 50, x + size - 10, x + size - 10 };
-        double[] yPoints = { y + size / 2, y + size / 2 - 10, y + size / 2, y + size / 2 - 10, y + size / 2,
-                y + size / 2 - 10, y + size / 2, y + size / 2 };
-        gc.fillPolygon(xPoints, yPoints, 8);
-
-        // Cheminées
-        gc.setFill(Color.rgb(60, 60, 60)); // Gris foncé
-        // Cheminée 1 (toujours là)
-        gc.fillRect(x + 15, y + 15, 10, size / 2);
-        // Fumée 1
-        if (level >= 1)
-            drawSmoke(x + 20, y + 10);
-
-        if (level >= 2) {
-            // Cheminée 2
-            gc.fillRect(x + 35, y + 10, 12, size / 2 + 5);
-            drawSmoke(x + 41, y + 5);
-        }
-        if (level >= 3) {
-            // Gros réservoir ou 3ème cheminée
-            gc.setFill(Color.rgb(40, 40, 40));
-            gc.fillRect(x + 55, y + 25, 15, size / 2 - 10);
-        }
-    }
-
-    private void drawSmoke(int hx, int hy) {
-        gc.setFill(Color.rgb(200, 200, 200, 0.6));
-        gc.fillOval(hx - 5, hy - 10, 10, 10);
-        gc.fillOval(hx + 2, hy - 15, 8, 8);
-    }
-
-    // --- DESSIN NUCLEAIRE (Réacteur + Tours) ---
-    private void drawNuclearPlant(int x, int y, int size, int level, Color color) {
-        // Sol bétonné
-        gc.setFill(Color.GRAY);
-        gc.fillRoundRect(x + 5, y + 5, size - 10, size - 10, 10, 10);
-
-        // Réacteur (Dôme)
-        gc.setFill(Color.WHITE);
-        gc.fillOval(x + size / 2 - 15, y + size / 2, 30, 25);
-
-        // Tour de refroidissement 1 (Forme hyperbolique simplifiée par trapeze)
-        gc.setFill(Color.web("#e5e7eb")); // Gris très clair
-        double[] xTower1 = { x + 10, x + 20, x + 30, x + 40 };
-        double[] yTower1 = { y + size - 10, y + 20, y + 20, y + size - 10 };
-        gc.fillPolygon(xTower1, yTower1, 4);
-
-        // Cercle rouge sur la tour (classique)
-        gc.setStroke(UIColors.ERROR);
-        gc.strokeOval(x + 15, y + 30, 10, 5);
-
-        if (level >= 2) {
-            // Tour 2
-            double[] xTower2 = { x + 50, x + 60, x + 70, x + 80 };
-            double[] yTower2 = { y + size - 10, y + 30, y + 30, y + size - 10 };
-            gc.fillPolygon(xTower2, yTower2, 4);
-        }
-
-        if (level >= 3) {
-            // Glow bleu (Radiation/Energie)
-            gc.setEffect(new javafx.scene.effect.DropShadow(20, Color.CYAN));
-            gc.setFill(Color.CYAN);
-            gc.fillOval(x + size / 2 - 5, y + size / 2 + 10, 10, 10);
-            gc.setEffect(null); // Reset shadow
-        }
-    }
-
-    // --- DESSIN SOLAIRE (Panneaux) ---
-    private void drawSolarPlant(int x, int y, int size, int level, Color color) {
-        // Sol terre/sable
-        gc.setFill(Color.web("#d97706")); // Orange/Marron
-        gc.fillRect(x + 5, y + 5, size - 10, size - 10);
-
-        gc.setFill(Color.web("#0ea5e9")); // Bleu panneau
-        gc.setStroke(Color.WHITE);
-        gc.setLineWidth(1);
-
-        int rows = (level == 1) ? 2 : (level == 2) ? 3 : 4;
-        int cols = (level == 1) ? 2 : 3;
-
-        double panelW = (double) (size - 20) / cols;
-        double panelH = (double) (size - 20) / rows;
-
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                double px = x + 10 + c * panelW;
-                double py = y + 10 + r * panelH;
-                // Panneau légèrement incliné (trapèze ?) ou rect simple
-                gc.fillRect(px + 2, py + 2, panelW - 4, panelH - 4);
-                gc.strokeRect(px + 2, py + 2, panelW - 4, panelH - 4);
-            }
-        }
-    }
-
-    // --- DESSIN EOLIEN (Turbines) ---
-    private void drawWindTurbine(int x, int y, int size, int level, Color color) {
-        // Sol herbe
-        gc.setFill(Color.web("#10b981"));
-        gc.fillRect(x + 5, y + 5, size - 10, size - 10);
-
-        int numTurbines = level; // 1, 2 ou 3 éoliennes
-
-        for (int i = 0; i < numTurbines; i++) {
-            // Position décalée
-            int tx = x + size / 2 + (i == 1 ? -15 : (i == 2 ? 15 : 0));
-            int ty = y + size - 10 - (i == 2 ? -5 : 0);
-            drawSingleTurbine(tx, ty, 40);
-        }
-    }
-
-    private void drawSingleTurbine(int x, int y, int height) {
-        // Mât
-        gc.setStroke(Color.WHITE);
-        gc.setLineWidth(3);
-        gc.strokeLine(x, y, x, y - height);
-
-        // Rotor (Centre)
-        gc.setFill(Color.RED);
-        gc.fillOval(x - 2, y - height - 2, 4, 4);
-
-        // Pales (Simple croix pour l'instant - animation possible plus tard)
-        gc.setStroke(Color.WHITE);
-        gc.setLineWidth(1);
-        gc.strokeLine(x, y - height, x - 10, y - height - 10);
-        gc.strokeLine(x, y - height, x + 10, y - height - 10);
-    }
-
-    private Color getPlantColor(PowerPlant plant) {
-        return switch (plant.getPlantType()) {
-            case COAL -> UIColors.PLANT_COAL;
-            case SOLAR -> UIColors.PLANT_SOLAR;
-            case WIND -> UIColors.PLANT_WIND;
-            case NUCLEAR -> UIColors.PLANT_NUCLEAR;
-            case HYDRO -> Color.BLUE;
-            case GEOTHERMAL -> Color.RED;
-        };
-    }
-
-    // Supprimé getPlantIcon car on dessine nous-même maintenant
-
-    private void drawInfrastructure(Infrastructure infra) {
-        int x = infra.getX();
-        int y = infra.getY();
-        int width = infra.getWidth() * GameConfig.CELL_SIZE;
-        int height = infra.getHeight() * GameConfig.CELL_SIZE;
-
-        Color color = getInfraColor(infra.getInfrastructureType());
-
-        gc.setFill(color);
-        gc.fillRoundRect(x + 2, y + 2, width - 4, height - 4, 6, 6);
-
-        gc.setStroke(color.brighter());
-        gc.setLineWidth(2);
-        gc.strokeRoundRect(x + 2, y + 2, width - 4, height - 4, 6, 6);
-
-        // Icône
+    private void drawDebugInfo(CitySnapshot snapshot) {
         gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", 24));
-        gc.fillText(infra.getInfrastructureType().getIcon(), x + 10, y + 30);
+        gc.setFont(FONT_DEBUG);
+        gc.fillText(String.format("FPS: 60 | Buildings: %d | Calque: %d | Trames: %d | Zoom: %.2f",
+                snapshot.size(), staticRebuilds,
+                rasterizer.getRasterizedCount(), camera.getZoom()), 10, 20);
     }
 
-    private void drawDebugInfo() {
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", 12));
-        gc.fillText("FPS: 60 | Buildings: " +
-                controller.getBuildingController().getAllBuildings().size(), 10, 20);
-    }
-
-    private Color getInfraColor(BuildingType type) {
-        return switch (type.getCategory().getDisplayName()) {
-            case "Commercial" -> UIColors.INFRA_COMMERCIAL;
-            case "Divertissement" -> UIColors.INFRA_ENTERTAINMENT;
-            case "Espace Vert" -> UIColors.INFRA_PARK;
-            case "Service Public" -> UIColors.INFRA_PUBLIC;
-            case "Sécurité" -> UIColors.INFRA_SECURITY;
-            default -> UIColors.PRIMARY;
-        };
+    private boolean isOccupied(CitySnapshot snapshot, int x, int y) {
+        return snapshot.findAt(x + 10, y + 10) >= 0;
     }
 
-    private boolean isOccupied(int x, int y) {
-        return controller.getBuildingController().getBuildingAt(x + 10, y + 10) != null;
+    /**
+     * Bâtiment sous le point, d'après la dernière photographie
+     */
+    private Building findBuildingAt(int x, int y) {
+        CitySnapshot snapshot = controller.getCity().getSnapshot();
+        int index = snapshot.findAt(x, y);
+        return index >= 0 ? snapshot.getBuilding(index) : null;
     }
 
     private void showBuildResult(BuildResult result) {
@@ -548,7 +528,7 @@ public class CityMapView {
         BuildingUpgradeDialog.show(building, controller);
     }
 
-    public ScrollPane getView() {
-        return scrollPane;
+    public Pane getView() {
+        return container;
     }
 }
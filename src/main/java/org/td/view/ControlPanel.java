@@ -1,15 +1,21 @@
 package org.td.view;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import org.td.controller.GameController;
 import org.td.model.entities.City;
+import org.td.model.entities.CitySnapshot;
 import org.td.model.enums.GameSpeed;
+import org.td.model.simulation.BuildAdvisor;
+import org.td.utils.GameConfig;
 import org.td.utils.UIColors;
 import org.td.utils.UIStyles;
 
+import java.util.List;
+
 public class ControlPanel {
     private GameController gameController;
     private CityMapView cityMapView;
@@ -105,6 +111,11 @@ public class ControlPanel {
         maintenanceBtn.setStyle(UIStyles.BUTTON_SUCCESS);
         maintenanceBtn.setOnAction(e -> gameController.performGlobalMaintenance());
 
+        // Bouton Conseiller
+        Button adviseBtn = new Button("🧭 Conseiller");
+        adviseBtn.setStyle(UIStyles.BUTTON_PRIMARY);
+        adviseBtn.setOnAction(e -> showAdvice(adviseBtn));
+
         // Bouton Statistiques
         Button statsBtn = new Button("📊 Stats");
         statsBtn.setStyle(UIStyles.BUTTON_PRIMARY);
@@ -120,7 +131,7 @@ public class ControlPanel {
         menuBtn.setStyle(UIStyles.BUTTON_PRIMARY);
         menuBtn.setOnAction(e -> showMenu());
 
-        buttonsBox.getChildren().addAll(maintenanceBtn, statsBtn, saveBtn, menuBtn);
+        buttonsBox.getChildren().addAll(maintenanceBtn, adviseBtn, statsBtn, saveBtn, menuBtn);
 
         section.getChildren().add(buttonsBox);
         return section;
@@ -154,18 +165,21 @@ public class ControlPanel {
         grid.setPadding(new Insets(20));
         grid.setStyle("-fx-background-color: " + UIColors.toCss(UIColors.BACKGROUND_DARK) + ";");
 
+        // Une seule photographie pour tout le rapport (un second appel la rendrait au rédacteur)
+        CitySnapshot snapshot = gameController.getCity().getSnapshot();
+
         // Colonne Gauche
         VBox leftColumn = new VBox(15);
         leftColumn.getChildren().addAll(
                 createCitySummarySection(),
-                createDemographicsSection(),
-                createMonthlyRevenueSection());
+                createDemographicsSection(snapshot),
+                createMonthlyRevenueSection(snapshot));
 
         // Colonne Droite
         VBox rightColumn = new VBox(15);
         rightColumn.getChildren().addAll(
-                createEnergySection(),
-                createBuildingsSection(),
+                createEnergySection(snapshot),
+                createBuildingsSection(snapshot),
                 createGameStatsSection());
 
         grid.add(leftColumn, 0, 0);
@@ -184,9 +198,9 @@ public class ControlPanel {
                         gameController.getCity().getHappiness()));
     }
 
-    private VBox createDemographicsSection() {
+    private VBox createDemographicsSection(CitySnapshot snapshot) {
         City city = gameController.getCity();
-        long residences = city.getResidences().size();
+        long residences = snapshot.getResidenceCount();
         return createSection("Démographie",
                 String.format("Résidences: %d\nCroissance: %s\nDensité moyenne: %.1f hab/résidence",
                         residences,
@@ -194,11 +208,11 @@ public class ControlPanel {
                         residences > 0 ? (double) city.getPopulation() / residences : 0));
     }
 
-    private VBox createMonthlyRevenueSection() {
+    private VBox createMonthlyRevenueSection(CitySnapshot snapshot) {
         City city = gameController.getCity();
         // Calculate monthly bill revenue (residents pay bills)
         double monthlyRevenue = city.getPopulation() * 50; // 50 coins per resident per month
-        double estimatedMaintenance = (city.getPowerPlants().size() * 100 + city.getInfrastructures().size() * 50)
+        double estimatedMaintenance = (snapshot.getPowerPlantCount() * 100 + snapshot.getInfrastructureCount() * 50)
                 * 720;
         return createSection("Revenus Mensuels",
                 String.format(
@@ -208,7 +222,7 @@ public class ControlPanel {
                         monthlyRevenue - estimatedMaintenance));
     }
 
-    private VBox createEnergySection() {
+    private VBox createEnergySection(CitySnapshot snapshot) {
         City city = gameController.getCity();
         double ratio = city.getTotalEnergyDemand() > 0 ? city.getTotalEnergyProduction() / city.getTotalEnergyDemand()
                 : 1.0;
@@ -218,18 +232,17 @@ public class ControlPanel {
                         city.getTotalEnergyProduction(),
                         city.getTotalEnergyDemand(),
                         city.getEnergyBalance(),
-                        city.getPowerPlants().size(),
+                        snapshot.getPowerPlantCount(),
                         ratio * 100));
     }
 
-    private VBox createBuildingsSection() {
-        City city = gameController.getCity();
+    private VBox createBuildingsSection(CitySnapshot snapshot) {
         return createSection("Bâtiments",
                 String.format("Résidences: %d\nCentrales: %d\nInfrastructures: %d\nTotal: %d",
-                        city.getResidences().size(),
-                        city.getPowerPlants().size(),
-                        city.getInfrastructures().size(),
-                        city.getResidences().size() + city.getPowerPlants().size() + city.getInfrastructures().size()));
+                        snapshot.getResidenceCount(),
+                        snapshot.getPowerPlantCount(),
+                        snapshot.getInfrastructureCount(),
+                        snapshot.size()));
     }
 
     private VBox createGameStatsSection() {
@@ -257,8 +270,40 @@ public class ControlPanel {
         return box;
     }
 
+    private void showAdvice(Button adviseBtn) {
+        adviseBtn.setDisable(true);
+        adviseBtn.setText("🧭 Simulation...");
+        gameController.adviseBuild().whenComplete((ranking, error) -> Platform.runLater(() -> {
+            adviseBtn.setDisable(false);
+            adviseBtn.setText("🧭 Conseiller");
+            if (error == null && !ranking.isEmpty()) {
+                showAdviceDialog(ranking);
+            }
+        }));
+    }
+
+    private void showAdviceDialog(List<BuildAdvisor.Recommendation> ranking) {
+        ListView<BuildAdvisor.Recommendation> list = new ListView<>();
+        list.getItems().addAll(ranking);
+        list.getSelectionModel().selectFirst();
+        list.setPrefSize(560, 300);
+
+        ButtonType apply = new ButtonType("Appliquer", ButtonBar.ButtonData.OK_DONE);
+        Dialog<BuildAdvisor.Recommendation> dialog = new Dialog<>();
+        dialog.setTitle("Conseiller");
+        dialog.setHeaderText(String.format("Actions classées sur %d jours simulés",
+                GameConfig.ADVISOR_HORIZON_DAYS));
+        dialog.getDialogPane().setContent(list);
+        dialog.getDialogPane().getButtonTypes().addAll(apply, ButtonType.CLOSE);
+        dialog.setResultConverter(button -> button == apply ? list.getSelectionModel().getSelectedItem() : null);
+
+        dialog.showAndWait()
+                .filter(choice -> choice.command != null)
+                .ifPresent(choice -> gameController.execute(choice.command));
+    }
+
     private void saveGame() {
-        System.out.println("Sauvegarde...");
+        SaveSlotDialog.chooseSlot().ifPresent(file -> gameController.saveGame(file.toString()));
     }
 
     private void showMenu() {
@@ -6,6 +6,7 @@ import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+import org.td.model.GameState;
 import org.td.model.enums.EventType;
 import org.td.utils.*;
 
@@ -17,6 +18,7 @@ public class MainView extends Application {
 
     private GameController gameController;
     private Stage primaryStage;
+    private final GameState loadedState; // null : nouvelle partie
 
     // Composants de l'interface
     private CityMapView cityMapView;
@@ -25,12 +27,25 @@ public class MainView extends Application {
     private BuildingListPanel buildingListPanel;
     private NotificationPanel notificationPanel;
 
+    public MainView() {
+        this(null);
+    }
+
+    /**
+     * Vue d'une partie chargée
+     */
+    public MainView(GameState loadedState) {
+        this.loadedState = loadedState;
+    }
+
     @Override
     public void start(Stage stage) {
         this.primaryStage = stage;
 
-        // Créer nouveau jeu
-        gameController = new GameController("ÉnergiVille", "Joueur", 2);
+        // Créer nouveau jeu (ou reprendre la partie chargée)
+        gameController = loadedState != null
+                ? new GameController(loadedState)
+                : new GameController("ÉnergiVille", "Joueur", 2);
 
         // Initialiser l'interface
         BorderPane root = createMainLayout();
@@ -127,13 +142,24 @@ public class MainView extends Application {
 
     /**
      * Sauvegarde et quitte
+     * La partie est déjà journalisée en continu : il suffit de fermer le
+     * journal, en temps constant quelle que soit la taille de la ville.
      */
     private void saveAndQuit() {
-        String filename = GameConfig.SAVE_DIRECTORY + "autosave" + GameConfig.SAVE_EXTENSION;
-        if (gameController.saveGame(filename)) {
-            System.out.println("Partie sauvegardée avec succès");
-            System.exit(0);
-        }
+        gameController.closeJournal().thenAccept(closed -> {
+            if (closed) {
+                System.out.println("Partie sauvegardée avec succès");
+                System.exit(0);
+            }
+            // Pas de journal : sauvegarde complète classique
+            String filename = GameConfig.SAVE_DIRECTORY + "autosave" + GameConfig.SAVE_EXTENSION;
+            gameController.saveGame(filename).thenAccept(saved -> {
+                if (saved) {
+                    System.out.println("Partie sauvegardée avec succès");
+                    System.exit(0);
+                }
+            });
+        });
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,73 @@
+package org.td.view;
+
+import org.td.utils.GameConfig;
+
+/**
+ * Caméra de la carte : position du coin haut-gauche (pixels du monde) et zoom
+ * Les coordonnées écran s'obtiennent par (monde - position) * zoom.
+ */
+public class MapCamera {
+    private double x;
+    private double y;
+    private double zoom = 1.0;
+    private long version; // Incrémenté à chaque déplacement ou zoom
+
+    /**
+     * Déplace la vue d'un décalage exprimé en pixels écran
+     */
+    public void pan(double screenDx, double screenDy) {
+        if (screenDx == 0 && screenDy == 0)
+            return;
+        x -= screenDx / zoom;
+        y -= screenDy / zoom;
+        version++;
+    }
+
+    /**
+     * Zoome en gardant fixe le point du monde sous (screenX, screenY)
+     */
+    public void zoomAt(double factor, double screenX, double screenY) {
+        double newZoom = Math.max(GameConfig.MIN_ZOOM, Math.min(GameConfig.MAX_ZOOM, zoom * factor));
+        if (newZoom == zoom)
+            return;
+        double worldX = toWorldX(screenX);
+        double worldY = toWorldY(screenY);
+        zoom = newZoom;
+        x = worldX - screenX / zoom;
+        y = worldY - screenY / zoom;
+        version++;
+    }
+
+    public double toWorldX(double screenX) {
+        return x + screenX / zoom;
+    }
+
+    public double toWorldY(double screenY) {
+        return y + screenY / zoom;
+    }
+
+    /**
+     * Vrai si la carte est assez grande pour afficher le détail des bâtiments
+     */
+    public boolean isDetailed() {
+        return zoom >= GameConfig.DETAIL_ZOOM;
+    }
+
+    // === GETTERS ===
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
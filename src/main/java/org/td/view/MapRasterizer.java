@@ -0,0 +1,120 @@
+package org.td.view;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.td.model.entities.CitySnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Vue simplifiée des très grandes villes, tramée hors du thread JavaFX
+ * Les tuiles sont écrites dans un IntBuffer direct partagé avec JavaFX via
+ * PixelBuffer : aucune recopie des pixels côté Java. Deux surfaces
+ * alternent : l'une est affichée pendant que l'autre est tramée par un
+ * thread dédié, puis elles sont échangées.
+ * Toutes les méthodes publiques sont à appeler depuis le thread JavaFX.
+ */
+public class MapRasterizer {
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MapRasterizer-Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Surface[] surfaces = { new Surface(), new Surface() };
+    private Surface front; // Affichée
+    private Surface pending; // En cours de tramage
+    private volatile boolean pendingReady; // Écrit par le thread de tramage
+    private Surface retired; // Ancienne surface affichée, réutilisable à l'image suivante
+    private long rasterized;
+
+    /**
+     * Affiche la surface tramée si elle est prête
+     * @return true si une nouvelle image est disponible
+     */
+    public boolean poll() {
+        if (pending == null || !pendingReady)
+            return false;
+
+        // Tout le tampon a changé : JavaFX le relira au prochain rendu
+        pending.pixels.updateBuffer(buffer -> null);
+        retired = front;
+        front = pending;
+        pending = null;
+        pendingReady = false;
+        rasterized++;
+        return true;
+    }
+
+    /**
+     * Lance le tramage de la photographie si l'aspect des bâtiments a changé
+     * Un seul tramage à la fois ; les changements suivants attendent la fin.
+     */
+    public void update(CitySnapshot snapshot) {
+        if (pending != null)
+            return;
+        if (front != null && front.raster.appearance == snapshot.getAppearance())
+            return;
+        if (retired != null) {
+            // La surface vient d'être retirée de l'écran : on attend une image
+            retired = null;
+            return;
+        }
+
+        Surface target = surfaces[0] == front ? surfaces[1] : surfaces[0];
+        target.raster.copyFrom(snapshot); // La photographie n'est valide que sur ce thread
+        target.ensureSize(Math.max(1, target.raster.columns), Math.max(1, target.raster.rows));
+
+        pending = target;
+        worker.execute(() -> {
+            target.raster.rasterize(target.buffer);
+            pendingReady = true;
+        });
+    }
+
+    /**
+     * Dessine la dernière surface tramée à l'échelle de la caméra
+     * @return false si aucune image n'est encore disponible
+     */
+    public boolean draw(GraphicsContext gc, MapCamera camera) {
+        if (front == null)
+            return false;
+        if (front.raster.size() > 0) {
+            CellMapLayer.drawTiles(gc, camera, front.image, front.raster);
+        }
+        return true;
+    }
+
+    /**
+     * Nombre d'images tramées (débogage)
+     */
+    public long getRasterizedCount() {
+        return rasterized;
+    }
+
+    /**
+     * Tampon de pixels partagé avec une image JavaFX
+     */
+    private static final class Surface {
+        final CellRaster raster = new CellRaster();
+        IntBuffer buffer;
+        PixelBuffer<IntBuffer> pixels;
+        WritableImage image;
+
+        void ensureSize(int columns, int rows) {
+            if (pixels != null && pixels.getWidth() == columns && pixels.getHeight() == rows)
+                return;
+            buffer = ByteBuffer.allocateDirect(columns * rows * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+            pixels = new PixelBuffer<>(columns, rows, buffer, PixelFormat.getIntArgbPreInstance());
+            image = new WritableImage(pixels);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package org.td.view;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import org.td.model.persistence.GameJournal;
+import org.td.model.persistence.SaveCatalog;
+import org.td.model.persistence.SaveSummary;
+import org.td.utils.GameConfig;
+import org.td.utils.UIColors;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Choix d'une sauvegarde (chargement) ou d'un emplacement (sauvegarde)
+ * La liste vient du catalogue : seuls les en-têtes sont lus, jamais les parties.
+ */
+public class SaveSlotDialog {
+
+    private static final int THUMBNAIL_PIXELS = 2; // Taille d'une case de la vignette
+    private static final DateTimeFormatter GAME_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final DateTimeFormatter SAVED_AT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * Sauvegarde à charger ; la partie en sauvegarde continue est proposée en tête
+     * @return l'entrée choisie (fichier du dossier de reprise pour la partie continue)
+     */
+    public static Optional<SaveCatalog.Entry> chooseSave() {
+        List<SaveCatalog.Entry> entries = new ArrayList<>();
+        SaveCatalog.Entry autosave = findAutosave();
+        if (autosave != null)
+            entries.add(autosave);
+        entries.addAll(scan());
+
+        if (entries.isEmpty()) {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Charger une Partie");
+            alert.setHeaderText("Aucune sauvegarde trouvée");
+            alert.setContentText("Les parties sauvegardées apparaîtront ici.");
+            alert.showAndWait();
+            return Optional.empty();
+        }
+        return show("Charger une Partie", "Choisissez une sauvegarde", entries, autosave, "Charger");
+    }
+
+    /**
+     * Emplacement où sauvegarder : emplacements existants puis premier libre
+     */
+    public static Optional<Path> chooseSlot() {
+        List<SaveCatalog.Entry> existing = scan();
+        List<SaveCatalog.Entry> slots = new ArrayList<>();
+        Path directory = Path.of(GameConfig.SAVE_DIRECTORY);
+        for (int slot = 1; slot <= GameConfig.MAX_SAVE_SLOTS; slot++) {
+            Path file = directory.resolve(slotName(slot));
+            SaveCatalog.Entry found = existing.stream()
+                    .filter(entry -> entry.getName().equals(file.getFileName().toString()))
+                    .findFirst()
+                    .orElse(new SaveCatalog.Entry(file, 0, 0, null));
+            slots.add(found);
+        }
+        return show("Sauvegarder", "Choisissez un emplacement", slots, null, "Sauvegarder")
+                .map(entry -> entry.file);
+    }
+
+    public static String slotName(int slot) {
+        return "slot-" + slot + GameConfig.SAVE_EXTENSION;
+    }
+
+    private static List<SaveCatalog.Entry> scan() {
+        long start = System.nanoTime();
+        try {
+            List<SaveCatalog.Entry> entries = new SaveCatalog(Path.of(GameConfig.SAVE_DIRECTORY),
+                    GameConfig.SAVE_EXTENSION).scan();
+            System.out.printf("📂 %d sauvegarde(s) listée(s) en %.1f ms%n", entries.size(),
+                    (System.nanoTime() - start) / 1e6);
+            return entries;
+        } catch (IOException e) {
+            System.err.println("⚠️ Liste des sauvegardes indisponible: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Partie en sauvegarde continue (aperçu de son dernier instantané)
+     */
+    private static SaveCatalog.Entry findAutosave() {
+        try {
+            Path snapshot = GameJournal.latestSnapshot(Path.of(GameConfig.JOURNAL_DIRECTORY));
+            if (snapshot == null)
+                return null;
+            return new SaveCatalog.Entry(snapshot, Files.size(snapshot),
+                    Files.getLastModifiedTime(snapshot).toMillis(), SaveSummary.readFrom(snapshot));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Optional<SaveCatalog.Entry> show(String title, String header,
+            List<SaveCatalog.Entry> entries, SaveCatalog.Entry autosave, String action) {
+        Dialog<SaveCatalog.Entry> dialog = new Dialog<>();
+        dialog.setTitle(title);
+        dialog.setHeaderText(header);
+
+        ListView<SaveCatalog.Entry> list = new ListView<>();
+        list.getItems().setAll(entries);
+        list.setCellFactory(view -> new SlotCell(autosave));
+        list.setPrefSize(480, 420);
+        list.getSelectionModel().selectFirst();
+        list.setStyle("-fx-background-color: " + UIColors.toCss(UIColors.BACKGROUND_DARK) + ";");
+
+        ButtonType confirm = new ButtonType(action, ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(confirm, ButtonType.CANCEL);
+        dialog.getDialogPane().setContent(list);
+        dialog.getDialogPane().lookupButton(confirm).disableProperty()
+                .bind(list.getSelectionModel().selectedItemProperty().isNull());
+        dialog.setResultConverter(button -> button == confirm
+                ? list.getSelectionModel().getSelectedItem()
+                : null);
+        list.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && list.getSelectionModel().getSelectedItem() != null) {
+                dialog.setResult(list.getSelectionModel().getSelectedItem());
+                dialog.close();
+            }
+        });
+        return dialog.showAndWait();
+    }
+
+    /**
+     * Ligne de la liste : vignette + résumé (cellule réutilisée)
+     */
+    private static final class SlotCell extends ListCell<SaveCatalog.Entry> {
+        private final SaveCatalog.Entry autosave;
+        private final Canvas thumbnail = new Canvas(SaveSummary.THUMBNAIL_SIZE * THUMBNAIL_PIXELS,
+                SaveSummary.THUMBNAIL_SIZE * THUMBNAIL_PIXELS);
+        private final Label title = new Label();
+        private final Label details = new Label();
+        private final Label dates = new Label();
+        private final HBox content;
+
+        SlotCell(SaveCatalog.Entry autosave) {
+            this.autosave = autosave;
+            title.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: "
+                    + UIColors.toCss(UIColors.TEXT_PRIMARY) + ";");
+            details.setStyle("-fx-text-fill: " + UIColors.toCss(UIColors.TEXT_SECONDARY) + ";");
+            dates.setStyle("-fx-font-size: 11px; -fx-text-fill: " + UIColors.toCss(UIColors.TEXT_DISABLED) + ";");
+            VBox text = new VBox(3, title, details, dates);
+            content = new HBox(12, thumbnail, text);
+            content.setAlignment(Pos.CENTER_LEFT);
+            content.setPadding(new Insets(4));
+        }
+
+        @Override
+        protected void updateItem(SaveCatalog.Entry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null) {
+                setGraphic(null);
+                return;
+            }
+
+            SaveSummary summary = entry.summary;
+            String name = entry == autosave ? "♻️ Reprendre la partie en cours" : "💾 " + entry.getName();
+            if (summary == null) {
+                title.setText(name);
+                details.setText(entry.size == 0 ? "Emplacement libre" : "Sauvegarde sans aperçu");
+                dates.setText(entry.lastModified > 0
+                        ? "Sauvegardé le " + SAVED_AT.format(Instant.ofEpochMilli(entry.lastModified))
+                        : "");
+            } else {
+                title.setText(name + " — " + summary.cityName);
+                details.setText(String.format("Niveau %d · %d hab. · %.0f € · %.0f%% bonheur · %d bâtiments",
+                        summary.level, summary.population, summary.money, summary.happiness,
+                        summary.buildingCount));
+                dates.setText("Jeu : " + GAME_DATE.format(summary.gameTime) + " · Sauvegardé le "
+                        + SAVED_AT.format(Instant.ofEpochMilli(summary.savedAtMillis))
+                        + " · " + summary.playerName);
+            }
+            drawThumbnail(summary);
+            setGraphic(content);
+        }
+
+        private void drawThumbnail(SaveSummary summary) {
+            GraphicsContext gc = thumbnail.getGraphicsContext2D();
+            gc.setFill(UIColors.BACKGROUND_MEDIUM);
+            gc.fillRect(0, 0, thumbnail.getWidth(), thumbnail.getHeight());
+            if (summary == null)
+                return;
+            for (int row = 0; row < SaveSummary.THUMBNAIL_SIZE; row++) {
+                for (int column = 0; column < SaveSummary.THUMBNAIL_SIZE; column++) {
+                    Color color = colorOf(summary.getCell(column, row));
+                    if (color != null) {
+                        gc.setFill(color);
+                        gc.fillRect(column * THUMBNAIL_PIXELS, row * THUMBNAIL_PIXELS,
+                                THUMBNAIL_PIXELS, THUMBNAIL_PIXELS);
+                    }
+                }
+            }
+        }
+
+        private static Color colorOf(byte cell) {
+            return switch (cell) {
+                case SaveSummary.RESIDENCE -> UIColors.RESIDENCE_MEDIUM;
+                case SaveSummary.POWER_PLANT -> UIColors.PLANT_SOLAR;
+                case SaveSummary.INFRASTRUCTURE -> UIColors.INFRA_PARK;
+                default -> null;
+            };
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package org.td.view;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import org.td.model.entities.Infrastructure;
+import org.td.model.enums.BuildingType;
+import org.td.model.enums.PowerPlantType;
+import org.td.model.enums.ResidenceLevel;
+import org.td.utils.GameConfig;
+import org.td.utils.UIColors;
+
+/**
+ * Atlas des sprites de bâtiments
+ * Chaque aspect (habitation par niveau, centrale par type/niveau/activité,
+ * infrastructure par type) est dessiné une seule fois dans une image ;
+ * la carte n'a plus qu'à copier le bon rectangle avec drawImage.
+ * À construire sur le thread JavaFX.
+ */
+public class SpriteAtlas {
+    private static final int CELL = GameConfig.CELL_SIZE;
+    private static final int MAX_LEVEL = 5; // Voir Building.canUpgrade
+    private static final int PAD = 16; // Marge autour du sprite (fumée, halo)
+    private static final int ATLAS_WIDTH = 1024;
+
+    private static final ResidenceLevel[] RESIDENCE_LEVELS = ResidenceLevel.values();
+    private static final PowerPlantType[] PLANT_TYPES = PowerPlantType.values();
+    private static final BuildingType[] INFRA_TYPES = BuildingType.values();
+
+    // Premiers identifiants de chaque famille de sprites
+    private static final int PLANT_BASE = RESIDENCE_LEVELS.length * MAX_LEVEL;
+    private static final int INFRA_BASE = PLANT_BASE + PLANT_TYPES.length * MAX_LEVEL * 2;
+    private static final int SPRITE_COUNT = INFRA_BASE + INFRA_TYPES.length;
+
+    // Polices partagées (aucune création pendant le rendu)
+    static final Font FONT_BADGE = Font.font("Arial", FontWeight.BOLD, 12);
+    static final Font FONT_ICON = Font.font("Arial", 24);
+
+    // Rectangle de chaque sprite dans l'atlas (marge comprise)
+    private final int[] spriteX = new int[SPRITE_COUNT];
+    private final int[] spriteY = new int[SPRITE_COUNT];
+    private final int[] spriteSize = new int[SPRITE_COUNT];
+
+    private final WritableImage image;
+    private GraphicsContext g; // Contexte de l'atlas, pendant la construction uniquement
+
+    /**
+     * Dessine tous les sprites
+     */
+    public SpriteAtlas() {
+        int height = layout();
+        Canvas canvas = new Canvas(ATLAS_WIDTH, height);
+        g = canvas.getGraphicsContext2D();
+
+        for (ResidenceLevel residenceLevel : RESIDENCE_LEVELS) {
+            for (int level = 1; level <= MAX_LEVEL; level++) {
+                int id = residenceId(residenceLevel, level);
+                paintResidence(spriteX[id] + PAD, spriteY[id] + PAD, residenceLevel, level);
+            }
+        }
+        for (PowerPlantType type : PLANT_TYPES) {
+            for (int level = 1; level <= MAX_LEVEL; level++) {
+                for (int active = 0; active < 2; active++) {
+                    int id = plantId(type, level, active == 1);
+                    paintPowerPlant(spriteX[id] + PAD, spriteY[id] + PAD, type, level, active == 1);
+                }
+            }
+        }
+        for (BuildingType type : INFRA_TYPES) {
+            int id = INFRA_BASE + type.ordinal();
+            paintInfrastructure(spriteX[id] + PAD, spriteY[id] + PAD, type);
+        }
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        image = canvas.snapshot(params, null);
+        g = null;
+    }
+
+    /**
+     * Range les sprites par lignes dans l'atlas
+     * @return Hauteur nécessaire
+     */
+    private int layout() {
+        int cx = 0, cy = 0, rowHeight = 0;
+        for (int id = 0; id < SPRITE_COUNT; id++) {
+            int size = footprint(id) * CELL + 2 * PAD;
+            if (cx + size > ATLAS_WIDTH) {
+                cx = 0;
+                cy += rowHeight;
+                rowHeight = 0;
+            }
+            spriteX[id] = cx;
+            spriteY[id] = cy;
+            spriteSize[id] = size;
+            cx += size;
+            rowHeight = Math.max(rowHeight, size);
+        }
+        return cy + rowHeight;
+    }
+
+    private static int footprint(int id) {
+        if (id < PLANT_BASE)
+            return 1;
+        if (id < INFRA_BASE)
+            return 2; // Toutes les centrales sont dessinées sur 2x2 cellules
+        return Infrastructure.footprintOf(INFRA_TYPES[id - INFRA_BASE]);
+    }
+
+    private static int clampLevel(int level) {
+        return Math.max(1, Math.min(MAX_LEVEL, level));
+    }
+
+    private static int residenceId(ResidenceLevel residenceLevel, int level) {
+        return residenceLevel.ordinal() * MAX_LEVEL + clampLevel(level) - 1;
+    }
+
+    private static int plantId(PowerPlantType type, int level, boolean active) {
+        return PLANT_BASE + (type.ordinal() * MAX_LEVEL + clampLevel(level) - 1) * 2 + (active ? 1 : 0);
+    }
+
+    // === COPIE VERS LA CARTE ===
+
+    public void drawResidence(GraphicsContext target, ResidenceLevel residenceLevel, int level, int x, int y) {
+        blit(target, residenceId(residenceLevel, level), x, y);
+    }
+
+    public void drawPowerPlant(GraphicsContext target, PowerPlantType type, int level, boolean active, int x, int y) {
+        blit(target, plantId(type, level, active), x, y);
+    }
+
+    public void drawInfrastructure(GraphicsContext target, BuildingType type, int x, int y) {
+        blit(target, INFRA_BASE + type.ordinal(), x, y);
+    }
+
+    private void blit(GraphicsContext target, int id, int x, int y) {
+        int size = spriteSize[id];
+        target.drawImage(image, spriteX[id], spriteY[id], size, size, x - PAD, y - PAD, size, size);
+    }
+
+    // === DESSIN DES SPRITES (construction uniquement) ===
+
+    private void paintResidence(int x, int y, ResidenceLevel residenceLevel, int level) {
+        int size = CELL;
+
+        // Couleur selon niveau
+        Color color = getResidenceColor(residenceLevel);
+
+        // Bâtiment principal
+        g.setFill(color);
+        g.fillRoundRect(x + 2, y + 2, size - 4, size - 4, 4, 4);
+
+        // Bordure
+        g.setStroke(color.brighter());
+        g.setLineWidth(2);
+        g.strokeRoundRect(x + 2, y + 2, size - 4, size - 4, 4, 4);
+
+        // Fenêtres
+        g.setFill(Color.web("#fbbf24"));
+        for (int w = 0; w < level; w++) {
+            g.fillRect(x + 8 + w * 8, y + 8, 4, 4);
+        }
+    }
+
+    private void paintPowerPlant(int x, int y, PowerPlantType type, int level, boolean active) {
+        int size = CELL * 2; // 80x80 pixels typically
+
+        // Couleur de base
+        Color baseColor = getPlantColor(type);
+
+        // --- RENDU SELON TYPE ET NIVEAU ---
+        switch (type) {
+            case COAL -> drawCoalPlant(x, y, size, level, baseColor);
+            case NUCLEAR -> drawNuclearPlant(x, y, size, level, baseColor);
+            case SOLAR -> drawSolarPlant(x, y, size, level, baseColor);
+            case WIND -> drawWindTurbine(x, y, size, level, baseColor);
+            default -> {
+                // Fallback générique
+                g.setFill(baseColor);
+                g.fillRoundRect(x + 5, y + 5, size - 10, size - 10, 10, 10);
+            }
+        }
+
+        // Effet "Actif" (Bordure brillante)
+        if (active) {
+            g.setStroke(Color.WHITE);
+            g.setLineWidth(1);
+            g.strokeRoundRect(x + 4, y + 4, size - 8, size - 8, 10, 10);
+        }
+
+        // Badge Niveau
+        g.setFill(Color.BLACK); // Fond noir
+        g.fillOval(x + size - 25, y + size - 25, 20, 20);
+        g.setStroke(Color.WHITE);
+        g.strokeOval(x + size - 25, y + size - 25, 20, 20);
+        g.setFill(Color.WHITE);
+        g.setFont(FONT_BADGE);
+        g.fillText(String.valueOf(level), x + size - 18, y + size - 10);
+    }
+
+    private void paintInfrastructure(int x, int y, BuildingType type) {
+        int width = Infrastructure.footprintOf(type) * CELL;
+        int height = width;
+
+        Color color = getInfraColor(type);
+
+        g.setFill(color);
+        g.fillRoundRect(x + 2, y + 2, width - 4, height - 4, 6, 6);
+
+        g.setStroke(color.brighter());
+        g.setLineWidth(2);
+        g.strokeRoundRect(x + 2, y + 2, width - 4, height - 4, 6, 6);
+
+        // Icône
+        g.setFill(Color.WHITE);
+        g.setFont(FONT_ICON);
+        g.fillText(type.getIcon(), x + 10, y + 30);
+    }
+
+    // --- DESSIN CHARBON (Usine) ---
+    private void drawCoalPlant(int x, int y, int size, int level, Color color) {
+        // Corps principal
+        g.setFill(color.darker());
+        g.fillRect(x + 10, y + size / 2, size - 20, size / 2 - 10);
+
+        // Toit en dents de scie (Factory roof)
+        g.setFill(color.brighter());
+        double[] xPoints = { x + 10, x + 10, x + 30, x + 30, x + 50, x + 50, x + size - 10, x + size - 10 };
+        double[] yPoints = { y + size / 2, y + size / 2 - 10, y + size / 2, y + size / 2 - 10, y + size / 2,
+                y + size / 2 - 10, y + size / 2, y + size / 2 };
+        g.fillPolygon(xPoints, yPoints, 8);
+
+        // Cheminées
+        g.setFill(Color.rgb(60, 60, 60)); // Gris foncé
+        // Cheminée 1 (toujours là)
+        g.fillRect(x + 15, y + 15, 10, size / 2);
+        // Fumée 1
+        if (level >= 1)
+            drawSmoke(x + 20, y + 10);
+
+        if (level >= 2) {
+            // Cheminée 2
+            g.fillRect(x + 35, y + 10, 12, size / 2 + 5);
+            drawSmoke(x + 41, y + 5);
+        }
+        if (level >= 3) {
+            // Gros réservoir ou 3ème cheminée
+            g.setFill(Color.rgb(40, 40, 40));
+            g.fillRect(x + 55, y + 25, 15, size / 2 - 10);
+        }
+    }
+
+    private void drawSmoke(int hx, int hy) {
+        g.setFill(Color.rgb(200, 200, 200, 0.6));
+        g.fillOval(hx - 5, hy - 10, 10, 10);
+        g.fillOval(hx + 2, hy - 15, 8, 8);
+    }
+
+    // --- DESSIN NUCLEAIRE (Réacteur + Tours) ---
+    private void drawNuclearPlant(int x, int y, int size, int level, Color color) {
+        // Sol bétonné
+        g.setFill(Color.GRAY);
+        g.fillRoundRect(x + 5, y + 5, size - 10, size - 10, 10, 10);
+
+        // Réacteur (Dôme)
+        g.setFill(Color.WHITE);
+        g.fillOval(x + size / 2 - 15, y + size / 2, 30, 25);
+
+        // Tour de refroidissement 1 (Forme hyperbolique simplifiée par trapeze)
+        g.setFill(Color.web("#e5e7eb")); // Gris très clair
+        double[] xTower1 = { x + 10, x + 20, x + 30, x + 40 };
+        double[] yTower1 = { y + size - 10, y + 20, y + 20, y + size - 10 };
+        g.fillPolygon(xTower1, yTower1, 4);
+
+        // Cercle rouge sur la tour (classique)
+        g.setStroke(UIColors.ERROR);
+        g.strokeOval(x + 15, y + 30, 10, 5);
+
+        if (level >= 2) {
+            // Tour 2
+            double[] xTower2 = { x + 50, x + 60, x + 70, x + 80 };
+            double[] yTower2 = { y + size - 10, y + 30, y + 30, y + size - 10 };
+            g.fillPolygon(xTower2, yTower2, 4);
+        }
+
+        if (level >= 3) {
+            // Glow bleu (Radiation/Energie)
+            g.setEffect(new javafx.scene.effect.DropShadow(20, Color.CYAN));
+            g.setFill(Color.CYAN);
+            g.fillOval(x + size / 2 - 5, y + size / 2 + 10, 10, 10);
+            g.setEffect(null); // Reset shadow
+        }
+    }
+
+    // --- DESSIN SOLAIRE (Panneaux) ---
+    private void drawSolarPlant(int x, int y, int size, int level, Color color) {
+        // Sol terre/sable
+        g.setFill(Color.web("#d97706")); // Orange/Marron
+        g.fillRect(x + 5, y + 5, size - 10, size - 10);
+
+        g.setFill(Color.web("#0ea5e9")); // Bleu panneau
+        g.setStroke(Color.WHITE);
+        g.setLineWidth(1);
+
+        int rows = (level == 1) ? 2 : (level == 2) ? 3 : 4;
+        int cols = (level == 1) ? 2 : 3;
+
+        double panelW = (double) (size - 20) / cols;
+        double panelH = (double) (size - 20) / rows;
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                double px = x + 10 + c * panelW;
+                double py = y + 10 + r * panelH;
+                // Panneau légèrement incliné (trapèze ?) ou rect simple
+                g.fillRect(px + 2, py + 2, panelW - 4, panelH - 4);
+                g.strokeRect(px + 2, py + 2, panelW - 4, panelH - 4);
+            }
+        }
+    }
+
+    // --- DESSIN EOLIEN (Turbines) ---
+    private void drawWindTurbine(int x, int y, int size, int level, Color color) {
+        // Sol herbe
+        g.setFill(Color.web("#10b981"));
+        g.fillRect(x + 5, y + 5, size - 10, size - 10);
+
+        int numTurbines = level; // 1, 2 ou 3 éoliennes
+
+        for (int i = 0; i < numTurbines; i++) {
+            // Position décalée
+            int tx = x + size / 2 + (i == 1 ? -15 : (i == 2 ? 15 : 0));
+            int ty = y + size - 10 - (i == 2 ? -5 : 0);
+            drawSingleTurbine(tx, ty, 40);
+        }
+    }
+
+    private void drawSingleTurbine(int x, int y, int height) {
+        // Mât
+        g.setStroke(Color.WHITE);
+        g.setLineWidth(3);
+        g.strokeLine(x, y, x, y - height);
+
+        // Rotor (Centre)
+        g.setFill(Color.RED);
+        g.fillOval(x - 2, y - height - 2, 4, 4);
+
+        // Pales (Simple croix pour l'instant - animation possible plus tard)
+        g.setStroke(Color.WHITE);
+        g.setLineWidth(1);
+        g.strokeLine(x, y - height, x - 10, y - height - 10);
+        g.strokeLine(x, y - height, x + 10, y - height - 10);
+    }
+
+    static Color getPlantColor(PowerPlantType type) {
+        return switch (type) {
+            case COAL -> UIColors.PLANT_COAL;
+            case SOLAR -> UIColors.PLANT_SOLAR;
+            case WIND -> UIColors.PLANT_WIND;
+            case NUCLEAR -> UIColors.PLANT_NUCLEAR;
+            case HYDRO -> Color.BLUE;
+            case GEOTHERMAL -> Color.RED;
+        };
+    }
+
+    static Color getResidenceColor(ResidenceLevel residenceLevel) {
+        return switch (residenceLevel) {
+            case BASIC -> UIColors.RESIDENCE_BASIC;
+            case MEDIUM -> UIColors.RESIDENCE_MEDIUM;
+            case ADVANCED -> UIColors.RESIDENCE_ADVANCED;
+        };
+    }
+
+    static Color getInfraColor(BuildingType type) {
+        return switch (type.getCategory().getDisplayName()) {
+            case "Commercial" -> UIColors.INFRA_COMMERCIAL;
+            case "Divertissement" -> UIColors.INFRA_ENTERTAINMENT;
+            case "Espace Vert" -> UIColors.INFRA_PARK;
+            case "Service Public" -> UIColors.INFRA_PUBLIC;
+            case "Sécurité" -> UIColors.INFRA_SECURITY;
+            default -> UIColors.PRIMARY;
+        };
+    }
+}
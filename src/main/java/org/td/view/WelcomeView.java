@@ -62,7 +62,7 @@ public class WelcomeView {
         btnNewGame.setOnAction(e -> controller.startNewGame());
 
         Button btnLoadGame = createMenuButton("Charger une Partie", "#16213e");
-        btnLoadGame.setDisable(true); // À implémenter plus tard
+        btnLoadGame.setOnAction(e -> controller.loadGame());
 
         Button btnQuit = createMenuButton("Quitter", "#ef4444");
         btnQuit.setOnAction(e -> controller.quitGame());
@@ -0,0 +1,34 @@
+package org.td.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatePublisherTest {
+
+    @Test
+    void testStatePublisherCoalesces() {
+        ArrayDeque<Runnable> fxQueue = new ArrayDeque<>();
+        List<Integer> delivered = new ArrayList<>();
+        StatePublisher<Integer> publisher = new StatePublisher<>(fxQueue::add, delivered::add);
+
+        for (int tick = 1; tick <= 1000; tick++) {
+            publisher.publish(tick);
+        }
+        // A single pulse is queued, and it delivers the latest state only
+        assertEquals(1, fxQueue.size());
+        fxQueue.poll().run();
+        assertEquals(List.of(1000), delivered);
+
+        publisher.publish(1001);
+        assertEquals(1, fxQueue.size());
+        fxQueue.poll().run();
+        assertEquals(List.of(1000, 1001), delivered);
+        assertEquals(1001, publisher.getPublishedCount());
+        assertEquals(2, publisher.getDeliveredCount());
+    }
+}
@@ -2,13 +2,27 @@ package org.td.model;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.td.model.command.BuildingCommand;
+import org.td.model.entities.Building;
 import org.td.model.entities.City;
+import org.td.model.entities.CityAggregates;
+import org.td.model.entities.CoalPlant;
+import org.td.model.entities.Infrastructure;
+import org.td.model.entities.PowerPlant;
 import org.td.model.entities.Residence;
+import org.td.model.entities.TickAggregate;
+import org.td.model.entities.WindTurbine;
+import org.td.model.enums.BuildingType;
 import org.td.model.enums.ResidenceLevel;
 import org.td.model.simulation.EconomyManager;
 import org.td.model.simulation.EnergySimulator;
 import org.td.model.simulation.PopulationManager;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameMechanicsTest {
@@ -61,7 +75,7 @@ class GameMechanicsTest {
         city.addBuilding(residence);
 
         // Add a power plant to produce energy to sell
-        org.td.model.entities.CoalPlant plant = new org.td.model.entities.CoalPlant(1, 100, 100);
+        CoalPlant plant = new CoalPlant(1, 100, 100);
         city.addBuilding(plant);
 
         // Simulate one hour
@@ -101,4 +115,248 @@ class GameMechanicsTest {
         assertEquals(0, energySimulator.getCoverageRate(), 0.1, "Coverage should be 0 without power plants");
         assertFalse(residence.hasElectricity());
     }
+
+    @Test
+    void testBuildingLookup() {
+        // Coordinates below 100 stay clear of automatic city growth
+        Residence residence = new Residence(ResidenceLevel.BASIC, 0, 0);
+        CoalPlant plant = new CoalPlant(1, -200, -200);
+        assertTrue(city.addBuilding(residence));
+        assertTrue(city.addBuilding(plant));
+
+        assertSame(residence, city.getBuildingAt(10, 39));
+        assertSame(plant, city.getBuildingAt(-130, -150));
+        assertNull(city.getBuildingAt(40, 10));
+
+        // Overlaps are rejected, including adding the same building twice
+        assertFalse(city.addBuilding(new Residence(ResidenceLevel.BASIC, -150, -150)));
+        assertFalse(city.addBuilding(residence));
+
+        // Moving a building updates the lookup
+        assertFalse(city.moveBuilding(plant, -30, -30), "Position occupied by the residence");
+        assertTrue(city.moveBuilding(plant, -400, -200));
+        assertNull(city.getBuildingAt(-130, -150));
+        assertSame(plant, city.getBuildingAt(-330, -150));
+
+        // Direct list mutation keeps the lookup in sync
+        city.getPowerPlants().clear();
+        assertNull(city.getBuildingAt(-330, -150));
+        assertSame(residence, city.getBuildingAt(0, 0));
+    }
+
+    @Test
+    void testParallelUpdateMatchesSerial() throws Exception {
+        // Large enough to be split across several fork-join tasks
+        for (int i = 0; i < 6000; i++) {
+            int x = (i % 100) * 120 - 20000;
+            int y = (i / 100) * 120 - 20000;
+            if (i % 10 == 0) {
+                city.getPowerPlants().add(new WindTurbine(1, x, y));
+            } else if (i % 10 == 1) {
+                city.getInfrastructures().add(new Infrastructure(BuildingType.COMMERCIAL, x, y));
+            } else {
+                city.getResidences().add(new Residence(ResidenceLevel.BASIC, x, y));
+            }
+        }
+
+        City serial = deepCopy(city);
+        City parallel = deepCopy(city);
+        serial.setParallelUpdates(false);
+        parallel.setParallelUpdates(true);
+
+        // Stay before midnight so that city growth does not create new buildings
+        for (int hour = 0; hour < 22; hour++) {
+            serial.advanceTime();
+            parallel.advanceTime();
+        }
+
+        assertEquals(serial.getMoney(), parallel.getMoney());
+        assertEquals(serial.getHappiness(), parallel.getHappiness());
+        assertEquals(serial.getPopulation(), parallel.getPopulation());
+        assertEquals(serial.getTotalEnergyDemand(), parallel.getTotalEnergyDemand());
+        assertEquals(serial.getTotalEnergyProduction(), parallel.getTotalEnergyProduction());
+        for (int i = 0; i < serial.getResidences().size(); i++) {
+            Residence a = serial.getResidences().get(i);
+            Residence b = parallel.getResidences().get(i);
+            assertEquals(a.getEnergyDemand(), b.getEnergyDemand());
+            assertEquals(a.getSatisfaction(), b.getSatisfaction());
+            assertEquals(a.getPopulation(), b.getPopulation());
+        }
+    }
+
+    @Test
+    void testIncrementalAggregatesMatchRescan() {
+        for (int i = 0; i < 50; i++) {
+            city.addBuilding(new Residence(ResidenceLevel.BASIC, -2000 + i * 40, -2000));
+            city.addBuilding(new Infrastructure(BuildingType.HOSPITAL, -2000 + i * 80, -1800));
+        }
+        city.addBuilding(new CoalPlant(1, -2000, -1600));
+
+        for (int hour = 0; hour < 30; hour++) {
+            city.advanceTime();
+        }
+        city.getResidences().get(3).upgrade();
+        city.getInfrastructures().get(5).upgrade();
+        city.getInfrastructures().get(7).toggleActive();
+        city.getPowerPlants().get(0).setActive(false);
+        city.getResidences().remove(10);
+
+        CityAggregates totals = city.getAggregates();
+        assertEquals(city.getResidences().stream().mapToInt(Residence::getPopulation).sum(),
+                totals.getPopulation());
+        assertEquals(city.getResidences().stream().mapToDouble(Residence::getSatisfaction).sum(),
+                totals.getSatisfactionSum(), 1e-4);
+        assertEquals(city.getInfrastructures().stream().filter(Building::isActive)
+                .mapToDouble(Infrastructure::getMaintenanceCost).sum(),
+                totals.getActiveInfrastructureMaintenance(), 1e-4);
+        assertEquals(city.getInfrastructures().stream()
+                .filter(i -> i.getInfrastructureType() == BuildingType.HOSPITAL).count(),
+                totals.getInfrastructureCount(BuildingType.HOSPITAL));
+        assertEquals(0, totals.getActivePlantCount());
+
+        // Plant efficiency and maintenance follow hourly wear and maintenance
+        city.addBuilding(new WindTurbine(1, -2000, -1400));
+        for (int hour = 0; hour < 30; hour++) {
+            city.advanceTime();
+        }
+        city.getPowerPlants().get(0).performMaintenance();
+        assertEquals(2, totals.getPlantCount());
+        assertEquals(city.getPowerPlants().stream()
+                .mapToDouble(PowerPlant::getEfficiency).average().orElse(0),
+                totals.getAveragePlantEfficiency(), 1e-6);
+        assertEquals(city.getPowerPlants().stream()
+                .filter(PowerPlant::needsMaintenance).count(),
+                totals.getPlantsNeedingMaintenance());
+    }
+
+    @Test
+    void testTickAggregateFollowsMidnightGrowth() {
+        City growing = new City("GrowingCity", 2L);
+        for (int i = 0; i < 6; i++) {
+            growing.addBuilding(new CoalPlant(1, -3000 + i * 200, -3000));
+        }
+
+        int structuralTicks = 0;
+        for (int hour = 0; hour < 24 * 10; hour++) {
+            int before = growing.getBuildingCount();
+            growing.advanceTime();
+            if (growing.getBuildingCount() != before) {
+                structuralTicks++;
+            }
+
+            // The managers read the fused aggregate after growth: it must match a direct scan
+            TickAggregate aggregate = growing.getTickAggregate();
+            assertEquals(growing.getResidences().stream().mapToDouble(Residence::getEnergyDemand).sum(),
+                    aggregate.getResidentialDemand(), 1e-6);
+            assertEquals(growing.getInfrastructures().stream()
+                    .mapToDouble(Infrastructure::getHourlyRevenue).sum(),
+                    aggregate.getInfrastructureRevenue(), 1e-6);
+            assertEquals(growing.getInfrastructures().stream()
+                    .mapToDouble(Infrastructure::getHappinessContribution).sum(),
+                    aggregate.getInfrastructureHappiness(), 1e-6);
+        }
+        assertTrue(structuralTicks > 0, "The city should have grown or shrunk at least once");
+    }
+
+    @Test
+    void testSameSeedReplaysIdentically() {
+        GameState first = new GameState("Seeded", "Tester", 2, 42L);
+        GameState second = new GameState("Seeded", "Tester", 2, 42L);
+
+        for (int hour = 0; hour < 24 * 20; hour++) {
+            first.advanceHour();
+            second.advanceHour();
+        }
+
+        City a = first.getCity();
+        City b = second.getCity();
+        assertEquals(a.getMoney(), b.getMoney());
+        assertEquals(a.getPopulation(), b.getPopulation());
+        assertEquals(a.getHappiness(), b.getHappiness());
+        assertEquals(a.getBuildingCount(), b.getBuildingCount());
+    }
+
+    @Test
+    void testRealTimeTickSimulatesTheSameHourAsAdvanceHour() {
+        GameState headless = new GameState("SameCity", "Tester", 2, 8L);
+        GameState realTime = new GameState("SameCity", "Tester", 2, 8L);
+        headless.getCity().setQuiet(true);
+        realTime.getCity().setQuiet(true);
+
+        // The real-time loop calls TimeManager.tick; headless, replay and advisor call advanceHour
+        for (int h = 0; h < 24 * 20; h++) {
+            headless.advanceHour();
+            realTime.getTimeManager().tick();
+            assertEquals(headless.getChecksum(), realTime.getChecksum(), "hour " + h);
+        }
+        assertEquals(headless.getEnergySimulator().getGridStability(),
+                realTime.getEnergySimulator().getGridStability(), 1e-9);
+    }
+
+    @Test
+    void testForkSharesBuildingsUntilWritten() {
+        GameState original = new GameState("ForkCity", "Tester", 2, 13L);
+        for (int h = 0; h < 100; h++)
+            original.advanceHour();
+        PowerPlant plant = original.getCity().getPowerPlants().get(0);
+        int level = plant.getLevel();
+
+        // Same objects on both sides until one of them writes
+        GameState preview = original.fork();
+        assertSame(plant, preview.getCity().getPowerPlants().get(0));
+        assertEquals(original.getChecksum(), preview.getChecksum());
+
+        assertTrue(preview.execute(BuildingCommand.upgrade(plant)).success);
+        PowerPlant upgraded = preview.getCity().getPowerPlants().get(0);
+        assertNotSame(plant, upgraded);
+        assertTrue(upgraded.getLevel() > level);
+        assertEquals(level, plant.getLevel());
+        assertSame(upgraded, preview.getCity().getBuildingAt(plant.getX() + 1, plant.getY() + 1));
+
+        // An untouched fork evolves exactly like its parent
+        GameState twin = original.fork();
+        for (int h = 0; h < 200; h++) {
+            original.advanceHour();
+            twin.advanceHour();
+            preview.advanceHour();
+        }
+        assertEquals(original.getChecksum(), twin.getChecksum());
+        assertEquals(original.getCity().getCurrentTime(), twin.getCity().getCurrentTime());
+        assertNotSame(original.getCity().getResidences().get(0), twin.getCity().getResidences().get(0));
+        assertEquals(level, original.getCity().getPowerPlants().get(0).getLevel());
+        assertEquals(original.getCity().getCurrentTime(), preview.getCity().getCurrentTime());
+    }
+
+    @Test
+    void testDetachedForkLeavesParentOwningItsBuildings() {
+        GameState original = new GameState("DetachCity", "Tester", 2, 17L);
+        for (int h = 0; h < 50; h++)
+            original.advanceHour();
+        Residence residence = original.getCity().getResidences().get(0);
+        Building located = original.getCity().getBuildingAt(residence.getX() + 1, residence.getY() + 1);
+
+        // The fork pays the copy up front
+        GameState copy = original.forkDetached();
+        assertEquals(original.getChecksum(), copy.getChecksum());
+        assertNotSame(residence, copy.getCity().getResidences().get(0));
+
+        // The parent keeps its objects and its spatial index through the next hours
+        for (int h = 0; h < 50; h++) {
+            original.advanceHour();
+            copy.advanceHour();
+        }
+        assertSame(residence, original.getCity().getResidences().get(0));
+        assertSame(located, original.getCity().getBuildingAt(residence.getX() + 1, residence.getY() + 1));
+        assertEquals(original.getChecksum(), copy.getChecksum());
+    }
+
+    private static City deepCopy(City source) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(source);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (City) in.readObject();
+        }
+    }
 }
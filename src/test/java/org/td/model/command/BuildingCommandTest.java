@@ -0,0 +1,44 @@
+package org.td.model.command;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.GameState;
+import org.td.model.entities.City;
+import org.td.model.entities.CoalPlant;
+import org.td.model.entities.NuclearPlant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildingCommandTest {
+
+    @Test
+    void testRefusedCommandsLeavePlantsUntouched() {
+        GameState state = new GameState("BrokeCity", "Tester", 2, 3L);
+        City city = state.getCity();
+        CoalPlant coal = new CoalPlant(1, -400, -400);
+        NuclearPlant nuclear = new NuclearPlant(1, -600, -400);
+        assertTrue(city.addBuilding(coal));
+        assertTrue(city.addBuilding(nuclear));
+        coal.setEfficiency(0.5);
+        double coalReserve = coal.getCoalReserve();
+        double fuelReserve = nuclear.getFuelReserve();
+        city.spendMoney(city.getMoney());
+
+        // No money: every paid command is refused before touching the plant
+        assertFalse(state.execute(BuildingCommand.maintain(coal)).success);
+        assertFalse(state.execute(BuildingCommand.refuelCoal(coal, 10)).success);
+        assertFalse(state.execute(BuildingCommand.refuelNuclear(nuclear, 1)).success);
+        assertEquals(0.5, coal.getEfficiency(), 1e-9);
+        assertEquals(coalReserve, coal.getCoalReserve(), 1e-9);
+        assertEquals(fuelReserve, nuclear.getFuelReserve(), 1e-9);
+        assertEquals(0, city.getMoney(), 1e-9);
+
+        // Enough money: the effect is applied and paid exactly once
+        double budget = coal.getWeeklyMaintenanceCost() + coal.getCoalCost(10);
+        city.spendMoney(-budget);
+        assertTrue(state.execute(BuildingCommand.maintain(coal)).success);
+        assertTrue(state.execute(BuildingCommand.refuelCoal(coal, 10)).success);
+        assertEquals(0.8, coal.getEfficiency(), 1e-9);
+        assertEquals(coalReserve + 10, coal.getCoalReserve(), 1e-9);
+        assertEquals(0, city.getMoney(), 1e-6);
+    }
+}
@@ -0,0 +1,51 @@
+package org.td.model.command;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.GameState;
+import org.td.model.entities.Residence;
+import org.td.model.enums.ResidenceLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandQueueTest {
+
+    @Test
+    void testCommandQueueRunsEverySubmissionOnDrain() throws Exception {
+        GameState state = new GameState("Queue", "Tester", 2, 7L);
+        CommandQueue queue = new CommandQueue();
+        List<CompletableFuture<CommandResult>> futures = Collections.synchronizedList(new ArrayList<>());
+
+        // Several UI threads submit concurrently; nothing runs until the drain
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    futures.add(queue.submit(CityCommand.electricityPrice(0.20)));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(futures.stream().noneMatch(CompletableFuture::isDone));
+
+        assertEquals(1000, queue.drain(state));
+        assertTrue(queue.isEmpty());
+        for (CompletableFuture<CommandResult> future : futures) {
+            assertTrue(future.getNow(null).success);
+        }
+
+        // Buildings are addressed by position: a demolished target is reported, not reused
+        Residence residence = new Residence(ResidenceLevel.MEDIUM, 200, 200);
+        assertTrue(state.getCity().addBuilding(residence));
+        GameCommand demolish = BuildingCommand.demolish(residence);
+        assertTrue(state.submit(demolish).get().success);
+        assertFalse(state.submit(demolish).get().success);
+    }
+}
@@ -0,0 +1,38 @@
+package org.td.model.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityHistoryTest {
+
+    @Test
+    void testHistoryRollsUpAndStaysBounded() {
+        CityHistory history = new CityHistory();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        // Three hours of the same day roll up into one daily bucket
+        for (int h = 0; h < 3; h++) {
+            history.record(start.plusHours(h), 100 * (h + 1), 50, 10, 8, 1, 20);
+        }
+        CityHistory.Resolution day = CityHistory.Resolution.DAY;
+        CityHistory.Metric money = CityHistory.Metric.MONEY;
+        assertEquals(3, history.size(CityHistory.Resolution.HOUR));
+        assertEquals(1, history.size(day));
+        assertEquals(100, history.getMin(day, money, 0), 1e-9);
+        assertEquals(300, history.getMax(day, money, 0), 1e-9);
+        assertEquals(200, history.getAverage(day, money, 0), 1e-9);
+
+        // A long game keeps a fixed number of buckets, oldest first
+        int days = day.getCapacity() + 100;
+        for (int d = 1; d <= days; d++) {
+            history.record(start.plusDays(d), d, 50, 10, 8, 1, 20);
+        }
+        assertEquals(day.getCapacity(), history.size(day));
+        assertEquals(days, history.getAverage(day, money, day.getCapacity() - 1), 1e-9);
+        assertEquals(days - day.getCapacity() + 1, history.getAverage(day, money, 0), 1e-9);
+        assertTrue(history.size(CityHistory.Resolution.YEAR) >= 3);
+    }
+}
@@ -0,0 +1,41 @@
+package org.td.model.entities;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.enums.ResidenceLevel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CitySnapshotBufferTest {
+
+    @Test
+    void testCitySnapshotIsStableUntilNextAcquire() {
+        City city = new City("SnapshotCity", 3L);
+        city.getResidences().clear();
+        city.getPowerPlants().clear();
+        city.getInfrastructures().clear();
+
+        Residence residence = new Residence(ResidenceLevel.MEDIUM, 400, 400);
+        assertTrue(city.addBuilding(residence));
+        city.publishSnapshot();
+
+        CitySnapshot snapshot = city.getSnapshot();
+        int index = snapshot.findAt(410, 410);
+        assertTrue(index >= 0);
+        assertSame(residence, snapshot.getBuilding(index));
+        assertEquals(ResidenceLevel.MEDIUM, snapshot.getResidenceLevel(index));
+        assertEquals(-1, snapshot.findAt(400 - 1, 400 - 1));
+        int size = snapshot.size();
+
+        // New publications never touch the snapshot held by the reader
+        city.getResidences().remove(residence);
+        city.publishSnapshot();
+        city.publishSnapshot();
+        assertEquals(size, snapshot.size());
+        assertSame(residence, snapshot.getBuilding(index));
+
+        CitySnapshot latest = city.getSnapshot();
+        assertEquals(size - 1, latest.size());
+        assertEquals(-1, latest.findAt(410, 410));
+        assertTrue(latest.getStructureVersion() > snapshot.getStructureVersion());
+    }
+}
@@ -0,0 +1,68 @@
+package org.td.model.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.GameState;
+import org.td.model.command.BuildingCommand;
+import org.td.model.command.CityCommand;
+import org.td.model.entities.City;
+import org.td.model.enums.PowerPlantType;
+import org.td.utils.GameConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+
+    @Test
+    void testJournalRecoversSnapshotPlusReplay() throws Exception {
+        Path directory = Files.createTempDirectory("journal");
+        try {
+            GameState original = new GameState("JournalCity", "Tester", 2, 7L);
+            original.startJournal(directory);
+            // Two weekly snapshots happen on the way: recovery uses the last one.
+            // A snapshot is skipped while the previous background write is pending,
+            // so wait for it before each interval boundary.
+            for (int h = 0; h < 400; h++) {
+                if ((h + 1) % GameConfig.JOURNAL_SNAPSHOT_HOURS == 0)
+                    original.getJournal().flush();
+                if (h == 10)
+                    original.submit(BuildingCommand.buildRandomly(PowerPlantType.SOLAR));
+                if (h == 30)
+                    original.submit(CityCommand.electricityPrice(0.3));
+                if (h == 350)
+                    original.submit(CityCommand.skipHours(5));
+                original.advanceHour();
+            }
+            assertEquals(2, original.getJournal().getGeneration());
+
+            // Simulated crash: the journal is flushed but never closed
+            original.getJournal().flush();
+            GameState recovered = GameJournal.recover(directory);
+            assertNotNull(recovered);
+
+            City a = original.getCity();
+            City b = recovered.getCity();
+            assertEquals(a.getCurrentTime(), b.getCurrentTime());
+            assertEquals(a.getMoney(), b.getMoney(), 0.0);
+            assertEquals(a.getBuildingCount(), b.getBuildingCount());
+            assertEquals(original.getEconomyManager().getElectricityPricePerKWh(),
+                    recovered.getEconomyManager().getElectricityPricePerKWh(), 0.0);
+
+            for (int h = 0; h < 200; h++) {
+                original.advanceHour();
+                recovered.advanceHour();
+            }
+            assertEquals(a.getMoney(), b.getMoney(), 0.0);
+            assertEquals(a.getPopulation(), b.getPopulation());
+            original.detachJournal();
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList())
+                    Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.td.model.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.GameState;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveCatalogTest {
+
+    @Test
+    void testSaveCatalogListsSummariesFromHeaders() throws Exception {
+        Path directory = Files.createTempDirectory("saves");
+        try {
+            GameState first = new GameState("Alpha", "Tester", 1, 1L);
+            GameState second = new GameState("Beta", "Tester", 3, 2L);
+            for (int h = 0; h < 48; h++)
+                second.advanceHour();
+            GameSaver.save(first, directory.resolve("a.energyville"), true);
+            GameSaver.save(second, directory.resolve("b.energyville"), false);
+            Files.writeString(directory.resolve("notes.txt"), "ignored");
+
+            SaveCatalog catalog = new SaveCatalog(directory, ".energyville");
+            var entries = catalog.scan();
+            assertEquals(2, entries.size());
+            assertTrue(Files.exists(directory.resolve(SaveCatalog.INDEX_FILE)));
+
+            SaveSummary beta = SaveSummary.readFrom(directory.resolve("b.energyville"));
+            assertEquals("Beta", beta.cityName);
+            assertEquals(second.getCity().getPopulation(), beta.population);
+            assertEquals(second.getCity().getMoney(), beta.money, 0.0);
+            assertEquals(second.getCity().getCurrentTime(), beta.gameTime);
+            assertTrue(IntStream.range(0, beta.thumbnail.length)
+                    .anyMatch(i -> beta.thumbnail[i] != SaveSummary.EMPTY));
+
+            // Second scan is served from the index; a deleted save drops out of it
+            Files.delete(directory.resolve("a.energyville"));
+            entries = catalog.scan();
+            assertEquals(1, entries.size());
+            assertEquals("Beta", entries.get(0).summary.cityName);
+            assertEquals(3, entries.get(0).summary.difficulty);
+
+            // The summary does not get in the way of loading
+            GameState loaded = GameSaver.load(directory.resolve("b.energyville"));
+            assertEquals(second.getCity().getMoney(), loaded.getCity().getMoney(), 0.0);
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList())
+                    Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.td.model.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.GameState;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildAdvisorTest {
+
+    @Test
+    void testBuildAdvisorRanksCandidatesOnReseededForks() {
+        GameState game = new GameState("AdviceCity", "Tester", 2, 21L);
+        for (int h = 0; h < 24; h++)
+            game.advanceHour();
+        int checksum = game.getChecksum();
+
+        // Forks with another seed start from the same state but diverge
+        GameState first = game.fork(1L);
+        GameState second = game.fork(2L);
+        assertEquals(checksum, first.getChecksum());
+        for (int h = 0; h < 72; h++) {
+            first.advanceHour();
+            second.advanceHour();
+        }
+        assertNotEquals(first.getChecksum(), second.getChecksum());
+
+        BuildAdvisor advisor = new BuildAdvisor(game.fork());
+        advisor.setRollouts(3);
+        advisor.setHorizonHours(48);
+        advisor.setTimeBudgetMillis(60_000);
+        List<BuildAdvisor.Recommendation> ranking = advisor.advise();
+
+        assertTrue(ranking.size() > 1);
+        assertTrue(ranking.stream().anyMatch(r -> r.command == null)); // "Do nothing" baseline
+        for (int i = 0; i < ranking.size(); i++) {
+            BuildAdvisor.Recommendation r = ranking.get(i);
+            assertEquals(3, r.rollouts);
+            assertTrue(r.bankruptcyRisk >= 0 && r.bankruptcyRisk <= 1);
+            assertTrue(r.meanBlackoutHours >= 0 && r.meanBlackoutHours <= 48);
+            if (i > 0)
+                assertTrue(ranking.get(i - 1).rating >= r.rating);
+        }
+        assertEquals(checksum, game.getChecksum()); // The game itself is untouched
+    }
+}
@@ -0,0 +1,32 @@
+package org.td.model.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.GameState;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessEngineTest {
+
+    @Test
+    void testHeadlessEngineRunsRequestedHours() {
+        GameState game = new GameState("HeadlessCity", "Tester", 2, 5L);
+        GameState twin = new GameState("HeadlessCity", "Tester", 2, 5L);
+        HeadlessEngine engine = new HeadlessEngine(game);
+        engine.setQuiet(true);
+        engine.setMaxHours(24);
+
+        // Two runs on the same engine: each reports only its own hours
+        for (int run = 1; run <= 2; run++) {
+            HeadlessEngine.Result result = engine.run();
+            for (int h = 0; h < 24; h++)
+                twin.advanceHour();
+
+            assertEquals(HeadlessEngine.StopReason.MAX_HOURS, result.stopReason);
+            assertEquals(24, result.hoursSimulated);
+            assertEquals(run * 24L, game.getTimeManager().getGameHoursElapsed());
+            assertEquals(twin.getChecksum(), game.getChecksum());
+            assertEquals(twin.getCity().getCurrentTime(), result.gameTime);
+            assertFalse(game.getCity().isQuiet()); // Console restored after the run
+        }
+    }
+}
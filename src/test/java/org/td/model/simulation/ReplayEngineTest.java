@@ -0,0 +1,56 @@
+package org.td.model.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.GameState;
+import org.td.model.command.BuildingCommand;
+import org.td.model.command.CityCommand;
+import org.td.model.enums.PowerPlantType;
+import org.td.model.persistence.Recording;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayEngineTest {
+
+    @Test
+    void testReplaySeeksThroughKeyframesDeterministically() throws Exception {
+        GameState original = new GameState("ReplayCity", "Tester", 2, 11L);
+        original.startRecording();
+        Map<Long, Integer> checksums = new HashMap<>();
+        for (int h = 0; h < 300; h++) {
+            if (h == 20)
+                original.submit(BuildingCommand.buildRandomly(PowerPlantType.SOLAR));
+            if (h == 120)
+                original.submit(CityCommand.electricityPrice(0.25));
+            if (h == 200)
+                original.submit(CityCommand.skipHours(3));
+            original.advanceHour();
+            checksums.put(original.getTimeManager().getGameHoursElapsed(), original.getChecksum());
+        }
+        Recording recorded = original.stopRecording();
+        assertEquals(3, recorded.getCommandCount());
+
+        Path file = Files.createTempFile("replay", ".erec");
+        try {
+            recorded.writeTo(file);
+            Recording recording = Recording.readFrom(file);
+            ReplayEngine replay = new ReplayEngine(recording, 48);
+
+            // Forward, backward (from a keyframe), then forward again past the skipped hours
+            for (long target : new long[] { 250, 60, 150, 290 }) {
+                GameState state = replay.seek(target);
+                assertEquals(target, replay.getHour());
+                assertEquals(checksums.get(target), state.getChecksum(), "hour " + target);
+            }
+            assertTrue(replay.getKeyframeCount() >= 5);
+            assertTrue(replay.verify());
+            assertEquals(original.getCity().getCurrentTime(), replay.getGameState().getCity().getCurrentTime());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.td.model.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.GameState;
+import org.td.model.enums.GameSpeed;
+import org.td.utils.GameConfig;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeManagerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000_000L);
+
+    private TimeManager createTimeManager(GameSpeed speed) {
+        GameState state = new GameState("ClockCity", "Tester", 2, 5L);
+        state.getCity().setQuiet(true);
+        TimeManager timeManager = state.getTimeManager();
+        timeManager.setClock(clock::get);
+        timeManager.setSpeed(speed);
+        return timeManager;
+    }
+
+    @Test
+    void testCatchUpIsBoundedAndExcessLagDropped() {
+        TimeManager timeManager = createTimeManager(GameSpeed.NORMAL);
+        long period = GameSpeed.NORMAL.getMillisecondsPerHour() * 1_000_000L;
+
+        // First pass schedules one full period ahead
+        assertEquals(period, timeManager.runOnce());
+        assertEquals(0, timeManager.getTotalTicks());
+
+        // 10.5 periods late: MAX_CATCH_UP_TICKS hours run, the whole periods left are dropped
+        long hours = timeManager.getGameHoursElapsed();
+        clock.addAndGet(period * 21 / 2);
+        assertEquals(0, timeManager.runOnce());
+        assertEquals(GameConfig.MAX_CATCH_UP_TICKS, timeManager.getTotalTicks());
+        assertEquals(10 - GameConfig.MAX_CATCH_UP_TICKS - 1, timeManager.getDroppedTicks());
+
+        // The schedule stays on period boundaries: one hour due now, then half a period to wait
+        assertEquals(0, timeManager.runOnce());
+        assertEquals(GameConfig.MAX_CATCH_UP_TICKS + 1, timeManager.getTotalTicks());
+        assertEquals(period / 2, timeManager.runOnce());
+        assertEquals(hours + GameConfig.MAX_CATCH_UP_TICKS + 1, timeManager.getGameHoursElapsed());
+    }
+
+    @Test
+    void testPauseParksAndResumesWithoutBurst() {
+        TimeManager timeManager = createTimeManager(GameSpeed.FAST);
+        long period = GameSpeed.FAST.getMillisecondsPerHour() * 1_000_000L;
+        timeManager.runOnce();
+        clock.addAndGet(period);
+        timeManager.runOnce();
+        assertEquals(1, timeManager.getTotalTicks());
+
+        // Paused: the loop parks until woken up and reports no throughput
+        timeManager.pause();
+        clock.addAndGet(period * 100);
+        assertEquals(TimeManager.PARK, timeManager.runOnce());
+        assertEquals(0, timeManager.getActualTicksPerSecond(), 1e-9);
+
+        // Resumed: a full period from now, nothing caught up or dropped
+        timeManager.resume();
+        assertEquals(period, timeManager.runOnce());
+        assertEquals(1, timeManager.getTotalTicks());
+        assertEquals(0, timeManager.getDroppedTicks());
+    }
+
+    @Test
+    void testTicksPerSecondMeasuredOverWindow() {
+        TimeManager timeManager = createTimeManager(GameSpeed.ULTRA_FAST);
+        long period = GameSpeed.ULTRA_FAST.getMillisecondsPerHour() * 1_000_000L;
+        timeManager.runOnce();
+
+        // One hour per period during a whole TPS_WINDOW_NANOS window
+        long elapsed = 0;
+        while (elapsed < GameConfig.TPS_WINDOW_NANOS) {
+            clock.addAndGet(period);
+            elapsed += period;
+            assertEquals(0, timeManager.runOnce());
+        }
+        assertEquals(timeManager.getTargetTicksPerSecond(), timeManager.getActualTicksPerSecond(), 1e-9);
+        assertEquals(GameConfig.TPS_WINDOW_NANOS / period, timeManager.getTotalTicks());
+    }
+
+    @Test
+    void testTurboSamplesUiAtFrameRate() {
+        TimeManager timeManager = createTimeManager(GameSpeed.TURBO);
+        AtomicInteger samples = new AtomicInteger();
+        timeManager.addListener(new TimeListener() {
+            @Override
+            public void onTimeAdvanced(LocalDateTime currentTime) {
+                samples.incrementAndGet();
+            }
+        });
+
+        // Every pass runs an hour, but the UI hears about it at most once per UI_SAMPLE_NANOS
+        for (int i = 0; i < 50; i++)
+            assertEquals(0, timeManager.runOnce());
+        assertEquals(50, timeManager.getTotalTicks());
+        assertEquals(1, samples.get());
+
+        clock.addAndGet(GameConfig.UI_SAMPLE_NANOS - 1);
+        timeManager.runOnce();
+        assertEquals(1, samples.get());
+        clock.addAndGet(1);
+        timeManager.runOnce();
+        assertEquals(2, samples.get());
+
+        // The pending sample is published when the loop parks
+        timeManager.runOnce();
+        timeManager.pause();
+        assertEquals(TimeManager.PARK, timeManager.runOnce());
+        assertEquals(3, samples.get());
+        assertEquals(TimeManager.PARK, timeManager.runOnce());
+        assertEquals(3, samples.get());
+    }
+
+    @Test
+    void testBackpressureWaitsOneFrameWithoutTicking() {
+        TimeManager timeManager = createTimeManager(GameSpeed.TURBO);
+        timeManager.setUiBackpressure(() -> true);
+
+        assertEquals(GameConfig.UI_SAMPLE_NANOS, timeManager.runOnce());
+        assertEquals(GameConfig.UI_SAMPLE_NANOS, timeManager.runOnce());
+        assertEquals(2, timeManager.getThrottledWaits());
+        assertEquals(0, timeManager.getTotalTicks());
+    }
+}
@@ -0,0 +1,85 @@
+package org.td.model.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.td.model.enums.TransactionType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionLedgerTest {
+
+    @Test
+    void testLedgerRollsUpAndSpillsFullHistory() throws Exception {
+        TransactionLedger ledger = new TransactionLedger();
+        int revenue = ledger.intern("Revenus horaires");
+        assertEquals(revenue, ledger.intern("Revenus horaires"));
+        int start = TransactionLedger.tickOf(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        Path file = Files.createTempFile("ledger", ".bin");
+        try {
+            ledger.spillTo(file);
+            int entries = TransactionLedger.CAPACITY * 3 + 17;
+            for (int i = 0; i < entries; i++) {
+                ledger.append(start + i, revenue, i, TransactionType.REVENUE);
+            }
+
+            // Entries that left the in-memory ring are read back from the mapped file
+            assertEquals(entries, ledger.size());
+            assertEquals(0, ledger.getFirstIndex());
+            assertEquals(start + 5, ledger.getTick(5));
+            assertEquals(5, ledger.getAmount(5), 1e-9);
+            assertEquals("Revenus horaires", ledger.getDescription(5));
+            assertEquals(entries - 1, ledger.getAmount(entries - 1), 1e-9);
+
+            // January holds the first 744 hours
+            double january = 743.0 * 744 / 2;
+            assertEquals(january, ledger.getMonthlyTotal(2025, 1, TransactionType.REVENUE), 1e-6);
+            assertEquals(0, ledger.getMonthlyTotal(2025, 1, TransactionType.EXPENSE), 1e-9);
+            assertEquals((double) entries * (entries - 1) / 2,
+                    ledger.getTotal(TransactionType.REVENUE), 1e-6);
+        } finally {
+            ledger.close();
+            Files.deleteIfExists(file);
+        }
+
+        // Without a spill file only the last CAPACITY entries stay readable
+        assertEquals(ledger.size() - TransactionLedger.CAPACITY, ledger.getFirstIndex());
+    }
+
+    @Test
+    void testSpillEnabledAfterRingWrapped() throws Exception {
+        TransactionLedger ledger = new TransactionLedger();
+        int revenue = ledger.intern("Revenus horaires");
+        int start = TransactionLedger.tickOf(LocalDateTime.of(2025, 1, 1, 0, 0));
+        int before = TransactionLedger.CAPACITY + 904;
+        for (int i = 0; i < before; i++) {
+            ledger.append(start + i, revenue, i, TransactionType.REVENUE);
+        }
+
+        Path file = Files.createTempFile("ledger", ".bin");
+        try {
+            // The file starts with the in-memory window, not with entry 0
+            ledger.spillTo(file);
+            assertEquals(before - TransactionLedger.CAPACITY, ledger.getFirstIndex());
+
+            int entries = before + 4000;
+            for (int i = before; i < entries; i++) {
+                ledger.append(start + i, revenue, i, TransactionType.REVENUE);
+            }
+
+            assertEquals(entries, ledger.size());
+            assertEquals(before - TransactionLedger.CAPACITY, ledger.getFirstIndex());
+            for (long i = ledger.getFirstIndex(); i < entries; i++) {
+                assertEquals(i, ledger.getAmount(i), 1e-9, "entry " + i);
+                assertEquals(start + i, ledger.getTick(i));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> ledger.getAmount(ledger.getFirstIndex() - 1));
+        } finally {
+            ledger.close();
+            Files.deleteIfExists(file);
+        }
+    }
+}